@@ -0,0 +1,167 @@
+package com.foodDelivery.api.benchmark;
+
+import com.foodDelivery.api.history.WeatherObservation;
+import com.foodDelivery.api.model.BaseFee;
+import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.model.Conditions;
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.model.enums.VehicleType;
+import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.rules.FeeQuote;
+import com.foodDelivery.api.rules.FeeRuleSnapshot;
+import com.foodDelivery.api.service.FeeRuleService;
+import com.foodDelivery.api.service.WeatherRetentionService;
+import com.foodDelivery.api.service.impl.DeliveryFeeServiceImpl;
+import com.foodDelivery.api.service.impl.FeeMatrixServiceImpl;
+import com.foodDelivery.api.service.impl.FeeQuoteCacheServiceImpl;
+import com.foodDelivery.api.service.impl.WeatherHistoryServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.baseFee;
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.defaultConditions;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmarks of the delivery fee hot path with mocked repositories.
+ *
+ * <p>
+ *     The rules are the ones seeded by schema.sql. Every city has a history of
+ *     {@value #OBSERVATIONS_PER_CITY} hourly observations.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeliveryFeeBenchmark {
+
+    private static final int OBSERVATIONS_PER_CITY = 10_000;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 15);
+    private static final List<String> CITIES = List.of("Tallinn", "Tartu", "Pärnu");
+    private static final List<String> PHENOMENA = List.of("Clear", "Light rain", "Light snow shower", "Overcast");
+
+    private DeliveryFeeServiceImpl deliveryFeeService;
+    private FeeRuleSnapshot rules;
+    private WeatherData weatherData;
+    private List<Conditions> matchedConditions;
+    private LocalDateTime[] observationTimes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<BaseFee> baseFees = new ArrayList<>();
+        for (String city : CITIES) {
+            for (VehicleType type : VehicleType.values()) {
+                baseFees.add(baseFee(city, type, 3.00));
+            }
+        }
+        rules = FeeRuleSnapshot.compile(defaultConditions(), baseFees);
+
+        FeeRuleService feeRuleService = mock(FeeRuleService.class);
+        when(feeRuleService.getSnapshot()).thenReturn(rules);
+
+        List<WeatherObservation> observations = new ArrayList<>();
+        List<WeatherData> latest = new ArrayList<>();
+        long id = 1;
+        for (String city : CITIES) {
+            for (int i = 0; i < OBSERVATIONS_PER_CITY; i++) {
+                observations.add(new WeatherObservation(id++, city, START.plusHours(i),
+                        (i % 40) - 20.0, (double) (i % 25), PHENOMENA.get(i % PHENOMENA.size())));
+            }
+            latest.add(weatherData(id - 1, city, START.plusHours(OBSERVATIONS_PER_CITY - 1)));
+        }
+
+        WeatherDataRepository weatherDataRepository = mock(WeatherDataRepository.class);
+        when(weatherDataRepository.streamAllObservations()).thenReturn(observations.stream());
+        when(weatherDataRepository.findLatestForEachCity()).thenReturn(latest);
+
+        WeatherHistoryServiceImpl weatherHistoryService = new WeatherHistoryServiceImpl(weatherDataRepository);
+        weatherHistoryService.load();
+        FeeMatrixServiceImpl feeMatrixService = new FeeMatrixServiceImpl(feeRuleService, weatherDataRepository, event -> { });
+        feeMatrixService.refresh();
+
+        deliveryFeeService = new DeliveryFeeServiceImpl(
+                feeRuleService,
+                feeMatrixService,
+                weatherHistoryService,
+                new FeeQuoteCacheServiceImpl(feeRuleService, 10_000),
+                weatherDataRepository,
+                mock(WeatherRetentionService.class)
+        );
+
+        weatherData = weatherData(1L, "Tartu", START);
+        matchedConditions = defaultConditions().stream()
+                .filter(con -> !Boolean.TRUE.equals(con.getUsageForbidden()))
+                .limit(3)
+                .toList();
+        observationTimes = IntStream.range(0, 1024)
+                .mapToObj(i -> START.plusMinutes(i * 587L % (OBSERVATIONS_PER_CITY * 60L)))
+                .toArray(LocalDateTime[]::new);
+    }
+
+    /**
+     * Latest fee, answered from the fee matrix.
+     */
+    @Benchmark
+    public Double latestFee() {
+        return deliveryFeeService.calculateDeliveryFee("Tartu", "CAR", null);
+    }
+
+    /**
+     * Historical fee, resolved through the weather history and the quote cache.
+     */
+    @Benchmark
+    public Double historicalFee() {
+        LocalDateTime time = observationTimes[next++ & (observationTimes.length - 1)];
+        return deliveryFeeService.calculateDeliveryFee("Tartu", "CAR", time);
+    }
+
+    /**
+     * Rule evaluation of a single observation, without any lookup or cache.
+     */
+    @Benchmark
+    public FeeQuote quote() {
+        return rules.quote("Tartu", VehicleType.BIKE, weatherData);
+    }
+
+    /**
+     * Summing the fees of already matched conditions.
+     */
+    @Benchmark
+    public Double processConditions() {
+        return deliveryFeeService.processConditions(matchedConditions);
+    }
+
+    private static WeatherData weatherData(Long id, String cityName, LocalDateTime observationTime) {
+        City city = new City();
+        city.setCityName(cityName);
+
+        WeatherData weatherData = new WeatherData();
+        weatherData.setWeatherDataId(id);
+        weatherData.setCity(city);
+        weatherData.setObservationTime(observationTime);
+        weatherData.setAirTemperature(-5.0);
+        weatherData.setWindSpeed(12.0);
+        weatherData.setWeatherPhenomenon("Light rain");
+        return weatherData;
+    }
+}
@@ -0,0 +1,120 @@
+package com.foodDelivery.api.benchmark;
+
+import com.foodDelivery.api.ApiApplication;
+import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.repository.CityRepository;
+import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.service.DeliveryFeeService;
+import com.foodDelivery.api.service.FeeMatrixService;
+import com.foodDelivery.api.service.WeatherHistoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks of the delivery fee calculation against the embedded H2 database.
+ *
+ * <p>
+ *     The application context is started without the web server, so the schema and the
+ *     business rules are loaded from schema.sql. Every city then gets
+ *     {@value #OBSERVATIONS_PER_CITY} hourly observations.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeliveryFeeDatabaseBenchmark {
+
+    private static final int OBSERVATIONS_PER_CITY = 5_000;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 15);
+
+    private ConfigurableApplicationContext context;
+    private DeliveryFeeService deliveryFeeService;
+    private WeatherDataRepository weatherDataRepository;
+    private LocalDateTime[] observationTimes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+
+        weatherDataRepository = context.getBean(WeatherDataRepository.class);
+        List<WeatherData> weatherData = new ArrayList<>();
+        for (City city : context.getBean(CityRepository.class).findAll()) {
+            for (int i = 0; i < OBSERVATIONS_PER_CITY; i++) {
+                WeatherData observation = new WeatherData();
+                observation.setCity(city);
+                observation.setObservationTime(START.plusHours(i));
+                observation.setAirTemperature((i % 40) - 20.0);
+                observation.setWindSpeed((double) (i % 25));
+                observation.setWeatherPhenomenon(i % 3 == 0 ? "Light rain" : "Clear");
+                weatherData.add(observation);
+            }
+        }
+        weatherDataRepository.saveAll(weatherData);
+        context.getBean(WeatherHistoryService.class).load();
+        context.getBean(FeeMatrixService.class).refresh();
+
+        deliveryFeeService = context.getBean(DeliveryFeeService.class);
+        observationTimes = IntStream.range(0, 1024)
+                .mapToObj(i -> START.plusMinutes(i * 587L % (OBSERVATIONS_PER_CITY * 60L)))
+                .toArray(LocalDateTime[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Latest fee through the service.
+     */
+    @Benchmark
+    public Double latestFee() {
+        return deliveryFeeService.calculateDeliveryFee("Tartu", "SCOOTER", null);
+    }
+
+    /**
+     * Historical fee through the service.
+     */
+    @Benchmark
+    public Double historicalFee() {
+        LocalDateTime time = observationTimes[next++ & (observationTimes.length - 1)];
+        return deliveryFeeService.calculateDeliveryFee("Tartu", "SCOOTER", time);
+    }
+
+    /**
+     * The historical weather query against WEATHER_DATA that the history replaces.
+     */
+    @Benchmark
+    public WeatherData historicalWeatherQuery() {
+        LocalDateTime time = observationTimes[next++ & (observationTimes.length - 1)];
+        return weatherDataRepository.findTopByCityCityNameAndObservationTimeLessThanEqualOrderByObservationTimeDesc(
+                "Tartu", time);
+    }
+}
@@ -0,0 +1,114 @@
+package com.foodDelivery.api.benchmark;
+
+import com.foodDelivery.api.model.Conditions;
+import com.foodDelivery.api.model.enums.ConditionType;
+import com.foodDelivery.api.model.enums.VehicleType;
+import com.foodDelivery.api.rules.FeeRuleSnapshot;
+import com.foodDelivery.api.rules.RuleOutcome;
+import com.foodDelivery.api.service.impl.DeliveryFeeServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.phenomenon;
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.range;
+
+/**
+ * Benchmarks of rule compilation and evaluation with a scaled-up rule set.
+ *
+ * <p>
+ *     Every vehicle type gets {@code ruleCount} TEMPERATURE, WIND and PHENOMENON conditions.
+ *     Ranges are narrow and mostly disjoint, with a few wide ranges that overlap many others.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScaledRulesBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    private int ruleCount;
+
+    private List<Conditions> conditions;
+    private List<Conditions> matchedConditions;
+    private FeeRuleSnapshot rules;
+    private double[] temperatures;
+    private double[] windSpeeds;
+    private String[] phenomena;
+    private DeliveryFeeServiceImpl deliveryFeeService;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        conditions = new ArrayList<>();
+        for (VehicleType type : VehicleType.values()) {
+            for (int i = 0; i < ruleCount; i++) {
+                double min = -100.0 + i * 200.0 / ruleCount;
+                double width = i % 50 == 0 ? 40.0 : 200.0 / ruleCount;
+                conditions.add(range(type, ConditionType.TEMPERATURE, min, min + width, 0.01, false));
+                conditions.add(range(type, ConditionType.WIND, min + 100.0, min + 100.0 + width, 0.01, i % 97 == 0));
+                conditions.add(phenomenon(type, "Phenomenon " + i, 0.01, i % 89 == 0));
+            }
+        }
+        rules = FeeRuleSnapshot.compile(conditions, List.of());
+        matchedConditions = conditions.stream()
+                .filter(con -> !Boolean.TRUE.equals(con.getUsageForbidden()))
+                .limit(ruleCount)
+                .toList();
+
+        temperatures = new double[1024];
+        windSpeeds = new double[1024];
+        phenomena = new String[1024];
+        for (int i = 0; i < 1024; i++) {
+            temperatures[i] = random.nextDouble() * 200.0 - 100.0;
+            windSpeeds[i] = random.nextDouble() * 200.0;
+            phenomena[i] = "Phenomenon " + random.nextInt(ruleCount * 2);
+        }
+
+        deliveryFeeService = new DeliveryFeeServiceImpl(null, null, null, null, null, null);
+    }
+
+    /**
+     * Evaluation of one observation against the compiled rules.
+     */
+    @Benchmark
+    public RuleOutcome evaluate() {
+        int i = next++ & 1023;
+        return rules.evaluate(VehicleType.BIKE, temperatures[i], windSpeeds[i], phenomena[i]);
+    }
+
+    /**
+     * Compilation of the whole rule set, as done on every rule write.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public FeeRuleSnapshot compile() {
+        return FeeRuleSnapshot.compile(conditions, List.of());
+    }
+
+    /**
+     * Summing the fees of {@code ruleCount} matched conditions.
+     */
+    @Benchmark
+    public Double processConditions() {
+        return deliveryFeeService.processConditions(matchedConditions);
+    }
+}
@@ -0,0 +1,104 @@
+package com.foodDelivery.api.benchmark;
+
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.foodDelivery.api.xml.Observations;
+import com.foodDelivery.api.xml.ObservationsStreamReader;
+import com.foodDelivery.api.xml.Station;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of parsing the observations feed.
+ *
+ * <p>
+ *     Compares binding the whole feed with XmlMapper and filtering afterwards, as the
+ *     ingestion did before, with the streaming reader that skips stations of unknown
+ *     cities. The synthetic feed has {@code stationCount} stations with all fields of the
+ *     real feed, three of which belong to the cities from schema.sql.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WeatherFeedParsingBenchmark {
+
+    private static final List<String> CITY_WMO_CODES = List.of("26038", "26242", "41803");
+    private static final Set<String> WMO_CODES = Set.copyOf(CITY_WMO_CODES);
+
+    @Param({"10000"})
+    private int stationCount;
+
+    private byte[] feed;
+    private XmlMapper xmlMapper;
+    private ObservationsStreamReader observationsReader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<observations timestamp=\"1742472839\">\n");
+        for (int i = 0; i < stationCount; i++) {
+            int city = i * CITY_WMO_CODES.size() / stationCount;
+            String wmoCode = i == city * stationCount / CITY_WMO_CODES.size()
+                    ? CITY_WMO_CODES.get(city)
+                    : i % 4 == 0 ? "" : Integer.toString(30000 + i);
+            xml.append("<station>")
+                    .append("<name>Station ").append(i).append("</name>")
+                    .append("<wmocode>").append(wmoCode).append("</wmocode>")
+                    .append("<longitude>24.602891666624284</longitude>")
+                    .append("<latitude>59.398122222355134</latitude>")
+                    .append("<phenomenon>Cloudy with clear spells</phenomenon>")
+                    .append("<visibility>35.0</visibility>")
+                    .append("<precipitations>0</precipitations>")
+                    .append("<airpressure>1018.1</airpressure>")
+                    .append("<relativehumidity>79</relativehumidity>")
+                    .append("<airtemperature>").append(i % 40 - 20).append(".5</airtemperature>")
+                    .append("<winddirection>210</winddirection>")
+                    .append("<windspeed>").append(i % 25).append(".2</windspeed>")
+                    .append("<windspeedmax>8.2</windspeedmax>")
+                    .append("<waterlevel/><waterlevel_eh2000/><watertemperature/>")
+                    .append("<uvindex>1.7</uvindex>")
+                    .append("<sunshineduration>57</sunshineduration>")
+                    .append("<globalradiation>277</globalradiation>")
+                    .append("</station>\n");
+        }
+        feed = xml.append("</observations>\n").toString().getBytes(StandardCharsets.UTF_8);
+
+        xmlMapper = new XmlMapper();
+        observationsReader = new ObservationsStreamReader();
+    }
+
+    @Benchmark
+    public List<Station> xmlMapperBinding() throws Exception {
+        Observations observations = xmlMapper.readValue(new String(feed, StandardCharsets.UTF_8), Observations.class);
+        return observations.getStations().stream()
+                .filter(station -> WMO_CODES.contains(station.getWmoCode()))
+                .toList();
+    }
+
+    @Benchmark
+    public List<Station> streamingReader() throws Exception {
+        List<Station> stations = new ArrayList<>();
+        observationsReader.read(new ByteArrayInputStream(feed), WMO_CODES::contains, stations::add);
+        return stations;
+    }
+}
@@ -0,0 +1,143 @@
+package com.foodDelivery.api.benchmark;
+
+import com.foodDelivery.api.ApiApplication;
+import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.repository.CityRepository;
+import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.service.WeatherDataBatchService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks of storing one ingested feed against the embedded H2 database.
+ *
+ * <p>
+ *     Compares the batched upsert of the ingestion with saving every row through the
+ *     repository. The {@code rows} counter reports the inserted rows per second;
+ *     WEATHER_DATA is emptied before every iteration. Like a real feed, every station
+ *     belongs to its own city and all stations of a feed share an observation time that
+ *     was not used before, so all rows are new.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WeatherIngestionBenchmark {
+
+    private static final LocalDateTime OBSERVATION_TIME = LocalDateTime.of(2024, 1, 1, 0, 15);
+
+    @Param({"10", "1000", "100000"})
+    private int stationCount;
+
+    private ConfigurableApplicationContext context;
+    private WeatherDataBatchService weatherDataBatchService;
+    private WeatherDataRepository weatherDataRepository;
+    private JdbcTemplate jdbcTemplate;
+    private List<City> cities;
+    private long feeds;
+
+    /**
+     * Rows inserted during the current iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+
+        weatherDataBatchService = context.getBean(WeatherDataBatchService.class);
+        weatherDataRepository = context.getBean(WeatherDataRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.batchUpdate("INSERT INTO CITY (city_name, station_name, wmo_code) VALUES (?, ?, ?)",
+                IntStream.range(0, stationCount)
+                        .mapToObj(i -> new Object[]{"City " + i, "Station " + i, Integer.toString(100_000 + i)})
+                        .toList());
+        cities = context.getBean(CityRepository.class).findAll().subList(0, stationCount);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearWeatherData() {
+        jdbcTemplate.update("DELETE FROM WEATHER_DATA");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * The ingestion write path: one transaction, batched upserts.
+     */
+    @Benchmark
+    public List<WeatherData> batchedInsert(Rows rows) {
+        List<WeatherData> weatherData = weatherDataBatchService.upsertAll(feed()).stored();
+        rows.rows += weatherData.size();
+        return weatherData;
+    }
+
+    /**
+     * One repository save and transaction per row, as the ingestion used to do.
+     */
+    @Benchmark
+    public WeatherData perRowSave(Rows rows) {
+        WeatherData last = null;
+        for (WeatherData weatherData : feed()) {
+            last = weatherDataRepository.save(weatherData);
+        }
+        rows.rows += stationCount;
+        return last;
+    }
+
+    private List<WeatherData> feed() {
+        List<WeatherData> weatherData = new ArrayList<>(stationCount);
+        LocalDateTime observationTime = OBSERVATION_TIME.plusMinutes(feeds++);
+        for (int i = 0; i < stationCount; i++) {
+            WeatherData observation = new WeatherData();
+            observation.setCity(cities.get(i));
+            observation.setObservationTime(observationTime);
+            observation.setAirTemperature((i % 40) - 20.0);
+            observation.setWindSpeed((double) (i % 25));
+            observation.setWeatherPhenomenon(i % 3 == 0 ? "Light rain" : "Clear");
+            weatherData.add(observation);
+        }
+        return weatherData;
+    }
+}
@@ -0,0 +1,186 @@
+package com.foodDelivery.api.benchmark;
+
+import com.foodDelivery.api.ApiApplication;
+import com.foodDelivery.api.model.BaseFee;
+import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.model.Conditions;
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.model.enums.VehicleType;
+import com.foodDelivery.api.repository.BaseFeeRepository;
+import com.foodDelivery.api.repository.CityRepository;
+import com.foodDelivery.api.repository.ConditionsRepository;
+import com.foodDelivery.api.repository.WeatherDataRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks of the repository queries against a large WEATHER_DATA table, with and without
+ * the indexes of {@code db/migration/V2__query_indexes.sql}.
+ *
+ * <p>
+ *     With {@code indexed=false} the context skips the V2 migration, i.e. it has the schema before
+ *     the indexes. Every city gets {@code weatherRows / 3} observations five minutes apart,
+ *     inserted straight through SQL, and the table statistics are refreshed before measuring.
+ *     The rows alone take a few GB of heap, hence the larger heap of the fork; use
+ *     {@code -p weatherRows=1000000} for a quicker run.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+public class WeatherQueryIndexBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(1990, 1, 1, 0, 0);
+    private static final int INSERT_CHUNK = 1_000_000;
+    private static final long FIRST_ID = 1_000_000_000L;
+
+    @Param({"false", "true"})
+    private boolean indexed;
+
+    @Param({"10000000"})
+    private int weatherRows;
+
+    private ConfigurableApplicationContext context;
+    private WeatherDataRepository weatherDataRepository;
+    private ConditionsRepository conditionsRepository;
+    private BaseFeeRepository baseFeeRepository;
+    private CityRepository cityRepository;
+    private List<Long> cityIds;
+    private LocalDateTime[] observationTimes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN");
+        if (!indexed) {
+            builder.properties("spring.sql.init.schema-locations=classpath:schema.sql,classpath:db/migration/V3__id_sequences.sql");
+        }
+        context = builder.run();
+
+        weatherDataRepository = context.getBean(WeatherDataRepository.class);
+        conditionsRepository = context.getBean(ConditionsRepository.class);
+        baseFeeRepository = context.getBean(BaseFeeRepository.class);
+        cityRepository = context.getBean(CityRepository.class);
+        cityIds = cityRepository.findAll().stream().map(City::getCityId).toList();
+
+        int rowsPerCity = weatherRows / cityIds.size();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (int c = 0; c < cityIds.size(); c++) {
+            for (int from = 0; from < rowsPerCity; from += INSERT_CHUNK) {
+                int to = Math.min(from + INSERT_CHUNK, rowsPerCity);
+                jdbcTemplate.update("INSERT INTO WEATHER_DATA (weather_data_id, city_id, air_temperature, wind_speed, " +
+                                "weather_phenomenon, observation_time) " +
+                                "SELECT CAST(? AS BIGINT) + X, CAST(? AS INT), MOD(X, 40) - 20, MOD(X, 25), " +
+                                "CASEWHEN(MOD(X, 3) = 0, 'Light rain', 'Clear'), " +
+                                "DATEADD(MINUTE, X * 5, CAST(? AS TIMESTAMP)) " +
+                                "FROM SYSTEM_RANGE(CAST(? AS BIGINT), CAST(? AS BIGINT))",
+                        FIRST_ID + (long) c * rowsPerCity, cityIds.get(c), Timestamp.valueOf(START), from, to - 1);
+            }
+        }
+        jdbcTemplate.execute("ANALYZE");
+
+        observationTimes = IntStream.range(0, 1024)
+                .mapToObj(i -> START.plusMinutes(i * 7919L % (rowsPerCity * 5L)))
+                .toArray(LocalDateTime[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * The latest observation of a city, as used for the latest fee without the fee matrix.
+     */
+    @Benchmark
+    public WeatherData latestWeather() {
+        return weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc("Tartu");
+    }
+
+    /**
+     * The latest observation of a city at a point in time, as used for historical fees.
+     */
+    @Benchmark
+    public WeatherData weatherAtTime() {
+        LocalDateTime time = observationTimes[next++ & (observationTimes.length - 1)];
+        return weatherDataRepository.findTopByCityCityNameAndObservationTimeLessThanEqualOrderByObservationTimeDesc(
+                "Tartu", time);
+    }
+
+    /**
+     * The latest observation of every city, as used to build the fee matrix.
+     */
+    @Benchmark
+    public List<WeatherData> latestForEachCity() {
+        return weatherDataRepository.findLatestForEachCity();
+    }
+
+    /**
+     * The observations of every city at one time, as used by the ingestion upsert.
+     */
+    @Benchmark
+    public List<WeatherData> weatherOfCitiesAtTime() {
+        LocalDateTime time = observationTimes[next++ & (observationTimes.length - 1)];
+        return weatherDataRepository.findByObservationTimeAndCityIds(time, cityIds);
+    }
+
+    /**
+     * The earliest observation before a cutoff, as used by the retention.
+     */
+    @Benchmark
+    public LocalDateTime earliestObservationBefore() {
+        LocalDateTime time = observationTimes[next++ & (observationTimes.length - 1)];
+        return weatherDataRepository.findEarliestObservationTimeBefore(time);
+    }
+
+    /**
+     * The phenomenon rules of a vehicle.
+     */
+    @Benchmark
+    public List<Conditions> phenomenonConditions() {
+        return conditionsRepository.findPhenomenonConditions(VehicleType.BIKE, "Light snow shower");
+    }
+
+    /**
+     * The base fee of a city and vehicle.
+     */
+    @Benchmark
+    public Optional<BaseFee> baseFee() {
+        return baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType("Tartu", VehicleType.SCOOTER);
+    }
+
+    /**
+     * A city by the WMO code of its station.
+     */
+    @Benchmark
+    public Optional<City> cityByWmoCode() {
+        return cityRepository.findByWmoCode("26242");
+    }
+}
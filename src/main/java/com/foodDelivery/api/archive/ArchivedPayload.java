@@ -0,0 +1,17 @@
+package com.foodDelivery.api.archive;
+
+import java.nio.file.Path;
+
+/**
+ * Index entry of a payload in the archive.
+ *
+ * @param timestamp the observation timestamp of the feed in Unix epoch seconds.
+ * @param provider the name of the provider that sent the payload.
+ * @param segment the segment file that holds the payload.
+ * @param offset the position of the compressed payload in the segment.
+ * @param compressedLength the length of the compressed payload in bytes.
+ * @param checksum the CRC-32 of the compressed payload.
+ */
+public record ArchivedPayload(long timestamp, String provider, Path segment, long offset,
+                              int compressedLength, int checksum) {
+}
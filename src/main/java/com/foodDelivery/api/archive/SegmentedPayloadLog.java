@@ -0,0 +1,234 @@
+package com.foodDelivery.api.archive;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Append-only log of raw feed payloads, split into segment files.
+ *
+ * <p>
+ *     Every payload is gzip-compressed on its own and appended to the active segment as one record:
+ *     a magic number, the feed timestamp, the provider name, the compressed length, the CRC-32 of the
+ *     compressed bytes and the compressed bytes. A new segment is started once the active one would
+ *     grow past the segment size. Records are never modified after they are written.
+ * </p>
+ * <p>
+ *     An in-memory index maps every feed timestamp to the segment and offset of its payloads. It is
+ *     rebuilt on start-up by reading only the record headers, and a record that was cut off by a
+ *     crash is truncated from the active segment. Reading a payload decompresses only that record.
+ * </p>
+ * <p>
+ *     Appends must come from a single thread at a time; lookups and reads are safe from any thread.
+ * </p>
+ */
+public final class SegmentedPayloadLog implements Closeable {
+
+    private static final int MAGIC = 0x57415243;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final long segmentSize;
+    private final ConcurrentSkipListMap<Long, List<ArchivedPayload>> index = new ConcurrentSkipListMap<>();
+    private int segmentNumber;
+    private Path activeSegment;
+    private FileChannel active;
+    private long activeSize;
+
+    public SegmentedPayloadLog(Path directory, long segmentSize) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().toList();
+        }
+
+        for (Path segment : segments) {
+            activeSize = scan(segment);
+            segmentNumber = segmentNumber(segment);
+        }
+
+        if (segments.isEmpty()) {
+            openSegment(0);
+        } else {
+            activeSegment = segments.getLast();
+            active = FileChannel.open(activeSegment, StandardOpenOption.WRITE);
+            active.truncate(activeSize);
+        }
+    }
+
+    /**
+     * Compresses and appends a payload.
+     *
+     * @param timestamp the observation timestamp of the feed in Unix epoch seconds.
+     * @param provider the name of the provider that sent the payload.
+     * @param payload the raw payload.
+     * @return the index entry of the appended payload.
+     * @throws IOException if the payload cannot be written.
+     */
+    public ArchivedPayload append(long timestamp, String provider, byte[] payload) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(payload.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(payload);
+        }
+        byte[] data = compressed.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(data);
+
+        byte[] providerName = provider.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream record = new ByteArrayOutputStream(data.length + providerName.length + 22);
+        DataOutputStream output = new DataOutputStream(record);
+        output.writeInt(MAGIC);
+        output.writeLong(timestamp);
+        output.writeShort(providerName.length);
+        output.write(providerName);
+        output.writeInt(data.length);
+        output.writeInt((int) crc.getValue());
+        int headerLength = output.size();
+        output.write(data);
+
+        if (activeSize > 0 && activeSize + record.size() > segmentSize) {
+            active.close();
+            openSegment(segmentNumber + 1);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(record.toByteArray());
+        long position = activeSize;
+        while (buffer.hasRemaining()) {
+            position += active.write(buffer, position);
+        }
+        active.force(false);
+
+        ArchivedPayload entry = new ArchivedPayload(timestamp, provider, activeSegment,
+                activeSize + headerLength, data.length, (int) crc.getValue());
+        activeSize = position;
+        addToIndex(entry);
+        return entry;
+    }
+
+    /**
+     * Finds an archived payload by its feed timestamp.
+     *
+     * @param timestamp the observation timestamp of the feed in Unix epoch seconds.
+     * @param provider the name of the provider, or null for the first payload archived with that timestamp.
+     * @return the index entry, or empty if no such payload is archived.
+     */
+    public Optional<ArchivedPayload> find(long timestamp, String provider) {
+        return index.getOrDefault(timestamp, List.of()).stream()
+                .filter(entry -> provider == null || entry.provider().equals(provider))
+                .findFirst();
+    }
+
+    /**
+     * Decompresses an archived payload into the given stream.
+     *
+     * @param entry the index entry of the payload.
+     * @param output receives the raw payload; it is not closed.
+     * @throws IOException if the payload cannot be read or its checksum does not match.
+     */
+    public void copyTo(ArchivedPayload entry, OutputStream output) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.compressedLength());
+        try (FileChannel segment = FileChannel.open(entry.segment(), StandardOpenOption.READ)) {
+            long position = entry.offset();
+            while (buffer.hasRemaining()) {
+                int read = segment.read(buffer, position);
+                if (read < 0) {
+                    throw new EOFException("The archived payload is truncated.");
+                }
+                position += read;
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array());
+        if ((int) crc.getValue() != entry.checksum()) {
+            throw new IOException("The checksum of the archived payload does not match.");
+        }
+
+        try (InputStream payload = new GZIPInputStream(new ByteArrayInputStream(buffer.array()))) {
+            payload.transferTo(output);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        active.close();
+    }
+
+    /**
+     * Indexes the complete records of a segment.
+     *
+     * @return the length of the segment up to the end of its last complete record.
+     */
+    private long scan(Path segment) throws IOException {
+        long position = 0;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+            while (true) {
+                try {
+                    if (input.readInt() != MAGIC) {
+                        return position;
+                    }
+                    long timestamp = input.readLong();
+                    byte[] providerName = new byte[input.readUnsignedShort()];
+                    input.readFully(providerName);
+                    int length = input.readInt();
+                    int checksum = input.readInt();
+                    input.skipNBytes(length);
+
+                    long offset = position + 22 + providerName.length;
+                    addToIndex(new ArchivedPayload(timestamp, new String(providerName, StandardCharsets.UTF_8),
+                            segment, offset, length, checksum));
+                    position = offset + length;
+                } catch (EOFException e) {
+                    return position;
+                }
+            }
+        }
+    }
+
+    private void addToIndex(ArchivedPayload entry) {
+        index.compute(entry.timestamp(), (timestamp, entries) -> {
+            List<ArchivedPayload> updated = entries == null ? new ArrayList<>(1) : new ArrayList<>(entries);
+            updated.add(entry);
+            return List.copyOf(updated);
+        });
+    }
+
+    private void openSegment(int number) throws IOException {
+        segmentNumber = number;
+        activeSegment = directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+        active = FileChannel.open(activeSegment, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        activeSize = active.size();
+    }
+
+    private static int segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
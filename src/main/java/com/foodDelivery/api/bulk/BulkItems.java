@@ -0,0 +1,178 @@
+package com.foodDelivery.api.bulk;
+
+import com.foodDelivery.api.dto.BulkResultDTO;
+import com.foodDelivery.api.exception.BaseFeeNotFoundException;
+import com.foodDelivery.api.exception.CityNotFoundException;
+import com.foodDelivery.api.exception.ConditionNotFoundException;
+import com.foodDelivery.api.exception.InvalidBulkRequestException;
+import com.foodDelivery.api.exception.VehicleNotFoundException;
+import com.foodDelivery.api.exception.WeatherDataNotFoundException;
+import com.foodDelivery.api.model.enums.BulkMode;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The entities of a bulk read, create, update or delete, one for each requested item.
+ *
+ * <p>
+ *     Every item is resolved to an entity first: the loaded entity, the new entity, or the
+ *     loaded entity with the changes applied. An item whose entity or reference does not exist fails with 404,
+ *     an invalid item with 400. The remaining entities are then handed to the writer at once,
+ *     which lets Hibernate send them in JDBC batches. With {@link BulkMode#ALL_OR_NOTHING}
+ *     nothing is written if any item failed, and the transaction is rolled back, as resolving an
+ *     update has already changed the loaded entities.
+ * </p>
+ *
+ * <p>
+ *     Resolve and write in one transaction. A constraint that only the database can check
+ *     still fails the whole write, as the flush of a batch cannot tell which row broke it.
+ * </p>
+ *
+ * @param <E> the entity type.
+ */
+public final class BulkItems<E> {
+
+    public static final int MAX_ITEMS = 1000;
+
+    private final List<E> entities;
+    private final List<BulkResultDTO<?>> failures;
+    private boolean failed;
+
+    private BulkItems(int size) {
+        this.entities = new ArrayList<>(size);
+        this.failures = new ArrayList<>(size);
+    }
+
+    /**
+     * Checks the number of items of a bulk request.
+     *
+     * @param items the requested items.
+     * @throws InvalidBulkRequestException if there are more than {@link #MAX_ITEMS} items.
+     */
+    public static void checkSize(Collection<?> items) {
+        if (items.size() > MAX_ITEMS) {
+            throw new InvalidBulkRequestException("A bulk request can have at most " + MAX_ITEMS + " items.");
+        }
+    }
+
+    /**
+     * Resolves every item to the entity that is written for it.
+     *
+     * @param items the requested items in request order.
+     * @param resolver creates or loads the entity of an item, or throws if the item cannot be written.
+     * @return the resolved entities.
+     */
+    public static <I, E> BulkItems<E> resolve(List<I> items, Function<? super I, ? extends E> resolver) {
+        checkSize(items);
+        BulkItems<E> bulk = new BulkItems<>(items.size());
+        for (I item : items) {
+            if (item == null) {
+                bulk.fail(HttpStatus.BAD_REQUEST, "The item is missing.");
+                continue;
+            }
+            try {
+                bulk.entities.add(Objects.requireNonNull(resolver.apply(item)));
+                bulk.failures.add(null);
+            } catch (CityNotFoundException | VehicleNotFoundException | BaseFeeNotFoundException
+                     | ConditionNotFoundException | WeatherDataNotFoundException e) {
+                bulk.fail(HttpStatus.NOT_FOUND, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                bulk.fail(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+        }
+        return bulk;
+    }
+
+    /**
+     * Collects the IDs that the items refer to, to load them with one query.
+     *
+     * @param items the requested items.
+     * @param id the ID that an item refers to.
+     * @return the distinct IDs, without nulls.
+     * @throws InvalidBulkRequestException if there are more than {@link #MAX_ITEMS} items.
+     */
+    public static <I, ID> List<ID> idsOf(List<I> items, Function<? super I, ID> id) {
+        checkSize(items);
+        return items.stream().filter(Objects::nonNull).map(id).filter(Objects::nonNull).distinct().toList();
+    }
+
+    private void fail(HttpStatus status, String message) {
+        entities.add(null);
+        failures.add(new BulkResultDTO<>(status.value(), null, message));
+        failed = true;
+    }
+
+    /**
+     * Creates the result of every item of a bulk read.
+     *
+     * @param mapper maps a resolved entity to the item of its result.
+     * @return the results in request order, 200 for a resolved entity.
+     */
+    public <T> List<BulkResultDTO<T>> read(Function<? super E, ? extends T> mapper) {
+        return results(false, HttpStatus.OK, mapper);
+    }
+
+    /**
+     * Writes the resolved entities and creates the result of every item.
+     *
+     * @param status the transaction of the resolve and write; set to roll back if the write is aborted.
+     * @param mode whether a failed item prevents the other items from being written.
+     * @param success the status of a written item.
+     * @param writer writes the entities and flushes them.
+     * @param mapper maps a written entity to the item of its result.
+     * @return the written entities and the results in request order.
+     */
+    public <T> Outcome<E, T> write(TransactionStatus status, BulkMode mode, HttpStatus success,
+                                   Consumer<List<E>> writer, Function<? super E, ? extends T> mapper) {
+        boolean abort = failed && mode == BulkMode.ALL_OR_NOTHING;
+        if (abort) {
+            // otherwise dirty checking would still flush the changes of the resolved updates
+            status.setRollbackOnly();
+        }
+        // items with the same ID resolve to the same loaded entity, which is written once
+        Set<E> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<E> written = abort ? List.of() : entities.stream().filter(e -> e != null && distinct.add(e)).toList();
+        if (!written.isEmpty()) {
+            writer.accept(written);
+        }
+
+        return new Outcome<>(written, results(abort, success, mapper));
+    }
+
+    private <T> List<BulkResultDTO<T>> results(boolean abort, HttpStatus success, Function<? super E, ? extends T> mapper) {
+        List<BulkResultDTO<T>> results = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            BulkResultDTO<?> failure = failures.get(i);
+            if (failure != null) {
+                results.add(new BulkResultDTO<>(failure.getStatus(), null, failure.getMessage()));
+            } else if (abort) {
+                results.add(new BulkResultDTO<>(HttpStatus.FAILED_DEPENDENCY.value(), null,
+                        "Not written because another item failed."));
+            } else {
+                results.add(new BulkResultDTO<>(success.value(), mapper.apply(entities.get(i)), null));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * The outcome of a bulk write.
+     *
+     * @param written the entities that were written.
+     * @param results the result of every item in request order.
+     * @param <E> the entity type.
+     * @param <T> the DTO type.
+     */
+    public record Outcome<E, T>(List<E> written, List<BulkResultDTO<T>> results) {
+    }
+}
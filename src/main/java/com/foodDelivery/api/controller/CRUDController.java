@@ -1,9 +1,19 @@
 package com.foodDelivery.api.controller;
 
+import com.foodDelivery.api.dto.BulkResultDTO;
+import com.foodDelivery.api.dto.ListQueryDTO;
+import com.foodDelivery.api.model.enums.BulkMode;
+import com.foodDelivery.api.paging.KeysetPage;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Generic CRUD Controller interface for handling basic CRUD operations.
@@ -41,12 +51,32 @@ public interface CRUDController<T, ID> {
     ResponseEntity<T> getById(@PathVariable("id") ID id);
 
     /**
-     * Retrieves all entities.
+     * Retrieves entities by their ids, e.g. {@code ?ids=1,2,3}.
      *
+     * <p>
+     *     Every id gets a result in request order: status 200 with the entity, or 404 with
+     *     a message if there is no entity with the id.
+     * </p>
+     *
+     * @param ids the unique identifiers of the entities.
+     * @return a ResponseEntity containing the result of every id.
+     */
+    @GetMapping(params = "ids")
+    ResponseEntity<List<BulkResultDTO<T>>> getAllById(@RequestParam("ids") List<ID> ids);
+
+    /**
+     * Retrieves one page of entities.
+     *
+     * <p>
+     *     If there are more entities, the URL of the next page is returned in the
+     *     {@code Link} header with {@code rel="next"}.
+     * </p>
+     *
+     * @param query the cursor, page size and filters.
      * @return a ResponseEntity containing a list of entities.
      */
     @GetMapping
-    ResponseEntity<List<T>> getAll();
+    ResponseEntity<List<T>> getAll(@ModelAttribute ListQueryDTO query);
 
     /**
      * Deletes an entity by its id.
@@ -56,4 +86,82 @@ public interface CRUDController<T, ID> {
      */
     @DeleteMapping("/{id}")
     ResponseEntity<String> delete(@PathVariable("id") ID id);
+
+    /**
+     * Creates new entities in one transaction.
+     *
+     * <p>
+     *     Every entity gets a result in request order with the status that {@code POST} would have
+     *     answered with. With {@code mode=ALL_OR_NOTHING}, the default, nothing is created if any
+     *     entity fails; with {@code mode=PER_ITEM} the others are still created.
+     * </p>
+     *
+     * @param dtos the DTOs representing the new entities.
+     * @param mode whether a failed entity prevents the others from being created.
+     * @return a ResponseEntity containing the result of every entity.
+     */
+    @PostMapping("/bulk")
+    ResponseEntity<List<BulkResultDTO<T>>> createAll(@RequestBody List<T> dtos,
+                                                     @RequestParam(value = "mode", defaultValue = "ALL_OR_NOTHING") BulkMode mode);
+
+    /**
+     * Updates existing entities, identified by the ids in the DTOs, in one transaction.
+     *
+     * @param dtos the DTOs containing the ids and the updated data.
+     * @param mode whether a failed entity prevents the others from being updated.
+     * @return a ResponseEntity containing the result of every entity.
+     */
+    @PutMapping("/bulk")
+    ResponseEntity<List<BulkResultDTO<T>>> updateAll(@RequestBody List<T> dtos,
+                                                     @RequestParam(value = "mode", defaultValue = "ALL_OR_NOTHING") BulkMode mode);
+
+    /**
+     * Deletes entities by their ids in one transaction.
+     *
+     * @param ids the unique identifiers of the entities to delete.
+     * @param mode whether a failed id prevents the others from being deleted.
+     * @return a ResponseEntity containing the result of every id, with the deleted entity.
+     */
+    @PostMapping("/bulk/delete")
+    ResponseEntity<List<BulkResultDTO<T>>> deleteAll(@RequestBody List<ID> ids,
+                                                     @RequestParam(value = "mode", defaultValue = "ALL_OR_NOTHING") BulkMode mode);
+
+    /**
+     * Creates the response of a page, linking to the next page if there is one.
+     *
+     * @param page the page.
+     * @return a ResponseEntity containing the items of the page.
+     */
+    static <T> ResponseEntity<List<T>> page(KeysetPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", page.nextCursor())
+                    .build()
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.items());
+    }
+
+    /**
+     * Answers a GET with 304 if the client already has the current version, or else creates the response.
+     *
+     * <p>
+     *     The entity tag is compared with {@code If-None-Match} before the response is created, so a
+     *     304 neither reads the database nor serializes a body. Otherwise the tag is sent in the
+     *     {@code ETag} header of the response.
+     * </p>
+     *
+     * @param etag the entity tag of the current version, read before the content.
+     * @param response creates the response for a client without the current version.
+     * @return the response, or null if a 304 has been sent.
+     */
+    static <T> ResponseEntity<T> conditional(String etag, Supplier<ResponseEntity<T>> response) {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        if (new ServletWebRequest(attributes.getRequest(), attributes.getResponse()).checkNotModified(etag)) {
+            return null;
+        }
+        return response.get();
+    }
 }
@@ -2,8 +2,12 @@ package com.foodDelivery.api.controller.impl;
 
 import com.foodDelivery.api.controller.CRUDController;
 import com.foodDelivery.api.dto.BaseFeeDTO;
+import com.foodDelivery.api.dto.BulkResultDTO;
+import com.foodDelivery.api.dto.ListQueryDTO;
+import com.foodDelivery.api.model.enums.BulkMode;
 import com.foodDelivery.api.service.BaseFeeService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -17,9 +21,11 @@ import java.util.List;
  *
  * <p>
  *     Provides endpoints to create, update, retrieve and delete BaseFee.
+ *     GETs carry the entity tag of the collection and are answered with 304 if
+ *     {@code If-None-Match} holds the current one.
  * </p>
  */
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = {HttpHeaders.LINK, HttpHeaders.ETAG})
 @AllArgsConstructor
 @RestController
 @RequestMapping("/api/base-fee")
@@ -41,14 +47,17 @@ public class BaseFeeController implements CRUDController<BaseFeeDTO, Long> {
 
     @Override
     public ResponseEntity<BaseFeeDTO> getById(Long id) {
-        BaseFeeDTO baseFeeDTO = baseFeeService.getById(id);
-        return ResponseEntity.ok(baseFeeDTO);
+        return CRUDController.conditional(baseFeeService.etag(), () -> ResponseEntity.ok(baseFeeService.getById(id)));
+    }
+
+    @Override
+    public ResponseEntity<List<BulkResultDTO<BaseFeeDTO>>> getAllById(List<Long> ids) {
+        return CRUDController.conditional(baseFeeService.etag(), () -> ResponseEntity.ok(baseFeeService.getAllById(ids)));
     }
 
     @Override
-    public ResponseEntity<List<BaseFeeDTO>> getAll() {
-        List<BaseFeeDTO> baseFeeDTOS = baseFeeService.getAll();
-        return ResponseEntity.ok(baseFeeDTOS);
+    public ResponseEntity<List<BaseFeeDTO>> getAll(ListQueryDTO query) {
+        return CRUDController.conditional(baseFeeService.etag(), () -> CRUDController.page(baseFeeService.getAll(query)));
     }
 
     @Override
@@ -56,4 +65,19 @@ public class BaseFeeController implements CRUDController<BaseFeeDTO, Long> {
         baseFeeService.delete(id);
         return ResponseEntity.ok("Base fee with id " + id + " was deleted!");
     }
+
+    @Override
+    public ResponseEntity<List<BulkResultDTO<BaseFeeDTO>>> createAll(List<BaseFeeDTO> dtos, BulkMode mode) {
+        return ResponseEntity.ok(baseFeeService.createAll(dtos, mode));
+    }
+
+    @Override
+    public ResponseEntity<List<BulkResultDTO<BaseFeeDTO>>> updateAll(List<BaseFeeDTO> dtos, BulkMode mode) {
+        return ResponseEntity.ok(baseFeeService.updateAll(dtos, mode));
+    }
+
+    @Override
+    public ResponseEntity<List<BulkResultDTO<BaseFeeDTO>>> deleteAll(List<Long> ids, BulkMode mode) {
+        return ResponseEntity.ok(baseFeeService.deleteAll(ids, mode));
+    }
 }
@@ -2,8 +2,12 @@ package com.foodDelivery.api.controller.impl;
 
 import com.foodDelivery.api.controller.CRUDController;
 import com.foodDelivery.api.dto.CityDTO;
+import com.foodDelivery.api.dto.BulkResultDTO;
+import com.foodDelivery.api.dto.ListQueryDTO;
+import com.foodDelivery.api.model.enums.BulkMode;
 import com.foodDelivery.api.service.CityService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -17,9 +21,11 @@ import java.util.List;
  *
  * <p>
  *     Provides endpoints to create, update, retrieve and delete City.
+ *     GETs carry the entity tag of the collection and are answered with 304 if
+ *     {@code If-None-Match} holds the current one.
  * </p>
  */
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = {HttpHeaders.LINK, HttpHeaders.ETAG})
 @AllArgsConstructor
 @RestController
 @RequestMapping("/api/city")
@@ -41,14 +47,17 @@ public class CityController implements CRUDController<CityDTO, Long> {
 
     @Override
     public ResponseEntity<CityDTO> getById(Long id) {
-        CityDTO cityDTO = cityService.getById(id);
-        return ResponseEntity.ok(cityDTO);
+        return CRUDController.conditional(cityService.etag(), () -> ResponseEntity.ok(cityService.getById(id)));
+    }
+
+    @Override
+    public ResponseEntity<List<BulkResultDTO<CityDTO>>> getAllById(List<Long> ids) {
+        return CRUDController.conditional(cityService.etag(), () -> ResponseEntity.ok(cityService.getAllById(ids)));
     }
 
     @Override
-    public ResponseEntity<List<CityDTO>> getAll() {
-        List<CityDTO> cityDTOS = cityService.getAll();
-        return ResponseEntity.ok(cityDTOS);
+    public ResponseEntity<List<CityDTO>> getAll(ListQueryDTO query) {
+        return CRUDController.conditional(cityService.etag(), () -> CRUDController.page(cityService.getAll(query)));
     }
 
     @Override
@@ -56,4 +65,19 @@ public class CityController implements CRUDController<CityDTO, Long> {
         cityService.delete(id);
         return ResponseEntity.ok("City with id " + id + " was deleted!");
     }
+
+    @Override
+    public ResponseEntity<List<BulkResultDTO<CityDTO>>> createAll(List<CityDTO> dtos, BulkMode mode) {
+        return ResponseEntity.ok(cityService.createAll(dtos, mode));
+    }
+
+    @Override
+    public ResponseEntity<List<BulkResultDTO<CityDTO>>> updateAll(List<CityDTO> dtos, BulkMode mode) {
+        return ResponseEntity.ok(cityService.updateAll(dtos, mode));
+    }
+
+    @Override
+    public ResponseEntity<List<BulkResultDTO<CityDTO>>> deleteAll(List<Long> ids, BulkMode mode) {
+        return ResponseEntity.ok(cityService.deleteAll(ids, mode));
+    }
 }
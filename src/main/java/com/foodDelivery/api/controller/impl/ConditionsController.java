@@ -2,8 +2,12 @@ package com.foodDelivery.api.controller.impl;
 
 import com.foodDelivery.api.controller.CRUDController;
 import com.foodDelivery.api.dto.ConditionsDTO;
+import com.foodDelivery.api.dto.BulkResultDTO;
+import com.foodDelivery.api.dto.ListQueryDTO;
+import com.foodDelivery.api.model.enums.BulkMode;
 import com.foodDelivery.api.service.ConditionsService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -17,9 +21,11 @@ import java.util.List;
  *
  * <p>
  *     Provides endpoints to create, update, retrieve and delete Conditions.
+ *     GETs carry the entity tag of the collection and are answered with 304 if
+ *     {@code If-None-Match} holds the current one.
  * </p>
  */
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = {HttpHeaders.LINK, HttpHeaders.ETAG})
 @AllArgsConstructor
 @RestController
 @RequestMapping("/api/conditions")
@@ -41,14 +47,17 @@ public class ConditionsController implements CRUDController<ConditionsDTO, Long>
 
     @Override
     public ResponseEntity<ConditionsDTO> getById(Long id) {
-        ConditionsDTO conditionsDTO = conditionsService.getById(id);
-        return ResponseEntity.ok(conditionsDTO);
+        return CRUDController.conditional(conditionsService.etag(), () -> ResponseEntity.ok(conditionsService.getById(id)));
+    }
+
+    @Override
+    public ResponseEntity<List<BulkResultDTO<ConditionsDTO>>> getAllById(List<Long> ids) {
+        return CRUDController.conditional(conditionsService.etag(), () -> ResponseEntity.ok(conditionsService.getAllById(ids)));
     }
 
     @Override
-    public ResponseEntity<List<ConditionsDTO>> getAll() {
-        List<ConditionsDTO> conditionsDTOS = conditionsService.getAll();
-        return ResponseEntity.ok(conditionsDTOS);
+    public ResponseEntity<List<ConditionsDTO>> getAll(ListQueryDTO query) {
+        return CRUDController.conditional(conditionsService.etag(), () -> CRUDController.page(conditionsService.getAll(query)));
     }
 
     @Override
@@ -56,4 +65,19 @@ public class ConditionsController implements CRUDController<ConditionsDTO, Long>
         conditionsService.delete(id);
         return ResponseEntity.ok("Conditions with id " + id + " was deleted!");
     }
+
+    @Override
+    public ResponseEntity<List<BulkResultDTO<ConditionsDTO>>> createAll(List<ConditionsDTO> dtos, BulkMode mode) {
+        return ResponseEntity.ok(conditionsService.createAll(dtos, mode));
+    }
+
+    @Override
+    public ResponseEntity<List<BulkResultDTO<ConditionsDTO>>> updateAll(List<ConditionsDTO> dtos, BulkMode mode) {
+        return ResponseEntity.ok(conditionsService.updateAll(dtos, mode));
+    }
+
+    @Override
+    public ResponseEntity<List<BulkResultDTO<ConditionsDTO>>> deleteAll(List<Long> ids, BulkMode mode) {
+        return ResponseEntity.ok(conditionsService.deleteAll(ids, mode));
+    }
 }
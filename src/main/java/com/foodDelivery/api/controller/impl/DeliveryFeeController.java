@@ -1,22 +1,47 @@
 package com.foodDelivery.api.controller.impl;
 
+import com.foodDelivery.api.dto.DeliveryFeeBatchResultDTO;
 import com.foodDelivery.api.dto.DeliveryFeeRequestDTO;
 import com.foodDelivery.api.dto.DeliveryFeeResponseDTO;
+import com.foodDelivery.api.dto.DeliveryFeeSeriesPointDTO;
+import com.foodDelivery.api.dto.FeeQuoteCacheStatsDTO;
 import com.foodDelivery.api.service.DeliveryFeeService;
+import com.foodDelivery.api.service.DeliveryFeeStreamService;
+import com.foodDelivery.api.service.FeeCacheControlService;
+import com.foodDelivery.api.service.FeeChangeStreamService;
+import com.foodDelivery.api.service.FeeQuoteCacheService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * REST controller for calculating delivery fee.
  *
  * <p>
  *     Exposes endpoint to calculate the total delivery fee based on the provided
- *     city name, vehicle type, and observation time.
+ *     city name, vehicle type, and observation time, either as query parameters with HTTP
+ *     caching headers or as a JSON body, and a batch endpoint that
+ *     calculates the fees of many requests at once. Very large inputs can be streamed
+ *     as newline-delimited JSON. The fee of a city and vehicle can also be charted over a
+ *     time range. Clients can subscribe to changes of the current fee of a city as
+ *     Server-Sent Events. The statistics of the quote cache are exposed as well.
  * </p>
  */
 @AllArgsConstructor
@@ -24,6 +49,35 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/delivery-fee")
 public class DeliveryFeeController {
     private final DeliveryFeeService deliveryFeeService;
+    private final DeliveryFeeStreamService deliveryFeeStreamService;
+    private final FeeQuoteCacheService feeQuoteCacheService;
+    private final FeeChangeStreamService feeChangeStreamService;
+    private final FeeCacheControlService feeCacheControlService;
+
+    /**
+     * Calculates the delivery fee from query parameters.
+     *
+     * <p>
+     *     This is the cacheable form of {@link #getDeliveryFee(DeliveryFeeRequestDTO)}. The response
+     *     can be cached by shared caches until the next weather ingestion is due; quotes for an
+     *     observation time the ingestion has already passed for a bounded maximum age.
+     * </p>
+     *
+     * @param cityName the name of the city.
+     * @param vehicleType the type of the vehicle (e.g., BIKE, CAR)
+     * @param observationTime the observation time used in fee calculation; the latest fee if not provided.
+     * @return a ResponseEntity containing the DeliveryFeeResponseDTO and the Cache-Control and Expires headers.
+     */
+    @GetMapping(params = {"cityName", "vehicleType"})
+    private ResponseEntity<DeliveryFeeResponseDTO> getDeliveryFee(
+            @RequestParam @NotBlank String cityName,
+            @RequestParam @NotBlank String vehicleType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime observationTime) {
+        // before the fee, so a fee read while an ingestion finishes is never cached as if it were read after it
+        HttpHeaders headers = feeCacheControlService.cacheHeaders(observationTime);
+        Double totalFee = deliveryFeeService.calculateDeliveryFee(cityName, vehicleType, observationTime);
+        return ResponseEntity.ok().headers(headers).body(new DeliveryFeeResponseDTO(totalFee));
+    }
 
     /**
      * Calculates the delivery fee.
@@ -41,4 +95,88 @@ public class DeliveryFeeController {
         DeliveryFeeResponseDTO response = new DeliveryFeeResponseDTO(totalFee);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Calculates the delivery fees of a batch of requests.
+     *
+     * <p>
+     *     Each request gets its own result, in the order of the requests. A request that
+     *     fails (e.g., unknown city or forbidden vehicle) is reported in its result and
+     *     does not fail the batch.
+     * </p>
+     *
+     * @param requests the delivery fee request payloads.
+     * @return a ResponseEntity containing the list of DeliveryFeeBatchResultDTO.
+     */
+    @PostMapping("/batch")
+    private ResponseEntity<List<DeliveryFeeBatchResultDTO>> getDeliveryFees(@RequestBody List<DeliveryFeeRequestDTO> requests) {
+        return ResponseEntity.ok(deliveryFeeService.calculateDeliveryFees(requests));
+    }
+
+    /**
+     * Calculates the delivery fees of a newline-delimited JSON stream of requests.
+     *
+     * <p>
+     *     Each request line is answered with one result line in the same order.
+     *     Results are written while the request is still being read.
+     * </p>
+     *
+     * @param body the NDJSON stream of DeliveryFeeRequestDTO lines.
+     * @param response the response the DeliveryFeeBatchResultDTO lines are written to.
+     * @throws IOException if reading the request or writing the response fails.
+     */
+    @PostMapping(value = "/stream",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    private void getDeliveryFeesStream(InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        deliveryFeeStreamService.calculateDeliveryFees(body, response.getOutputStream());
+    }
+
+    /**
+     * Calculates the delivery fee for every stored weather observation of a city within a time range.
+     *
+     * @param cityName the name of the city.
+     * @param vehicleType the type of the vehicle (e.g., BIKE, CAR)
+     * @param from the lower bound of the observation time (inclusive).
+     * @param to the upper bound of the observation time (inclusive).
+     * @return a ResponseEntity containing the list of DeliveryFeeSeriesPointDTO.
+     */
+    @GetMapping("/series")
+    private ResponseEntity<List<DeliveryFeeSeriesPointDTO>> getDeliveryFeeSeries(
+            @RequestParam String cityName,
+            @RequestParam String vehicleType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(deliveryFeeService.calculateDeliveryFeeSeries(cityName, vehicleType, from, to));
+    }
+
+    /**
+     * Subscribes to the changes of the current delivery fee of a city.
+     *
+     * <p>
+     *     The stream starts with the current fee of every subscribed vehicle type and then sends
+     *     a {@code fee} event with a FeeChangeDTO whenever the fee or the forbidden status changes.
+     * </p>
+     *
+     * @param cityName the name of the city.
+     * @param vehicleType the type of the vehicle (e.g., BIKE, CAR); all vehicle types if not provided.
+     * @return the emitter of the event stream.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    private SseEmitter getDeliveryFeeChanges(@RequestParam String cityName,
+                                             @RequestParam(required = false) String vehicleType) {
+        return feeChangeStreamService.subscribe(cityName, vehicleType);
+    }
+
+    /**
+     * Retrieves the hit, miss and eviction statistics of the delivery fee quote cache.
+     *
+     * @return a ResponseEntity containing the FeeQuoteCacheStatsDTO.
+     */
+    @GetMapping("/cache-stats")
+    private ResponseEntity<FeeQuoteCacheStatsDTO> getCacheStats() {
+        return ResponseEntity.ok(feeQuoteCacheService.getStats());
+    }
 }
@@ -2,8 +2,12 @@ package com.foodDelivery.api.controller.impl;
 
 import com.foodDelivery.api.controller.CRUDController;
 import com.foodDelivery.api.dto.VehicleDTO;
+import com.foodDelivery.api.dto.BulkResultDTO;
+import com.foodDelivery.api.dto.ListQueryDTO;
+import com.foodDelivery.api.model.enums.BulkMode;
 import com.foodDelivery.api.service.VehicleService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -17,9 +21,11 @@ import java.util.List;
  *
  * <p>
  *     Provides endpoints to create, update, retrieve and delete Vehicle.
+ *     GETs carry the entity tag of the collection and are answered with 304 if
+ *     {@code If-None-Match} holds the current one.
  * </p>
  */
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = {HttpHeaders.LINK, HttpHeaders.ETAG})
 @AllArgsConstructor
 @RestController
 @RequestMapping("/api/vehicle")
@@ -41,14 +47,17 @@ public class VehicleController implements CRUDController<VehicleDTO, Long> {
 
     @Override
     public ResponseEntity<VehicleDTO> getById(Long id) {
-        VehicleDTO vehicleDTO = vehicleService.getById(id);
-        return ResponseEntity.ok(vehicleDTO);
+        return CRUDController.conditional(vehicleService.etag(), () -> ResponseEntity.ok(vehicleService.getById(id)));
+    }
+
+    @Override
+    public ResponseEntity<List<BulkResultDTO<VehicleDTO>>> getAllById(List<Long> ids) {
+        return CRUDController.conditional(vehicleService.etag(), () -> ResponseEntity.ok(vehicleService.getAllById(ids)));
     }
 
     @Override
-    public ResponseEntity<List<VehicleDTO>> getAll() {
-        List<VehicleDTO> vehicleDTOS = vehicleService.getAll();
-        return ResponseEntity.ok(vehicleDTOS);
+    public ResponseEntity<List<VehicleDTO>> getAll(ListQueryDTO query) {
+        return CRUDController.conditional(vehicleService.etag(), () -> CRUDController.page(vehicleService.getAll(query)));
     }
 
     @Override
@@ -56,4 +65,19 @@ public class VehicleController implements CRUDController<VehicleDTO, Long> {
         vehicleService.delete(id);
         return ResponseEntity.ok("Vehicle with id " + id + " was deleted!");
     }
+
+    @Override
+    public ResponseEntity<List<BulkResultDTO<VehicleDTO>>> createAll(List<VehicleDTO> dtos, BulkMode mode) {
+        return ResponseEntity.ok(vehicleService.createAll(dtos, mode));
+    }
+
+    @Override
+    public ResponseEntity<List<BulkResultDTO<VehicleDTO>>> updateAll(List<VehicleDTO> dtos, BulkMode mode) {
+        return ResponseEntity.ok(vehicleService.updateAll(dtos, mode));
+    }
+
+    @Override
+    public ResponseEntity<List<BulkResultDTO<VehicleDTO>>> deleteAll(List<Long> ids, BulkMode mode) {
+        return ResponseEntity.ok(vehicleService.deleteAll(ids, mode));
+    }
 }
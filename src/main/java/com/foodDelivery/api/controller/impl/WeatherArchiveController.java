@@ -0,0 +1,40 @@
+package com.foodDelivery.api.controller.impl;
+
+import com.foodDelivery.api.archive.ArchivedPayload;
+import com.foodDelivery.api.service.PayloadArchiveService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST controller for auditing the raw observation feeds that were ingested.
+ */
+@AllArgsConstructor
+@RestController
+@RequestMapping("/api/weather-archive")
+public class WeatherArchiveController {
+
+    private final PayloadArchiveService payloadArchiveService;
+
+    /**
+     * Streams the raw payload of an ingested feed exactly as upstream sent it.
+     *
+     * @param timestamp the observation timestamp of the feed in Unix epoch seconds.
+     * @param provider the name of the provider; if omitted, the first payload archived with that timestamp.
+     * @return the raw XML payload.
+     */
+    @GetMapping("/{timestamp}")
+    private ResponseEntity<StreamingResponseBody> getPayload(@PathVariable String timestamp,
+                                                             @RequestParam(required = false) String provider) {
+        ArchivedPayload payload = payloadArchiveService.findPayload(timestamp, provider);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_XML)
+                .body(output -> payloadArchiveService.writePayload(payload, output));
+    }
+}
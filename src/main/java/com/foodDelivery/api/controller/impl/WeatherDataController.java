@@ -2,30 +2,44 @@ package com.foodDelivery.api.controller.impl;
 
 import com.foodDelivery.api.controller.CRUDController;
 import com.foodDelivery.api.dto.WeatherDataDTO;
+import com.foodDelivery.api.dto.BulkResultDTO;
+import com.foodDelivery.api.dto.ListQueryDTO;
+import com.foodDelivery.api.model.enums.BulkMode;
+import com.foodDelivery.api.model.enums.ExportFormat;
+import com.foodDelivery.api.service.WeatherDataExportService;
 import com.foodDelivery.api.service.WeatherDataService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * Rest controller for managing WeatherData entities.
  *
  * <p>
- *     Provides endpoints to create, update, retrieve and delete WeatherData.
+ *     Provides endpoints to create, update, retrieve, delete and export WeatherData.
  * </p>
  */
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = HttpHeaders.LINK)
 @AllArgsConstructor
 @RestController
 @RequestMapping("/api/weather-data")
 public class WeatherDataController implements CRUDController<WeatherDataDTO, Long> {
 
     private final WeatherDataService weatherDataService;
+    private final WeatherDataExportService weatherDataExportService;
 
     @Override
     public ResponseEntity<WeatherDataDTO> create(WeatherDataDTO dto) {
@@ -46,9 +60,13 @@ public class WeatherDataController implements CRUDController<WeatherDataDTO, Lon
     }
 
     @Override
-    public ResponseEntity<List<WeatherDataDTO>> getAll() {
-        List<WeatherDataDTO> weatherDataDTOS = weatherDataService.getAll();
-        return ResponseEntity.ok(weatherDataDTOS);
+    public ResponseEntity<List<BulkResultDTO<WeatherDataDTO>>> getAllById(List<Long> ids) {
+        return ResponseEntity.ok(weatherDataService.getAllById(ids));
+    }
+
+    @Override
+    public ResponseEntity<List<WeatherDataDTO>> getAll(ListQueryDTO query) {
+        return CRUDController.page(weatherDataService.getAll(query));
     }
 
     @Override
@@ -56,4 +74,49 @@ public class WeatherDataController implements CRUDController<WeatherDataDTO, Lon
         weatherDataService.delete(id);
         return ResponseEntity.ok("WeatherData with id " + id + " was deleted!");
     }
+
+    @Override
+    public ResponseEntity<List<BulkResultDTO<WeatherDataDTO>>> createAll(List<WeatherDataDTO> dtos, BulkMode mode) {
+        return ResponseEntity.ok(weatherDataService.createAll(dtos, mode));
+    }
+
+    @Override
+    public ResponseEntity<List<BulkResultDTO<WeatherDataDTO>>> updateAll(List<WeatherDataDTO> dtos, BulkMode mode) {
+        return ResponseEntity.ok(weatherDataService.updateAll(dtos, mode));
+    }
+
+    @Override
+    public ResponseEntity<List<BulkResultDTO<WeatherDataDTO>>> deleteAll(List<Long> ids, BulkMode mode) {
+        return ResponseEntity.ok(weatherDataService.deleteAll(ids, mode));
+    }
+
+    /**
+     * Exports the weather data as a JSON array or CSV file, ordered by observation time.
+     *
+     * <p>
+     *     The rows are written while they are read from the database, so exports of any size
+     *     use the same amount of memory.
+     * </p>
+     *
+     * @param format the file format, JSON or CSV.
+     * @param cityName only weather data of this city (optional).
+     * @param from the lower bound of the observation time, inclusive (optional).
+     * @param to the upper bound of the observation time, inclusive (optional).
+     * @param response the response the file is written to.
+     * @throws IOException if writing the response fails.
+     */
+    @GetMapping("/export")
+    private void export(@RequestParam(defaultValue = "JSON") ExportFormat format,
+                        @RequestParam(required = false) String cityName,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                        HttpServletResponse response) throws IOException {
+        response.setContentType(format.contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("weather-data." + format.extension())
+                .build()
+                .toString());
+        weatherDataExportService.export(format, cityName, from, to, response.getOutputStream());
+    }
 }
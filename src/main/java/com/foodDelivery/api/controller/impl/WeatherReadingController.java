@@ -1,10 +1,16 @@
 package com.foodDelivery.api.controller.impl;
 
-import com.foodDelivery.api.service.WeatherReadingService;
+import com.foodDelivery.api.dto.WeatherReadingJobDTO;
+import com.foodDelivery.api.service.WeatherReadingJobService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 /**
  * REST controller for triggering the weather data reading.
@@ -14,14 +20,48 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/read-weather")
 public class WeatherReadingController {
 
-    private final WeatherReadingService weatherReadingService;
+    private final WeatherReadingJobService weatherReadingJobService;
 
     /**
-     * This endpoint starts the weather data reading process that
-     * is performed by WeatherReadingServiceImpl
+     * This endpoint queues a weather data reading job that runs
+     * WeatherReadingServiceImpl in the background.
+     *
+     * @return HTTP 202 with the status of the queued job and its status URL in the Location header.
      */
     @GetMapping
-    private void readWeather() {
-        weatherReadingService.readWeatherData();
+    private ResponseEntity<WeatherReadingJobDTO> readWeather() {
+        return accepted(weatherReadingJobService.submit());
+    }
+
+    /**
+     * This endpoint queues a job that rebuilds the weather data from a directory of archived
+     * observations XML files below the configured backfill root.
+     *
+     * @param directory the archive directory relative to the backfill root.
+     * @return HTTP 202 with the status of the queued job and its status URL in the Location header.
+     */
+    @PostMapping("/backfill")
+    private ResponseEntity<WeatherReadingJobDTO> backfill(@RequestParam String directory) {
+        return accepted(weatherReadingJobService.submitBackfill(directory));
+    }
+
+    /**
+     * Retrieves the status of a weather data reading job.
+     *
+     * @param jobId the id of the job.
+     * @return the status with the stage timings, stations processed and rows written.
+     */
+    @GetMapping("/jobs/{jobId}")
+    private ResponseEntity<WeatherReadingJobDTO> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(weatherReadingJobService.getJob(jobId));
+    }
+
+    private static ResponseEntity<WeatherReadingJobDTO> accepted(WeatherReadingJobDTO job) {
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/api/read-weather/jobs/{jobId}")
+                        .buildAndExpand(job.getJobId())
+                        .toUri())
+                .body(job);
     }
 }
@@ -0,0 +1,37 @@
+package com.foodDelivery.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Data Transfer Objects for a single result of a bulk read, create, update or delete.
+ *
+ * <p>
+ *     Either the item or the error message is set. The status holds the HTTP status code
+ *     that the single endpoint would have answered with, or 424 for an item that was not
+ *     written because another item of an all-or-nothing request failed.
+ * </p>
+ *
+ * @param <T> the DTO type.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResultDTO<T> {
+
+    /**
+     * The HTTP status code of this item (e.g., 200, 201, 404, 424).
+     */
+    private Integer status;
+
+    /**
+     * The found, created, updated or deleted item, or null if it was not found or written.
+     */
+    private T item;
+
+    /**
+     * The reason why the item was not found or written, or null on success.
+     */
+    private String message;
+}
@@ -0,0 +1,34 @@
+package com.foodDelivery.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Data Transfer Objects for a single result of a batch delivery fee request.
+ *
+ * <p>
+ *     Either the total fee or the error message is set. The status holds the
+ *     HTTP status code that the single fee endpoint would have answered with.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryFeeBatchResultDTO {
+
+    /**
+     * The HTTP status code of this item (e.g., 200, 400, 404).
+     */
+    private Integer status;
+
+    /**
+     * The total calculated fee, or null if the fee could not be calculated.
+     */
+    private Double totalFee;
+
+    /**
+     * The reason why the fee could not be calculated, or null on success.
+     */
+    private String message;
+}
@@ -0,0 +1,36 @@
+package com.foodDelivery.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The Data Transfer Objects for one point of a delivery fee time series.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryFeeSeriesPointDTO {
+
+    /**
+     * The id of the weather data the fee was calculated from.
+     */
+    private Long weatherDataId;
+
+    /**
+     * The observation time of the weather data.
+     */
+    private LocalDateTime observationTime;
+
+    /**
+     * The total delivery fee, or null if the usage of the vehicle was forbidden.
+     */
+    private Double totalFee;
+
+    /**
+     * Indicates whether the usage of the vehicle was forbidden due to weather conditions.
+     */
+    private Boolean forbidden;
+}
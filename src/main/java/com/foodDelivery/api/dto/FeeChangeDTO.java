@@ -0,0 +1,34 @@
+package com.foodDelivery.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Data Transfer Objects for the current delivery fee of a city and vehicle, sent when it changes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeChangeDTO {
+
+    /**
+     * The name of the city.
+     */
+    private String cityName;
+
+    /**
+     * The type of the vehicle (e.g., BIKE, CAR).
+     */
+    private String vehicleType;
+
+    /**
+     * The total delivery fee, or null if the vehicle is forbidden or has no base fee in the city.
+     */
+    private Double totalFee;
+
+    /**
+     * Indicates whether the usage of the vehicle is forbidden due to weather conditions.
+     */
+    private Boolean forbidden;
+}
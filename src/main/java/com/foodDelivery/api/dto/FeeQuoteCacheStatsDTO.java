@@ -0,0 +1,44 @@
+package com.foodDelivery.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Data Transfer Objects for the delivery fee quote cache statistics.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeQuoteCacheStatsDTO {
+
+    /**
+     * The number of lookups answered from the cache.
+     */
+    private long hits;
+
+    /**
+     * The number of lookups that had to calculate the quote.
+     */
+    private long misses;
+
+    /**
+     * The number of entries removed because the cache was full.
+     */
+    private long evictions;
+
+    /**
+     * The number of entries removed because a write changed their inputs.
+     */
+    private long invalidations;
+
+    /**
+     * The current number of entries.
+     */
+    private int size;
+
+    /**
+     * The maximum number of entries.
+     */
+    private int maxSize;
+}
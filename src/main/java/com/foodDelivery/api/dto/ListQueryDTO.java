@@ -0,0 +1,61 @@
+package com.foodDelivery.api.dto;
+
+import com.foodDelivery.api.model.enums.ConditionType;
+import com.foodDelivery.api.model.enums.VehicleType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * The query parameters of the paginated CRUD lists.
+ *
+ * <p>
+ *     Every filter is optional. A filter that does not apply to a resource is ignored,
+ *     e.g. {@code conditionType} on the city list.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListQueryDTO {
+
+    /**
+     * The cursor of the page, as returned in the {@code Link} header of the previous page; null for the first page.
+     */
+    private String after;
+
+    /**
+     * The maximum number of items on the page; defaults to 100, at most 1000.
+     */
+    private Integer limit;
+
+    /**
+     * Only items of the city with this name (cities, base fees, weather data).
+     */
+    private String cityName;
+
+    /**
+     * Only items of this vehicle type (vehicles, base fees, conditions).
+     */
+    private VehicleType vehicleType;
+
+    /**
+     * Only conditions of this type.
+     */
+    private ConditionType conditionType;
+
+    /**
+     * Only weather data observed at or after this time.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    /**
+     * Only weather data observed at or before this time.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+}
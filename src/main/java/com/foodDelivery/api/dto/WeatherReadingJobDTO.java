@@ -0,0 +1,63 @@
+package com.foodDelivery.api.dto;
+
+import com.foodDelivery.api.ingestion.WeatherReadingJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * The Data Transfer Objects for the status of an asynchronous weather reading job.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeatherReadingJobDTO {
+
+    /**
+     * The id of the job.
+     */
+    private String jobId;
+
+    /**
+     * The current state of the job.
+     */
+    private WeatherReadingJobStatus status;
+
+    /**
+     * The time when the job was submitted.
+     */
+    private LocalDateTime submittedAt;
+
+    /**
+     * The time when the job started running, or null if it is still queued.
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * The time when the job finished, or null if it has not finished yet.
+     */
+    private LocalDateTime finishedAt;
+
+    /**
+     * The duration in milliseconds of every completed stage, in the order the stages ran.
+     */
+    private Map<String, Long> stageMillis;
+
+    /**
+     * The number of stations of the configured cities that were read from the feed.
+     */
+    private int stationsProcessed;
+
+    /**
+     * The number of WeatherData rows that were inserted or updated.
+     */
+    private int rowsWritten;
+
+    /**
+     * The error message of a failed job, or a note about a job that stored nothing.
+     */
+    private String message;
+}
@@ -0,0 +1,23 @@
+package com.foodDelivery.api.event;
+
+import com.foodDelivery.api.rules.FeeMatrix;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Application event published after a new fee matrix has been swapped in.
+ *
+ * <p>
+ *     Events are published in the order the matrices were built, while the rebuild lock is held,
+ *     so listeners must not block.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class FeeMatrixRefreshedEvent {
+
+    /**
+     * The matrix that is now in use.
+     */
+    private final FeeMatrix matrix;
+}
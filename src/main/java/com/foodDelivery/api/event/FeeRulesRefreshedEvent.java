@@ -0,0 +1,18 @@
+package com.foodDelivery.api.event;
+
+import com.foodDelivery.api.rules.FeeRuleSnapshot;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Application event published after a new fee rule snapshot has been swapped in.
+ */
+@Getter
+@AllArgsConstructor
+public class FeeRulesRefreshedEvent {
+
+    /**
+     * The snapshot that is now in use.
+     */
+    private final FeeRuleSnapshot snapshot;
+}
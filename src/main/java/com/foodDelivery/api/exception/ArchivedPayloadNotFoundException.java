@@ -0,0 +1,16 @@
+package com.foodDelivery.api.exception;
+
+/**
+ * Exception is thrown when no raw payload is archived for the requested feed timestamp.
+ */
+public class ArchivedPayloadNotFoundException extends RuntimeException {
+
+    /**
+     * A new ArchivedPayloadNotFoundException with the specified detailed message.
+     *
+     * @param message the detail message.
+     */
+    public ArchivedPayloadNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -1,11 +1,18 @@
 package com.foodDelivery.api.exception;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindException;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.method.ParameterValidationResult;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Global exception handler that catches exceptions thrown by controllers
@@ -86,6 +93,123 @@ public class GlobalExceptionHandler extends RuntimeException {
     return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
   }
 
+  /**
+   * Handles exceptions when a weather reading job is not found.
+   *
+   * @param ex the WeatherReadingJobNotFoundException that is thrown.
+   * @return a ResponseEntity containing the error response with HTTP status 404.
+   */
+  @ExceptionHandler(WeatherReadingJobNotFoundException.class)
+  public ResponseEntity<ErrorResponse> handleWeatherReadingJobNotFoundException(WeatherReadingJobNotFoundException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.NOT_FOUND.value(), "Resource not found", ex.getMessage());
+    return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+  }
+
+  /**
+   * Handles exceptions when a weather reading job cannot be queued.
+   *
+   * @param ex the WeatherReadingJobRejectedException that is thrown.
+   * @return a ResponseEntity containing the error response with HTTP status 503.
+   */
+  @ExceptionHandler(WeatherReadingJobRejectedException.class)
+  public ResponseEntity<ErrorResponse> handleWeatherReadingJobRejectedException(WeatherReadingJobRejectedException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.SERVICE_UNAVAILABLE.value(), "Service unavailable", ex.getMessage());
+    return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
+  /**
+   * Handles exceptions when an archived weather payload is not found.
+   *
+   * @param ex the ArchivedPayloadNotFoundException that is thrown.
+   * @return a ResponseEntity containing the error response with HTTP status 404.
+   */
+  @ExceptionHandler(ArchivedPayloadNotFoundException.class)
+  public ResponseEntity<ErrorResponse> handleArchivedPayloadNotFoundException(ArchivedPayloadNotFoundException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.NOT_FOUND.value(), "Resource not found", ex.getMessage());
+    return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+  }
+
+  /**
+   * Handles exceptions when a backfill is requested for an invalid archive directory.
+   *
+   * @param ex the InvalidBackfillDirectoryException that is thrown.
+   * @return a ResponseEntity containing the error response with HTTP status 400.
+   */
+  @ExceptionHandler(InvalidBackfillDirectoryException.class)
+  public ResponseEntity<ErrorResponse> handleInvalidBackfillDirectoryException(InvalidBackfillDirectoryException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), "Incorrect request", ex.getMessage());
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * Handles exceptions when a list is requested with an invalid limit or cursor.
+   *
+   * @param ex the InvalidListQueryException that is thrown.
+   * @return a ResponseEntity containing the error response with HTTP status 400.
+   */
+  @ExceptionHandler(InvalidListQueryException.class)
+  public ResponseEntity<ErrorResponse> handleInvalidListQueryException(InvalidListQueryException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), "Incorrect request", ex.getMessage());
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * Handles exceptions when a bulk write has too many items.
+   *
+   * @param ex the InvalidBulkRequestException that is thrown.
+   * @return a ResponseEntity containing the error response with HTTP status 400.
+   */
+  @ExceptionHandler(InvalidBulkRequestException.class)
+  public ResponseEntity<ErrorResponse> handleInvalidBulkRequestException(InvalidBulkRequestException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), "Incorrect request", ex.getMessage());
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * Handles query parameters that cannot be bound to a request object, e.g. an unknown vehicle type filter.
+   *
+   * @param ex the BindException that is thrown.
+   * @return a ResponseEntity containing the error response with HTTP status 400.
+   */
+  @ExceptionHandler(BindException.class)
+  public ResponseEntity<ErrorResponse> handleBindException(BindException ex) {
+    FieldError fieldError = ex.getFieldError();
+    String message = fieldError != null
+            ? "Invalid value for parameter " + fieldError.getField() + ": " + fieldError.getRejectedValue()
+            : "Invalid request parameters.";
+    ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), "Incorrect request", message);
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * Handles request parameters that cannot be converted to their type, e.g. an unknown export format.
+   *
+   * @param ex the MethodArgumentTypeMismatchException that is thrown.
+   * @return a ResponseEntity containing the error response with HTTP status 400.
+   */
+  @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+  public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+    String message = "Invalid value for parameter " + ex.getName() + ": " + ex.getValue();
+    ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), "Incorrect request", message);
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * Handles request parameters that violate a constraint, e.g. a blank city name.
+   *
+   * @param ex the HandlerMethodValidationException that is thrown.
+   * @return a ResponseEntity containing the error response with HTTP status 400.
+   */
+  @ExceptionHandler(HandlerMethodValidationException.class)
+  public ResponseEntity<ErrorResponse> handleHandlerMethodValidationException(HandlerMethodValidationException ex) {
+    List<ParameterValidationResult> results = ex.getParameterValidationResults();
+    String message = !results.isEmpty()
+            ? "Invalid value for parameter " + results.getFirst().getMethodParameter().getParameterName() + ": " + results.getFirst().getArgument()
+            : "Invalid request parameters.";
+    ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), "Incorrect request", message);
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
   /**
    * Handles exceptions that occur during observation time parsing to human-readable format.
    *
@@ -98,6 +222,54 @@ public class GlobalExceptionHandler extends RuntimeException {
     return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
   }
 
+  /**
+   * Handles delivery fee requests for a vehicle type that does not exist.
+   *
+   * @param ex the InvalidVehicleTypeException that is thrown.
+   * @return a ResponseEntity containing the error response with HTTP status 400.
+   */
+  @ExceptionHandler(InvalidVehicleTypeException.class)
+  public ResponseEntity<ErrorResponse> handleInvalidVehicleTypeException(InvalidVehicleTypeException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), "Incorrect request", ex.getMessage());
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * Handles delivery fee requests for a vehicle that is forbidden in the current weather.
+   *
+   * @param ex the VehicleUsageForbiddenException that is thrown.
+   * @return a ResponseEntity containing the error response with HTTP status 400.
+   */
+  @ExceptionHandler(VehicleUsageForbiddenException.class)
+  public ResponseEntity<ErrorResponse> handleVehicleUsageForbiddenException(VehicleUsageForbiddenException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), "Incorrect request", ex.getMessage());
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * Handles delivery fee requests that are incomplete or have an inverted time range.
+   *
+   * @param ex the InvalidDeliveryFeeRequestException that is thrown.
+   * @return a ResponseEntity containing the error response with HTTP status 400.
+   */
+  @ExceptionHandler(InvalidDeliveryFeeRequestException.class)
+  public ResponseEntity<ErrorResponse> handleInvalidDeliveryFeeRequestException(InvalidDeliveryFeeRequestException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), "Incorrect request", ex.getMessage());
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * Handles writes that violate a constraint of the database, e.g. a second base fee for the same city and vehicle.
+   *
+   * @param ex the DataIntegrityViolationException that is thrown.
+   * @return a ResponseEntity containing the error response with HTTP status 409.
+   */
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.CONFLICT.value(), "Conflict", "The request conflicts with existing data.");
+    return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+  }
+
   /**
    * Fallback for unhandled exceptions.
    *
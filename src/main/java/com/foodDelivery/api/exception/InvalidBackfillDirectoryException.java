@@ -0,0 +1,16 @@
+package com.foodDelivery.api.exception;
+
+/**
+ * Exception is thrown when a backfill is requested for a directory that is not a readable archive directory.
+ */
+public class InvalidBackfillDirectoryException extends RuntimeException {
+
+    /**
+     * A new InvalidBackfillDirectoryException with the specified detailed message.
+     *
+     * @param message the detail message.
+     */
+    public InvalidBackfillDirectoryException(String message) {
+        super(message);
+    }
+}
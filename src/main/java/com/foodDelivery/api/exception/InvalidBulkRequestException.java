@@ -0,0 +1,16 @@
+package com.foodDelivery.api.exception;
+
+/**
+ * Exception is thrown when a bulk write has too many items.
+ */
+public class InvalidBulkRequestException extends RuntimeException {
+
+    /**
+     * A new InvalidBulkRequestException with the specified detailed message.
+     *
+     * @param message the detail message.
+     */
+    public InvalidBulkRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.foodDelivery.api.exception;
+
+/**
+ * Exception is thrown when a delivery fee request is incomplete or has an invalid time range.
+ */
+public class InvalidDeliveryFeeRequestException extends RuntimeException {
+
+    /**
+     * A new InvalidDeliveryFeeRequestException with the specified detailed message.
+     *
+     * @param message the detail message.
+     */
+    public InvalidDeliveryFeeRequestException(String message) {
+        super(message);
+    }
+}
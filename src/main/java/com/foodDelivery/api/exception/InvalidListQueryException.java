@@ -0,0 +1,16 @@
+package com.foodDelivery.api.exception;
+
+/**
+ * Exception is thrown when a list is requested with an invalid limit or cursor.
+ */
+public class InvalidListQueryException extends RuntimeException {
+
+    /**
+     * A new InvalidListQueryException with the specified detailed message.
+     *
+     * @param message the detail message.
+     */
+    public InvalidListQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.foodDelivery.api.exception;
+
+/**
+ * Exception is thrown when a delivery fee is requested for a vehicle type that does not exist.
+ */
+public class InvalidVehicleTypeException extends RuntimeException {
+
+    /**
+     * A new InvalidVehicleTypeException with the specified detailed message.
+     *
+     * @param message the detail message.
+     */
+    public InvalidVehicleTypeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.foodDelivery.api.exception;
+
+/**
+ * Exception is thrown when the usage of the requested vehicle is forbidden due to weather conditions.
+ */
+public class VehicleUsageForbiddenException extends RuntimeException {
+
+    /**
+     * A new VehicleUsageForbiddenException with the specified detailed message.
+     *
+     * @param message the detail message.
+     */
+    public VehicleUsageForbiddenException(String message) {
+        super(message);
+    }
+}
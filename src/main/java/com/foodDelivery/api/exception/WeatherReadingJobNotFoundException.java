@@ -0,0 +1,16 @@
+package com.foodDelivery.api.exception;
+
+/**
+ * Exception is thrown when a weather reading job cannot be found.
+ */
+public class WeatherReadingJobNotFoundException extends RuntimeException {
+
+    /**
+     * A new WeatherReadingJobNotFoundException with the specified detailed message.
+     *
+     * @param message the detail message.
+     */
+    public WeatherReadingJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.foodDelivery.api.exception;
+
+/**
+ * Exception is thrown when a weather reading job cannot be queued because the queue is full.
+ */
+public class WeatherReadingJobRejectedException extends RuntimeException {
+
+    /**
+     * A new WeatherReadingJobRejectedException with the specified detailed message.
+     *
+     * @param message the detail message.
+     */
+    public WeatherReadingJobRejectedException(String message) {
+        super(message);
+    }
+}
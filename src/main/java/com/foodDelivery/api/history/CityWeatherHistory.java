@@ -0,0 +1,217 @@
+package com.foodDelivery.api.history;
+
+import com.foodDelivery.api.model.WeatherData;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Weather history of a single city held in parallel primitive arrays.
+ *
+ * <p>
+ *     Observations are kept sorted by observation time, stored as epoch seconds of the local
+ *     date-time. Temperature and wind speed are stored as doubles (NaN for a missing value) and
+ *     the phenomenon as a dictionary id, so an observation takes 36 bytes instead of a full
+ *     entity. A lookup of the latest observation at or before a point in time is a binary search.
+ * </p>
+ * <p>
+ *     Appending an observation that is not older than the newest one is amortized O(1);
+ *     older observations are inserted at their position. Observations with the same time
+ *     keep their insertion order and the last one wins; adding an observation that is already
+ *     present is ignored. Time has second precision.
+ * </p>
+ */
+public final class CityWeatherHistory {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final PhenomenonDictionary phenomena;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] times = new long[INITIAL_CAPACITY];
+    private double[] temperatures = new double[INITIAL_CAPACITY];
+    private double[] windSpeeds = new double[INITIAL_CAPACITY];
+    private int[] phenomenonIds = new int[INITIAL_CAPACITY];
+    private int size;
+
+    public CityWeatherHistory(PhenomenonDictionary phenomena) {
+        this.phenomena = phenomena;
+    }
+
+    /**
+     * Adds an observation to the history.
+     *
+     * <p>
+     *     If an observation with the same id and time is already present, its values are
+     *     replaced instead, so upserted weather data can simply be added again.
+     * </p>
+     *
+     * @param weatherDataId the id of the weather data.
+     * @param observationTime the time when the weather data was collected.
+     * @param airTemperature the air temperature, or null.
+     * @param windSpeed the wind speed, or null.
+     * @param weatherPhenomenon the weather phenomenon, or null.
+     */
+    public void add(long weatherDataId, LocalDateTime observationTime,
+                    Double airTemperature, Double windSpeed, String weatherPhenomenon) {
+        long time = toEpochSecond(observationTime);
+        int phenomenonId = phenomena.encode(weatherPhenomenon);
+
+        lock.writeLock().lock();
+        try {
+            if (size == ids.length) {
+                grow();
+            }
+
+            int index = size == 0 || times[size - 1] <= time ? size : floorIndex(time) + 1;
+            for (int i = index - 1; i >= 0 && times[i] == time; i--) {
+                if (ids[i] == weatherDataId) {
+                    setValues(i, airTemperature, windSpeed, phenomenonId);
+                    return;
+                }
+            }
+
+            if (index < size) {
+                shift(index, index + 1, size - index);
+            }
+
+            ids[index] = weatherDataId;
+            times[index] = time;
+            setValues(index, airTemperature, windSpeed, phenomenonId);
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setValues(int index, Double airTemperature, Double windSpeed, int phenomenonId) {
+        temperatures[index] = airTemperature != null ? airTemperature : Double.NaN;
+        windSpeeds[index] = windSpeed != null ? windSpeed : Double.NaN;
+        phenomenonIds[index] = phenomenonId;
+    }
+
+    /**
+     * Removes the observation with the given id.
+     *
+     * @param weatherDataId the id of the weather data.
+     * @return true if the observation was part of this history.
+     */
+    public boolean remove(long weatherDataId) {
+        lock.writeLock().lock();
+        try {
+            for (int i = size - 1; i >= 0; i--) {
+                if (ids[i] == weatherDataId) {
+                    shift(i + 1, i, size - i - 1);
+                    size--;
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all observations before the given time.
+     *
+     * @param observationTime the lower bound of the observation time of the kept observations.
+     * @return the number of removed observations.
+     */
+    public int removeBefore(LocalDateTime observationTime) {
+        long time = toEpochSecond(observationTime);
+
+        lock.writeLock().lock();
+        try {
+            int count = floorIndex(time - 1) + 1;
+            if (count > 0) {
+                shift(count, 0, size - count);
+                size -= count;
+            }
+            return count;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the latest observation at or before the given time.
+     *
+     * @param observationTime the upper bound of the observation time.
+     * @return a detached WeatherData without city, or null if there is no such observation.
+     */
+    public WeatherData floor(LocalDateTime observationTime) {
+        long time = toEpochSecond(observationTime);
+
+        lock.readLock().lock();
+        try {
+            int index = floorIndex(time);
+            return index >= 0 ? toWeatherData(index) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of observations in the history.
+     *
+     * @return the size of the history.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int floorIndex(long time) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (times[mid] <= time) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    private WeatherData toWeatherData(int index) {
+        WeatherData weatherData = new WeatherData();
+        weatherData.setWeatherDataId(ids[index]);
+        weatherData.setObservationTime(LocalDateTime.ofEpochSecond(times[index], 0, ZoneOffset.UTC));
+        weatherData.setAirTemperature(Double.isNaN(temperatures[index]) ? null : temperatures[index]);
+        weatherData.setWindSpeed(Double.isNaN(windSpeeds[index]) ? null : windSpeeds[index]);
+        weatherData.setWeatherPhenomenon(phenomena.decode(phenomenonIds[index]));
+        return weatherData;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        times = Arrays.copyOf(times, capacity);
+        temperatures = Arrays.copyOf(temperatures, capacity);
+        windSpeeds = Arrays.copyOf(windSpeeds, capacity);
+        phenomenonIds = Arrays.copyOf(phenomenonIds, capacity);
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(ids, from, ids, to, length);
+        System.arraycopy(times, from, times, to, length);
+        System.arraycopy(temperatures, from, temperatures, to, length);
+        System.arraycopy(windSpeeds, from, windSpeeds, to, length);
+        System.arraycopy(phenomenonIds, from, phenomenonIds, to, length);
+    }
+
+    private static long toEpochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,66 @@
+package com.foodDelivery.api.history;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary that encodes weather phenomenon descriptions as small integer ids.
+ *
+ * <p>
+ *     There are only a few dozen distinct phenomena, so storing an id per observation
+ *     instead of a string reference keeps the weather history compact. Ids are never
+ *     reused or removed. Encoding is synchronized, decoding is lock-free.
+ * </p>
+ */
+public final class PhenomenonDictionary {
+
+    /**
+     * Id used for a missing phenomenon.
+     */
+    public static final int NONE = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private volatile String[] names = new String[0];
+
+    /**
+     * Returns the id of the given phenomenon, adding it to the dictionary if needed.
+     *
+     * @param phenomenon the phenomenon description, or null.
+     * @return the id, or {@link #NONE} if the phenomenon is null.
+     */
+    public synchronized int encode(String phenomenon) {
+        if (phenomenon == null) {
+            return NONE;
+        }
+
+        Integer id = ids.get(phenomenon);
+        if (id == null) {
+            id = names.length;
+            String[] grown = Arrays.copyOf(names, id + 1);
+            grown[id] = phenomenon;
+            names = grown;
+            ids.put(phenomenon, id);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the phenomenon with the given id.
+     *
+     * @param id the id returned by {@link #encode(String)}.
+     * @return the phenomenon description, or null for {@link #NONE}.
+     */
+    public String decode(int id) {
+        return id == NONE ? null : names[id];
+    }
+
+    /**
+     * Returns the number of distinct phenomena.
+     *
+     * @return the dictionary size.
+     */
+    public int size() {
+        return names.length;
+    }
+}
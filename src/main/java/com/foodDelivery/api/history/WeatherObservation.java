@@ -0,0 +1,21 @@
+package com.foodDelivery.api.history;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a WeatherData row that is used to load the weather history.
+ *
+ * @param weatherDataId the id of the weather data.
+ * @param cityName the name of the city.
+ * @param observationTime the time when the weather data was collected.
+ * @param airTemperature the air temperature.
+ * @param windSpeed the wind speed.
+ * @param weatherPhenomenon the weather phenomenon.
+ */
+public record WeatherObservation(Long weatherDataId,
+                                 String cityName,
+                                 LocalDateTime observationTime,
+                                 Double airTemperature,
+                                 Double windSpeed,
+                                 String weatherPhenomenon) {
+}
@@ -0,0 +1,79 @@
+package com.foodDelivery.api.ingestion;
+
+import com.foodDelivery.api.xml.ObservationsStreamReader;
+import com.foodDelivery.api.xml.Station;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Provider that reads an observations feed from a local file.
+ *
+ * <p>
+ *     It is only created when {@code weather-providers.file.path} is set and allows the weather
+ *     reading to run fully offline, e.g. in tests or with a mirrored feed. The modification time
+ *     of the file is used like a Last-Modified header: an unchanged file is not read again.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "weather-providers.file.path")
+public class FileObservationProvider implements ObservationProvider {
+
+    private final ObservationsStreamReader observationsReader = new ObservationsStreamReader();
+    private final String name;
+    private final Path path;
+    private final Duration timeout;
+
+    @Autowired
+    public FileObservationProvider(@Value("${weather-providers.file.path}") Path path,
+                                   @Value("${weather-providers.file.timeout:5s}") Duration timeout) {
+        this("file", path, timeout);
+    }
+
+    public FileObservationProvider(String name, Path path, Duration timeout) {
+        this.name = name;
+        this.path = path;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public Optional<ObservationFeed> fetch(ObservationFeed previous, Predicate<String> wmoCodeFilter, boolean keepPayload)
+            throws Exception {
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        if (previous != null && previous.lastModified() == lastModified) {
+            return Optional.empty();
+        }
+
+        List<Station> stations = new ArrayList<>();
+        try (InputStream input = keepPayload
+                ? new PayloadCapturingInputStream(Files.newInputStream(path)) : Files.newInputStream(path)) {
+            String timestamp = observationsReader.read(input,
+                    ts -> previous == null || !previous.hasTimestamp(ts), wmoCodeFilter, stations::add);
+            if (previous != null && previous.hasTimestamp(timestamp)) {
+                return Optional.empty();
+            }
+            byte[] payload = input instanceof PayloadCapturingInputStream capture ? capture.readPayload() : null;
+            return Optional.of(new ObservationFeed(name, timestamp, stations, null, lastModified, payload));
+        }
+    }
+}
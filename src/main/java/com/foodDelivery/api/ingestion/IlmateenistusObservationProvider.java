@@ -0,0 +1,96 @@
+package com.foodDelivery.api.ingestion;
+
+import com.foodDelivery.api.xml.ObservationsStreamReader;
+import com.foodDelivery.api.xml.Station;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Provider that reads the observations feed of the Estonian Environment Agency over HTTP.
+ *
+ * <p>
+ *     Requests are conditional on the ETag and Last-Modified of the previous feed, and a feed
+ *     whose timestamp equals the previous one is not read past its root element. The connect
+ *     and read timeouts of the HTTP client are set to the provider timeout.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "weather-providers.ilmateenistus.enabled", havingValue = "true", matchIfMissing = true)
+public class IlmateenistusObservationProvider implements ObservationProvider {
+
+    private final RestTemplate restTemplate;
+    private final ObservationsStreamReader observationsReader = new ObservationsStreamReader();
+    private final String url;
+    private final Duration timeout;
+
+    public IlmateenistusObservationProvider(
+            @Value("${weather-providers.ilmateenistus.url:https://www.ilmateenistus.ee/ilma_andmed/xml/observations.php}") String url,
+            @Value("${weather-providers.ilmateenistus.timeout:10s}") Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.url = url;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String getName() {
+        return "ilmateenistus";
+    }
+
+    @Override
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public Optional<ObservationFeed> fetch(ObservationFeed previous, Predicate<String> wmoCodeFilter, boolean keepPayload) {
+        List<Station> stations = new ArrayList<>();
+        ObservationFeed feed = restTemplate.execute(url, HttpMethod.GET,
+                request -> {
+                    if (previous != null && previous.eTag() != null) {
+                        request.getHeaders().setIfNoneMatch(previous.eTag());
+                    }
+                    if (previous != null && previous.lastModified() >= 0) {
+                        request.getHeaders().setIfModifiedSince(previous.lastModified());
+                    }
+                },
+                response -> {
+                    if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                        return null;
+                    }
+                    try {
+                        PayloadCapturingInputStream capture = keepPayload
+                                ? new PayloadCapturingInputStream(response.getBody()) : null;
+                        InputStream body = capture != null ? capture : response.getBody();
+                        String timestamp = observationsReader.read(body,
+                                ts -> previous == null || !previous.hasTimestamp(ts), wmoCodeFilter, stations::add);
+                        if (previous != null && previous.hasTimestamp(timestamp)) {
+                            return null;
+                        }
+                        return new ObservationFeed(getName(), timestamp, stations,
+                                response.getHeaders().getETag(), response.getHeaders().getLastModified(),
+                                capture != null ? capture.readPayload() : null);
+                    } catch (XMLStreamException e) {
+                        throw new IOException("Could not parse the observations XML.", e);
+                    }
+                });
+
+        return Optional.ofNullable(feed);
+    }
+}
@@ -0,0 +1,89 @@
+package com.foodDelivery.api.ingestion;
+
+/**
+ * Receives progress notifications of a single weather ingestion run.
+ *
+ * <p>
+ *     All methods are called on the thread that runs the ingestion and do nothing by default.
+ *     A backfill stores its feeds in several chunks, so stages and counters can be reported
+ *     more than once per run; they add up.
+ * </p>
+ */
+public interface IngestionListener {
+
+    /**
+     * Listener that ignores every notification.
+     */
+    IngestionListener NONE = new IngestionListener() {
+    };
+
+    /**
+     * Called when a stage of the ingestion has completed.
+     *
+     * @param stage the name of the stage.
+     * @param durationNanos how long the stage took in nanoseconds.
+     */
+    default void stageCompleted(String stage, long durationNanos) {
+    }
+
+    /**
+     * Called once the stations of the configured cities have been read from the feed.
+     *
+     * @param count the number of stations.
+     */
+    default void stationsProcessed(int count) {
+    }
+
+    /**
+     * Called once the WeatherData rows have been written.
+     *
+     * @param count the number of inserted or updated rows.
+     */
+    default void rowsWritten(int count) {
+    }
+
+    /**
+     * Called when an observation provider failed or did not answer within its timeout.
+     *
+     * @param provider the name of the provider.
+     * @param failure the cause of the failure.
+     */
+    default void providerFailed(String provider, Throwable failure) {
+    }
+
+    /**
+     * Called when the raw payload of a feed is dropped because the payload archive queue is full.
+     *
+     * @param provider the name of the provider that sent the payload.
+     */
+    default void payloadNotArchived(String provider) {
+    }
+
+    /**
+     * Called when the raw payload of a feed could not be written to the payload archive.
+     *
+     * <p>
+     *     Payloads are written in the background, so this may be called after the ingestion has finished.
+     * </p>
+     *
+     * @param provider the name of the provider that sent the payload.
+     * @param failure the cause of the failure.
+     */
+    default void payloadArchiveFailed(String provider, Throwable failure) {
+    }
+
+    /**
+     * Called when an archived feed file is skipped because it could not be read.
+     *
+     * @param file the name of the file.
+     * @param failure the cause of the failure.
+     */
+    default void fileSkipped(String file, Throwable failure) {
+    }
+
+    /**
+     * Called when nothing is stored because the feed has not changed since the last ingestion.
+     */
+    default void feedUnchanged() {
+    }
+}
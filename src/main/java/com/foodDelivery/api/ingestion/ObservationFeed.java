@@ -0,0 +1,33 @@
+package com.foodDelivery.api.ingestion;
+
+import com.foodDelivery.api.xml.Station;
+
+import java.util.List;
+
+/**
+ * The observations that one provider returned for a single fetch.
+ *
+ * @param provider the name of the provider.
+ * @param timestamp the observation timestamp of the feed in Unix epoch seconds.
+ * @param stations the stations of the configured cities.
+ * @param eTag the entity tag of the response, or null if the provider has none.
+ * @param lastModified the last modification time of the response in epoch milliseconds, or -1 if unknown.
+ * @param payload the raw feed as received, or null if it was not kept.
+ */
+public record ObservationFeed(String provider, String timestamp, List<Station> stations,
+                              String eTag, long lastModified, byte[] payload) {
+
+    public ObservationFeed(String provider, String timestamp, List<Station> stations, String eTag, long lastModified) {
+        this(provider, timestamp, stations, eTag, lastModified, null);
+    }
+
+    /**
+     * Checks whether this feed has the given timestamp.
+     *
+     * @param other the timestamp to compare with.
+     * @return true if both timestamps are present and equal.
+     */
+    public boolean hasTimestamp(String other) {
+        return timestamp != null && timestamp.equals(other);
+    }
+}
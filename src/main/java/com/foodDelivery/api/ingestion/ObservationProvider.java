@@ -0,0 +1,44 @@
+package com.foodDelivery.api.ingestion;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * A source of weather observations in the format of the ilmateenistus observations feed.
+ *
+ * <p>
+ *     Every provider bean is fetched concurrently by the weather reading. A provider that does
+ *     not answer within its timeout, or fails, is left out of that reading and the stations of
+ *     the other providers are used instead.
+ * </p>
+ */
+public interface ObservationProvider {
+
+    /**
+     * Returns the unique name of the provider.
+     *
+     * @return the name.
+     */
+    String getName();
+
+    /**
+     * Returns how long a fetch may take before the provider is considered lagging.
+     *
+     * @return the timeout.
+     */
+    Duration getTimeout();
+
+    /**
+     * Fetches the current observations.
+     *
+     * @param previous the last feed of this provider that was stored, or null if there is none.
+     * @param wmoCodeFilter decides which stations are returned by their WMO code.
+     * @param keepPayload whether the raw payload is kept for the archive; if false the feed is not read past
+     *                    what the parser needs and its payload is null.
+     * @return the feed, or empty if it has not changed since the previous feed.
+     * @throws Exception if the observations could not be fetched or parsed.
+     */
+    Optional<ObservationFeed> fetch(ObservationFeed previous, Predicate<String> wmoCodeFilter, boolean keepPayload)
+            throws Exception;
+}
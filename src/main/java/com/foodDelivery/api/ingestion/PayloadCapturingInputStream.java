@@ -0,0 +1,64 @@
+package com.foodDelivery.api.ingestion;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * InputStream that keeps a copy of every byte read through it.
+ *
+ * <p>
+ *     Lets a provider parse a feed while it is streamed and still hand the raw payload to the
+ *     archive, without reading the response twice.
+ * </p>
+ */
+public final class PayloadCapturingInputStream extends FilterInputStream {
+
+    private final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+
+    public PayloadCapturingInputStream(InputStream input) {
+        super(input);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value >= 0) {
+            payload.write(value);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        int count = super.read(bytes, offset, length);
+        if (count > 0) {
+            payload.write(bytes, offset, count);
+        }
+        return count;
+    }
+
+    @Override
+    public long skip(long count) throws IOException {
+        byte[] skipped = new byte[(int) Math.min(Math.max(count, 0), 8192)];
+        return Math.max(read(skipped, 0, skipped.length), 0);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Reads the rest of the stream and returns everything that was read through this stream.
+     *
+     * @return the complete payload.
+     * @throws IOException if the rest of the stream cannot be read.
+     */
+    public byte[] readPayload() throws IOException {
+        transferTo(OutputStream.nullOutputStream());
+        return payload.toByteArray();
+    }
+}
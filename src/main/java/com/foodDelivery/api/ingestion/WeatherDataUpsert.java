@@ -0,0 +1,14 @@
+package com.foodDelivery.api.ingestion;
+
+import com.foodDelivery.api.model.WeatherData;
+
+import java.util.List;
+
+/**
+ * The outcome of storing a batch of weather data.
+ *
+ * @param stored the stored weather data, in input order, with the generated or existing ids set.
+ * @param updatedIds the ids of the already stored rows whose values were overwritten.
+ */
+public record WeatherDataUpsert(List<WeatherData> stored, List<Long> updatedIds) {
+}
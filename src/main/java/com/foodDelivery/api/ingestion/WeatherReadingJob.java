@@ -0,0 +1,121 @@
+package com.foodDelivery.api.ingestion;
+
+import com.foodDelivery.api.dto.WeatherReadingJobDTO;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State of a single asynchronous weather reading job.
+ *
+ * <p>
+ *     The job is updated by the worker thread that runs the ingestion and read by the status
+ *     endpoint, so every access is synchronized on the job.
+ * </p>
+ */
+public final class WeatherReadingJob implements IngestionListener {
+
+    private final String jobId;
+    private final LocalDateTime submittedAt;
+    private final Map<String, Long> stageMillis = new LinkedHashMap<>();
+    private WeatherReadingJobStatus status = WeatherReadingJobStatus.QUEUED;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private int stationsProcessed;
+    private int rowsWritten;
+    private String message;
+
+    public WeatherReadingJob(String jobId) {
+        this.jobId = jobId;
+        this.submittedAt = LocalDateTime.now();
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    /**
+     * Marks the job as running.
+     */
+    public synchronized void started() {
+        status = WeatherReadingJobStatus.RUNNING;
+        startedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Marks the job as successfully finished.
+     */
+    public synchronized void succeeded() {
+        status = WeatherReadingJobStatus.SUCCEEDED;
+        finishedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Marks the job as failed.
+     *
+     * @param failure the exception that ended the job.
+     */
+    public synchronized void failed(Exception failure) {
+        status = WeatherReadingJobStatus.FAILED;
+        finishedAt = LocalDateTime.now();
+        message = failure.getCause() != null
+                ? failure.getMessage() + " " + failure.getCause().getMessage()
+                : failure.getMessage();
+    }
+
+    @Override
+    public synchronized void stageCompleted(String stage, long durationNanos) {
+        stageMillis.merge(stage, TimeUnit.NANOSECONDS.toMillis(durationNanos), Long::sum);
+    }
+
+    @Override
+    public synchronized void stationsProcessed(int count) {
+        stationsProcessed += count;
+    }
+
+    @Override
+    public synchronized void rowsWritten(int count) {
+        rowsWritten += count;
+    }
+
+    @Override
+    public synchronized void providerFailed(String provider, Throwable failure) {
+        appendMessage("Provider " + provider + " failed: " + failure + ".");
+    }
+
+    @Override
+    public synchronized void payloadNotArchived(String provider) {
+        appendMessage("The payload of " + provider + " was not archived, the archive queue is full.");
+    }
+
+    @Override
+    public synchronized void payloadArchiveFailed(String provider, Throwable failure) {
+        appendMessage("The payload of " + provider + " could not be archived: " + failure + ".");
+    }
+
+    @Override
+    public synchronized void fileSkipped(String file, Throwable failure) {
+        appendMessage("Skipped " + file + ": " + failure + ".");
+    }
+
+    @Override
+    public synchronized void feedUnchanged() {
+        appendMessage("The feed has not changed since the last ingestion.");
+    }
+
+    private void appendMessage(String text) {
+        message = message == null ? text : message + " " + text;
+    }
+
+    /**
+     * Creates a snapshot of the job for the status endpoint.
+     *
+     * @return the job status.
+     */
+    public synchronized WeatherReadingJobDTO toDTO() {
+        return new WeatherReadingJobDTO(jobId, status, submittedAt, startedAt, finishedAt,
+                new LinkedHashMap<>(stageMillis), stationsProcessed, rowsWritten, message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.foodDelivery.api.ingestion;
+
+/**
+ * Lifecycle states of an asynchronous weather reading job.
+ */
+public enum WeatherReadingJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
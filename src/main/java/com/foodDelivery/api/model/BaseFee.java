@@ -10,7 +10,8 @@ import lombok.NoArgsConstructor;
  * Represents the fee for food delivery based on city and vehicle type.
  */
 @Entity
-@Table(name = "BASE_FEE")
+@Table(name = "BASE_FEE",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"city_id", "vehicle_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,9 +20,11 @@ public class BaseFee {
 
     /**
      * Unique identifier for the base fee.
+     * Ids are allocated from a pooled sequence, so inserts can be batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "base_fee_seq")
+    @SequenceGenerator(name = "base_fee_seq", sequenceName = "BASE_FEE_SEQ", allocationSize = 50)
     private Long baseFeeId;
 
     /**
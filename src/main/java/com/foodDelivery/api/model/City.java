@@ -21,9 +21,11 @@ public class City {
 
     /**
      * Unique identifier for the city.
+     * Ids are allocated from a pooled sequence, so inserts can be batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "city_seq")
+    @SequenceGenerator(name = "city_seq", sequenceName = "CITY_SEQ", allocationSize = 50)
     private Long cityId;
 
     /**
@@ -20,9 +20,11 @@ public class Conditions {
 
     /**
      * Unique identifier for the condition.
+     * Ids are allocated from a pooled sequence, so inserts can be batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "conditions_seq")
+    @SequenceGenerator(name = "conditions_seq", sequenceName = "CONDITIONS_SEQ", allocationSize = 50)
     private Long conditionsId;
 
     /**
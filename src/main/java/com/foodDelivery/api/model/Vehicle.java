@@ -22,9 +22,11 @@ public class Vehicle {
 
     /**
      * Unique identifier for the vehicle.
+     * Ids are allocated from a pooled sequence, so inserts can be batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicle_seq")
+    @SequenceGenerator(name = "vehicle_seq", sequenceName = "VEHICLE_SEQ", allocationSize = 50)
     private Long vehicleId;
 
     /**
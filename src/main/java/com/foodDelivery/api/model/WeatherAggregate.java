@@ -0,0 +1,97 @@
+package com.foodDelivery.api.model;
+
+import com.foodDelivery.api.model.enums.AggregateGranularity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents the summary of the weather data of a city over one hour or one day.
+ *
+ * <p>
+ *     Aggregates replace raw weather data that is older than the retention window.
+ * </p>
+ */
+@Entity
+@Table(name = "WEATHER_AGGREGATE",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"city_id", "granularity", "period_start"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WeatherAggregate {
+
+    /**
+     * Unique identifier for the aggregate.
+     * Ids are allocated from a pooled sequence, so inserts can be batched.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "weather_aggregate_seq")
+    @SequenceGenerator(name = "weather_aggregate_seq", sequenceName = "WEATHER_AGGREGATE_SEQ", allocationSize = 50)
+    private Long weatherAggregateId;
+
+    /**
+     * The city to which this aggregate belongs.
+     */
+    @ManyToOne
+    @JoinColumn(name = "city_id", nullable = false)
+    private City city;
+
+    /**
+     * The length of the summarized period.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private AggregateGranularity granularity;
+
+    /**
+     * The start of the summarized period.
+     */
+    @Column(nullable = false)
+    private LocalDateTime periodStart;
+
+    /**
+     * The number of raw observations that were summarized.
+     */
+    @Column(nullable = false)
+    private Integer sampleCount;
+
+    /**
+     * The lowest air temperature of the period.
+     */
+    private Double minAirTemperature;
+
+    /**
+     * The highest air temperature of the period.
+     */
+    private Double maxAirTemperature;
+
+    /**
+     * The average air temperature of the period.
+     */
+    private Double avgAirTemperature;
+
+    /**
+     * The lowest wind speed of the period.
+     */
+    private Double minWindSpeed;
+
+    /**
+     * The highest wind speed of the period.
+     */
+    private Double maxWindSpeed;
+
+    /**
+     * The average wind speed of the period.
+     */
+    private Double avgWindSpeed;
+
+    /**
+     * The most frequently observed weather phenomenon of the period.
+     */
+    private String dominantPhenomenon;
+}
@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
  * Represents weather data collected for a specific city.
  */
 @Entity
-@Table(name = "WEATHER_DATA")
+@Table(name = "WEATHER_DATA",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"city_id", "observation_time"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,9 +22,11 @@ public class WeatherData {
 
     /**
      * Unique identifier for the collected weather data.
+     * Ids are allocated from a pooled sequence, so inserts can be batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "weather_data_seq")
+    @SequenceGenerator(name = "weather_data_seq", sequenceName = "WEATHER_DATA_SEQ", allocationSize = 50)
     private Long weatherDataId;
 
     /**
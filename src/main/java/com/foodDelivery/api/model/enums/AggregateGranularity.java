@@ -0,0 +1,28 @@
+package com.foodDelivery.api.model.enums;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Represents the length of the period that a weather aggregate summarizes.
+ */
+public enum AggregateGranularity {
+    HOURLY(ChronoUnit.HOURS),
+    DAILY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    AggregateGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Returns the start of the period that contains the given time.
+     *
+     * @param time the time.
+     * @return the start of its period.
+     */
+    public LocalDateTime periodStart(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+}
@@ -0,0 +1,16 @@
+package com.foodDelivery.api.model.enums;
+
+/**
+ * Represents how a bulk write treats items that fail.
+ */
+public enum BulkMode {
+    /**
+     * Nothing is written if any item fails.
+     */
+    ALL_OR_NOTHING,
+
+    /**
+     * The items that did not fail are written.
+     */
+    PER_ITEM
+}
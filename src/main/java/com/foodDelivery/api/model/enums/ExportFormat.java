@@ -0,0 +1,37 @@
+package com.foodDelivery.api.model.enums;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Represents the file format of a weather data export.
+ */
+public enum ExportFormat {
+    JSON(MediaType.APPLICATION_JSON_VALUE, "json"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * Returns the content type of the exported file.
+     *
+     * @return the content type.
+     */
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * Returns the file name extension of the exported file.
+     *
+     * @return the extension without the dot.
+     */
+    public String extension() {
+        return extension;
+    }
+}
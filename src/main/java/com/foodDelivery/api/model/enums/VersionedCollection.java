@@ -0,0 +1,26 @@
+package com.foodDelivery.api.model.enums;
+
+/**
+ * Represents a reference data collection whose version is tracked for conditional GETs.
+ */
+public enum VersionedCollection {
+    CITY("city"),
+    VEHICLE("vehicle"),
+    BASE_FEE("base-fee"),
+    CONDITIONS("conditions");
+
+    private final String tagPrefix;
+
+    VersionedCollection(String tagPrefix) {
+        this.tagPrefix = tagPrefix;
+    }
+
+    /**
+     * Returns the prefix of the entity tags of this collection.
+     *
+     * @return the prefix.
+     */
+    public String tagPrefix() {
+        return tagPrefix;
+    }
+}
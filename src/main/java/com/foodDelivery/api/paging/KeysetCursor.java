@@ -0,0 +1,65 @@
+package com.foodDelivery.api.paging;
+
+import com.foodDelivery.api.exception.InvalidListQueryException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Encodes and decodes the opaque cursors of keyset paginated lists.
+ *
+ * <p>
+ *     A cursor holds the sort key of the last row of a page, e.g. its id, as URL-safe Base64, so
+ *     clients pass it back unchanged in the {@code after} parameter.
+ * </p>
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = ",";
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Encodes the sort key of a row.
+     *
+     * @param keys the values of the sort key.
+     * @return the cursor.
+     */
+    public static String encode(Object... keys) {
+        String joined = Arrays.stream(keys).map(String::valueOf).collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor.
+     *
+     * @param cursor the cursor, or null for the first page.
+     * @param parser parses the values of the sort key.
+     * @return the parsed sort key, or null if the cursor is null.
+     */
+    public static <K> K decode(String cursor, Function<String[], K> parser) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return parser.apply(joined.split(SEPARATOR));
+        } catch (RuntimeException e) {
+            throw new InvalidListQueryException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Decodes the cursor of a list that is sorted by id.
+     *
+     * @param cursor the cursor, or null for the first page.
+     * @return the id of the last row of the previous page, or null if the cursor is null.
+     */
+    public static Long decodeId(String cursor) {
+        return decode(cursor, keys -> Long.valueOf(keys[0]));
+    }
+}
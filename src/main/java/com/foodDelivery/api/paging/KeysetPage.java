@@ -0,0 +1,55 @@
+package com.foodDelivery.api.paging;
+
+import com.foodDelivery.api.exception.InvalidListQueryException;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset paginated list.
+ *
+ * <p>
+ *     Pages are read with one row more than the limit; if that row exists, the cursor of the
+ *     last returned row is the {@code nextCursor}. It is null on the last page.
+ * </p>
+ *
+ * @param items the items of the page.
+ * @param nextCursor the cursor of the next page, or null if this is the last page.
+ * @param <T> the item type.
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    /**
+     * Resolves the requested page size.
+     *
+     * @param limit the requested page size, or null for the default.
+     * @return the page size.
+     */
+    public static int limitOf(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidListQueryException("The limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        return limit;
+    }
+
+    /**
+     * Creates a page from rows that were read with {@code limit + 1}.
+     *
+     * @param rows the rows in keyset order, at most {@code limit + 1}.
+     * @param limit the page size.
+     * @param cursorOf creates the cursor that continues after a row.
+     * @param mapper maps a row to an item.
+     * @return the page.
+     */
+    public static <E, T> KeysetPage<T> of(List<E> rows, int limit, Function<E, String> cursorOf, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > limit;
+        List<E> page = hasNext ? rows.subList(0, limit) : rows;
+        return new KeysetPage<>(page.stream().map(mapper).toList(), hasNext ? cursorOf.apply(page.getLast()) : null);
+    }
+}
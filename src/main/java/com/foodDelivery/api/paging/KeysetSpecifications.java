@@ -0,0 +1,75 @@
+package com.foodDelivery.api.paging;
+
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Specifications shared by the keyset paginated lists.
+ *
+ * <p>
+ *     Every method returns null if its value is absent, so {@code Specification.where(...).and(...)}
+ *     only adds the filters that were requested and the query keeps a plain, indexable predicate.
+ * </p>
+ */
+public final class KeysetSpecifications {
+
+    private KeysetSpecifications() {
+    }
+
+    /**
+     * Matches the rows after the last row of the previous page of a list sorted by id.
+     *
+     * @param idAttribute the id attribute.
+     * @param afterId the id of the last row of the previous page, or null for the first page.
+     * @return the specification, or null.
+     */
+    public static <T> Specification<T> idAfter(String idAttribute, Long afterId) {
+        if (afterId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThan(root.get(idAttribute), afterId);
+    }
+
+    /**
+     * Matches the rows whose attribute equals a value.
+     *
+     * @param value the value, or null to match every row.
+     * @param path the attribute, e.g. {@code "city", "cityName"} for an attribute of an association.
+     * @return the specification, or null.
+     */
+    public static <T> Specification<T> equalTo(Object value, String... path) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<Object> attribute = root.get(path[0]);
+            for (int i = 1; i < path.length; i++) {
+                attribute = attribute.get(path[i]);
+            }
+            return cb.equal(attribute, value);
+        };
+    }
+
+    /**
+     * Matches the rows whose time attribute is in a range; both bounds are inclusive and optional.
+     *
+     * @param attribute the time attribute.
+     * @param from the start of the range, or null.
+     * @param to the end of the range, or null.
+     * @return the specification, or null.
+     */
+    public static <T> Specification<T> between(String attribute, LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<LocalDateTime> time = root.get(attribute);
+            if (from == null) {
+                return cb.lessThanOrEqualTo(time, to);
+            }
+            return to == null ? cb.greaterThanOrEqualTo(time, from) : cb.between(time, from, to);
+        };
+    }
+}
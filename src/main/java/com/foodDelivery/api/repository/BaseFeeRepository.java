@@ -3,8 +3,11 @@ package com.foodDelivery.api.repository;
 import com.foodDelivery.api.model.BaseFee;
 import com.foodDelivery.api.model.enums.VehicleType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -14,7 +17,7 @@ import java.util.Optional;
  * </p>
  */
 @Repository
-public interface BaseFeeRepository extends JpaRepository<BaseFee, Long> {
+public interface BaseFeeRepository extends JpaRepository<BaseFee, Long>, JpaSpecificationExecutor<BaseFee> {
     /**
      * Finds a BaseFee for a provided city name and vehicle type.
      *
@@ -23,4 +26,12 @@ public interface BaseFeeRepository extends JpaRepository<BaseFee, Long> {
      * @return an Optional containing the baseFee if fee exists, or empty otherwise.
      */
     Optional<BaseFee> findByCity_CityNameAndVehicle_VehicleType(String cityName, VehicleType vehicleType);
+
+    /**
+     * Retrieves all base fees together with their city and vehicle in a single query.
+     *
+     * @return a List of all base fees.
+     */
+    @Query("SELECT b FROM BaseFee b JOIN FETCH b.city JOIN FETCH b.vehicle")
+    List<BaseFee> findAllWithCityAndVehicle();
 }
@@ -2,7 +2,9 @@ package com.foodDelivery.api.repository;
 
 import com.foodDelivery.api.model.City;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,7 +18,7 @@ import java.util.Optional;
  * </p>
  */
 @Repository
-public interface CityRepository extends JpaRepository<City, Long> {
+public interface CityRepository extends JpaRepository<City, Long>, JpaSpecificationExecutor<City> {
 
     /**
      * Finds a City by its WMO code.
@@ -26,6 +28,23 @@ public interface CityRepository extends JpaRepository<City, Long> {
      */
     Optional<City> findByWmoCode(String wmoCode);
 
+    /**
+     * Checks whether a City with the given name exists.
+     *
+     * @param cityName the name of the city.
+     * @return true if the city exists.
+     */
+    boolean existsByCityName(String cityName);
+
+    /**
+     * Retrieves the ids of the cities with the given name.
+     *
+     * @param cityName the name of the city.
+     * @return a list of city ids, empty if there is no such city.
+     */
+    @Query("SELECT c.cityId FROM City c WHERE c.cityName = :cityName")
+    List<Long> findIdsByCityName(@Param("cityName") String cityName);
+
     /**
      * Retrieves all WMO codes of the stores stations.
      *
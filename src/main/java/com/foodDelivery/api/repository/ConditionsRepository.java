@@ -3,6 +3,7 @@ package com.foodDelivery.api.repository;
 import com.foodDelivery.api.model.Conditions;
 import com.foodDelivery.api.model.enums.VehicleType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -18,7 +19,7 @@ import java.util.List;
  * </p>
  */
 @Repository
-public interface ConditionsRepository extends JpaRepository<Conditions, Long> {
+public interface ConditionsRepository extends JpaRepository<Conditions, Long>, JpaSpecificationExecutor<Conditions> {
 
     /**
      * Retrieves all rules for a specific vehicle type that apply to a
@@ -61,4 +62,12 @@ public interface ConditionsRepository extends JpaRepository<Conditions, Long> {
             @Param("vehicleType") VehicleType vehicleType,
             @Param("wind") Double wind
     );
+
+    /**
+     * Retrieves all conditions together with their vehicle in a single query.
+     *
+     * @return a List of all conditions.
+     */
+    @Query("SELECT c FROM Conditions c JOIN FETCH c.vehicle")
+    List<Conditions> findAllWithVehicle();
 }
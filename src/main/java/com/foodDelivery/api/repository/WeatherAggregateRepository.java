@@ -0,0 +1,88 @@
+package com.foodDelivery.api.repository;
+
+import com.foodDelivery.api.model.WeatherAggregate;
+import com.foodDelivery.api.model.enums.AggregateGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface to perform CRUD operation on WeatherAggregate entities.
+ */
+@Repository
+public interface WeatherAggregateRepository extends JpaRepository<WeatherAggregate, Long> {
+
+    /**
+     * Finds the latest aggregate of a city with the given granularity that starts at or before the provided time.
+     *
+     * @param cityName the name of the city.
+     * @param granularity the granularity of the aggregate.
+     * @param periodStart the upper bound of the period start.
+     * @return the matching aggregate, or null if none was found.
+     */
+    WeatherAggregate findTopByCityCityNameAndGranularityAndPeriodStartLessThanEqualOrderByPeriodStartDesc(
+            String cityName,
+            AggregateGranularity granularity,
+            LocalDateTime periodStart
+    );
+
+    /**
+     * Retrieves the aggregates with the given granularity within a range of period starts, together with the city.
+     *
+     * @param granularity the granularity of the aggregates.
+     * @param from the lower bound of the period start (inclusive).
+     * @param to the upper bound of the period start (exclusive).
+     * @return a list of aggregates ordered by city and period start.
+     */
+    @Query("SELECT a FROM WeatherAggregate a JOIN FETCH a.city " +
+            "WHERE a.granularity = :granularity AND a.periodStart >= :from AND a.periodStart < :to " +
+            "ORDER BY a.city.cityId, a.periodStart")
+    List<WeatherAggregate> findInPeriod(@Param("granularity") AggregateGranularity granularity,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to);
+
+    /**
+     * Retrieves the aggregates of any granularity of a city within a range of period starts.
+     *
+     * @param cityName the name of the city.
+     * @param from the lower bound of the period start (inclusive).
+     * @param to the upper bound of the period start (inclusive).
+     * @return a list of aggregates ordered by period start.
+     */
+    @Query("SELECT a FROM WeatherAggregate a " +
+            "WHERE a.city.cityName = :cityName AND a.periodStart >= :from AND a.periodStart <= :to " +
+            "ORDER BY a.periodStart")
+    List<WeatherAggregate> findByCityInPeriod(@Param("cityName") String cityName,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to);
+
+    /**
+     * Retrieves the aggregates with the given granularity that start before the provided time, together with the city.
+     *
+     * @param granularity the granularity of the aggregates.
+     * @param cutoff the upper bound of the period start (exclusive).
+     * @return a list of aggregates ordered by city and period start.
+     */
+    @Query("SELECT a FROM WeatherAggregate a JOIN FETCH a.city " +
+            "WHERE a.granularity = :granularity AND a.periodStart < :cutoff " +
+            "ORDER BY a.city.cityId, a.periodStart")
+    List<WeatherAggregate> findStartedBefore(@Param("granularity") AggregateGranularity granularity,
+                                             @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Deletes the aggregates with the given granularity that start before the provided time.
+     *
+     * @param granularity the granularity of the aggregates.
+     * @param cutoff the upper bound of the period start (exclusive).
+     * @return the number of deleted aggregates.
+     */
+    @Modifying
+    @Query("DELETE FROM WeatherAggregate a WHERE a.granularity = :granularity AND a.periodStart < :cutoff")
+    int deleteStartedBefore(@Param("granularity") AggregateGranularity granularity,
+                            @Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,13 +1,21 @@
 package com.foodDelivery.api.repository;
 
+import com.foodDelivery.api.history.WeatherObservation;
 import com.foodDelivery.api.model.City;
 import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.retention.WeatherSample;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface to perform CRUD operation on WeatherData entities.
@@ -18,7 +26,7 @@ import java.util.List;
  * </p>
  */
 @Repository
-public interface WeatherDataRepository extends JpaRepository<WeatherData, Long> {
+public interface WeatherDataRepository extends JpaRepository<WeatherData, Long>, JpaSpecificationExecutor<WeatherData> {
 
     /**
      * Finds the most recent WeatherData for a given city.
@@ -41,5 +49,87 @@ public interface WeatherDataRepository extends JpaRepository<WeatherData, Long>
             LocalDateTime observationTime
     );
 
+    /**
+     * Retrieves the most recent WeatherData of every city, together with the city.
+     *
+     * <p>
+     *     The latest observation time of every city is computed once in an uncorrelated subquery;
+     *     a correlated subquery would be evaluated again for every row of the table.
+     * </p>
+     *
+     * @return a list with the latest WeatherData of each city.
+     */
+    @Query("SELECT w FROM WeatherData w JOIN FETCH w.city WHERE (w.city.cityId, w.observationTime) IN " +
+            "(SELECT w2.city.cityId, MAX(w2.observationTime) FROM WeatherData w2 GROUP BY w2.city.cityId)")
+    List<WeatherData> findLatestForEachCity();
+
+    /**
+     * Streams all WeatherData as read-only projections ordered by observation time.
+     *
+     * @return a stream of weather observations; must be consumed inside a transaction and closed.
+     */
+    @Query("SELECT new com.foodDelivery.api.history.WeatherObservation(w.weatherDataId, w.city.cityName, " +
+            "w.observationTime, w.airTemperature, w.windSpeed, w.weatherPhenomenon) " +
+            "FROM WeatherData w ORDER BY w.observationTime, w.weatherDataId")
+    Stream<WeatherObservation> streamAllObservations();
+
+    /**
+     * Retrieves the WeatherData of a city within a time range as read-only projections.
+     *
+     * @param cityName the name of the city.
+     * @param from the lower bound of the observation time (inclusive).
+     * @param to the upper bound of the observation time (inclusive).
+     * @return a list of weather observations ordered by observation time.
+     */
+    @Query("SELECT new com.foodDelivery.api.history.WeatherObservation(w.weatherDataId, w.city.cityName, " +
+            "w.observationTime, w.airTemperature, w.windSpeed, w.weatherPhenomenon) " +
+            "FROM WeatherData w WHERE w.city.cityName = :cityName AND w.observationTime BETWEEN :from AND :to " +
+            "ORDER BY w.observationTime, w.weatherDataId")
+    List<WeatherObservation> findObservationsBetween(@Param("cityName") String cityName,
+                                                     @Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to);
+
+    /**
+     * Retrieves the WeatherData of the given cities at one observation time, together with the city.
+     *
+     * @param observationTime the observation time.
+     * @param cityIds the ids of the cities.
+     * @return a list of WeatherData.
+     */
+    @Query("SELECT w FROM WeatherData w JOIN FETCH w.city " +
+            "WHERE w.observationTime = :observationTime AND w.city.cityId IN :cityIds")
+    List<WeatherData> findByObservationTimeAndCityIds(@Param("observationTime") LocalDateTime observationTime,
+                                                      @Param("cityIds") Collection<Long> cityIds);
+
+    /**
+     * Streams the WeatherData observed before the given time as read-only projections ordered by city and time.
+     *
+     * @param cutoff the upper bound of the observation time (exclusive).
+     * @return a stream of weather observations; must be consumed inside a transaction and closed.
+     */
+    @Query("SELECT new com.foodDelivery.api.retention.WeatherSample(w.city.cityId, " +
+            "w.observationTime, w.airTemperature, w.windSpeed, w.weatherPhenomenon) " +
+            "FROM WeatherData w WHERE w.observationTime < :cutoff ORDER BY w.city.cityId, w.observationTime")
+    Stream<WeatherSample> streamObservedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Finds the earliest observation time before the given time.
+     *
+     * @param cutoff the upper bound of the observation time (exclusive).
+     * @return the earliest observation time, or null if there is no WeatherData before the cutoff.
+     */
+    @Query("SELECT MIN(w.observationTime) FROM WeatherData w WHERE w.observationTime < :cutoff")
+    LocalDateTime findEarliestObservationTimeBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Deletes the WeatherData observed before the given time.
+     *
+     * @param cutoff the upper bound of the observation time (exclusive).
+     * @return the number of deleted rows.
+     */
+    @Modifying
+    @Query("DELETE FROM WeatherData w WHERE w.observationTime < :cutoff")
+    int deleteObservedBefore(@Param("cutoff") LocalDateTime cutoff);
+
     List<WeatherData> city(City city);
 }
@@ -0,0 +1,17 @@
+package com.foodDelivery.api.retention;
+
+import java.time.LocalDateTime;
+
+/**
+ * The outcome of one retention run.
+ *
+ * @param rawCutoff raw weather data observed before this time was rolled up into hourly aggregates.
+ * @param hourlyCutoff hourly aggregates starting before this time were rolled up into daily aggregates.
+ * @param rawRowsRolledUp the number of deleted raw weather data rows.
+ * @param hourlyAggregatesRolledUp the number of deleted hourly aggregates.
+ */
+public record RetentionResult(LocalDateTime rawCutoff,
+                              LocalDateTime hourlyCutoff,
+                              int rawRowsRolledUp,
+                              int hourlyAggregatesRolledUp) {
+}
@@ -0,0 +1,115 @@
+package com.foodDelivery.api.retention;
+
+import com.foodDelivery.api.model.WeatherAggregate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Accumulates the observations or finer aggregates of one city and period into an aggregate.
+ *
+ * <p>
+ *     Averages are weighted by the number of observations behind every input, so rolling
+ *     hourly aggregates up into a daily one gives the same average as the raw observations
+ *     would have. The dominant phenomenon is the one with the most observations; for
+ *     aggregates, the dominant phenomenon counts with all observations of the aggregate.
+ * </p>
+ */
+public final class WeatherAggregateAccumulator {
+
+    private final Map<String, Integer> phenomena = new HashMap<>();
+    private final Stat temperature = new Stat();
+    private final Stat wind = new Stat();
+    private int sampleCount;
+
+    /**
+     * Adds a raw observation.
+     *
+     * @param sample the observation.
+     */
+    public void add(WeatherSample sample) {
+        sampleCount++;
+        temperature.add(sample.airTemperature(), sample.airTemperature(), sample.airTemperature(), 1);
+        wind.add(sample.windSpeed(), sample.windSpeed(), sample.windSpeed(), 1);
+        if (sample.weatherPhenomenon() != null) {
+            phenomena.merge(sample.weatherPhenomenon(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Adds an aggregate of a shorter or the same period.
+     *
+     * @param aggregate the aggregate.
+     */
+    public void add(WeatherAggregate aggregate) {
+        int count = aggregate.getSampleCount();
+        sampleCount += count;
+        temperature.add(aggregate.getMinAirTemperature(), aggregate.getMaxAirTemperature(),
+                aggregate.getAvgAirTemperature(), count);
+        wind.add(aggregate.getMinWindSpeed(), aggregate.getMaxWindSpeed(), aggregate.getAvgWindSpeed(), count);
+        if (aggregate.getDominantPhenomenon() != null) {
+            phenomena.merge(aggregate.getDominantPhenomenon(), count, Integer::sum);
+        }
+    }
+
+    /**
+     * Writes the accumulated values into an aggregate; its city, granularity and period are left unchanged.
+     *
+     * @param aggregate the aggregate to update.
+     */
+    public void writeTo(WeatherAggregate aggregate) {
+        aggregate.setSampleCount(sampleCount);
+        aggregate.setMinAirTemperature(temperature.min());
+        aggregate.setMaxAirTemperature(temperature.max());
+        aggregate.setAvgAirTemperature(temperature.avg());
+        aggregate.setMinWindSpeed(wind.min());
+        aggregate.setMaxWindSpeed(wind.max());
+        aggregate.setAvgWindSpeed(wind.avg());
+        aggregate.setDominantPhenomenon(dominantPhenomenon());
+    }
+
+    private String dominantPhenomenon() {
+        String dominant = null;
+        int best = 0;
+        for (Map.Entry<String, Integer> entry : phenomena.entrySet()) {
+            if (entry.getValue() > best || (entry.getValue() == best && entry.getKey().compareTo(dominant) < 0)) {
+                dominant = entry.getKey();
+                best = entry.getValue();
+            }
+        }
+        return dominant;
+    }
+
+    /**
+     * Minimum, maximum and weighted average of one measurement; missing values are not counted.
+     */
+    private static final class Stat {
+
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+        private double sum;
+        private int count;
+
+        void add(Double low, Double high, Double average, int weight) {
+            if (low == null || high == null || average == null) {
+                return;
+            }
+            min = Math.min(min, low);
+            max = Math.max(max, high);
+            sum += average * weight;
+            count += weight;
+        }
+
+        Double min() {
+            return count > 0 ? min : null;
+        }
+
+        Double max() {
+            return count > 0 ? max : null;
+        }
+
+        Double avg() {
+            return count > 0 ? sum / count : null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.foodDelivery.api.retention;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a WeatherData row that is rolled up into an aggregate.
+ *
+ * @param cityId the id of the city.
+ * @param observationTime the time when the weather data was collected.
+ * @param airTemperature the air temperature.
+ * @param windSpeed the wind speed.
+ * @param weatherPhenomenon the weather phenomenon.
+ */
+public record WeatherSample(Long cityId,
+                            LocalDateTime observationTime,
+                            Double airTemperature,
+                            Double windSpeed,
+                            String weatherPhenomenon) {
+}
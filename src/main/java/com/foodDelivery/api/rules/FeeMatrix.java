@@ -0,0 +1,109 @@
+package com.foodDelivery.api.rules;
+
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.model.enums.VehicleType;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, materialized matrix of the current delivery fee for every city and vehicle type.
+ *
+ * <p>
+ *     The matrix is computed from the latest weather observation of each city and a rule
+ *     snapshot. Each cell holds the quote for one city and vehicle type, so answering a request
+ *     for the current fee is a hash lookup of the city followed by a single array access.
+ *     Cities without any weather observation are not part of the matrix.
+ * </p>
+ */
+public final class FeeMatrix {
+
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+
+    /**
+     * Matrix that contains no cities.
+     */
+    public static final FeeMatrix EMPTY = build(FeeRuleSnapshot.EMPTY, List.of());
+
+    private final Map<String, Integer> cityIndex;
+    private final FeeQuote[] cells;
+
+    private FeeMatrix(Map<String, Integer> cityIndex, FeeQuote[] cells) {
+        this.cityIndex = cityIndex;
+        this.cells = cells;
+    }
+
+    /**
+     * Builds the matrix from the latest weather observations.
+     *
+     * <p>
+     *     If several observations share a city name, the most recent one is used,
+     *     the same way the latest weather data is looked up by city name.
+     * </p>
+     *
+     * @param rules the compiled fee rules.
+     * @param latestWeather the latest weather observation of each city; each must have its city loaded.
+     * @return the matrix.
+     */
+    public static FeeMatrix build(FeeRuleSnapshot rules, Collection<WeatherData> latestWeather) {
+        Map<String, WeatherData> byCityName = new HashMap<>();
+        for (WeatherData weatherData : latestWeather) {
+            byCityName.merge(weatherData.getCity().getCityName(), weatherData, FeeMatrix::newer);
+        }
+
+        Map<String, Integer> cityIndex = new HashMap<>();
+        FeeQuote[] cells = new FeeQuote[byCityName.size() * VEHICLE_TYPES.length];
+        int row = 0;
+        for (Map.Entry<String, WeatherData> entry : byCityName.entrySet()) {
+            cityIndex.put(entry.getKey(), row);
+            for (VehicleType type : VEHICLE_TYPES) {
+                cells[row * VEHICLE_TYPES.length + type.ordinal()] = rules.quote(entry.getKey(), type, entry.getValue());
+            }
+            row++;
+        }
+
+        return new FeeMatrix(Map.copyOf(cityIndex), cells);
+    }
+
+    /**
+     * Checks whether the matrix holds the fees of the given city.
+     *
+     * @param cityName the name of the city.
+     * @return true if the city has weather data in the matrix.
+     */
+    public boolean containsCity(String cityName) {
+        return cityIndex.containsKey(cityName);
+    }
+
+    /**
+     * Returns the names of the cities in the matrix.
+     *
+     * @return an unmodifiable set of city names.
+     */
+    public Set<String> cityNames() {
+        return cityIndex.keySet();
+    }
+
+    /**
+     * Returns the current quote for the given city and vehicle type.
+     *
+     * @param cityName the name of the city.
+     * @param vehicleType the type of the vehicle.
+     * @return the quote, or null if the city is not part of the matrix.
+     */
+    public FeeQuote get(String cityName, VehicleType vehicleType) {
+        Integer row = cityIndex.get(cityName);
+        return row != null ? cells[row * VEHICLE_TYPES.length + vehicleType.ordinal()] : null;
+    }
+
+    private static WeatherData newer(WeatherData current, WeatherData candidate) {
+        int compare = candidate.getObservationTime().compareTo(current.getObservationTime());
+        if (compare == 0 && candidate.getWeatherDataId() != null && current.getWeatherDataId() != null) {
+            compare = candidate.getWeatherDataId().compareTo(current.getWeatherDataId());
+        }
+        return compare > 0 ? candidate : current;
+    }
+}
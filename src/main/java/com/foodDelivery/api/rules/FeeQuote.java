@@ -0,0 +1,72 @@
+package com.foodDelivery.api.rules;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The delivery fee for one city, vehicle type and weather observation.
+ *
+ * <p>
+ *     Holds either the total fee or a marker telling why no fee can be given:
+ *     the weather forbids the vehicle, or no base fee is defined for the city and vehicle.
+ * </p>
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FeeQuote {
+
+    /**
+     * Outcome of a fee quote.
+     */
+    public enum Status {
+        OK,
+        FORBIDDEN,
+        NO_BASE_FEE
+    }
+
+    private static final FeeQuote FORBIDDEN = new FeeQuote(Status.FORBIDDEN, null);
+    private static final FeeQuote NO_BASE_FEE = new FeeQuote(Status.NO_BASE_FEE, null);
+
+    /**
+     * The outcome of the quote.
+     */
+    private final Status status;
+
+    /**
+     * The total delivery fee, or null if the status is not OK.
+     */
+    private final Double totalFee;
+
+    /**
+     * Creates a quote with a total fee.
+     *
+     * @param totalFee the total delivery fee.
+     * @return the quote.
+     */
+    public static FeeQuote of(double totalFee) {
+        return new FeeQuote(Status.OK, totalFee);
+    }
+
+    /**
+     * Returns the quote for a vehicle that is forbidden by the weather conditions.
+     *
+     * @return the forbidden quote.
+     */
+    public static FeeQuote forbidden() {
+        return FORBIDDEN;
+    }
+
+    /**
+     * Returns the quote for a city and vehicle without a base fee.
+     *
+     * @return the quote without base fee.
+     */
+    public static FeeQuote noBaseFee() {
+        return NO_BASE_FEE;
+    }
+}
@@ -0,0 +1,204 @@
+package com.foodDelivery.api.rules;
+
+import com.foodDelivery.api.model.BaseFee;
+import com.foodDelivery.api.model.Conditions;
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.model.enums.ConditionType;
+import com.foodDelivery.api.model.enums.VehicleType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable, compiled view of all delivery fee rules.
+ *
+ * <p>
+ *     For every vehicle type the TEMPERATURE and WIND conditions are compiled into sorted
+ *     interval arrays and the PHENOMENON conditions into a hash index. Base fees are indexed
+ *     by city name and vehicle type. This allows the delivery fee to be calculated without
+ *     any database round-trip. A snapshot is never modified after it is compiled; rule
+ *     changes produce a new snapshot instead.
+ * </p>
+ */
+public final class FeeRuleSnapshot {
+
+    /**
+     * Snapshot that contains no rules and no base fees.
+     */
+    public static final FeeRuleSnapshot EMPTY = compile(List.of(), List.of());
+
+    private final Map<VehicleType, VehicleRules> vehicleRules;
+    private final Map<String, Map<VehicleType, Double>> baseFees;
+
+    private FeeRuleSnapshot(Map<VehicleType, VehicleRules> vehicleRules,
+                            Map<String, Map<VehicleType, Double>> baseFees) {
+        this.vehicleRules = vehicleRules;
+        this.baseFees = baseFees;
+    }
+
+    /**
+     * Compiles the given conditions and base fees into a new snapshot.
+     *
+     * @param conditions all condition rules; each must have its vehicle loaded.
+     * @param baseFees all base fees; each must have its city and vehicle loaded.
+     * @return the compiled snapshot.
+     */
+    public static FeeRuleSnapshot compile(Collection<Conditions> conditions, Collection<BaseFee> baseFees) {
+        Map<VehicleType, Map<ConditionType, List<Conditions>>> grouped = new EnumMap<>(VehicleType.class);
+        for (Conditions con : conditions) {
+            if (con.getVehicle() == null || con.getVehicle().getVehicleType() == null || con.getConditionType() == null) {
+                continue;
+            }
+            grouped.computeIfAbsent(con.getVehicle().getVehicleType(), type -> new EnumMap<>(ConditionType.class))
+                    .computeIfAbsent(con.getConditionType(), type -> new ArrayList<>())
+                    .add(con);
+        }
+
+        Map<VehicleType, VehicleRules> rules = new EnumMap<>(VehicleType.class);
+        for (VehicleType type : VehicleType.values()) {
+            Map<ConditionType, List<Conditions>> byType = grouped.getOrDefault(type, Map.of());
+            rules.put(type, new VehicleRules(
+                    IntervalRules.compile(byType.getOrDefault(ConditionType.TEMPERATURE, List.of())),
+                    IntervalRules.compile(byType.getOrDefault(ConditionType.WIND, List.of())),
+                    compilePhenomena(byType.getOrDefault(ConditionType.PHENOMENON, List.of()))
+            ));
+        }
+
+        Map<String, Map<VehicleType, Double>> fees = new HashMap<>();
+        for (BaseFee baseFee : baseFees) {
+            if (baseFee.getCity() == null || baseFee.getVehicle() == null || baseFee.getVehicle().getVehicleType() == null) {
+                continue;
+            }
+            fees.computeIfAbsent(baseFee.getCity().getCityName(), name -> new EnumMap<>(VehicleType.class))
+                    .putIfAbsent(baseFee.getVehicle().getVehicleType(),
+                            baseFee.getVehicleFee() != null ? baseFee.getVehicleFee() : 0.00);
+        }
+
+        return new FeeRuleSnapshot(rules, fees);
+    }
+
+    /**
+     * Finds the base fee for the given city and vehicle type.
+     *
+     * @param cityName the name of the city.
+     * @param vehicleType the type of the vehicle.
+     * @return the base fee, or null if no base fee is defined.
+     */
+    public Double getBaseFee(String cityName, VehicleType vehicleType) {
+        Map<VehicleType, Double> cityFees = baseFees.get(cityName);
+        return cityFees != null ? cityFees.get(vehicleType) : null;
+    }
+
+    /**
+     * Evaluates the weather related rules of a vehicle type.
+     *
+     * @param vehicleType the type of the vehicle.
+     * @param airTemperature the air temperature, or null if unknown.
+     * @param windSpeed the wind speed, or null if unknown.
+     * @param phenomenon the weather phenomenon, or null if unknown.
+     * @return the combined extra fee and forbidden flag.
+     */
+    public RuleOutcome evaluate(VehicleType vehicleType, Double airTemperature, Double windSpeed, String phenomenon) {
+        VehicleRules rules = vehicleRules.get(vehicleType);
+        RuleOutcome outcome = RuleOutcome.NONE;
+
+        if (airTemperature != null) {
+            outcome = outcome.plus(rules.temperature().match(airTemperature));
+        }
+
+        if (windSpeed != null) {
+            outcome = outcome.plus(rules.wind().match(windSpeed));
+        }
+
+        if (phenomenon != null) {
+            outcome = outcome.plus(rules.phenomena().getOrDefault(phenomenon, RuleOutcome.NONE));
+        }
+
+        return outcome;
+    }
+
+    /**
+     * Quotes the total delivery fee for the given city, vehicle type and weather observation.
+     *
+     * <p>
+     *     A missing base fee takes precedence over a forbidden vehicle, in the same order
+     *     in which the single fee endpoint reports these errors.
+     * </p>
+     *
+     * @param cityName the name of the city.
+     * @param vehicleType the type of the vehicle.
+     * @param weatherData the weather observation.
+     * @return the quote.
+     */
+    public FeeQuote quote(String cityName, VehicleType vehicleType, WeatherData weatherData) {
+        Double baseFee = getBaseFee(cityName, vehicleType);
+        if (baseFee == null) {
+            return FeeQuote.noBaseFee();
+        }
+
+        RuleOutcome extraFee = evaluate(
+                vehicleType,
+                weatherData.getAirTemperature(),
+                weatherData.getWindSpeed(),
+                weatherData.getWeatherPhenomenon()
+        );
+
+        return extraFee.isForbidden() ? FeeQuote.forbidden() : FeeQuote.of(baseFee + extraFee.getFee());
+    }
+
+    /**
+     * Finds the vehicle types whose condition rules differ between this and another snapshot.
+     *
+     * @param other the snapshot to compare with.
+     * @return the vehicle types with changed rules.
+     */
+    public Set<VehicleType> changedVehicleTypes(FeeRuleSnapshot other) {
+        Set<VehicleType> changed = EnumSet.noneOf(VehicleType.class);
+        for (VehicleType type : VehicleType.values()) {
+            if (!vehicleRules.get(type).equals(other.vehicleRules.get(type))) {
+                changed.add(type);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Checks whether the base fee of the given city and vehicle type differs between this and another snapshot.
+     *
+     * @param other the snapshot to compare with.
+     * @param cityName the name of the city.
+     * @param vehicleType the type of the vehicle.
+     * @return true if the base fee was added, removed or changed.
+     */
+    public boolean baseFeeDiffers(FeeRuleSnapshot other, String cityName, VehicleType vehicleType) {
+        return !Objects.equals(getBaseFee(cityName, vehicleType), other.getBaseFee(cityName, vehicleType));
+    }
+
+    private static Map<String, RuleOutcome> compilePhenomena(List<Conditions> conditions) {
+        Map<String, RuleOutcome> index = new HashMap<>();
+        for (Conditions con : conditions) {
+            if (con.getPhenomenon() == null) {
+                continue;
+            }
+            RuleOutcome outcome = new RuleOutcome(
+                    con.getConditionFee() != null ? con.getConditionFee() : 0.00,
+                    Boolean.TRUE.equals(con.getUsageForbidden())
+            );
+            index.merge(con.getPhenomenon(), outcome, RuleOutcome::plus);
+        }
+        return Map.copyOf(index);
+    }
+
+    /**
+     * Compiled rules of a single vehicle type.
+     */
+    private record VehicleRules(IntervalRules temperature, IntervalRules wind, Map<String, RuleOutcome> phenomena) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.foodDelivery.api.rules;
+
+import com.foodDelivery.api.model.Conditions;
+import lombok.EqualsAndHashCode;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Compiled range based rules (TEMPERATURE or WIND) of a single vehicle type.
+ *
+ * <p>
+ *     Rules are stored in parallel arrays sorted by their minimum value. A lookup
+ *     binary searches the last rule whose minimum is not greater than the value and
+ *     walks backwards while a rule could still cover it. The running maximum of the
+ *     upper bounds stops the walk as soon as no earlier rule can match, so
+ *     non-overlapping rule sets are evaluated in O(log n).
+ * </p>
+ */
+@EqualsAndHashCode
+final class IntervalRules {
+
+    static final IntervalRules EMPTY = new IntervalRules(List.of());
+
+    private final double[] minValues;
+    private final double[] maxValues;
+    @EqualsAndHashCode.Exclude
+    private final double[] runningMax;
+    private final double[] fees;
+    private final boolean[] forbidden;
+
+    private IntervalRules(List<Conditions> conditions) {
+        List<Conditions> sorted = new ArrayList<>(conditions);
+        sorted.sort(Comparator.comparingDouble(Conditions::getMinValue));
+
+        int size = sorted.size();
+        minValues = new double[size];
+        maxValues = new double[size];
+        runningMax = new double[size];
+        fees = new double[size];
+        forbidden = new boolean[size];
+
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            Conditions con = sorted.get(i);
+            minValues[i] = con.getMinValue();
+            maxValues[i] = con.getMaxValue();
+            max = Math.max(max, maxValues[i]);
+            runningMax[i] = max;
+            fees[i] = con.getConditionFee() != null ? con.getConditionFee() : 0.00;
+            forbidden[i] = Boolean.TRUE.equals(con.getUsageForbidden());
+        }
+    }
+
+    /**
+     * Compiles the given conditions into interval rules.
+     *
+     * <p>
+     *     Conditions without a minimum or maximum value can never match a range
+     *     query and are therefore left out.
+     * </p>
+     *
+     * @param conditions the conditions of one type for one vehicle.
+     * @return the compiled rules.
+     */
+    static IntervalRules compile(List<Conditions> conditions) {
+        List<Conditions> ranged = conditions.stream()
+                .filter(con -> con.getMinValue() != null && con.getMaxValue() != null)
+                .toList();
+        return ranged.isEmpty() ? EMPTY : new IntervalRules(ranged);
+    }
+
+    /**
+     * Evaluates all rules whose range contains the given value.
+     *
+     * @param value the measured value (e.g., air temperature, wind speed).
+     * @return the combined outcome of the matching rules.
+     */
+    RuleOutcome match(double value) {
+        int i = lastMinAtMost(value);
+        double sum = 0.00;
+        boolean matched = false;
+        boolean isForbidden = false;
+
+        for (; i >= 0 && runningMax[i] >= value; i--) {
+            if (maxValues[i] >= value) {
+                matched = true;
+                sum += fees[i];
+                isForbidden |= forbidden[i];
+            }
+        }
+
+        return matched ? new RuleOutcome(sum, isForbidden) : RuleOutcome.NONE;
+    }
+
+    private int lastMinAtMost(double value) {
+        int low = 0;
+        int high = minValues.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (minValues[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+}
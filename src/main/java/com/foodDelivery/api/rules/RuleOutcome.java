@@ -0,0 +1,47 @@
+package com.foodDelivery.api.rules;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * The result of evaluating one or more condition rules against a weather observation.
+ *
+ * <p>
+ *     Holds the summed extra fee of all matching rules and whether any of them
+ *     forbids the usage of the vehicle.
+ * </p>
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public final class RuleOutcome {
+
+    /**
+     * Outcome used when no rule matches.
+     */
+    public static final RuleOutcome NONE = new RuleOutcome(0.00, false);
+
+    /**
+     * The summed extra fee of the matching rules.
+     */
+    private final double fee;
+
+    /**
+     * Indicates whether any of the matching rules forbids the vehicle usage.
+     */
+    private final boolean forbidden;
+
+    /**
+     * Combines this outcome with another one.
+     *
+     * @param other the outcome to add.
+     * @return the combined outcome.
+     */
+    public RuleOutcome plus(RuleOutcome other) {
+        if (other == NONE) {
+            return this;
+        }
+        return new RuleOutcome(fee + other.fee, forbidden || other.forbidden);
+    }
+}
@@ -6,8 +6,9 @@ import com.foodDelivery.api.dto.BaseFeeDTO;
  * Service interface for managing BaseFee-related business logic.
  *
  * <p>
- *     Provides basic CRUD operations via the CRUDService interface.
+ *     Provides basic CRUD operations via the CRUDService interface and the
+ *     entity tag of the collection via the VersionedService interface.
  * </p>
  */
-public interface BaseFeeService extends CRUDService<BaseFeeDTO, Long> {
+public interface BaseFeeService extends CRUDService<BaseFeeDTO, Long>, VersionedService {
 }
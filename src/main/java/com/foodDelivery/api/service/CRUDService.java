@@ -1,5 +1,10 @@
 package com.foodDelivery.api.service;
 
+import com.foodDelivery.api.dto.BulkResultDTO;
+import com.foodDelivery.api.dto.ListQueryDTO;
+import com.foodDelivery.api.model.enums.BulkMode;
+import com.foodDelivery.api.paging.KeysetPage;
+
 import java.util.List;
 
 /**
@@ -36,11 +41,25 @@ public interface CRUDService<T, ID> {
     T getById(ID id);
 
     /**
-     * Retrieves a list of all entities.
+     * Finds entities by their IDs with one query.
+     *
+     * @param ids The IDs of the entities to find.
+     * @return The result of every ID in request order, with the entity as a DTO or a not found message.
+     */
+    List<BulkResultDTO<T>> getAllById(List<ID> ids);
+
+    /**
+     * Retrieves one page of the entities that match the filters of the query.
+     *
+     * <p>
+     *     Pages use keyset pagination: the query continues after the sort key in its cursor,
+     *     so reading a page costs the same no matter how many pages came before it.
+     * </p>
      *
-     * @return A list of all entities as DTOs.
+     * @param query The cursor, page size and filters.
+     * @return A page of entities as DTOs.
      */
-    List<T> getAll();
+    KeysetPage<T> getAll(ListQueryDTO query);
 
     /**
      * Deletes an entity by its ID.
@@ -48,4 +67,45 @@ public interface CRUDService<T, ID> {
      * @param id The ID of the entity to delete.
      */
     void delete(ID id);
+
+    /**
+     * Creates new entities from the provided DTOs in one transaction.
+     *
+     * <p>
+     *     The inserts are sent in JDBC batches. Every DTO gets a result in request order.
+     * </p>
+     *
+     * @param dtos The DTOs containing necessary data for creating the entities.
+     * @param mode Whether a failed DTO prevents the others from being created.
+     * @return The result of every DTO, with the created entity as a DTO.
+     */
+    List<BulkResultDTO<T>> createAll(List<T> dtos, BulkMode mode);
+
+    /**
+     * Updates existing entities, identified by the IDs of the DTOs, in one transaction.
+     *
+     * <p>
+     *     The entities are loaded with one query and the updates are sent in JDBC batches.
+     *     Every DTO gets a result in request order.
+     * </p>
+     *
+     * @param dtos The DTOs containing the IDs and the updated data.
+     * @param mode Whether a failed DTO prevents the others from being updated.
+     * @return The result of every DTO, with the updated entity as a DTO.
+     */
+    List<BulkResultDTO<T>> updateAll(List<T> dtos, BulkMode mode);
+
+    /**
+     * Deletes entities by their IDs in one transaction.
+     *
+     * <p>
+     *     The entities are loaded with one query and the deletes are sent in JDBC batches.
+     *     Every ID gets a result in request order.
+     * </p>
+     *
+     * @param ids The IDs of the entities to delete.
+     * @param mode Whether a failed ID prevents the others from being deleted.
+     * @return The result of every ID, with the deleted entity as a DTO.
+     */
+    List<BulkResultDTO<T>> deleteAll(List<ID> ids, BulkMode mode);
 }
@@ -6,8 +6,9 @@ import com.foodDelivery.api.dto.CityDTO;
  * Service interface for managing city-related business logic.
  *
  * <p>
- *     Provides basic CRUD operations via the CRUDService interface.
+ *     Provides basic CRUD operations via the CRUDService interface and the
+ *     entity tag of the collection via the VersionedService interface.
  * </p>
  */
-public interface CityService extends CRUDService<CityDTO, Long> {
+public interface CityService extends CRUDService<CityDTO, Long>, VersionedService {
 }
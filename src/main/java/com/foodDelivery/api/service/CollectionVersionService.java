@@ -0,0 +1,30 @@
+package com.foodDelivery.api.service;
+
+import com.foodDelivery.api.model.enums.VersionedCollection;
+
+/**
+ * Service interface for the version counters of the reference data collections.
+ *
+ * <p>
+ *     Every write to a collection bumps its version, so the entity tag of the version
+ *     identifies the content of the collection without reading it.
+ * </p>
+ */
+public interface CollectionVersionService {
+
+    /**
+     * Bumps the versions of the collections. Must be called after every write has been committed,
+     * so that a tag is never handed out for content that is about to change.
+     *
+     * @param collections the changed collections.
+     */
+    void bump(VersionedCollection... collections);
+
+    /**
+     * Returns the strong entity tag of the current version of a collection.
+     *
+     * @param collection the collection.
+     * @return the quoted entity tag.
+     */
+    String etag(VersionedCollection collection);
+}
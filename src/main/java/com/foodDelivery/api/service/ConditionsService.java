@@ -6,8 +6,9 @@ import com.foodDelivery.api.dto.ConditionsDTO;
  * Service interface for managing conditions-related business logic.
  *
  * <p>
- *     Provides basic CRUD operations via the CRUDService interface.
+ *     Provides basic CRUD operations via the CRUDService interface and the
+ *     entity tag of the collection via the VersionedService interface.
  * </p>
  */
-public interface ConditionsService extends CRUDService<ConditionsDTO, Long> {
+public interface ConditionsService extends CRUDService<ConditionsDTO, Long>, VersionedService {
 }
@@ -1,5 +1,8 @@
 package com.foodDelivery.api.service;
 
+import com.foodDelivery.api.dto.DeliveryFeeBatchResultDTO;
+import com.foodDelivery.api.dto.DeliveryFeeRequestDTO;
+import com.foodDelivery.api.dto.DeliveryFeeSeriesPointDTO;
 import com.foodDelivery.api.model.Conditions;
 import com.foodDelivery.api.model.WeatherData;
 
@@ -28,6 +31,31 @@ public interface DeliveryFeeService {
      */
     Double calculateDeliveryFee(String cityName, String vehicleType, LocalDateTime observationTime);
 
+    /**
+     * Calculates the total delivery fee for every request of a batch.
+     *
+     * <p>
+     *     The weather data is looked up once per distinct city and observation time.
+     *     A request that fails does not affect the other requests of the batch.
+     * </p>
+     *
+     * @param requests the delivery fee requests.
+     * @return a list of results in the order of the requests.
+     */
+    List<DeliveryFeeBatchResultDTO> calculateDeliveryFees(List<DeliveryFeeRequestDTO> requests);
+
+    /**
+     * Calculates the delivery fee for every stored weather observation of a city within a time range.
+     *
+     * @param cityName the name of the city.
+     * @param vehicleType the type of the vehicle (e.g., BIKE, CAR)
+     * @param from the lower bound of the observation time (inclusive).
+     * @param to the upper bound of the observation time (inclusive).
+     * @return a list of fees ordered by observation time; forbidden points have no fee.
+     */
+    List<DeliveryFeeSeriesPointDTO> calculateDeliveryFeeSeries(String cityName, String vehicleType,
+                                                               LocalDateTime from, LocalDateTime to);
+
     /**
      * Retrieves the latest weather data for the provided city.
      *
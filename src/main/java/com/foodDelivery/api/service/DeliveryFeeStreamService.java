@@ -0,0 +1,27 @@
+package com.foodDelivery.api.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Service interface for calculating delivery fees of newline-delimited JSON streams.
+ *
+ * <p>
+ *     Every non-blank input line holds one DeliveryFeeRequestDTO and produces exactly one
+ *     DeliveryFeeBatchResultDTO line, in the same order. Input is read in fixed size chunks
+ *     and results are written before the next chunk is read, so memory use does not depend
+ *     on the size of the input.
+ * </p>
+ */
+public interface DeliveryFeeStreamService {
+
+    /**
+     * Reads request lines from the input and writes result lines to the output.
+     *
+     * @param input the NDJSON request stream.
+     * @param output the NDJSON result stream.
+     * @throws IOException if reading or writing the streams fails.
+     */
+    void calculateDeliveryFees(InputStream input, OutputStream output) throws IOException;
+}
@@ -0,0 +1,53 @@
+package com.foodDelivery.api.service;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+
+/**
+ * Service interface for the HTTP caching headers of delivery fee quotes.
+ *
+ * <p>
+ *     The current fee only changes when the scheduled weather ingestion stores new observations,
+ *     so its quotes can be cached until the next ingestion run is due, but not while a run that
+ *     is due has not finished yet. A quote for an observation
+ *     time that an ingestion run has already passed is historical; it can still change through the
+ *     retention, backfills, weather data writes and rule changes, so it is cached for a bounded time.
+ * </p>
+ */
+public interface FeeCacheControlService {
+
+    /**
+     * Returns the caching headers of a quote relative to the current time.
+     *
+     * @param observationTime the requested observation time; null for the latest fee.
+     * @return the Cache-Control and Expires headers.
+     */
+    HttpHeaders cacheHeaders(LocalDateTime observationTime);
+
+    /**
+     * Returns the caching headers of a quote relative to the given time.
+     *
+     * @param observationTime the requested observation time; null for the latest fee.
+     * @param now the current time.
+     * @return the Cache-Control and Expires headers.
+     */
+    HttpHeaders cacheHeaders(LocalDateTime observationTime, ZonedDateTime now);
+
+    /**
+     * Records that a scheduled ingestion run has finished, successfully or not.
+     *
+     * <p>
+     *     Until the run that is due has finished, quotes it may change are not cacheable.
+     * </p>
+     */
+    void ingestionFinished();
+
+    /**
+     * Records that a scheduled ingestion run has finished at the given time.
+     *
+     * @param finishedAt the time the run finished.
+     */
+    void ingestionFinished(ZonedDateTime finishedAt);
+}
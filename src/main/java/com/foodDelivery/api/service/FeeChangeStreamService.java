@@ -0,0 +1,32 @@
+package com.foodDelivery.api.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service interface for streaming changes of the current delivery fees as Server-Sent Events.
+ *
+ * <p>
+ *     A subscriber first receives the current fee of every subscribed vehicle and afterwards
+ *     an event only when a weather ingestion or a rule change alters the fee or the forbidden
+ *     status of one of them.
+ * </p>
+ */
+public interface FeeChangeStreamService {
+
+    /**
+     * Subscribes to the fee changes of a city.
+     *
+     * @param cityName the name of the city.
+     * @param vehicleType the type of the vehicle, or null for every vehicle type.
+     * @return the emitter the FeeChangeDTO events are sent to.
+     * @throws com.foodDelivery.api.exception.CityNotFoundException if the city does not exist.
+     */
+    SseEmitter subscribe(String cityName, String vehicleType);
+
+    /**
+     * Returns the number of open subscriptions.
+     *
+     * @return the number of subscriptions.
+     */
+    int subscriberCount();
+}
@@ -0,0 +1,26 @@
+package com.foodDelivery.api.service;
+
+import com.foodDelivery.api.rules.FeeMatrix;
+
+/**
+ * Service interface for managing the materialized matrix of current delivery fees.
+ *
+ * <p>
+ *     The matrix holds the fee of every city and vehicle type for the latest weather data.
+ *     It has to be refreshed whenever new weather data is stored or the rules change.
+ * </p>
+ */
+public interface FeeMatrixService {
+
+    /**
+     * Returns the current fee matrix.
+     *
+     * @return the fee matrix.
+     */
+    FeeMatrix getMatrix();
+
+    /**
+     * Rebuilds the matrix from the latest weather data and the current rules.
+     */
+    void refresh();
+}
@@ -0,0 +1,64 @@
+package com.foodDelivery.api.service;
+
+import com.foodDelivery.api.dto.FeeQuoteCacheStatsDTO;
+import com.foodDelivery.api.rules.FeeQuote;
+import com.foodDelivery.api.model.enums.VehicleType;
+
+/**
+ * Service interface for the bounded cache of delivery fee quotes.
+ *
+ * <p>
+ *     Quotes are keyed by city name, vehicle type and the id of the resolved WeatherData,
+ *     so all observation times that resolve to the same weather data share one entry.
+ *     Entries are removed exactly when a write changes one of their inputs.
+ * </p>
+ * <p>
+ *     Every invalidation starts a new generation. A caller reads the generation before it
+ *     resolves the weather data and passes it to {@link #put}; quotes calculated from inputs
+ *     that were invalidated in the meantime are then not stored.
+ * </p>
+ */
+public interface FeeQuoteCacheService {
+
+    /**
+     * Returns the current invalidation generation.
+     *
+     * @return the generation.
+     */
+    long generation();
+
+    /**
+     * Looks up a cached quote.
+     *
+     * @param cityName the name of the city.
+     * @param vehicleType the type of the vehicle.
+     * @param weatherDataId the id of the resolved weather data.
+     * @return the cached quote, or null on a miss.
+     */
+    FeeQuote get(String cityName, VehicleType vehicleType, Long weatherDataId);
+
+    /**
+     * Stores a quote unless an invalidation happened since the given generation.
+     *
+     * @param cityName the name of the city.
+     * @param vehicleType the type of the vehicle.
+     * @param weatherDataId the id of the resolved weather data.
+     * @param quote the calculated quote.
+     * @param generation the generation read before the inputs were resolved.
+     */
+    void put(String cityName, VehicleType vehicleType, Long weatherDataId, FeeQuote quote, long generation);
+
+    /**
+     * Removes all quotes that were calculated from the given weather data.
+     *
+     * @param weatherDataId the id of the changed or deleted weather data.
+     */
+    void evictWeatherData(Long weatherDataId);
+
+    /**
+     * Returns the hit, miss and eviction statistics of the cache.
+     *
+     * @return the statistics.
+     */
+    FeeQuoteCacheStatsDTO getStats();
+}
@@ -0,0 +1,27 @@
+package com.foodDelivery.api.service;
+
+import com.foodDelivery.api.rules.FeeRuleSnapshot;
+
+/**
+ * Service interface for managing the compiled delivery fee rules.
+ *
+ * <p>
+ *     The service keeps an in-memory snapshot of all conditions and base fees so that
+ *     the delivery fee can be calculated without querying the rule tables.
+ * </p>
+ */
+public interface FeeRuleService {
+
+    /**
+     * Returns the current rule snapshot.
+     *
+     * @return the compiled rules.
+     */
+    FeeRuleSnapshot getSnapshot();
+
+    /**
+     * Reloads the rules from the database and atomically replaces the current snapshot.
+     * Must be called after every write that affects conditions or base fees.
+     */
+    void refresh();
+}
@@ -0,0 +1,54 @@
+package com.foodDelivery.api.service;
+
+import com.foodDelivery.api.archive.ArchivedPayload;
+import com.foodDelivery.api.ingestion.IngestionListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for archiving the raw observation feeds that were fetched.
+ *
+ * <p>
+ *     Payloads are written to a compressed, segmented append-only log in the background, so
+ *     what upstream sent can be audited later.
+ * </p>
+ */
+public interface PayloadArchiveService {
+
+    /**
+     * Checks whether payloads are archived at all.
+     *
+     * @return false if the archive is disabled and {@link #archive} discards every payload.
+     */
+    boolean isEnabled();
+
+    /**
+     * Queues a raw payload for archiving.
+     *
+     * @param provider the name of the provider that sent the payload.
+     * @param timestamp the observation timestamp of the feed in Unix epoch seconds.
+     * @param payload the raw payload.
+     * @param listener is told if the payload cannot be written later on.
+     * @return false if the payload was dropped because the archive queue is full.
+     */
+    boolean archive(String provider, String timestamp, byte[] payload, IngestionListener listener);
+
+    /**
+     * Finds an archived payload by its feed timestamp.
+     *
+     * @param timestamp the observation timestamp of the feed in Unix epoch seconds.
+     * @param provider the name of the provider, or null for the first payload archived with that timestamp.
+     * @return the index entry of the payload.
+     */
+    ArchivedPayload findPayload(String timestamp, String provider);
+
+    /**
+     * Decompresses an archived payload into the given stream.
+     *
+     * @param payload the index entry of the payload.
+     * @param output receives the raw payload; it is not closed.
+     * @throws IOException if the payload cannot be read.
+     */
+    void writePayload(ArchivedPayload payload, OutputStream output) throws IOException;
+}
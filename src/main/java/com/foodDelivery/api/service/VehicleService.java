@@ -6,8 +6,9 @@ import com.foodDelivery.api.dto.VehicleDTO;
  * Service interface for managing vehicle-related business logic.
  *
  * <p>
- *     Provides basic CRUD operations via the CRUDService interface.
+ *     Provides basic CRUD operations via the CRUDService interface and the
+ *     entity tag of the collection via the VersionedService interface.
  * </p>
  */
-public interface VehicleService extends CRUDService<VehicleDTO, Long> {
+public interface VehicleService extends CRUDService<VehicleDTO, Long>, VersionedService {
 }
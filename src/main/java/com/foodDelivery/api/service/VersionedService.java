@@ -0,0 +1,20 @@
+package com.foodDelivery.api.service;
+
+/**
+ * Service interface for a collection that answers conditional GETs.
+ *
+ * <p>
+ *     The entity tag changes with every write to the collection, and reading it does not touch
+ *     the database. Read the tag before the content, so a concurrent write can only make the
+ *     tag older than the content, never newer.
+ * </p>
+ */
+public interface VersionedService {
+
+    /**
+     * Returns the strong entity tag of the current version of the collection.
+     *
+     * @return the quoted entity tag.
+     */
+    String etag();
+}
@@ -0,0 +1,34 @@
+package com.foodDelivery.api.service;
+
+import com.foodDelivery.api.ingestion.IngestionListener;
+
+import java.nio.file.Path;
+
+/**
+ * Service interface for rebuilding the weather data from archived observation feeds.
+ *
+ * <p>
+ *     A backfill loads a directory of archived observations XML files, e.g. dumps of the
+ *     ilmateenistus.ee feed, as if every file had been read by the weather reading in order.
+ * </p>
+ */
+public interface WeatherBackfillService {
+
+    /**
+     * Resolves an archive directory below the configured backfill root.
+     *
+     * @param directory the directory relative to the backfill root.
+     * @return the absolute path of the directory.
+     * @throws com.foodDelivery.api.exception.InvalidBackfillDirectoryException if backfills are disabled
+     *         or the directory is not an existing directory below the root.
+     */
+    Path resolveDirectory(String directory);
+
+    /**
+     * Loads all archived feeds of a directory that are newer than its checkpoint.
+     *
+     * @param directory the archive directory, as returned by {@link #resolveDirectory(String)}.
+     * @param listener receives the stage timings, counters and skipped files.
+     */
+    void backfill(Path directory, IngestionListener listener);
+}
@@ -0,0 +1,31 @@
+package com.foodDelivery.api.service;
+
+import com.foodDelivery.api.ingestion.WeatherDataUpsert;
+import com.foodDelivery.api.model.WeatherData;
+
+import java.util.List;
+
+/**
+ * Service interface for storing many WeatherData rows at once.
+ *
+ * <p>
+ *     Used by the weather ingestion to store all observations of a feed in a single
+ *     transaction with batched JDBC statements.
+ * </p>
+ */
+public interface WeatherDataBatchService {
+
+    /**
+     * Inserts the given weather data in one transaction, or updates the stored row of the same
+     * city and observation time.
+     *
+     * <p>
+     *     Quotes cached for an updated row are not evicted here; the caller evicts the updated ids
+     *     once it has updated the weather history.
+     * </p>
+     *
+     * @param weatherData new weather data; each must reference an existing city.
+     * @return the same weather data with the generated or existing ids set, and the ids of the updated rows.
+     */
+    WeatherDataUpsert upsertAll(List<WeatherData> weatherData);
+}
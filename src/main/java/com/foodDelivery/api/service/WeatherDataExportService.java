@@ -0,0 +1,31 @@
+package com.foodDelivery.api.service;
+
+import com.foodDelivery.api.model.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for exporting the stored weather data.
+ *
+ * <p>
+ *     The weather data is read through a forward-only cursor and written while it is read,
+ *     so memory use does not depend on the number of exported rows.
+ * </p>
+ */
+public interface WeatherDataExportService {
+
+    /**
+     * Writes the weather data that matches the filters to the output, ordered by observation time.
+     *
+     * @param format the file format.
+     * @param cityName only weather data of the city with this name, or null for every city.
+     * @param from the lower bound of the observation time (inclusive), or null.
+     * @param to the upper bound of the observation time (inclusive), or null.
+     * @param output the stream the file is written to.
+     * @throws IOException if writing the output fails.
+     */
+    void export(ExportFormat format, String cityName, LocalDateTime from, LocalDateTime to,
+                OutputStream output) throws IOException;
+}
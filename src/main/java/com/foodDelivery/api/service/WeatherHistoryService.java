@@ -0,0 +1,59 @@
+package com.foodDelivery.api.service;
+
+import com.foodDelivery.api.model.WeatherData;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for the in-memory weather history of every city.
+ *
+ * <p>
+ *     The history is loaded from the database at startup and kept up to date by the
+ *     weather ingestion and the WeatherData CRUD operations. It answers historical
+ *     weather lookups without querying the database.
+ * </p>
+ */
+public interface WeatherHistoryService {
+
+    /**
+     * Checks whether the history has been loaded and can answer lookups.
+     *
+     * @return true if the history is loaded.
+     */
+    boolean isLoaded();
+
+    /**
+     * (Re)loads the history of all cities from the database.
+     */
+    void load();
+
+    /**
+     * Finds the latest weather data of the city with observation time less than or equal to the given time.
+     *
+     * @param cityName the name of the city.
+     * @param dateTime the upper bound of the observation time.
+     * @return a detached WeatherData without city, or null if none was found.
+     */
+    WeatherData findLatest(String cityName, LocalDateTime dateTime);
+
+    /**
+     * Adds stored weather data to the history.
+     *
+     * @param weatherData the saved weather data; must have its id and city set.
+     */
+    void append(WeatherData weatherData);
+
+    /**
+     * Removes weather data from the history.
+     *
+     * @param weatherDataId the id of the removed weather data.
+     */
+    void remove(Long weatherDataId);
+
+    /**
+     * Removes the weather data observed before the given time from the history of every city.
+     *
+     * @param cutoff the lower bound of the observation time of the kept weather data.
+     */
+    void removeBefore(LocalDateTime cutoff);
+}
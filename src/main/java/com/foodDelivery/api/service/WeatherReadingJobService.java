@@ -0,0 +1,37 @@
+package com.foodDelivery.api.service;
+
+import com.foodDelivery.api.dto.WeatherReadingJobDTO;
+
+/**
+ * Service interface for running weather readings and backfills as asynchronous jobs.
+ *
+ * <p>
+ *     Jobs are queued on a dedicated bounded executor, so the request that triggers a reading
+ *     does not wait for the external API. The scheduled readings are queued as jobs as well.
+ * </p>
+ */
+public interface WeatherReadingJobService {
+
+    /**
+     * Queues a new weather reading job.
+     *
+     * @return the status of the queued job.
+     */
+    WeatherReadingJobDTO submit();
+
+    /**
+     * Queues a new job that backfills the weather data from a directory of archived feeds.
+     *
+     * @param directory the archive directory relative to the backfill root.
+     * @return the status of the queued job.
+     */
+    WeatherReadingJobDTO submitBackfill(String directory);
+
+    /**
+     * Retrieves the status of a job.
+     *
+     * @param jobId the id of the job.
+     * @return the status of the job.
+     */
+    WeatherReadingJobDTO getJob(String jobId);
+}
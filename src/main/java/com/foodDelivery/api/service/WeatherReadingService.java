@@ -1,6 +1,11 @@
 package com.foodDelivery.api.service;
 
+import com.foodDelivery.api.ingestion.IngestionListener;
+import com.foodDelivery.api.ingestion.ObservationFeed;
+import com.foodDelivery.api.xml.Station;
+
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Service interface for managing weatherReading-related business logic.
@@ -13,10 +18,34 @@ import java.time.LocalDateTime;
 public interface WeatherReadingService {
 
     /**
-     * Reads weather data from the external API which is scheduler to run every 15 minutes.
+     * Reads weather data from the external API.
      */
     void readWeatherData();
 
+    /**
+     * Reads weather data from the external API and reports the progress to the given listener.
+     *
+     * @param listener receives the stage timings and counters of the run.
+     */
+    void readWeatherData(IngestionListener listener);
+
+    /**
+     * Stores the observations of an already parsed feed for the configured cities.
+     *
+     * @param timestamp the observation timestamp of the feed in Unix epoch seconds.
+     * @param stations the stations of the feed; stations without a configured city are skipped.
+     */
+    void storeObservations(String timestamp, List<Station> stations);
+
+    /**
+     * Stores the observations of several already parsed feeds in one batch and reports the progress
+     * to the given listener.
+     *
+     * @param feeds the feeds, each with its own observation timestamp.
+     * @param listener receives the stage timings and counters.
+     */
+    void storeObservations(List<ObservationFeed> feeds, IngestionListener listener);
+
     /**
      * Parses the observation timestamp form Epoch time format to a LocalDateTime.
      *
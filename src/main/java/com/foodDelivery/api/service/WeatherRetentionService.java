@@ -0,0 +1,65 @@
+package com.foodDelivery.api.service;
+
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.retention.RetentionResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for the retention of the weather data.
+ *
+ * <p>
+ *     Raw weather data is kept for a configurable window and then rolled up into hourly
+ *     aggregates; hourly aggregates are later rolled up into daily ones. Historical weather
+ *     lookups fall back to the aggregates once the raw data is gone.
+ * </p>
+ */
+public interface WeatherRetentionService {
+
+    /**
+     * Applies the retention relative to the current time; scheduled to run once a day.
+     *
+     * <p>
+     *     Must not run alongside an ingestion or backfill, which could commit rows older than the
+     *     cutoff after they were aggregated and before they are deleted.
+     * </p>
+     */
+    void applyRetention();
+
+    /**
+     * Applies the retention relative to the given time.
+     *
+     * @param now the current time in the time zone of the observation times.
+     * @return the cutoffs and the number of rolled up rows.
+     */
+    RetentionResult applyRetention(LocalDateTime now);
+
+    /**
+     * Finds the latest aggregate of the city that starts at or before the given time.
+     *
+     * <p>
+     *     Hourly aggregates are preferred over daily ones.
+     * </p>
+     *
+     * @param cityName the name of the city.
+     * @param dateTime the upper bound of the period start.
+     * @return a detached WeatherData without id and city that holds the average values and the
+     *         dominant phenomenon of the aggregate, or null if none was found.
+     */
+    WeatherData findLatestAggregate(String cityName, LocalDateTime dateTime);
+
+    /**
+     * Finds the aggregates of the city that start within the given range.
+     *
+     * <p>
+     *     The aggregates are not queried if the whole range is still within the raw window.
+     * </p>
+     *
+     * @param cityName the name of the city.
+     * @param from the lower bound of the period start (inclusive).
+     * @param to the upper bound of the period start (inclusive).
+     * @return detached WeatherData like the one of {@link #findLatestAggregate}, ordered by period start.
+     */
+    List<WeatherData> findAggregatesBetween(String cityName, LocalDateTime from, LocalDateTime to);
+}
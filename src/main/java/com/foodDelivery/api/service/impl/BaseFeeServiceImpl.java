@@ -1,22 +1,46 @@
 package com.foodDelivery.api.service.impl;
 
+import com.foodDelivery.api.bulk.BulkItems;
 import com.foodDelivery.api.dto.BaseFeeDTO;
+import com.foodDelivery.api.dto.BulkResultDTO;
+import com.foodDelivery.api.dto.ListQueryDTO;
 import com.foodDelivery.api.exception.BaseFeeNotFoundException;
+import com.foodDelivery.api.exception.CityNotFoundException;
+import com.foodDelivery.api.exception.VehicleNotFoundException;
 import com.foodDelivery.api.mapper.BaseFeeMapper;
 import com.foodDelivery.api.model.BaseFee;
+import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.model.Vehicle;
+import com.foodDelivery.api.model.enums.BulkMode;
+import com.foodDelivery.api.model.enums.VersionedCollection;
+import com.foodDelivery.api.paging.KeysetCursor;
+import com.foodDelivery.api.paging.KeysetPage;
+import com.foodDelivery.api.paging.KeysetSpecifications;
 import com.foodDelivery.api.repository.BaseFeeRepository;
+import com.foodDelivery.api.repository.CityRepository;
+import com.foodDelivery.api.repository.VehicleRepository;
+import com.foodDelivery.api.service.CollectionVersionService;
 import com.foodDelivery.api.service.BaseFeeService;
+import com.foodDelivery.api.service.FeeRuleService;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Implements the BaseFee service interface.
  *
  * <p>
- *     Provides basic CRUD operations.
+ *     Provides basic CRUD operations. Every write refreshes the compiled fee rules,
+ *     a bulk write once for all of its items.
  * </p>
  */
 @Service
@@ -25,11 +49,18 @@ public class BaseFeeServiceImpl implements BaseFeeService {
 
     private final BaseFeeRepository baseFeeRepository;
     private final BaseFeeMapper baseFeeMapper;
+    private final FeeRuleService feeRuleService;
+    private final CityRepository cityRepository;
+    private final VehicleRepository vehicleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CollectionVersionService collectionVersionService;
 
     @Override
     public BaseFeeDTO create(BaseFeeDTO dto) {
         BaseFee baseFee = baseFeeMapper.toEntity(dto);
         BaseFee saved = baseFeeRepository.save(baseFee);
+        collectionVersionService.bump(VersionedCollection.BASE_FEE);
+        feeRuleService.refresh();
         return baseFeeMapper.toDTO(saved);
     }
 
@@ -38,9 +69,11 @@ public class BaseFeeServiceImpl implements BaseFeeService {
        BaseFee baseFee = baseFeeRepository.findById(id)
                .orElseThrow(() -> new BaseFeeNotFoundException("BaseFee with id " + id + " was not found."));
 
-       baseFee.setBaseFeeId(dto.getBaseFeeId());
+       apply(baseFee, dto);
 
        BaseFee updated = baseFeeRepository.save(baseFee);
+       collectionVersionService.bump(VersionedCollection.BASE_FEE);
+       feeRuleService.refresh();
        return baseFeeMapper.toDTO(updated);
     }
 
@@ -52,11 +85,27 @@ public class BaseFeeServiceImpl implements BaseFeeService {
     }
 
     @Override
-    public List<BaseFeeDTO> getAll() {
-        return baseFeeRepository.findAll()
-                .stream()
-                .map(baseFeeMapper::toDTO)
-                .collect(Collectors.toList());
+    public List<BulkResultDTO<BaseFeeDTO>> getAllById(List<Long> ids) {
+        Map<Long, BaseFee> baseFees = findAllById(BulkItems.idsOf(ids, Function.identity()));
+        return BulkItems.resolve(ids, id -> found(baseFees, id)).read(baseFeeMapper::toDTO);
+    }
+
+    @Override
+    public String etag() {
+        return collectionVersionService.etag(VersionedCollection.BASE_FEE);
+    }
+
+    @Override
+    public KeysetPage<BaseFeeDTO> getAll(ListQueryDTO query) {
+        int limit = KeysetPage.limitOf(query.getLimit());
+        Specification<BaseFee> specification = Specification
+                .<BaseFee>where(KeysetSpecifications.idAfter("baseFeeId", KeysetCursor.decodeId(query.getAfter())))
+                .and(KeysetSpecifications.equalTo(query.getCityName(), "city", "cityName"))
+                .and(KeysetSpecifications.equalTo(query.getVehicleType(), "vehicle", "vehicleType"));
+
+        List<BaseFee> rows = baseFeeRepository.findBy(specification,
+                q -> q.sortBy(Sort.by("baseFeeId")).limit(limit + 1).all());
+        return KeysetPage.of(rows, limit, row -> KeysetCursor.encode(row.getBaseFeeId()), baseFeeMapper::toDTO);
     }
 
     @Override
@@ -65,5 +114,84 @@ public class BaseFeeServiceImpl implements BaseFeeService {
             throw new BaseFeeNotFoundException("BaseFee with id " + id + " was not found.");
         }
         baseFeeRepository.deleteById(id);
+        collectionVersionService.bump(VersionedCollection.BASE_FEE);
+        feeRuleService.refresh();
+    }
+
+    @Override
+    public List<BulkResultDTO<BaseFeeDTO>> createAll(List<BaseFeeDTO> dtos, BulkMode mode) {
+        BulkItems.Outcome<BaseFee, BaseFeeDTO> outcome = transactionTemplate.execute(status -> {
+            Set<Long> cityIds = cityRepository.findAllById(BulkItems.idsOf(dtos, BaseFeeDTO::getCityId))
+                    .stream().map(City::getCityId).collect(Collectors.toSet());
+            Set<Long> vehicleIds = vehicleRepository.findAllById(BulkItems.idsOf(dtos, BaseFeeDTO::getVehicleId))
+                    .stream().map(Vehicle::getVehicleId).collect(Collectors.toSet());
+            return BulkItems.resolve(dtos, dto -> {
+                if (!cityIds.contains(dto.getCityId())) {
+                    throw new CityNotFoundException("City with id " + dto.getCityId() + " was not found.");
+                }
+                if (!vehicleIds.contains(dto.getVehicleId())) {
+                    throw new VehicleNotFoundException("Vehicle with id " + dto.getVehicleId() + " was not found.");
+                }
+                BaseFee baseFee = baseFeeMapper.toEntity(dto);
+                baseFee.setBaseFeeId(null);
+                return baseFee;
+            }).write(status, mode, HttpStatus.CREATED, baseFeeRepository::saveAllAndFlush, baseFeeMapper::toDTO);
+        });
+        return refreshed(outcome, VersionedCollection.BASE_FEE);
+    }
+
+    @Override
+    public List<BulkResultDTO<BaseFeeDTO>> updateAll(List<BaseFeeDTO> dtos, BulkMode mode) {
+        BulkItems.Outcome<BaseFee, BaseFeeDTO> outcome = transactionTemplate.execute(status -> {
+            Map<Long, BaseFee> baseFees = findAllById(BulkItems.idsOf(dtos, BaseFeeDTO::getBaseFeeId));
+            return BulkItems.resolve(dtos, dto -> {
+                BaseFee baseFee = found(baseFees, dto.getBaseFeeId());
+                apply(baseFee, dto);
+                return baseFee;
+            }).write(status, mode, HttpStatus.OK, baseFeeRepository::saveAllAndFlush, baseFeeMapper::toDTO);
+        });
+        return refreshed(outcome, VersionedCollection.BASE_FEE);
+    }
+
+    @Override
+    public List<BulkResultDTO<BaseFeeDTO>> deleteAll(List<Long> ids, BulkMode mode) {
+        BulkItems.Outcome<BaseFee, BaseFeeDTO> outcome = transactionTemplate.execute(status -> {
+            Map<Long, BaseFee> baseFees = findAllById(BulkItems.idsOf(ids, Function.identity()));
+            return BulkItems.resolve(ids, id -> found(baseFees, id))
+                    .write(status, mode, HttpStatus.OK, deleted -> {
+                        baseFeeRepository.deleteAll(deleted);
+                        baseFeeRepository.flush();
+                    }, baseFeeMapper::toDTO);
+        });
+        return refreshed(outcome, VersionedCollection.BASE_FEE);
+    }
+
+    /**
+     * Copies the updatable fields of the DTO to the base fee.
+     */
+    private static void apply(BaseFee baseFee, BaseFeeDTO dto) {
+        baseFee.setVehicleFee(dto.getVehicleFee());
+    }
+
+    private Map<Long, BaseFee> findAllById(List<Long> ids) {
+        return baseFeeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(BaseFee::getBaseFeeId, Function.identity()));
+    }
+
+    private static BaseFee found(Map<Long, BaseFee> baseFees, Long id) {
+        BaseFee baseFee = baseFees.get(id);
+        if (baseFee == null) {
+            throw new BaseFeeNotFoundException("BaseFee with id " + id + " was not found.");
+        }
+        return baseFee;
+    }
+
+    private List<BulkResultDTO<BaseFeeDTO>> refreshed(BulkItems.Outcome<BaseFee, BaseFeeDTO> outcome,
+                                                      VersionedCollection... changed) {
+        if (!outcome.written().isEmpty()) {
+            collectionVersionService.bump(changed);
+            feeRuleService.refresh();
+        }
+        return outcome.results();
     }
 }
@@ -1,22 +1,41 @@
 package com.foodDelivery.api.service.impl;
 
+import com.foodDelivery.api.bulk.BulkItems;
+import com.foodDelivery.api.dto.BulkResultDTO;
 import com.foodDelivery.api.dto.CityDTO;
+import com.foodDelivery.api.dto.ListQueryDTO;
 import com.foodDelivery.api.exception.CityNotFoundException;
 import com.foodDelivery.api.mapper.CityMapper;
 import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.model.enums.BulkMode;
+import com.foodDelivery.api.model.enums.VersionedCollection;
+import com.foodDelivery.api.paging.KeysetCursor;
+import com.foodDelivery.api.paging.KeysetPage;
+import com.foodDelivery.api.paging.KeysetSpecifications;
 import com.foodDelivery.api.repository.CityRepository;
+import com.foodDelivery.api.service.CollectionVersionService;
 import com.foodDelivery.api.service.CityService;
+import com.foodDelivery.api.service.FeeRuleService;
+import com.foodDelivery.api.service.WeatherHistoryService;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Implements the City service interface.
  *
  * <p>
- *     Provides basic CRUD operations.
+ *     Provides basic CRUD operations. Every write refreshes the compiled fee rules.
+ *     Renaming or deleting a city also reloads the weather history, which is kept by city name.
+ *     A bulk write does both once for all of its items.
  * </p>
  */
 @Service
@@ -25,11 +44,17 @@ public class CityServiceImpl implements CityService {
 
     private final CityRepository cityRepository;
     private final CityMapper cityMapper;
+    private final FeeRuleService feeRuleService;
+    private final WeatherHistoryService weatherHistoryService;
+    private final TransactionTemplate transactionTemplate;
+    private final CollectionVersionService collectionVersionService;
 
     @Override
     public CityDTO create(CityDTO dto) {
         City city = cityMapper.toEntity(dto);
         City saved = cityRepository.save(city);
+        collectionVersionService.bump(VersionedCollection.CITY);
+        feeRuleService.refresh();
         return cityMapper.toDTO(saved);
     }
 
@@ -38,11 +63,12 @@ public class CityServiceImpl implements CityService {
        City city = cityRepository.findById(id).
                orElseThrow(() -> new CityNotFoundException("City with id " + id + " was not found."));
 
-       city.setCityName(dto.getCityName());
-       city.setStationName(dto.getStationName());
-       city.setWmoCode(dto.getWmoCode());
+       apply(city, dto);
 
        City updated = cityRepository.save(city);
+       collectionVersionService.bump(VersionedCollection.CITY);
+       feeRuleService.refresh();
+       weatherHistoryService.load();
        return cityMapper.toDTO(updated);
     }
 
@@ -54,11 +80,26 @@ public class CityServiceImpl implements CityService {
     }
 
     @Override
-    public List<CityDTO> getAll() {
-        return cityRepository.findAll()
-                .stream()
-                .map(cityMapper::toDTO)
-                .collect(Collectors.toList());
+    public List<BulkResultDTO<CityDTO>> getAllById(List<Long> ids) {
+        Map<Long, City> cities = findAllById(BulkItems.idsOf(ids, Function.identity()));
+        return BulkItems.resolve(ids, id -> found(cities, id)).read(cityMapper::toDTO);
+    }
+
+    @Override
+    public String etag() {
+        return collectionVersionService.etag(VersionedCollection.CITY);
+    }
+
+    @Override
+    public KeysetPage<CityDTO> getAll(ListQueryDTO query) {
+        int limit = KeysetPage.limitOf(query.getLimit());
+        Specification<City> specification = Specification
+                .<City>where(KeysetSpecifications.idAfter("cityId", KeysetCursor.decodeId(query.getAfter())))
+                .and(KeysetSpecifications.equalTo(query.getCityName(), "cityName"));
+
+        List<City> rows = cityRepository.findBy(specification,
+                q -> q.sortBy(Sort.by("cityId")).limit(limit + 1).all());
+        return KeysetPage.of(rows, limit, row -> KeysetCursor.encode(row.getCityId()), cityMapper::toDTO);
     }
 
     @Override
@@ -67,5 +108,82 @@ public class CityServiceImpl implements CityService {
             throw new CityNotFoundException("City with id " + id + " was not found.");
         }
         cityRepository.deleteById(id);
+        // the base fees of the city are deleted with it
+        collectionVersionService.bump(VersionedCollection.CITY, VersionedCollection.BASE_FEE);
+        feeRuleService.refresh();
+        weatherHistoryService.load();
+    }
+
+    @Override
+    public List<BulkResultDTO<CityDTO>> createAll(List<CityDTO> dtos, BulkMode mode) {
+        BulkItems.Outcome<City, CityDTO> outcome = transactionTemplate.execute(status ->
+                BulkItems.resolve(dtos, dto -> {
+                    City city = cityMapper.toEntity(dto);
+                    city.setCityId(null);
+                    return city;
+                }).write(status, mode, HttpStatus.CREATED, cityRepository::saveAllAndFlush, cityMapper::toDTO));
+        if (!outcome.written().isEmpty()) {
+            collectionVersionService.bump(VersionedCollection.CITY);
+            feeRuleService.refresh();
+        }
+        return outcome.results();
+    }
+
+    @Override
+    public List<BulkResultDTO<CityDTO>> updateAll(List<CityDTO> dtos, BulkMode mode) {
+        BulkItems.Outcome<City, CityDTO> outcome = transactionTemplate.execute(status -> {
+            Map<Long, City> cities = findAllById(BulkItems.idsOf(dtos, CityDTO::getCityId));
+            return BulkItems.resolve(dtos, dto -> {
+                City city = found(cities, dto.getCityId());
+                apply(city, dto);
+                return city;
+            }).write(status, mode, HttpStatus.OK, cityRepository::saveAllAndFlush, cityMapper::toDTO);
+        });
+        return reloaded(outcome, VersionedCollection.CITY);
+    }
+
+    @Override
+    public List<BulkResultDTO<CityDTO>> deleteAll(List<Long> ids, BulkMode mode) {
+        BulkItems.Outcome<City, CityDTO> outcome = transactionTemplate.execute(status -> {
+            Map<Long, City> cities = findAllById(BulkItems.idsOf(ids, Function.identity()));
+            return BulkItems.resolve(ids, id -> found(cities, id))
+                    .write(status, mode, HttpStatus.OK, deleted -> {
+                        cityRepository.deleteAll(deleted);
+                        cityRepository.flush();
+                    }, cityMapper::toDTO);
+        });
+        return reloaded(outcome, VersionedCollection.CITY, VersionedCollection.BASE_FEE);
+    }
+
+    /**
+     * Copies the updatable fields of the DTO to the city.
+     */
+    private static void apply(City city, CityDTO dto) {
+        city.setCityName(dto.getCityName());
+        city.setStationName(dto.getStationName());
+        city.setWmoCode(dto.getWmoCode());
+    }
+
+    private Map<Long, City> findAllById(List<Long> ids) {
+        return cityRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(City::getCityId, Function.identity()));
+    }
+
+    private static City found(Map<Long, City> cities, Long id) {
+        City city = cities.get(id);
+        if (city == null) {
+            throw new CityNotFoundException("City with id " + id + " was not found.");
+        }
+        return city;
+    }
+
+    private List<BulkResultDTO<CityDTO>> reloaded(BulkItems.Outcome<City, CityDTO> outcome,
+                                                  VersionedCollection... changed) {
+        if (!outcome.written().isEmpty()) {
+            collectionVersionService.bump(changed);
+            feeRuleService.refresh();
+            weatherHistoryService.load();
+        }
+        return outcome.results();
     }
 }
@@ -0,0 +1,42 @@
+package com.foodDelivery.api.service.impl;
+
+import com.foodDelivery.api.model.enums.VersionedCollection;
+import com.foodDelivery.api.service.CollectionVersionService;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implements the CollectionVersion service interface.
+ *
+ * <p>
+ *     The counters live in memory and start at zero. The tags also contain the start time
+ *     of the application, so a tag from before a restart never matches a new version.
+ * </p>
+ */
+@Service
+public class CollectionVersionServiceImpl implements CollectionVersionService {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<VersionedCollection, AtomicLong> versions = new EnumMap<>(VersionedCollection.class);
+
+    public CollectionVersionServiceImpl() {
+        for (VersionedCollection collection : VersionedCollection.values()) {
+            versions.put(collection, new AtomicLong());
+        }
+    }
+
+    @Override
+    public void bump(VersionedCollection... collections) {
+        for (VersionedCollection collection : collections) {
+            versions.get(collection).incrementAndGet();
+        }
+    }
+
+    @Override
+    public String etag(VersionedCollection collection) {
+        return "\"" + collection.tagPrefix() + "-" + epoch + "-" + versions.get(collection).get() + "\"";
+    }
+}
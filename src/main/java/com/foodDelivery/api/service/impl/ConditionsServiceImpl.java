@@ -1,22 +1,43 @@
 package com.foodDelivery.api.service.impl;
 
+import com.foodDelivery.api.bulk.BulkItems;
+import com.foodDelivery.api.dto.BulkResultDTO;
 import com.foodDelivery.api.dto.ConditionsDTO;
+import com.foodDelivery.api.dto.ListQueryDTO;
 import com.foodDelivery.api.exception.ConditionNotFoundException;
+import com.foodDelivery.api.exception.VehicleNotFoundException;
 import com.foodDelivery.api.mapper.ConditionsMapper;
 import com.foodDelivery.api.model.Conditions;
+import com.foodDelivery.api.model.Vehicle;
+import com.foodDelivery.api.model.enums.BulkMode;
+import com.foodDelivery.api.model.enums.VersionedCollection;
+import com.foodDelivery.api.paging.KeysetCursor;
+import com.foodDelivery.api.paging.KeysetPage;
+import com.foodDelivery.api.paging.KeysetSpecifications;
 import com.foodDelivery.api.repository.ConditionsRepository;
+import com.foodDelivery.api.repository.VehicleRepository;
+import com.foodDelivery.api.service.CollectionVersionService;
 import com.foodDelivery.api.service.ConditionsService;
+import com.foodDelivery.api.service.FeeRuleService;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Implements the Conditions service interface.
  *
  * <p>
- *     Provides basic CRUD operations.
+ *     Provides basic CRUD operations. Every write refreshes the compiled fee rules,
+ *     a bulk write once for all of its items.
  * </p>
  */
 @Service
@@ -25,12 +46,17 @@ public class ConditionsServiceImpl implements ConditionsService {
 
     private final ConditionsRepository conditionsRepository;
     private final ConditionsMapper conditionsMapper;
-
+    private final FeeRuleService feeRuleService;
+    private final VehicleRepository vehicleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CollectionVersionService collectionVersionService;
 
     @Override
     public ConditionsDTO create(ConditionsDTO dto) {
         Conditions conditions = conditionsMapper.toEntity(dto);
         Conditions saved = conditionsRepository.save(conditions);
+        collectionVersionService.bump(VersionedCollection.CONDITIONS);
+        feeRuleService.refresh();
         return conditionsMapper.toDTO(saved);
     }
 
@@ -39,13 +65,11 @@ public class ConditionsServiceImpl implements ConditionsService {
         Conditions condition = conditionsRepository.findById(id)
                 .orElseThrow(() -> new ConditionNotFoundException("Condition with id " + id + " was not found."));
 
-        condition.setConditionFee(dto.getConditionFee());
-        condition.setMinValue(dto.getMinValue());
-        condition.setMaxValue(dto.getMaxValue());
-        condition.setPhenomenon(dto.getPhenomenon());
-        condition.setUsageForbidden(dto.getUsageForbidden());
+        apply(condition, dto);
 
         Conditions updated = conditionsRepository.save(condition);
+        collectionVersionService.bump(VersionedCollection.CONDITIONS);
+        feeRuleService.refresh();
         return conditionsMapper.toDTO(updated);
     }
 
@@ -57,11 +81,27 @@ public class ConditionsServiceImpl implements ConditionsService {
     }
 
     @Override
-    public List<ConditionsDTO> getAll() {
-        return conditionsRepository.findAll()
-                .stream()
-                .map(conditionsMapper::toDTO)
-                .collect(Collectors.toList());
+    public List<BulkResultDTO<ConditionsDTO>> getAllById(List<Long> ids) {
+        Map<Long, Conditions> conditions = findAllById(BulkItems.idsOf(ids, Function.identity()));
+        return BulkItems.resolve(ids, id -> found(conditions, id)).read(conditionsMapper::toDTO);
+    }
+
+    @Override
+    public String etag() {
+        return collectionVersionService.etag(VersionedCollection.CONDITIONS);
+    }
+
+    @Override
+    public KeysetPage<ConditionsDTO> getAll(ListQueryDTO query) {
+        int limit = KeysetPage.limitOf(query.getLimit());
+        Specification<Conditions> specification = Specification
+                .<Conditions>where(KeysetSpecifications.idAfter("conditionsId", KeysetCursor.decodeId(query.getAfter())))
+                .and(KeysetSpecifications.equalTo(query.getVehicleType(), "vehicle", "vehicleType"))
+                .and(KeysetSpecifications.equalTo(query.getConditionType(), "conditionType"));
+
+        List<Conditions> rows = conditionsRepository.findBy(specification,
+                q -> q.sortBy(Sort.by("conditionsId")).limit(limit + 1).all());
+        return KeysetPage.of(rows, limit, row -> KeysetCursor.encode(row.getConditionsId()), conditionsMapper::toDTO);
     }
 
     @Override
@@ -70,5 +110,83 @@ public class ConditionsServiceImpl implements ConditionsService {
             throw new ConditionNotFoundException("Condition with id " + id + " was not found.");
         }
         conditionsRepository.deleteById(id);
+        collectionVersionService.bump(VersionedCollection.CONDITIONS);
+        feeRuleService.refresh();
+    }
+
+    @Override
+    public List<BulkResultDTO<ConditionsDTO>> createAll(List<ConditionsDTO> dtos, BulkMode mode) {
+        BulkItems.Outcome<Conditions, ConditionsDTO> outcome = transactionTemplate.execute(status -> {
+            Set<Long> vehicleIds = vehicleRepository.findAllById(BulkItems.idsOf(dtos, ConditionsDTO::getVehicleId))
+                    .stream().map(Vehicle::getVehicleId).collect(Collectors.toSet());
+            return BulkItems.resolve(dtos, dto -> {
+                if (!vehicleIds.contains(dto.getVehicleId())) {
+                    throw new VehicleNotFoundException("Vehicle with id " + dto.getVehicleId() + " was not found.");
+                }
+                Conditions condition = conditionsMapper.toEntity(dto);
+                condition.setConditionsId(null);
+                return condition;
+            }).write(status, mode, HttpStatus.CREATED, conditionsRepository::saveAllAndFlush, conditionsMapper::toDTO);
+        });
+        return refreshed(outcome, VersionedCollection.CONDITIONS);
+    }
+
+    @Override
+    public List<BulkResultDTO<ConditionsDTO>> updateAll(List<ConditionsDTO> dtos, BulkMode mode) {
+        BulkItems.Outcome<Conditions, ConditionsDTO> outcome = transactionTemplate.execute(status -> {
+            Map<Long, Conditions> conditions = findAllById(BulkItems.idsOf(dtos, ConditionsDTO::getConditionsId));
+            return BulkItems.resolve(dtos, dto -> {
+                Conditions condition = found(conditions, dto.getConditionsId());
+                apply(condition, dto);
+                return condition;
+            }).write(status, mode, HttpStatus.OK, conditionsRepository::saveAllAndFlush, conditionsMapper::toDTO);
+        });
+        return refreshed(outcome, VersionedCollection.CONDITIONS);
+    }
+
+    @Override
+    public List<BulkResultDTO<ConditionsDTO>> deleteAll(List<Long> ids, BulkMode mode) {
+        BulkItems.Outcome<Conditions, ConditionsDTO> outcome = transactionTemplate.execute(status -> {
+            Map<Long, Conditions> conditions = findAllById(BulkItems.idsOf(ids, Function.identity()));
+            return BulkItems.resolve(ids, id -> found(conditions, id))
+                    .write(status, mode, HttpStatus.OK, deleted -> {
+                        conditionsRepository.deleteAll(deleted);
+                        conditionsRepository.flush();
+                    }, conditionsMapper::toDTO);
+        });
+        return refreshed(outcome, VersionedCollection.CONDITIONS);
+    }
+
+    /**
+     * Copies the updatable fields of the DTO to the condition.
+     */
+    private static void apply(Conditions condition, ConditionsDTO dto) {
+        condition.setConditionFee(dto.getConditionFee());
+        condition.setMinValue(dto.getMinValue());
+        condition.setMaxValue(dto.getMaxValue());
+        condition.setPhenomenon(dto.getPhenomenon());
+        condition.setUsageForbidden(dto.getUsageForbidden());
+    }
+
+    private Map<Long, Conditions> findAllById(List<Long> ids) {
+        return conditionsRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Conditions::getConditionsId, Function.identity()));
+    }
+
+    private static Conditions found(Map<Long, Conditions> conditions, Long id) {
+        Conditions condition = conditions.get(id);
+        if (condition == null) {
+            throw new ConditionNotFoundException("Condition with id " + id + " was not found.");
+        }
+        return condition;
+    }
+
+    private List<BulkResultDTO<ConditionsDTO>> refreshed(BulkItems.Outcome<Conditions, ConditionsDTO> outcome,
+                                                         VersionedCollection... changed) {
+        if (!outcome.written().isEmpty()) {
+            collectionVersionService.bump(changed);
+            feeRuleService.refresh();
+        }
+        return outcome.results();
     }
 }
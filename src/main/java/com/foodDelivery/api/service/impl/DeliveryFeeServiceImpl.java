@@ -1,20 +1,38 @@
 package com.foodDelivery.api.service.impl;
 
+import com.foodDelivery.api.dto.DeliveryFeeBatchResultDTO;
+import com.foodDelivery.api.dto.DeliveryFeeRequestDTO;
+import com.foodDelivery.api.dto.DeliveryFeeSeriesPointDTO;
 import com.foodDelivery.api.exception.BaseFeeNotFoundException;
+import com.foodDelivery.api.exception.InvalidDeliveryFeeRequestException;
+import com.foodDelivery.api.exception.InvalidVehicleTypeException;
+import com.foodDelivery.api.exception.VehicleUsageForbiddenException;
 import com.foodDelivery.api.exception.WeatherDataNotFoundException;
-import com.foodDelivery.api.model.BaseFee;
+import com.foodDelivery.api.history.WeatherObservation;
 import com.foodDelivery.api.model.Conditions;
 import com.foodDelivery.api.model.WeatherData;
 import com.foodDelivery.api.model.enums.VehicleType;
-import com.foodDelivery.api.repository.BaseFeeRepository;
-import com.foodDelivery.api.repository.ConditionsRepository;
 import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.rules.FeeMatrix;
+import com.foodDelivery.api.rules.FeeQuote;
+import com.foodDelivery.api.rules.FeeRuleSnapshot;
+import com.foodDelivery.api.rules.RuleOutcome;
 import com.foodDelivery.api.service.DeliveryFeeService;
+import com.foodDelivery.api.service.FeeMatrixService;
+import com.foodDelivery.api.service.FeeQuoteCacheService;
+import com.foodDelivery.api.service.FeeRuleService;
+import com.foodDelivery.api.service.WeatherHistoryService;
+import com.foodDelivery.api.service.WeatherRetentionService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -23,6 +41,13 @@ import java.util.Optional;
  * <p>
  *     The service implements business logic for calculating the total
  *     delivery fee for the given city, vehicle type and observation time.
+ *     Base fees and condition rules are read from the compiled in-memory snapshot
+ *     provided by {@link FeeRuleService}, so only the weather data is read from the database.
+ *     Requests for the latest fee are answered from the precomputed {@link FeeMatrix}
+ *     and historical weather data is looked up in the in-memory {@link WeatherHistoryService},
+ *     both without any database access. Quotes for historical weather data are cached
+ *     in the {@link FeeQuoteCacheService}. Weather data older than the retention window
+ *     is taken from the aggregates of the {@link WeatherRetentionService}.
  * </p>
  */
 @Service
@@ -30,9 +55,12 @@ import java.util.Optional;
 public class DeliveryFeeServiceImpl implements DeliveryFeeService {
 
 
-    private final BaseFeeRepository baseFeeRepository;
-    private final ConditionsRepository conditionsRepository;
+    private final FeeRuleService feeRuleService;
+    private final FeeMatrixService feeMatrixService;
+    private final WeatherHistoryService weatherHistoryService;
+    private final FeeQuoteCacheService feeQuoteCacheService;
     private final WeatherDataRepository weatherDataRepository;
+    private final WeatherRetentionService weatherRetentionService;
 
 
     /**
@@ -52,6 +80,15 @@ public class DeliveryFeeServiceImpl implements DeliveryFeeService {
      */
     @Override
     public Double calculateDeliveryFee(String cityName, String vehicleType, LocalDateTime observationTime) {
+        if (observationTime == null) {
+            FeeMatrix matrix = feeMatrixService.getMatrix();
+            if (matrix.containsCity(cityName)) {
+                VehicleType vehType = toVehicleType(vehicleType);
+                return toDeliveryFee(matrix.get(cityName, vehType), cityName, vehType);
+            }
+        }
+
+        long generation = feeQuoteCacheService.generation();
         WeatherData weatherData = observationTime != null ?
                 getLatestWeatherDataForTime(cityName, observationTime) :
                 getLatestWeatherData(cityName);
@@ -60,33 +97,143 @@ public class DeliveryFeeServiceImpl implements DeliveryFeeService {
             throw new WeatherDataNotFoundException("Could not get weather data for this city");
         }
 
-        VehicleType vehType = VehicleType.valueOf(vehicleType.toUpperCase());
-        Double deliveryFee = getBaseFee(cityName, vehicleType);
-        Double extraFee = 0.00;
+        VehicleType vehType = toVehicleType(vehicleType);
+        if (weatherData.getWeatherDataId() == null) {
+            return toDeliveryFee(feeRuleService.getSnapshot().quote(cityName, vehType, weatherData), cityName, vehType);
+        }
+
+        FeeQuote quote = feeQuoteCacheService.get(cityName, vehType, weatherData.getWeatherDataId());
+        if (quote == null) {
+            quote = feeRuleService.getSnapshot().quote(cityName, vehType, weatherData);
+            feeQuoteCacheService.put(cityName, vehType, weatherData.getWeatherDataId(), quote, generation);
+        }
+        return toDeliveryFee(quote, cityName, vehType);
+    }
+
+    /**
+     * Calculates the delivery fee for every request of a batch.
+     *
+     * <p>
+     *     The fee matrix and the rule snapshot are read once for the whole batch and the
+     *     weather data is looked up once per distinct city and observation time. Errors
+     *     are reported per request with the status code the single fee endpoint would use.
+     * </p>
+     *
+     * @param requests the delivery fee requests.
+     * @return a list of results in the order of the requests.
+     */
+    @Override
+    public List<DeliveryFeeBatchResultDTO> calculateDeliveryFees(List<DeliveryFeeRequestDTO> requests) {
+        FeeMatrix matrix = feeMatrixService.getMatrix();
+        FeeRuleSnapshot rules = feeRuleService.getSnapshot();
+        Map<WeatherKey, Optional<WeatherData>> weatherCache = new HashMap<>();
+
+        List<DeliveryFeeBatchResultDTO> results = new ArrayList<>(requests.size());
+        for (DeliveryFeeRequestDTO request : requests) {
+            try {
+                Double totalFee = calculateDeliveryFee(request, matrix, rules, weatherCache);
+                results.add(new DeliveryFeeBatchResultDTO(HttpStatus.OK.value(), totalFee, null));
+            } catch (WeatherDataNotFoundException | BaseFeeNotFoundException e) {
+                results.add(new DeliveryFeeBatchResultDTO(HttpStatus.NOT_FOUND.value(), null, e.getMessage()));
+            } catch (InvalidDeliveryFeeRequestException | InvalidVehicleTypeException | VehicleUsageForbiddenException e) {
+                results.add(new DeliveryFeeBatchResultDTO(HttpStatus.BAD_REQUEST.value(), null, e.getMessage()));
+            }
+        }
+
+        return results;
+    }
+
+    private Double calculateDeliveryFee(DeliveryFeeRequestDTO request,
+                                        FeeMatrix matrix,
+                                        FeeRuleSnapshot rules,
+                                        Map<WeatherKey, Optional<WeatherData>> weatherCache) {
+        if (request == null || isBlank(request.getCityName()) || isBlank(request.getVehicleType())) {
+            throw new InvalidDeliveryFeeRequestException("City name and vehicle type must be provided.");
+        }
 
-        // Add temperature fee
-        if (weatherData.getAirTemperature() != null) {
-            Double temp = weatherData.getAirTemperature();
-            List<Conditions> temperatureCon = conditionsRepository.findTemperatureConditions(vehType, temp);
-            extraFee += processConditions(temperatureCon);
+        String cityName = request.getCityName();
+        LocalDateTime observationTime = request.getObservationTime();
+        if (observationTime == null && matrix.containsCity(cityName)) {
+            VehicleType vehType = toVehicleType(request.getVehicleType());
+            return toDeliveryFee(matrix.get(cityName, vehType), cityName, vehType);
         }
 
-        // Add wind fee
-        if (weatherData.getWindSpeed() != null) {
-            Double wind = weatherData.getWindSpeed();
-            List<Conditions> windCon = conditionsRepository.findWindConditions(vehType, wind);
-            extraFee += processConditions(windCon);
+        WeatherData weatherData = weatherCache.computeIfAbsent(new WeatherKey(cityName, observationTime), key ->
+                Optional.ofNullable(key.observationTime() != null ?
+                        getLatestWeatherDataForTime(key.cityName(), key.observationTime()) :
+                        getLatestWeatherData(key.cityName()))
+        ).orElseThrow(() -> new WeatherDataNotFoundException("Could not get weather data for this city"));
+
+        VehicleType vehType = toVehicleType(request.getVehicleType());
+        return toDeliveryFee(rules.quote(cityName, vehType, weatherData), cityName, vehType);
+    }
+
+    /**
+     * Calculates the delivery fee for every stored weather observation of a city within a time range.
+     *
+     * <p>
+     *     The observations are read with a single range query and the rules of one snapshot
+     *     are evaluated for each of them. The base fee is looked up once, so a missing base
+     *     fee fails the whole request instead of every point. For the part of the range that
+     *     has been rolled up by the retention, the hourly and daily aggregates are used as
+     *     points at the start of their period; they have no weather data id.
+     * </p>
+     *
+     * @param cityName the name of the city.
+     * @param vehicleType the type of the vehicle (e.g., BIKE, CAR)
+     * @param from the lower bound of the observation time (inclusive).
+     * @param to the upper bound of the observation time (inclusive).
+     * @return a list of fees ordered by observation time; forbidden points have no fee.
+     */
+    @Override
+    public List<DeliveryFeeSeriesPointDTO> calculateDeliveryFeeSeries(String cityName, String vehicleType,
+                                                                      LocalDateTime from, LocalDateTime to) {
+        if (from.isAfter(to)) {
+            throw new InvalidDeliveryFeeRequestException("The start of the time range must not be after its end.");
         }
 
-        // Add phenomenon fee
-        if (weatherData.getWeatherPhenomenon() != null) {
-            String phenomenon = weatherData.getWeatherPhenomenon();
-            List<Conditions> phenomenonCon = conditionsRepository.findPhenomenonConditions(vehType, phenomenon);
-            extraFee += processConditions(phenomenonCon);
+        VehicleType vehType = toVehicleType(vehicleType);
+        FeeRuleSnapshot rules = feeRuleService.getSnapshot();
+        Double baseFee = getBaseFee(rules, cityName, vehType);
+
+        List<WeatherData> aggregates = weatherRetentionService.findAggregatesBetween(cityName, from, to);
+        List<WeatherObservation> observations = weatherDataRepository.findObservationsBetween(cityName, from, to);
+        List<DeliveryFeeSeriesPointDTO> series = new ArrayList<>(aggregates.size() + observations.size());
+        for (WeatherData aggregate : aggregates) {
+            RuleOutcome extraFee = rules.evaluate(
+                    vehType,
+                    aggregate.getAirTemperature(),
+                    aggregate.getWindSpeed(),
+                    aggregate.getWeatherPhenomenon()
+            );
+            series.add(new DeliveryFeeSeriesPointDTO(
+                    null,
+                    aggregate.getObservationTime(),
+                    extraFee.isForbidden() ? null : baseFee + extraFee.getFee(),
+                    extraFee.isForbidden()
+            ));
+        }
+        for (WeatherObservation observation : observations) {
+            RuleOutcome extraFee = rules.evaluate(
+                    vehType,
+                    observation.airTemperature(),
+                    observation.windSpeed(),
+                    observation.weatherPhenomenon()
+            );
+            series.add(new DeliveryFeeSeriesPointDTO(
+                    observation.weatherDataId(),
+                    observation.observationTime(),
+                    extraFee.isForbidden() ? null : baseFee + extraFee.getFee(),
+                    extraFee.isForbidden()
+            ));
         }
 
-        return deliveryFee + extraFee;
-     }
+        // observations backfilled into an already rolled up period are only merged into it on the next run
+        if (!aggregates.isEmpty() && !observations.isEmpty()) {
+            series.sort(Comparator.comparing(DeliveryFeeSeriesPointDTO::getObservationTime));
+        }
+        return series;
+    }
 
     public Double calculateDeliveryFee(String cityName, String vehicleType) {
         return calculateDeliveryFee(cityName, vehicleType, null);
@@ -107,16 +254,27 @@ public class DeliveryFeeServiceImpl implements DeliveryFeeService {
      * Retrieves the latest WeatherData for the given city that has observation time less
      * than or equal to the provided dateTime.
      *
+     * <p>
+     *     The in-memory weather history is used once it has been loaded; until then
+     *     the database is queried. If there is no raw weather data, e.g. because it has
+     *     been rolled up by the retention, the latest hourly or daily aggregate is used;
+     *     it has no id.
+     * </p>
+     *
      * @param cityName the name of the city.
      * @param dateTime the upper bound of the observation time.
      * @return matching WeatherData, or null if none was found.
      */
     @Override
     public WeatherData getLatestWeatherDataForTime(String cityName, LocalDateTime dateTime) {
-        return weatherDataRepository.findTopByCityCityNameAndObservationTimeLessThanEqualOrderByObservationTimeDesc(
-                cityName,
-                dateTime
-        );
+        WeatherData weatherData = weatherHistoryService.isLoaded() ?
+                weatherHistoryService.findLatest(cityName, dateTime) :
+                weatherDataRepository.findTopByCityCityNameAndObservationTimeLessThanEqualOrderByObservationTimeDesc(
+                        cityName,
+                        dateTime
+                );
+
+        return weatherData != null ? weatherData : weatherRetentionService.findLatestAggregate(cityName, dateTime);
     }
 
     /**
@@ -128,14 +286,41 @@ public class DeliveryFeeServiceImpl implements DeliveryFeeService {
      */
     @Override
     public Double getBaseFee(String cityName, String vehicleType) {
-        VehicleType vehType = VehicleType.valueOf(vehicleType.toUpperCase());
-        Optional<BaseFee> baseFee = baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType(cityName, vehType);
-        if (baseFee.isEmpty()) {
-            throw new BaseFeeNotFoundException("Could not find the fee for city " + cityName + " and vehicle " + vehicleType);
+        VehicleType vehType = toVehicleType(vehicleType);
+        return getBaseFee(feeRuleService.getSnapshot(), cityName, vehType);
+    }
+
+    private Double getBaseFee(FeeRuleSnapshot rules, String cityName, VehicleType vehicleType) {
+        Double baseFee = rules.getBaseFee(cityName, vehicleType);
+        if (baseFee == null) {
+            throw baseFeeNotFound(cityName, vehicleType);
+        }
+
+        return baseFee;
+    }
+
+    private Double toDeliveryFee(FeeQuote quote, String cityName, VehicleType vehicleType) {
+        return switch (quote.getStatus()) {
+            case NO_BASE_FEE -> throw baseFeeNotFound(cityName, vehicleType);
+            case FORBIDDEN -> throw new VehicleUsageForbiddenException("Usage of selected vehicle is not allowed due to weather conditions.");
+            case OK -> quote.getTotalFee();
+        };
+    }
+
+    private static VehicleType toVehicleType(String vehicleType) {
+        try {
+            return VehicleType.valueOf(vehicleType.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidVehicleTypeException("Unknown vehicle type " + vehicleType);
         }
+    }
 
-        return baseFee.get().getVehicleFee() != null ? baseFee.get().getVehicleFee() : 0.00;
+    private BaseFeeNotFoundException baseFeeNotFound(String cityName, VehicleType vehicleType) {
+        return new BaseFeeNotFoundException("Could not find the fee for city " + cityName + " and vehicle " + vehicleType);
+    }
 
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
     }
 
     /**
@@ -153,7 +338,7 @@ public class DeliveryFeeServiceImpl implements DeliveryFeeService {
         Double sum = 0.00;
         for(Conditions con : conditionsList) {
             if (Boolean.TRUE.equals(con.getUsageForbidden())) {
-                throw new IllegalArgumentException("Usage of selected vehicle is not allowed due to weather conditions.");
+                throw new VehicleUsageForbiddenException("Usage of selected vehicle is not allowed due to weather conditions.");
             }
 
             if (con.getConditionFee() != null) {
@@ -163,4 +348,10 @@ public class DeliveryFeeServiceImpl implements DeliveryFeeService {
 
         return sum;
     }
+
+    /**
+     * Key of the weather data lookups shared within one batch.
+     */
+    private record WeatherKey(String cityName, LocalDateTime observationTime) {
+    }
 }
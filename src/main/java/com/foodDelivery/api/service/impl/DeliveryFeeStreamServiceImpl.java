@@ -0,0 +1,189 @@
+package com.foodDelivery.api.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.foodDelivery.api.dto.DeliveryFeeBatchResultDTO;
+import com.foodDelivery.api.dto.DeliveryFeeRequestDTO;
+import com.foodDelivery.api.service.DeliveryFeeService;
+import com.foodDelivery.api.service.DeliveryFeeStreamService;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of the DeliveryFeeStreamService interface.
+ *
+ * <p>
+ *     Request lines are collected into chunks of {@value #CHUNK_SIZE} and every chunk is
+ *     calculated with {@link DeliveryFeeService#calculateDeliveryFees(List)}, so the results are
+ *     the same as the ones of the batch endpoint. The output is flushed after every chunk and
+ *     the next chunk is only read afterwards, so a slow reader of the response slows down the
+ *     reading of the request instead of letting results pile up in memory.
+ * </p>
+ *
+ * <p>
+ *     Lines longer than {@value #MAX_LINE_LENGTH} characters are not kept in memory: the rest of
+ *     such a line is skipped and it is answered with a 400 result, like a malformed line.
+ * </p>
+ */
+@Service
+public class DeliveryFeeStreamServiceImpl implements DeliveryFeeStreamService {
+
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_LINE_LENGTH = 16 * 1024;
+
+    private final DeliveryFeeService deliveryFeeService;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
+
+    public DeliveryFeeStreamServiceImpl(DeliveryFeeService deliveryFeeService, ObjectMapper objectMapper) {
+        this.deliveryFeeService = deliveryFeeService;
+        this.requestReader = objectMapper.readerFor(DeliveryFeeRequestDTO.class);
+        this.resultWriter = objectMapper.writerFor(DeliveryFeeBatchResultDTO.class);
+    }
+
+    @Override
+    public void calculateDeliveryFees(InputStream input, OutputStream output) throws IOException {
+        LineReader reader = new LineReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+
+        List<Line> chunk = new ArrayList<>(CHUNK_SIZE);
+        Line line;
+        while ((line = reader.next()) != null) {
+            if (!line.oversized() && line.text().isBlank()) {
+                continue;
+            }
+
+            chunk.add(line);
+            if (chunk.size() == CHUNK_SIZE) {
+                writeChunk(chunk, writer);
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, writer);
+        }
+        writer.flush();
+    }
+
+    private void writeChunk(List<Line> lines, Writer writer) throws IOException {
+        List<DeliveryFeeRequestDTO> requests = new ArrayList<>(lines.size());
+        List<Integer> malformed = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).oversized()) {
+                malformed.add(i);
+                continue;
+            }
+            try {
+                requests.add(requestReader.readValue(lines.get(i).text()));
+            } catch (JsonProcessingException e) {
+                malformed.add(i);
+            }
+        }
+
+        List<DeliveryFeeBatchResultDTO> results = new ArrayList<>(deliveryFeeService.calculateDeliveryFees(requests));
+        for (Integer index : malformed) {
+            String message = lines.get(index).oversized()
+                    ? "The request line is longer than " + MAX_LINE_LENGTH + " characters."
+                    : "Could not parse the request line.";
+            results.add(index, new DeliveryFeeBatchResultDTO(HttpStatus.BAD_REQUEST.value(), null, message));
+        }
+
+        for (DeliveryFeeBatchResultDTO result : results) {
+            writer.write(resultWriter.writeValueAsString(result));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * A request line without its terminator.
+     *
+     * @param text the line, or null if it was oversized.
+     * @param oversized whether the line was longer than {@value #MAX_LINE_LENGTH} characters.
+     */
+    private record Line(String text, boolean oversized) {
+    }
+
+    /**
+     * Reads the lines of the request body through a reused buffer and never keeps more than
+     * {@value #MAX_LINE_LENGTH} characters of a line; lines end with a line feed and a carriage
+     * return before it is dropped.
+     */
+    private static final class LineReader {
+
+        private final Reader reader;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+
+        LineReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * Reads the next line.
+         *
+         * @return the line, or null at the end of the input.
+         * @throws IOException if the input cannot be read.
+         */
+        Line next() throws IOException {
+            line.setLength(0);
+            boolean started = false;
+            boolean oversized = false;
+            while (true) {
+                if (position == limit) {
+                    int read = reader.read(buffer, 0, buffer.length);
+                    if (read == -1) {
+                        return started ? toLine(oversized) : null;
+                    }
+                    position = 0;
+                    limit = read;
+                }
+                started = true;
+
+                int end = position;
+                while (end < limit && buffer[end] != '\n') {
+                    end++;
+                }
+                // one more character than the limit is kept for a carriage return
+                int room = MAX_LINE_LENGTH + 1 - line.length();
+                if (end - position > room) {
+                    oversized = true;
+                }
+                line.append(buffer, position, Math.min(end - position, Math.max(room, 0)));
+
+                if (end < limit) {
+                    position = end + 1;
+                    return toLine(oversized);
+                }
+                position = limit;
+            }
+        }
+
+        private Line toLine(boolean oversized) {
+            if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+            if (oversized || line.length() > MAX_LINE_LENGTH) {
+                return new Line(null, true);
+            }
+            return new Line(line.toString(), false);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.foodDelivery.api.service.impl;
+
+import com.foodDelivery.api.service.FeeCacheControlService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Implements the FeeCacheControl service interface.
+ *
+ * <p>
+ *     The next ingestion run is computed from the same cron expression that schedules
+ *     {@link WeatherReadingJobServiceImpl#submitScheduled()}. Quotes for the latest fee, and for an
+ *     observation time no run has passed yet, may be cached by shared caches until the next run is due.
+ * </p>
+ * <p>
+ *     A run is only passed once it has finished: the job runs asynchronously and may wait behind
+ *     other jobs, and until it has stored its observations the fee matrix still holds the previous
+ *     fees. While the run that is due has not finished, such quotes are answered with
+ *     {@code no-cache}, so no cache keeps the previous fee for another full period.
+ * </p>
+ * <p>
+ *     Once a run has passed an observation time, the ingestion no longer changes its quote, but the
+ *     quote is not final: the retention replaces the raw weather data with hourly and later daily
+ *     averages, backfills and weather data writes can overwrite it, and rule changes alter every quote.
+ *     Such quotes are therefore cached for at most {@code delivery-fee.historical-max-age}, and never
+ *     beyond the time the retention rolls their weather data up. They are not marked immutable.
+ * </p>
+ */
+@Service
+public class FeeCacheControlServiceImpl implements FeeCacheControlService {
+
+    private static final ZoneId OBSERVATION_ZONE = ZoneId.of("Europe/Tallinn");
+
+    private final CronExpression ingestionSchedule;
+    private final Duration historicalMaxAge;
+    private final Duration rawWindow;
+    private final Duration hourlyWindow;
+    private volatile ZonedDateTime lastIngestionFinished = ZonedDateTime.now();
+
+    public FeeCacheControlServiceImpl(@Value("${weather-reading.cron:0 15 * * * *}") String ingestionCron,
+                                      @Value("${delivery-fee.historical-max-age:1h}") Duration historicalMaxAge,
+                                      @Value("${weather-retention.raw-window:30d}") Duration rawWindow,
+                                      @Value("${weather-retention.hourly-window:365d}") Duration hourlyWindow) {
+        this.ingestionSchedule = CronExpression.parse(ingestionCron);
+        this.historicalMaxAge = historicalMaxAge;
+        this.rawWindow = rawWindow;
+        this.hourlyWindow = hourlyWindow;
+    }
+
+    @Override
+    public HttpHeaders cacheHeaders(LocalDateTime observationTime) {
+        return cacheHeaders(observationTime, ZonedDateTime.now());
+    }
+
+    @Override
+    public HttpHeaders cacheHeaders(LocalDateTime observationTime, ZonedDateTime now) {
+        ZonedDateTime finished = lastIngestionFinished;
+        if (observationTime != null) {
+            ZonedDateTime observed = observationTime.atZone(OBSERVATION_ZONE).withZoneSameInstant(now.getZone());
+            if (isPassedByIngestion(observed, finished)) {
+                return cacheUntil(historicalExpiry(observed, now), now);
+            }
+        }
+
+        ZonedDateTime dueRun = ingestionSchedule.next(finished);
+        if (dueRun != null && !dueRun.isAfter(now)) {
+            // the due run has not finished yet and may still change the quote
+            return noCache();
+        }
+
+        ZonedDateTime nextRun = ingestionSchedule.next(now);
+        if (nextRun == null) {
+            return noCache();
+        }
+        return cacheUntil(nextRun, now);
+    }
+
+    @Override
+    public void ingestionFinished() {
+        ingestionFinished(ZonedDateTime.now());
+    }
+
+    @Override
+    public void ingestionFinished(ZonedDateTime finishedAt) {
+        lastIngestionFinished = finishedAt;
+    }
+
+    /**
+     * Checks whether a run that started after the observed time has finished.
+     */
+    private boolean isPassedByIngestion(ZonedDateTime observed, ZonedDateTime finished) {
+        ZonedDateTime firstRunAfter = ingestionSchedule.next(observed);
+        return firstRunAfter != null && !firstRunAfter.isAfter(finished);
+    }
+
+    /**
+     * The end of the maximum age, or the next rollup of the weather data of the time if it comes earlier.
+     */
+    private ZonedDateTime historicalExpiry(ZonedDateTime observed, ZonedDateTime now) {
+        ZonedDateTime capped = now.plus(historicalMaxAge);
+        return Stream.of(observed.plus(rawWindow), observed.plus(hourlyWindow))
+                .filter(rollup -> rollup.isAfter(now) && rollup.isBefore(capped))
+                .findFirst()
+                .orElse(capped);
+    }
+
+    private static HttpHeaders noCache() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(CacheControl.noCache());
+        return headers;
+    }
+
+    private static HttpHeaders cacheUntil(ZonedDateTime expires, ZonedDateTime now) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(CacheControl.maxAge(Duration.between(now, expires)).cachePublic());
+        headers.setExpires(expires);
+        return headers;
+    }
+}
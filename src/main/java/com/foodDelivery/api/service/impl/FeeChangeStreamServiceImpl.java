@@ -0,0 +1,266 @@
+package com.foodDelivery.api.service.impl;
+
+import com.foodDelivery.api.dto.FeeChangeDTO;
+import com.foodDelivery.api.event.FeeMatrixRefreshedEvent;
+import com.foodDelivery.api.exception.CityNotFoundException;
+import com.foodDelivery.api.exception.InvalidVehicleTypeException;
+import com.foodDelivery.api.model.enums.VehicleType;
+import com.foodDelivery.api.repository.CityRepository;
+import com.foodDelivery.api.rules.FeeMatrix;
+import com.foodDelivery.api.rules.FeeQuote;
+import com.foodDelivery.api.service.FeeChangeStreamService;
+import com.foodDelivery.api.service.FeeMatrixService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of the FeeChangeStreamService interface.
+ *
+ * <p>
+ *     Changes are detected by comparing every new {@link FeeMatrix} with the previous one, so an
+ *     ingestion or rule edit that leaves a quote unchanged sends nothing. The request thread is
+ *     released as soon as the emitter is returned. Publishing a change only appends the event to
+ *     the queue of every affected subscription; each queue is drained by a virtual thread, so a
+ *     slow client never delays the matrix rebuild or the other clients. A subscription with more
+ *     than {@code delivery-fee.changes.max-pending} unsent events is closed, and the client
+ *     reconnects and receives the current fees again.
+ * </p>
+ */
+@Service
+public class FeeChangeStreamServiceImpl implements FeeChangeStreamService, DisposableBean {
+
+    static final String EVENT_NAME = "fee";
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+
+    private final FeeMatrixService feeMatrixService;
+    private final CityRepository cityRepository;
+    private final Duration timeout;
+    private final int maxPending;
+    private final Executor sendExecutor;
+    private final Map<String, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong eventIds = new AtomicLong();
+    private FeeMatrix lastMatrix;
+
+    @Autowired
+    public FeeChangeStreamServiceImpl(FeeMatrixService feeMatrixService,
+                                      CityRepository cityRepository,
+                                      @Value("${delivery-fee.changes.timeout:30m}") Duration timeout,
+                                      @Value("${delivery-fee.changes.max-pending:32}") int maxPending) {
+        this(feeMatrixService, cityRepository, timeout, maxPending, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public FeeChangeStreamServiceImpl(FeeMatrixService feeMatrixService,
+                                      CityRepository cityRepository,
+                                      Duration timeout,
+                                      int maxPending,
+                                      Executor sendExecutor) {
+        this.feeMatrixService = feeMatrixService;
+        this.cityRepository = cityRepository;
+        this.timeout = timeout;
+        this.maxPending = maxPending;
+        this.sendExecutor = sendExecutor;
+    }
+
+    /**
+     * Subscribes to the fee changes of a city.
+     *
+     * <p>
+     *     The subscription is registered and sent the current fees under the same lock that
+     *     publishes changes, so a change is never lost or sent before the current fees.
+     * </p>
+     */
+    @Override
+    public SseEmitter subscribe(String cityName, String vehicleType) {
+        VehicleType vehType = vehicleType != null ? toVehicleType(vehicleType) : null;
+        if (!cityRepository.existsByCityName(cityName)) {
+            throw new CityNotFoundException("City with name " + cityName + " was not found.");
+        }
+
+        SseEmitter emitter = createEmitter(timeout.toMillis());
+        Subscription subscription = new Subscription(cityName, vehType, emitter);
+        emitter.onCompletion(subscription::remove);
+        emitter.onTimeout(subscription::remove);
+        emitter.onError(error -> subscription.remove());
+
+        // builds the first matrix if there is none yet, so lastMatrix is set below
+        feeMatrixService.getMatrix();
+        synchronized (this) {
+            subscriptions.computeIfAbsent(cityName, name -> ConcurrentHashMap.newKeySet()).add(subscription);
+            subscriberCount.incrementAndGet();
+            if (lastMatrix != null) {
+                for (VehicleType type : subscription.vehicleTypes()) {
+                    FeeQuote quote = lastMatrix.get(cityName, type);
+                    if (quote != null) {
+                        subscription.offer(cityName, type, quote);
+                    }
+                }
+            }
+        }
+        return emitter;
+    }
+
+    @Override
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * Sends the quotes that differ from the previous matrix to their subscribers.
+     *
+     * @param event the refresh event.
+     */
+    @EventListener
+    public synchronized void onFeeMatrixRefreshed(FeeMatrixRefreshedEvent event) {
+        FeeMatrix previous = lastMatrix;
+        FeeMatrix current = event.getMatrix();
+        lastMatrix = current;
+
+        for (Map.Entry<String, Set<Subscription>> entry : subscriptions.entrySet()) {
+            String cityName = entry.getKey();
+            if (!current.containsCity(cityName)) {
+                continue;
+            }
+
+            for (VehicleType type : VEHICLE_TYPES) {
+                FeeQuote quote = current.get(cityName, type);
+                if (quote == null || previous != null && Objects.equals(previous.get(cityName, type), quote)) {
+                    continue;
+                }
+                for (Subscription subscription : entry.getValue()) {
+                    if (subscription.vehicleType == null || subscription.vehicleType == type) {
+                        subscription.offer(cityName, type, quote);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the emitter of a new subscription.
+     *
+     * @param timeoutMillis the timeout of the subscription in milliseconds.
+     * @return the emitter.
+     */
+    protected SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    @Override
+    public void destroy() {
+        if (sendExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        subscriptions.values().forEach(set -> set.forEach(subscription -> subscription.emitter.complete()));
+    }
+
+    private static VehicleType toVehicleType(String vehicleType) {
+        try {
+            return VehicleType.valueOf(vehicleType.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidVehicleTypeException("Unknown vehicle type " + vehicleType);
+        }
+    }
+
+    private static FeeChangeDTO toDTO(String cityName, VehicleType vehicleType, FeeQuote quote) {
+        return new FeeChangeDTO(
+                cityName,
+                vehicleType.name(),
+                quote.getTotalFee(),
+                quote.getStatus() == FeeQuote.Status.FORBIDDEN
+        );
+    }
+
+    /**
+     * One connected client with its queue of unsent events.
+     *
+     * <p>
+     *     At most one drain task runs per subscription, so the events of a client are sent in order.
+     * </p>
+     */
+    private final class Subscription {
+
+        private final String cityName;
+        private final VehicleType vehicleType;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        Subscription(String cityName, VehicleType vehicleType, SseEmitter emitter) {
+            this.cityName = cityName;
+            this.vehicleType = vehicleType;
+            this.emitter = emitter;
+        }
+
+        VehicleType[] vehicleTypes() {
+            return vehicleType != null ? new VehicleType[]{vehicleType} : VEHICLE_TYPES;
+        }
+
+        void offer(String city, VehicleType type, FeeQuote quote) {
+            if (removed.get()) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPending) {
+                remove();
+                emitter.complete();
+                return;
+            }
+
+            pending.add(SseEmitter.event()
+                    .id(Long.toString(eventIds.incrementAndGet()))
+                    .name(EVENT_NAME)
+                    .data(toDTO(city, type, quote), MediaType.APPLICATION_JSON));
+            if (draining.compareAndSet(false, true)) {
+                sendExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while ((event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        emitter.send(event);
+                    } catch (Exception e) {
+                        remove();
+                        emitter.completeWithError(e);
+                        return;
+                    }
+                }
+                draining.set(false);
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        void remove() {
+            if (removed.compareAndSet(false, true)) {
+                Set<Subscription> citySubscriptions = subscriptions.get(cityName);
+                if (citySubscriptions != null) {
+                    citySubscriptions.remove(this);
+                }
+                subscriberCount.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.foodDelivery.api.service.impl;
+
+import com.foodDelivery.api.event.FeeMatrixRefreshedEvent;
+import com.foodDelivery.api.event.FeeRulesRefreshedEvent;
+import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.rules.FeeMatrix;
+import com.foodDelivery.api.service.FeeMatrixService;
+import com.foodDelivery.api.service.FeeRuleService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Implementation of the FeeMatrixService interface.
+ *
+ * <p>
+ *     The matrix is rebuilt after every weather ingestion and every time the fee rules
+ *     are refreshed. A rebuild loads the latest observation of every city in one query
+ *     and swaps the new matrix in with a single reference update. A
+ *     {@link FeeMatrixRefreshedEvent} is published after each swap.
+ * </p>
+ */
+@Service
+public class FeeMatrixServiceImpl implements FeeMatrixService {
+
+    private final FeeRuleService feeRuleService;
+    private final WeatherDataRepository weatherDataRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicReference<FeeMatrix> matrix = new AtomicReference<>();
+
+    public FeeMatrixServiceImpl(FeeRuleService feeRuleService,
+                                WeatherDataRepository weatherDataRepository,
+                                ApplicationEventPublisher eventPublisher) {
+        this.feeRuleService = feeRuleService;
+        this.weatherDataRepository = weatherDataRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public FeeMatrix getMatrix() {
+        FeeMatrix current = matrix.get();
+        if (current == null) {
+            refresh();
+            current = matrix.get();
+        }
+        return current;
+    }
+
+    /**
+     * Rebuilds the matrix.
+     *
+     * <p>
+     *     Rebuilds are serialized and always read the newest rules and weather data,
+     *     so the last rebuild to finish reflects every change committed before it started.
+     *     The event is published inside the lock, so listeners see the matrices in the order
+     *     they were swapped in.
+     * </p>
+     */
+    @Override
+    public synchronized void refresh() {
+        FeeMatrix built = FeeMatrix.build(feeRuleService.getSnapshot(), weatherDataRepository.findLatestForEachCity());
+        matrix.set(built);
+        eventPublisher.publishEvent(new FeeMatrixRefreshedEvent(built));
+    }
+
+    /**
+     * Rebuilds the matrix after the fee rules have changed.
+     *
+     * @param event the refresh event.
+     */
+    @EventListener
+    public void onFeeRulesRefreshed(FeeRulesRefreshedEvent event) {
+        refresh();
+    }
+}
@@ -0,0 +1,232 @@
+package com.foodDelivery.api.service.impl;
+
+import com.foodDelivery.api.dto.FeeQuoteCacheStatsDTO;
+import com.foodDelivery.api.event.FeeRulesRefreshedEvent;
+import com.foodDelivery.api.model.enums.VehicleType;
+import com.foodDelivery.api.rules.FeeQuote;
+import com.foodDelivery.api.rules.FeeRuleSnapshot;
+import com.foodDelivery.api.service.FeeQuoteCacheService;
+import com.foodDelivery.api.service.FeeRuleService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Implementation of the FeeQuoteCacheService interface.
+ *
+ * <p>
+ *     Entries are spread by key over up to {@value #MAX_SEGMENTS} segments. Every segment is a
+ *     LinkedHashMap in access order with its own lock and its share of the maximum size, and evicts
+ *     its least recently used entry once that share is reached, so concurrent lookups only contend
+ *     when they hit the same segment. Caches smaller than {@value #MIN_SEGMENT_SIZE} entries per
+ *     segment use fewer segments, down to a single exact LRU.
+ * </p>
+ * <p>
+ *     When the fee rules are refreshed, the new snapshot is compared with the previous one and only
+ *     the entries whose base fee or vehicle rules changed are removed. This covers every BaseFee,
+ *     Conditions, City and Vehicle write, since each of them refreshes the rules. WeatherData writes
+ *     remove the entries of the changed weather data, which are found through an index by weather
+ *     data id instead of a scan of the cache.
+ * </p>
+ */
+@Service
+public class FeeQuoteCacheServiceImpl implements FeeQuoteCacheService {
+
+    static final int MAX_SEGMENTS = 16;
+    static final int MIN_SEGMENT_SIZE = 64;
+
+    private final FeeRuleService feeRuleService;
+    private final int maxSize;
+    private final Segment[] segments;
+    private final Map<Long, Set<QuoteKey>> keysByWeatherData = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private FeeRuleSnapshot rules;
+
+    public FeeQuoteCacheServiceImpl(FeeRuleService feeRuleService,
+                                    @Value("${delivery-fee.quote-cache.max-size:10000}") int maxSize) {
+        this.feeRuleService = feeRuleService;
+        this.maxSize = maxSize;
+
+        int count = Math.max(1, Math.min(MAX_SEGMENTS, maxSize / MIN_SEGMENT_SIZE));
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(Math.max(maxSize, 0) / count + (i < Math.max(maxSize, 0) % count ? 1 : 0));
+        }
+    }
+
+    @Override
+    public long generation() {
+        return generation.get();
+    }
+
+    @Override
+    public FeeQuote get(String cityName, VehicleType vehicleType, Long weatherDataId) {
+        if (weatherDataId == null) {
+            return null;
+        }
+
+        QuoteKey key = new QuoteKey(cityName, vehicleType, weatherDataId);
+        Segment segment = segmentFor(key);
+        FeeQuote quote;
+        synchronized (segment) {
+            quote = segment.get(key);
+        }
+        if (quote != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return quote;
+    }
+
+    @Override
+    public void put(String cityName, VehicleType vehicleType, Long weatherDataId,
+                    FeeQuote quote, long generation) {
+        if (weatherDataId == null || generation != this.generation.get() || maxSize <= 0) {
+            return;
+        }
+
+        QuoteKey key = new QuoteKey(cityName, vehicleType, weatherDataId);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            keysByWeatherData.computeIfAbsent(weatherDataId, id -> ConcurrentHashMap.newKeySet()).add(key);
+            segment.put(key, quote);
+        }
+
+        // an invalidation that started meanwhile may have missed the new entry
+        if (generation != this.generation.get()) {
+            remove(key);
+        }
+    }
+
+    @Override
+    public void evictWeatherData(Long weatherDataId) {
+        if (weatherDataId == null) {
+            return;
+        }
+
+        generation.incrementAndGet();
+        Set<QuoteKey> keys = keysByWeatherData.remove(weatherDataId);
+        if (keys != null) {
+            keys.forEach(key -> {
+                if (remove(key)) {
+                    invalidations.increment();
+                }
+            });
+        }
+    }
+
+    /**
+     * Removes the entries that are affected by a rule refresh.
+     *
+     * <p>
+     *     The current snapshot is compared with the one seen at the previous refresh,
+     *     so events that are delivered out of order cannot leave stale entries behind.
+     * </p>
+     *
+     * @param event the refresh event.
+     */
+    @EventListener
+    public synchronized void onFeeRulesRefreshed(FeeRulesRefreshedEvent event) {
+        FeeRuleSnapshot previous = rules;
+        FeeRuleSnapshot current = feeRuleService.getSnapshot();
+        rules = current;
+
+        if (previous == null) {
+            invalidate(key -> true);
+            return;
+        }
+
+        Set<VehicleType> changedTypes = current.changedVehicleTypes(previous);
+        invalidate(key -> changedTypes.contains(key.vehicleType())
+                || current.baseFeeDiffers(previous, key.cityName(), key.vehicleType()));
+    }
+
+    @Override
+    public FeeQuoteCacheStatsDTO getStats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return new FeeQuoteCacheStatsDTO(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), size, maxSize);
+    }
+
+    private void invalidate(Predicate<QuoteKey> affected) {
+        generation.incrementAndGet();
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.keySet().removeIf(key -> {
+                    if (affected.test(key)) {
+                        unindex(key);
+                        invalidations.increment();
+                        return true;
+                    }
+                    return false;
+                });
+            }
+        }
+    }
+
+    private boolean remove(QuoteKey key) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            unindex(key);
+            return segment.remove(key) != null;
+        }
+    }
+
+    private void unindex(QuoteKey key) {
+        keysByWeatherData.computeIfPresent(key.weatherDataId(), (id, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private Segment segmentFor(QuoteKey key) {
+        return segments[Math.floorMod(key.hashCode(), segments.length)];
+    }
+
+    /**
+     * One lock-guarded part of the cache that evicts its least recently used entry.
+     */
+    private final class Segment extends LinkedHashMap<QuoteKey, FeeQuote> {
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<QuoteKey, FeeQuote> eldest) {
+            if (size() > capacity) {
+                unindex(eldest.getKey());
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Key of a cached quote.
+     */
+    private record QuoteKey(String cityName, VehicleType vehicleType, long weatherDataId) {
+    }
+}
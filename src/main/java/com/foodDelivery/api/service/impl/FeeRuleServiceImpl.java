@@ -0,0 +1,73 @@
+package com.foodDelivery.api.service.impl;
+
+import com.foodDelivery.api.event.FeeRulesRefreshedEvent;
+import com.foodDelivery.api.repository.BaseFeeRepository;
+import com.foodDelivery.api.repository.ConditionsRepository;
+import com.foodDelivery.api.rules.FeeRuleSnapshot;
+import com.foodDelivery.api.service.FeeRuleService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Implementation of the FeeRuleService interface.
+ *
+ * <p>
+ *     The snapshot is compiled once the application has started and is rebuilt whenever
+ *     the rules are changed. Readers always see a complete snapshot because a new one is
+ *     compiled aside and then swapped in with a single reference update. A
+ *     {@link FeeRulesRefreshedEvent} is published after each swap.
+ * </p>
+ */
+@Service
+public class FeeRuleServiceImpl implements FeeRuleService {
+
+    private final ConditionsRepository conditionsRepository;
+    private final BaseFeeRepository baseFeeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicReference<FeeRuleSnapshot> snapshot = new AtomicReference<>();
+
+    public FeeRuleServiceImpl(ConditionsRepository conditionsRepository,
+                              BaseFeeRepository baseFeeRepository,
+                              ApplicationEventPublisher eventPublisher) {
+        this.conditionsRepository = conditionsRepository;
+        this.baseFeeRepository = baseFeeRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public FeeRuleSnapshot getSnapshot() {
+        FeeRuleSnapshot current = snapshot.get();
+        if (current == null) {
+            refresh();
+            current = snapshot.get();
+        }
+        return current;
+    }
+
+    /**
+     * Compiles a new snapshot from the database and swaps it in.
+     *
+     * <p>
+     *     Compilation is serialized, so a refresh that starts after a write has been
+     *     committed always publishes a snapshot that contains that write. The event is
+     *     published outside the lock so listeners never run while it is held.
+     * </p>
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        FeeRuleSnapshot compiled;
+        synchronized (this) {
+            compiled = FeeRuleSnapshot.compile(
+                    conditionsRepository.findAllWithVehicle(),
+                    baseFeeRepository.findAllWithCityAndVehicle()
+            );
+            snapshot.set(compiled);
+        }
+        eventPublisher.publishEvent(new FeeRulesRefreshedEvent(compiled));
+    }
+}
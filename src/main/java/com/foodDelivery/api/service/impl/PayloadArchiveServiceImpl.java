@@ -0,0 +1,135 @@
+package com.foodDelivery.api.service.impl;
+
+import com.foodDelivery.api.archive.ArchivedPayload;
+import com.foodDelivery.api.archive.SegmentedPayloadLog;
+import com.foodDelivery.api.exception.ArchivedPayloadNotFoundException;
+import com.foodDelivery.api.exception.ParseObservationTimeException;
+import com.foodDelivery.api.ingestion.IngestionListener;
+import com.foodDelivery.api.service.PayloadArchiveService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the PayloadArchiveService interface.
+ *
+ * <p>
+ *     The archive is enabled by setting {@code weather-archive.directory}. Payloads are handed to a
+ *     single writer thread through a queue of {@code weather-archive.queue-capacity} payloads, so
+ *     compressing and writing never happens on the ingestion thread; when the queue is full the
+ *     payload is dropped instead of blocking the ingestion. Segments are rolled at
+ *     {@code weather-archive.segment-size}.
+ * </p>
+ */
+@Service
+public class PayloadArchiveServiceImpl implements PayloadArchiveService, DisposableBean {
+
+    private static final PendingPayload STOP = new PendingPayload(null, 0, null, IngestionListener.NONE);
+
+    private final SegmentedPayloadLog log;
+    private final BlockingQueue<PendingPayload> queue;
+    private final Thread writer;
+
+    public PayloadArchiveServiceImpl(@Value("${weather-archive.directory:}") String directory,
+                                     @Value("${weather-archive.segment-size:16MB}") DataSize segmentSize,
+                                     @Value("${weather-archive.queue-capacity:16}") int queueCapacity) {
+        try {
+            this.log = directory.isBlank() ? null : new SegmentedPayloadLog(Path.of(directory), segmentSize.toBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the weather archive in " + directory, e);
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = log == null ? null : Thread.ofVirtual().name("weather-archive-writer").start(this::write);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return log != null;
+    }
+
+    @Override
+    public boolean archive(String provider, String timestamp, byte[] payload, IngestionListener listener) {
+        if (log == null) {
+            return true;
+        }
+        return queue.offer(new PendingPayload(provider, parseTimestamp(timestamp), payload, listener));
+    }
+
+    @Override
+    public ArchivedPayload findPayload(String timestamp, String provider) {
+        long epochSecond = parseTimestamp(timestamp);
+        if (log == null) {
+            throw new ArchivedPayloadNotFoundException("The weather archive is disabled.");
+        }
+        return log.find(epochSecond, provider).orElseThrow(() ->
+                new ArchivedPayloadNotFoundException("Could not find an archived payload with timestamp " + timestamp));
+    }
+
+    @Override
+    public void writePayload(ArchivedPayload payload, OutputStream output) throws IOException {
+        log.copyTo(payload, output);
+    }
+
+    /**
+     * Writes the queued payloads until the service is destroyed.
+     *
+     * <p>
+     *     A payload that cannot be written is lost and reported to the listener of the ingestion it came
+     *     from; that ingestion has usually already succeeded and is not affected otherwise.
+     * </p>
+     */
+    private void write() {
+        try {
+            while (true) {
+                PendingPayload pending = queue.take();
+                if (pending == STOP) {
+                    return;
+                }
+                try {
+                    log.append(pending.timestamp(), pending.provider(), pending.payload());
+                } catch (IOException e) {
+                    // keep archiving the next payloads
+                    pending.listener().payloadArchiveFailed(pending.provider(), e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long parseTimestamp(String timestamp) {
+        try {
+            return Long.parseLong(timestamp);
+        } catch (NumberFormatException e) {
+            throw new ParseObservationTimeException("Could not parse timestamp " + timestamp);
+        }
+    }
+
+    /**
+     * Writes the payloads that are still queued and closes the archive.
+     */
+    @Override
+    public void destroy() throws Exception {
+        if (log == null) {
+            return;
+        }
+        queue.put(STOP);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        log.close();
+    }
+
+    /**
+     * A payload waiting to be archived.
+     */
+    private record PendingPayload(String provider, long timestamp, byte[] payload, IngestionListener listener) {
+    }
+}
@@ -1,23 +1,40 @@
 package com.foodDelivery.api.service.impl;
 
+import com.foodDelivery.api.bulk.BulkItems;
+import com.foodDelivery.api.dto.BulkResultDTO;
 import com.foodDelivery.api.dto.VehicleDTO;
+import com.foodDelivery.api.dto.ListQueryDTO;
 import com.foodDelivery.api.exception.VehicleNotFoundException;
 import com.foodDelivery.api.mapper.VehicleMapper;
 import com.foodDelivery.api.model.Vehicle;
+import com.foodDelivery.api.model.enums.BulkMode;
+import com.foodDelivery.api.model.enums.VersionedCollection;
+import com.foodDelivery.api.paging.KeysetCursor;
+import com.foodDelivery.api.paging.KeysetPage;
+import com.foodDelivery.api.paging.KeysetSpecifications;
 import com.foodDelivery.api.repository.VehicleRepository;
+import com.foodDelivery.api.service.CollectionVersionService;
 import com.foodDelivery.api.service.VehicleService;
+import com.foodDelivery.api.service.FeeRuleService;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
-import java.util.stream.Collector;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Collector;
 
 /**
  * Implements the Vehicle service interface.
  *
  * <p>
- *     Provides basic CRUD operations.
+ *     Provides basic CRUD operations. Every write refreshes the compiled fee rules,
+ *     a bulk write once for all of its items.
  * </p>
  */
 @Service
@@ -26,11 +43,16 @@ public class VehicleServiceImpl implements VehicleService {
 
     private final VehicleRepository vehicleRepository;
     private final VehicleMapper vehicleMapper;
+    private final FeeRuleService feeRuleService;
+    private final TransactionTemplate transactionTemplate;
+    private final CollectionVersionService collectionVersionService;
 
     @Override
     public VehicleDTO create(VehicleDTO dto) {
         Vehicle vehicle = vehicleMapper.toEntity(dto);
         Vehicle saved = vehicleRepository.save(vehicle);
+        collectionVersionService.bump(VersionedCollection.VEHICLE);
+        feeRuleService.refresh();
         return vehicleMapper.toDTO(saved);
     }
 
@@ -39,9 +61,11 @@ public class VehicleServiceImpl implements VehicleService {
         Vehicle vehicle = vehicleRepository.findById(id)
                 .orElseThrow(() -> new VehicleNotFoundException("Vehicle with id " + id + " was not found."));
 
-        vehicle.setVehicleType(dto.getVehicleType());
+        apply(vehicle, dto);
 
         Vehicle updated = vehicleRepository.save(vehicle);
+        collectionVersionService.bump(VersionedCollection.VEHICLE);
+        feeRuleService.refresh();
         return vehicleMapper.toDTO(updated);
     }
 
@@ -53,11 +77,26 @@ public class VehicleServiceImpl implements VehicleService {
     }
 
     @Override
-    public List<VehicleDTO> getAll() {
-        return vehicleRepository.findAll()
-                .stream()
-                .map(vehicleMapper::toDTO)
-                .collect(Collectors.toList());
+    public List<BulkResultDTO<VehicleDTO>> getAllById(List<Long> ids) {
+        Map<Long, Vehicle> vehicles = findAllById(BulkItems.idsOf(ids, Function.identity()));
+        return BulkItems.resolve(ids, id -> found(vehicles, id)).read(vehicleMapper::toDTO);
+    }
+
+    @Override
+    public String etag() {
+        return collectionVersionService.etag(VersionedCollection.VEHICLE);
+    }
+
+    @Override
+    public KeysetPage<VehicleDTO> getAll(ListQueryDTO query) {
+        int limit = KeysetPage.limitOf(query.getLimit());
+        Specification<Vehicle> specification = Specification
+                .<Vehicle>where(KeysetSpecifications.idAfter("vehicleId", KeysetCursor.decodeId(query.getAfter())))
+                .and(KeysetSpecifications.equalTo(query.getVehicleType(), "vehicleType"));
+
+        List<Vehicle> rows = vehicleRepository.findBy(specification,
+                q -> q.sortBy(Sort.by("vehicleId")).limit(limit + 1).all());
+        return KeysetPage.of(rows, limit, row -> KeysetCursor.encode(row.getVehicleId()), vehicleMapper::toDTO);
     }
 
     @Override
@@ -66,5 +105,74 @@ public class VehicleServiceImpl implements VehicleService {
             throw new VehicleNotFoundException("Vehicle with id " + id + " was not found.");
         }
         vehicleRepository.deleteById(id);
+        // the base fees and conditions of the vehicle are deleted with it
+        collectionVersionService.bump(VersionedCollection.VEHICLE, VersionedCollection.BASE_FEE, VersionedCollection.CONDITIONS);
+        feeRuleService.refresh();
+    }
+
+    @Override
+    public List<BulkResultDTO<VehicleDTO>> createAll(List<VehicleDTO> dtos, BulkMode mode) {
+        BulkItems.Outcome<Vehicle, VehicleDTO> outcome = transactionTemplate.execute(status ->
+                BulkItems.resolve(dtos, dto -> {
+                    Vehicle vehicle = vehicleMapper.toEntity(dto);
+                    vehicle.setVehicleId(null);
+                    return vehicle;
+                }).write(status, mode, HttpStatus.CREATED, vehicleRepository::saveAllAndFlush, vehicleMapper::toDTO));
+        return refreshed(outcome, VersionedCollection.VEHICLE);
+    }
+
+    @Override
+    public List<BulkResultDTO<VehicleDTO>> updateAll(List<VehicleDTO> dtos, BulkMode mode) {
+        BulkItems.Outcome<Vehicle, VehicleDTO> outcome = transactionTemplate.execute(status -> {
+            Map<Long, Vehicle> vehicles = findAllById(BulkItems.idsOf(dtos, VehicleDTO::getVehicleId));
+            return BulkItems.resolve(dtos, dto -> {
+                Vehicle vehicle = found(vehicles, dto.getVehicleId());
+                apply(vehicle, dto);
+                return vehicle;
+            }).write(status, mode, HttpStatus.OK, vehicleRepository::saveAllAndFlush, vehicleMapper::toDTO);
+        });
+        return refreshed(outcome, VersionedCollection.VEHICLE);
+    }
+
+    @Override
+    public List<BulkResultDTO<VehicleDTO>> deleteAll(List<Long> ids, BulkMode mode) {
+        BulkItems.Outcome<Vehicle, VehicleDTO> outcome = transactionTemplate.execute(status -> {
+            Map<Long, Vehicle> vehicles = findAllById(BulkItems.idsOf(ids, Function.identity()));
+            return BulkItems.resolve(ids, id -> found(vehicles, id))
+                    .write(status, mode, HttpStatus.OK, deleted -> {
+                        vehicleRepository.deleteAll(deleted);
+                        vehicleRepository.flush();
+                    }, vehicleMapper::toDTO);
+        });
+        return refreshed(outcome, VersionedCollection.VEHICLE, VersionedCollection.BASE_FEE, VersionedCollection.CONDITIONS);
+    }
+
+    /**
+     * Copies the updatable fields of the DTO to the vehicle.
+     */
+    private static void apply(Vehicle vehicle, VehicleDTO dto) {
+        vehicle.setVehicleType(dto.getVehicleType());
+    }
+
+    private Map<Long, Vehicle> findAllById(List<Long> ids) {
+        return vehicleRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Vehicle::getVehicleId, Function.identity()));
+    }
+
+    private static Vehicle found(Map<Long, Vehicle> vehicles, Long id) {
+        Vehicle vehicle = vehicles.get(id);
+        if (vehicle == null) {
+            throw new VehicleNotFoundException("Vehicle with id " + id + " was not found.");
+        }
+        return vehicle;
+    }
+
+    private List<BulkResultDTO<VehicleDTO>> refreshed(BulkItems.Outcome<Vehicle, VehicleDTO> outcome,
+                                                      VersionedCollection... changed) {
+        if (!outcome.written().isEmpty()) {
+            collectionVersionService.bump(changed);
+            feeRuleService.refresh();
+        }
+        return outcome.results();
     }
 }
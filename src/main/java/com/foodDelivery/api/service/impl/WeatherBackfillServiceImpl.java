@@ -0,0 +1,228 @@
+package com.foodDelivery.api.service.impl;
+
+import com.foodDelivery.api.exception.InvalidBackfillDirectoryException;
+import com.foodDelivery.api.exception.WeatherDataReadingException;
+import com.foodDelivery.api.ingestion.ByteBufferInputStream;
+import com.foodDelivery.api.ingestion.IngestionListener;
+import com.foodDelivery.api.ingestion.ObservationFeed;
+import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.repository.CityRepository;
+import com.foodDelivery.api.service.WeatherBackfillService;
+import com.foodDelivery.api.service.WeatherReadingService;
+import com.foodDelivery.api.xml.ObservationsStreamReader;
+import com.foodDelivery.api.xml.Station;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the WeatherBackfillService interface.
+ *
+ * <p>
+ *     All {@code *.xml} files of the archive directory are parsed in parallel with the streaming
+ *     reader; files of at least 1 MiB are memory-mapped instead of read through a stream. Only
+ *     the stations of the configured cities are kept, so the parsed feeds are small. The feeds are
+ *     then sorted by their observation timestamp and stored in chunks of
+ *     {@code weather-backfill.chunk-size} feeds, each chunk in one batched upsert.
+ * </p>
+ * <p>
+ *     After every chunk the timestamp of its newest feed is written to the {@code .backfill-checkpoint}
+ *     file of the directory. A later backfill of the same directory only reads the root element of
+ *     the feeds up to that timestamp, so an interrupted backfill resumes after the last stored chunk.
+ *     Upserting makes it safe to store a chunk again if the backfill stopped before its checkpoint.
+ * </p>
+ */
+@Service
+public class WeatherBackfillServiceImpl implements WeatherBackfillService {
+
+    static final String CHECKPOINT_FILE = ".backfill-checkpoint";
+    private static final long MAPPED_READ_THRESHOLD = 1024 * 1024;
+
+    private final ObservationsStreamReader observationsReader = new ObservationsStreamReader();
+    private final WeatherReadingService weatherReadingService;
+    private final CityRepository cityRepository;
+    private final String root;
+    private final int chunkSize;
+
+    public WeatherBackfillServiceImpl(WeatherReadingService weatherReadingService,
+                                      CityRepository cityRepository,
+                                      @Value("${weather-backfill.root:}") String root,
+                                      @Value("${weather-backfill.chunk-size:100}") int chunkSize) {
+        this.weatherReadingService = weatherReadingService;
+        this.cityRepository = cityRepository;
+        this.root = root;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Resolves an archive directory below the configured backfill root.
+     *
+     * <p>
+     *     Backfills are disabled unless {@code weather-backfill.root} is set. Symbolic links are
+     *     resolved before the directory is checked, so a request cannot escape the root.
+     * </p>
+     *
+     * @param directory the directory relative to the backfill root.
+     * @return the absolute path of the directory.
+     */
+    @Override
+    public Path resolveDirectory(String directory) {
+        if (root.isBlank()) {
+            throw new InvalidBackfillDirectoryException("Backfills are disabled, weather-backfill.root is not set.");
+        }
+
+        Path rootPath;
+        Path resolved;
+        try {
+            rootPath = Path.of(root).toRealPath();
+            resolved = rootPath.resolve(directory == null ? "" : directory).toRealPath();
+        } catch (IOException | InvalidPathException e) {
+            throw new InvalidBackfillDirectoryException("Not an archive directory: " + directory);
+        }
+
+        if (!resolved.startsWith(rootPath) || !Files.isDirectory(resolved)) {
+            throw new InvalidBackfillDirectoryException("Not an archive directory: " + directory);
+        }
+        return resolved;
+    }
+
+    /**
+     * Loads all archived feeds of a directory that are newer than its checkpoint.
+     *
+     * <p>
+     *     Files that cannot be parsed or have no valid timestamp are skipped and reported to the
+     *     listener. If several files contain the same timestamp, the first one by file name is used.
+     *     The reported stages are loadCities, parse and then store, history and feeMatrix for every chunk.
+     * </p>
+     *
+     * @param directory the archive directory, as returned by {@link #resolveDirectory(String)}.
+     * @param listener receives the stage timings, counters and skipped files.
+     */
+    @Override
+    public void backfill(Path directory, IngestionListener listener) {
+        try {
+            long start = System.nanoTime();
+            Set<String> wmoCodes = cityRepository.findAll().stream()
+                    .map(City::getWmoCode)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            start = lap(listener, "loadCities", start);
+
+            long checkpoint = readCheckpoint(directory);
+            List<ParsedFile> parsed = listFeedFiles(directory).parallelStream()
+                    .map(file -> parse(file, checkpoint, wmoCodes))
+                    .toList();
+
+            List<ParsedFile> pending = new ArrayList<>();
+            for (ParsedFile file : parsed) {
+                if (file.failure() != null) {
+                    listener.fileSkipped(file.path().getFileName().toString(), file.failure());
+                } else if (file.epochSecond() > checkpoint) {
+                    pending.add(file);
+                }
+            }
+            pending.sort(Comparator.comparingLong(ParsedFile::epochSecond));
+            lap(listener, "parse", start);
+
+            List<ObservationFeed> chunk = new ArrayList<>(chunkSize);
+            long previous = checkpoint;
+            for (ParsedFile file : pending) {
+                if (file.epochSecond() == previous) {
+                    continue;
+                }
+                previous = file.epochSecond();
+                chunk.add(file.feed());
+
+                if (chunk.size() == chunkSize) {
+                    storeChunk(directory, chunk, previous, listener);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                storeChunk(directory, chunk, previous, listener);
+            }
+        } catch (IOException e) {
+            throw new WeatherDataReadingException("Could not backfill the weather data from " + directory + ".", e);
+        }
+    }
+
+    private void storeChunk(Path directory, List<ObservationFeed> chunk, long newestEpochSecond,
+                            IngestionListener listener) throws IOException {
+        listener.stationsProcessed(chunk.stream().mapToInt(feed -> feed.stations().size()).sum());
+        weatherReadingService.storeObservations(chunk, listener);
+        writeCheckpoint(directory, newestEpochSecond);
+    }
+
+    private static List<Path> listFeedFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".xml"))
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Parses one archived feed; only the root element is read if the feed is not newer than the checkpoint.
+     */
+    private ParsedFile parse(Path file, long checkpoint, Set<String> wmoCodes) {
+        List<Station> stations = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file);
+             InputStream input = channel.size() >= MAPPED_READ_THRESHOLD
+                     ? new ByteBufferInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()))
+                     : Files.newInputStream(file)) {
+            String timestamp = observationsReader.read(input,
+                    ts -> ts != null && Long.parseLong(ts) > checkpoint, wmoCodes::contains, stations::add);
+            if (timestamp == null) {
+                throw new IllegalArgumentException("The feed has no timestamp.");
+            }
+
+            long epochSecond = Long.parseLong(timestamp);
+            return new ParsedFile(file, epochSecond,
+                    new ObservationFeed(file.getFileName().toString(), timestamp, stations, null, -1), null);
+        } catch (Exception e) {
+            return new ParsedFile(file, 0, null, e);
+        }
+    }
+
+    private static long readCheckpoint(Path directory) throws IOException {
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        return Files.exists(checkpoint) ? Long.parseLong(Files.readString(checkpoint).trim()) : Long.MIN_VALUE;
+    }
+
+    /**
+     * Replaces the checkpoint atomically, so an interruption never leaves a partly written checkpoint.
+     */
+    private static void writeCheckpoint(Path directory, long epochSecond) throws IOException {
+        Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.writeString(temporary, Long.toString(epochSecond));
+        Files.move(temporary, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long lap(IngestionListener listener, String stage, long start) {
+        long now = System.nanoTime();
+        listener.stageCompleted(stage, now - start);
+        return now;
+    }
+
+    /**
+     * The outcome of parsing one archived feed: either its feed and timestamp or the failure.
+     */
+    private record ParsedFile(Path path, long epochSecond, ObservationFeed feed, Exception failure) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.foodDelivery.api.service.impl;
+
+import com.foodDelivery.api.ingestion.WeatherDataUpsert;
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.service.WeatherDataBatchService;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of the WeatherDataBatchService interface.
+ *
+ * <p>
+ *     WeatherData ids come from a pooled sequence, so Hibernate does not need a round-trip
+ *     per row to learn the id and can group the inserts into JDBC batches. The input is
+ *     processed in batches: the stored rows with the same city and observation time are
+ *     loaded with one query per distinct observation time, which is a single query for a
+ *     feed, and updated; the rest is inserted. The persistence context is
+ *     flushed and cleared after every batch to keep its size bounded for large inputs.
+ * </p>
+ */
+@Service
+public class WeatherDataBatchServiceImpl implements WeatherDataBatchService {
+
+    private final EntityManager entityManager;
+    private final WeatherDataRepository weatherDataRepository;
+    private final int batchSize;
+
+    public WeatherDataBatchServiceImpl(EntityManager entityManager,
+                                       WeatherDataRepository weatherDataRepository,
+                                       @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.entityManager = entityManager;
+        this.weatherDataRepository = weatherDataRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public WeatherDataUpsert upsertAll(List<WeatherData> weatherData) {
+        List<Long> updatedIds = new ArrayList<>();
+        for (int from = 0; from < weatherData.size(); from += batchSize) {
+            List<WeatherData> batch = weatherData.subList(from, Math.min(from + batchSize, weatherData.size()));
+            Map<RowKey, WeatherData> stored = findStored(batch);
+
+            for (WeatherData row : batch) {
+                RowKey key = RowKey.of(row);
+                WeatherData existing = stored.get(key);
+                if (existing == null) {
+                    entityManager.persist(row);
+                    stored.put(key, row);
+                } else {
+                    existing.setAirTemperature(row.getAirTemperature());
+                    existing.setWindSpeed(row.getWindSpeed());
+                    existing.setWeatherPhenomenon(row.getWeatherPhenomenon());
+                    row.setWeatherDataId(existing.getWeatherDataId());
+                    updatedIds.add(existing.getWeatherDataId());
+                }
+            }
+
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return new WeatherDataUpsert(weatherData, updatedIds);
+    }
+
+    private Map<RowKey, WeatherData> findStored(List<WeatherData> batch) {
+        Map<LocalDateTime, Set<Long>> cityIdsByTime = new HashMap<>();
+        for (WeatherData row : batch) {
+            cityIdsByTime.computeIfAbsent(row.getObservationTime(), time -> new HashSet<>())
+                    .add(row.getCity().getCityId());
+        }
+
+        Map<RowKey, WeatherData> stored = new HashMap<>();
+        cityIdsByTime.forEach((observationTime, cityIds) -> {
+            for (WeatherData row : weatherDataRepository.findByObservationTimeAndCityIds(observationTime, cityIds)) {
+                stored.put(RowKey.of(row), row);
+            }
+        });
+        return stored;
+    }
+
+    /**
+     * The unique key of a WEATHER_DATA row.
+     */
+    private record RowKey(Long cityId, LocalDateTime observationTime) {
+
+        static RowKey of(WeatherData weatherData) {
+            return new RowKey(weatherData.getCity().getCityId(), weatherData.getObservationTime());
+        }
+    }
+}
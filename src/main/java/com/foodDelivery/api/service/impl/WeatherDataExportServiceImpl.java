@@ -0,0 +1,239 @@
+package com.foodDelivery.api.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.foodDelivery.api.dto.WeatherDataDTO;
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.model.enums.ExportFormat;
+import com.foodDelivery.api.paging.KeysetSpecifications;
+import com.foodDelivery.api.repository.CityRepository;
+import com.foodDelivery.api.service.WeatherDataExportService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the WeatherDataExportService interface.
+ *
+ * <p>
+ *     The rows are selected as {@link WeatherDataDTO} constructor projections, so the export
+ *     creates no managed entities and the persistence context stays empty however many rows
+ *     are read. The result stream is consumed row by row in one read-only transaction, with a
+ *     fetch size of {@value #FETCH_SIZE}, and the output is flushed every {@value #FLUSH_ROWS}
+ *     rows, so a slow reader of the response slows down the cursor instead of letting rows pile up.
+ * </p>
+ */
+@Service
+public class WeatherDataExportServiceImpl implements WeatherDataExportService {
+
+    static final int FETCH_SIZE = 500;
+    static final int FLUSH_ROWS = 1000;
+    static final String CSV_HEADER = "weatherDataId,cityId,airTemperature,windSpeed,weatherPhenomenon,observationTime";
+
+    private final EntityManager entityManager;
+    private final CityRepository cityRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    public WeatherDataExportServiceImpl(EntityManager entityManager,
+                                        CityRepository cityRepository,
+                                        ObjectMapper objectMapper) {
+        this.entityManager = entityManager;
+        this.cityRepository = cityRepository;
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writerFor(WeatherDataDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(ExportFormat format, String cityName, LocalDateTime from, LocalDateTime to,
+                       OutputStream output) throws IOException {
+        List<Long> cityIds = cityName != null ? cityRepository.findIdsByCityName(cityName) : null;
+        RowWriter writer = format == ExportFormat.CSV ? new CsvRowWriter(output) : new JsonRowWriter(output);
+
+        writer.start();
+        if (cityIds == null || !cityIds.isEmpty()) {
+            try (Stream<WeatherDataDTO> rows = streamRows(cityIds, from, to)) {
+                int count = 0;
+                for (Iterator<WeatherDataDTO> iterator = rows.iterator(); iterator.hasNext(); ) {
+                    writer.write(iterator.next());
+                    if (++count % FLUSH_ROWS == 0) {
+                        writer.flush();
+                    }
+                }
+            }
+        }
+        writer.end();
+    }
+
+    /**
+     * Opens the cursor over the matching weather data.
+     *
+     * <p>
+     *     The order is the one of the weather data pages: a single city is read in order from the
+     *     (city_id, observation_time) index, every other export from the observation time index.
+     * </p>
+     */
+    private Stream<WeatherDataDTO> streamRows(List<Long> cityIds, LocalDateTime from, LocalDateTime to) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<WeatherDataDTO> query = cb.createQuery(WeatherDataDTO.class);
+        Root<WeatherData> root = query.from(WeatherData.class);
+        Path<Long> cityId = root.get("city").get("cityId");
+        Path<LocalDateTime> observationTime = root.get("observationTime");
+        Path<Long> weatherDataId = root.get("weatherDataId");
+
+        query.select(cb.construct(WeatherDataDTO.class, weatherDataId, cityId, root.get("airTemperature"),
+                root.get("windSpeed"), root.get("weatherPhenomenon"), observationTime));
+
+        List<Predicate> predicates = new ArrayList<>();
+        Specification<WeatherData> range = KeysetSpecifications.between("observationTime", from, to);
+        if (range != null) {
+            predicates.add(range.toPredicate(root, query, cb));
+        }
+        if (cityIds != null && cityIds.size() == 1) {
+            predicates.add(cb.equal(cityId, cityIds.getFirst()));
+            query.orderBy(cb.asc(cityId), cb.asc(observationTime), cb.asc(weatherDataId));
+        } else {
+            if (cityIds != null) {
+                predicates.add(cityId.in(cityIds));
+            }
+            query.orderBy(cb.asc(observationTime), cb.asc(weatherDataId));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * Writes the rows of one export format.
+     */
+    private interface RowWriter {
+
+        void start() throws IOException;
+
+        void write(WeatherDataDTO row) throws IOException;
+
+        void flush() throws IOException;
+
+        void end() throws IOException;
+    }
+
+    /**
+     * Writes the rows as one JSON array of WeatherDataDTO objects.
+     */
+    private final class JsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        JsonRowWriter(OutputStream output) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(output);
+        }
+
+        @Override
+        public void start() throws IOException {
+            generator.writeStartArray();
+        }
+
+        @Override
+        public void write(WeatherDataDTO row) throws IOException {
+            rowWriter.writeValue(generator, row);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void end() throws IOException {
+            generator.writeEndArray();
+            generator.flush();
+        }
+    }
+
+    /**
+     * Writes the rows as CSV with a header line; text is quoted if it contains a comma, quote or line break.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream output) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void start() throws IOException {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(WeatherDataDTO row) throws IOException {
+            writer.write(value(row.getWeatherDataId()));
+            writer.write(',');
+            writer.write(value(row.getCityId()));
+            writer.write(',');
+            writer.write(value(row.getAirTemperature()));
+            writer.write(',');
+            writer.write(value(row.getWindSpeed()));
+            writer.write(',');
+            writer.write(text(row.getWeatherPhenomenon()));
+            writer.write(',');
+            writer.write(row.getObservationTime() == null ? "" : TIME_FORMAT.format(row.getObservationTime()));
+            writer.write('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void end() throws IOException {
+            writer.flush();
+        }
+
+        private static String value(Object value) {
+            return value == null ? "" : value.toString();
+        }
+
+        private static String text(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -1,22 +1,46 @@
 package com.foodDelivery.api.service.impl;
 
+import com.foodDelivery.api.bulk.BulkItems;
+import com.foodDelivery.api.dto.BulkResultDTO;
+import com.foodDelivery.api.dto.ListQueryDTO;
 import com.foodDelivery.api.dto.WeatherDataDTO;
+import com.foodDelivery.api.exception.CityNotFoundException;
 import com.foodDelivery.api.exception.WeatherDataNotFoundException;
 import com.foodDelivery.api.mapper.WeatherDataMapper;
+import com.foodDelivery.api.model.City;
 import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.model.enums.BulkMode;
+import com.foodDelivery.api.paging.KeysetCursor;
+import com.foodDelivery.api.paging.KeysetPage;
+import com.foodDelivery.api.paging.KeysetSpecifications;
+import com.foodDelivery.api.repository.CityRepository;
 import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.service.FeeMatrixService;
+import com.foodDelivery.api.service.FeeQuoteCacheService;
 import com.foodDelivery.api.service.WeatherDataService;
+import com.foodDelivery.api.service.WeatherHistoryService;
+import jakarta.persistence.criteria.Path;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Implements the WeatherData service interface.
  *
  * <p>
- *     Provides basic CRUD operations.
+ *     Provides basic CRUD operations. Every write updates the weather history and rebuilds the fee matrix.
+ *     Updates and deletes also evict the cached quotes of the changed weather data.
+ *     A bulk write rebuilds the fee matrix once for all of its items.
  * </p>
  */
 @Service
@@ -25,11 +49,22 @@ public class WeatherDataServiceImpl implements WeatherDataService {
 
     private final WeatherDataRepository weatherDataRepository;
     private final WeatherDataMapper weatherDataMapper;
+    private final FeeMatrixService feeMatrixService;
+    private final WeatherHistoryService weatherHistoryService;
+    private final FeeQuoteCacheService feeQuoteCacheService;
+    private final CityRepository cityRepository;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public WeatherDataDTO create(WeatherDataDTO dto) {
+        City city = Optional.ofNullable(dto.getCityId()).flatMap(cityRepository::findById)
+                .orElseThrow(() -> new CityNotFoundException("City with id " + dto.getCityId() + " was not found."));
         WeatherData weatherData = weatherDataMapper.toEntity(dto);
+        // the history is keyed by the city name, which the mapped reference does not carry
+        weatherData.setCity(city);
         WeatherData saved = weatherDataRepository.save(weatherData);
+        weatherHistoryService.append(saved);
+        feeMatrixService.refresh();
         return weatherDataMapper.toDTO(saved);
     }
 
@@ -38,12 +73,13 @@ public class WeatherDataServiceImpl implements WeatherDataService {
         WeatherData weatherData = weatherDataRepository.findById(id)
                 .orElseThrow(() -> new WeatherDataNotFoundException("WeatherData with id " + id + " was not found"));
 
-        weatherData.setAirTemperature(dto.getAirTemperature());
-        weatherData.setWindSpeed(dto.getWindSpeed());
-        weatherData.setWeatherPhenomenon(dto.getWeatherPhenomenon());
-        weatherData.setObservationTime(dto.getObservationTime());
+        apply(weatherData, dto);
 
         WeatherData updated = weatherDataRepository.save(weatherData);
+        weatherHistoryService.remove(id);
+        weatherHistoryService.append(updated);
+        feeQuoteCacheService.evictWeatherData(id);
+        feeMatrixService.refresh();
         return weatherDataMapper.toDTO(updated);
     }
 
@@ -55,11 +91,86 @@ public class WeatherDataServiceImpl implements WeatherDataService {
     }
 
     @Override
-    public List<WeatherDataDTO> getAll() {
-        return weatherDataRepository.findAll()
-                .stream()
-                .map(weatherDataMapper::toDTO)
-                .collect(Collectors.toList());
+    public List<BulkResultDTO<WeatherDataDTO>> getAllById(List<Long> ids) {
+        Map<Long, WeatherData> weatherData = findAllById(BulkItems.idsOf(ids, Function.identity()));
+        return BulkItems.resolve(ids, id -> found(weatherData, id)).read(weatherDataMapper::toDTO);
+    }
+
+    /**
+     * Retrieves one page of weather data in observation order.
+     *
+     * <p>
+     *     Pages are sorted by observation time and id, which the time index serves for lists with
+     *     and without a time range. The city filter is resolved to the city id first, so the page of
+     *     a city is read in order from the (city_id, observation_time) unique index.
+     * </p>
+     */
+    @Override
+    public KeysetPage<WeatherDataDTO> getAll(ListQueryDTO query) {
+        int limit = KeysetPage.limitOf(query.getLimit());
+        WeatherDataKey after = KeysetCursor.decode(query.getAfter(),
+                keys -> new WeatherDataKey(LocalDateTime.parse(keys[0]), Long.valueOf(keys[1])));
+        Specification<WeatherData> specification = Specification
+                .<WeatherData>where(after(after))
+                .and(KeysetSpecifications.between("observationTime", query.getFrom(), query.getTo()));
+
+        Sort sort = Sort.by("observationTime", "weatherDataId");
+        if (query.getCityName() != null) {
+            List<Long> cityIds = cityRepository.findIdsByCityName(query.getCityName());
+            if (cityIds.isEmpty()) {
+                return new KeysetPage<>(List.of(), null);
+            }
+            if (cityIds.size() == 1) {
+                specification = specification.and(singleCity(cityIds.getFirst()));
+                sort = Sort.unsorted();
+            } else {
+                specification = specification.and((root, q, cb) -> root.get("city").get("cityId").in(cityIds));
+            }
+        }
+
+        Sort order = sort;
+        List<WeatherData> rows = weatherDataRepository.findBy(specification,
+                q -> q.sortBy(order).limit(limit + 1).all());
+        return KeysetPage.of(rows, limit,
+                row -> KeysetCursor.encode(row.getObservationTime(), row.getWeatherDataId()),
+                weatherDataMapper::toDTO);
+    }
+
+    /**
+     * Matches the weather data of one city, ordered by the city id column first.
+     *
+     * <p>
+     *     With the city leading the order, the database reads the page in index order and stops after it.
+     *     The order is set here because a {@link Sort} on {@code city.cityId} joins the CITY table.
+     * </p>
+     */
+    private static Specification<WeatherData> singleCity(Long cityId) {
+        return (root, q, cb) -> {
+            Path<Long> city = root.get("city").get("cityId");
+            q.orderBy(cb.asc(city), cb.asc(root.get("observationTime")), cb.asc(root.get("weatherDataId")));
+            return cb.equal(city, cityId);
+        };
+    }
+
+    /**
+     * Matches the weather data after the last row of the previous page.
+     *
+     * <p>
+     *     The range on the observation time comes first, so it is the start of the index scan;
+     *     the id only decides between observations of the same time.
+     * </p>
+     */
+    private static Specification<WeatherData> after(WeatherDataKey key) {
+        if (key == null) {
+            return null;
+        }
+        return (root, q, cb) -> {
+            Path<LocalDateTime> time = root.get("observationTime");
+            return cb.and(
+                    cb.greaterThanOrEqualTo(time, key.observationTime()),
+                    cb.or(cb.greaterThan(time, key.observationTime()),
+                            cb.greaterThan(root.get("weatherDataId"), key.weatherDataId())));
+        };
     }
 
     @Override
@@ -68,5 +179,99 @@ public class WeatherDataServiceImpl implements WeatherDataService {
             throw new WeatherDataNotFoundException("WeatherData with id " + id + " was not found");
         }
         weatherDataRepository.deleteById(id);
+        weatherHistoryService.remove(id);
+        feeQuoteCacheService.evictWeatherData(id);
+        feeMatrixService.refresh();
+    }
+
+    @Override
+    public List<BulkResultDTO<WeatherDataDTO>> createAll(List<WeatherDataDTO> dtos, BulkMode mode) {
+        BulkItems.Outcome<WeatherData, WeatherDataDTO> outcome = transactionTemplate.execute(status -> {
+            Map<Long, City> cities = cityRepository.findAllById(BulkItems.idsOf(dtos, WeatherDataDTO::getCityId))
+                    .stream().collect(Collectors.toMap(City::getCityId, Function.identity()));
+            return BulkItems.resolve(dtos, dto -> {
+                City city = cities.get(dto.getCityId());
+                if (city == null) {
+                    throw new CityNotFoundException("City with id " + dto.getCityId() + " was not found.");
+                }
+                WeatherData weatherData = weatherDataMapper.toEntity(dto);
+                weatherData.setWeatherDataId(null);
+                weatherData.setCity(city);
+                return weatherData;
+            }).write(status, mode, HttpStatus.CREATED, weatherDataRepository::saveAllAndFlush, weatherDataMapper::toDTO);
+        });
+        outcome.written().forEach(weatherHistoryService::append);
+        return refreshed(outcome);
+    }
+
+    @Override
+    public List<BulkResultDTO<WeatherDataDTO>> updateAll(List<WeatherDataDTO> dtos, BulkMode mode) {
+        BulkItems.Outcome<WeatherData, WeatherDataDTO> outcome = transactionTemplate.execute(status -> {
+            Map<Long, WeatherData> weatherData = findAllById(BulkItems.idsOf(dtos, WeatherDataDTO::getWeatherDataId));
+            return BulkItems.resolve(dtos, dto -> {
+                WeatherData updated = found(weatherData, dto.getWeatherDataId());
+                apply(updated, dto);
+                return updated;
+            }).write(status, mode, HttpStatus.OK, weatherDataRepository::saveAllAndFlush, weatherDataMapper::toDTO);
+        });
+        for (WeatherData updated : outcome.written()) {
+            weatherHistoryService.remove(updated.getWeatherDataId());
+            weatherHistoryService.append(updated);
+            feeQuoteCacheService.evictWeatherData(updated.getWeatherDataId());
+        }
+        return refreshed(outcome);
+    }
+
+    @Override
+    public List<BulkResultDTO<WeatherDataDTO>> deleteAll(List<Long> ids, BulkMode mode) {
+        BulkItems.Outcome<WeatherData, WeatherDataDTO> outcome = transactionTemplate.execute(status -> {
+            Map<Long, WeatherData> weatherData = findAllById(BulkItems.idsOf(ids, Function.identity()));
+            return BulkItems.resolve(ids, id -> found(weatherData, id))
+                    .write(status, mode, HttpStatus.OK, deleted -> {
+                        weatherDataRepository.deleteAll(deleted);
+                        weatherDataRepository.flush();
+                    }, weatherDataMapper::toDTO);
+        });
+        for (WeatherData deleted : outcome.written()) {
+            weatherHistoryService.remove(deleted.getWeatherDataId());
+            feeQuoteCacheService.evictWeatherData(deleted.getWeatherDataId());
+        }
+        return refreshed(outcome);
+    }
+
+    /**
+     * Copies the updatable fields of the DTO to the weather data.
+     */
+    private static void apply(WeatherData weatherData, WeatherDataDTO dto) {
+        weatherData.setAirTemperature(dto.getAirTemperature());
+        weatherData.setWindSpeed(dto.getWindSpeed());
+        weatherData.setWeatherPhenomenon(dto.getWeatherPhenomenon());
+        weatherData.setObservationTime(dto.getObservationTime());
+    }
+
+    private Map<Long, WeatherData> findAllById(List<Long> ids) {
+        return weatherDataRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(WeatherData::getWeatherDataId, Function.identity()));
+    }
+
+    private static WeatherData found(Map<Long, WeatherData> weatherData, Long id) {
+        WeatherData found = weatherData.get(id);
+        if (found == null) {
+            throw new WeatherDataNotFoundException("WeatherData with id " + id + " was not found");
+        }
+        return found;
+    }
+
+    private List<BulkResultDTO<WeatherDataDTO>> refreshed(BulkItems.Outcome<WeatherData, WeatherDataDTO> outcome) {
+        if (!outcome.written().isEmpty()) {
+            feeMatrixService.refresh();
+        }
+        return outcome.results();
+    }
+
+    /**
+     * The sort key of a weather data page.
+     */
+    private record WeatherDataKey(LocalDateTime observationTime, Long weatherDataId) {
     }
 }
@@ -0,0 +1,113 @@
+package com.foodDelivery.api.service.impl;
+
+import com.foodDelivery.api.history.CityWeatherHistory;
+import com.foodDelivery.api.history.PhenomenonDictionary;
+import com.foodDelivery.api.history.WeatherObservation;
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.service.WeatherHistoryService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the WeatherHistoryService interface.
+ *
+ * <p>
+ *     Every city has its own {@link CityWeatherHistory}. Phenomenon descriptions are shared
+ *     through one {@link PhenomenonDictionary}. The history is streamed from the database
+ *     as read-only projections at startup, so loading does not keep every row as a managed entity.
+ * </p>
+ */
+@Service
+public class WeatherHistoryServiceImpl implements WeatherHistoryService {
+
+    private final WeatherDataRepository weatherDataRepository;
+    private final PhenomenonDictionary phenomena = new PhenomenonDictionary();
+    private volatile Map<String, CityWeatherHistory> histories;
+
+    public WeatherHistoryServiceImpl(WeatherDataRepository weatherDataRepository) {
+        this.weatherDataRepository = weatherDataRepository;
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return histories != null;
+    }
+
+    /**
+     * Loads the history of all cities and swaps it in.
+     *
+     * <p>
+     *     Writes are serialized with loading, so an observation appended while the
+     *     history is being loaded is never lost.
+     * </p>
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        Map<String, CityWeatherHistory> loaded = new ConcurrentHashMap<>();
+        try (Stream<WeatherObservation> observations = weatherDataRepository.streamAllObservations()) {
+            observations.forEach(observation -> loaded
+                    .computeIfAbsent(observation.cityName(), name -> new CityWeatherHistory(phenomena))
+                    .add(observation.weatherDataId(),
+                            observation.observationTime(),
+                            observation.airTemperature(),
+                            observation.windSpeed(),
+                            observation.weatherPhenomenon()));
+        }
+        histories = loaded;
+    }
+
+    @Override
+    public WeatherData findLatest(String cityName, LocalDateTime dateTime) {
+        Map<String, CityWeatherHistory> current = histories;
+        CityWeatherHistory history = current != null ? current.get(cityName) : null;
+        return history != null ? history.floor(dateTime) : null;
+    }
+
+    @Override
+    public synchronized void append(WeatherData weatherData) {
+        if (histories == null || weatherData == null || weatherData.getCity() == null) {
+            return;
+        }
+
+        histories.computeIfAbsent(weatherData.getCity().getCityName(), name -> new CityWeatherHistory(phenomena))
+                .add(weatherData.getWeatherDataId(),
+                        weatherData.getObservationTime(),
+                        weatherData.getAirTemperature(),
+                        weatherData.getWindSpeed(),
+                        weatherData.getWeatherPhenomenon());
+    }
+
+    @Override
+    public synchronized void remove(Long weatherDataId) {
+        if (histories == null || weatherDataId == null) {
+            return;
+        }
+
+        for (CityWeatherHistory history : histories.values()) {
+            if (history.remove(weatherDataId)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void removeBefore(LocalDateTime cutoff) {
+        if (histories == null || cutoff == null) {
+            return;
+        }
+
+        for (CityWeatherHistory history : histories.values()) {
+            history.removeBefore(cutoff);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.foodDelivery.api.service.impl;
+
+import com.foodDelivery.api.dto.WeatherReadingJobDTO;
+import com.foodDelivery.api.exception.WeatherReadingJobNotFoundException;
+import com.foodDelivery.api.exception.WeatherReadingJobRejectedException;
+import com.foodDelivery.api.ingestion.IngestionListener;
+import com.foodDelivery.api.ingestion.WeatherReadingJob;
+import com.foodDelivery.api.service.FeeCacheControlService;
+import com.foodDelivery.api.service.WeatherBackfillService;
+import com.foodDelivery.api.service.WeatherReadingJobService;
+import com.foodDelivery.api.service.WeatherReadingService;
+import com.foodDelivery.api.service.WeatherRetentionService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of the WeatherReadingJobService interface.
+ *
+ * <p>
+ *     Jobs run one at a time on a single virtual thread, and at most
+ *     {@code weather-reading.jobs.queue-capacity} jobs can wait. The readings of
+ *     {@code weather-reading.cron} and the retention of {@code weather-retention.cron} are submitted as
+ *     jobs too, so scheduled readings, requested readings, backfills and the retention never overlap.
+ *     The ingestion relies on this, as concurrent upserts of the same city and observation time would
+ *     both insert the row, and so does the retention, which would delete rows committed by a backfill
+ *     after it aggregated the old ones without aggregating them. The most recent
+ *     {@code weather-reading.jobs.retained} jobs are kept for the status endpoint.
+ * </p>
+ */
+@Service
+public class WeatherReadingJobServiceImpl implements WeatherReadingJobService, DisposableBean {
+
+    private final WeatherReadingService weatherReadingService;
+    private final WeatherBackfillService weatherBackfillService;
+    private final WeatherRetentionService weatherRetentionService;
+    private final FeeCacheControlService feeCacheControlService;
+    private final Executor executor;
+    private final Map<String, WeatherReadingJob> jobs;
+
+    @Autowired
+    public WeatherReadingJobServiceImpl(WeatherReadingService weatherReadingService,
+                                        WeatherBackfillService weatherBackfillService,
+                                        WeatherRetentionService weatherRetentionService,
+                                        FeeCacheControlService feeCacheControlService,
+                                        @Value("${weather-reading.jobs.queue-capacity:10}") int queueCapacity,
+                                        @Value("${weather-reading.jobs.retained:100}") int retained) {
+        this(weatherReadingService, weatherBackfillService, weatherRetentionService, feeCacheControlService, new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofVirtual().name("weather-reading-", 0).factory()), retained);
+    }
+
+    public WeatherReadingJobServiceImpl(WeatherReadingService weatherReadingService,
+                                        WeatherBackfillService weatherBackfillService,
+                                        WeatherRetentionService weatherRetentionService,
+                                        FeeCacheControlService feeCacheControlService,
+                                        Executor executor, int retained) {
+        this.weatherReadingService = weatherReadingService;
+        this.weatherBackfillService = weatherBackfillService;
+        this.weatherRetentionService = weatherRetentionService;
+        this.feeCacheControlService = feeCacheControlService;
+        this.executor = executor;
+        this.jobs = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, WeatherReadingJob> eldest) {
+                return size() > retained;
+            }
+        };
+    }
+
+    @Override
+    public WeatherReadingJobDTO submit() {
+        return submit(weatherReadingService::readWeatherData);
+    }
+
+    /**
+     * Queues the scheduled weather reading.
+     *
+     * <p>
+     *     The reading is skipped if the queue is full; the next scheduled reading catches up, as every
+     *     reading stores the latest feed. The cache headers of the fee quotes are told once the reading
+     *     has finished.
+     * </p>
+     */
+    @Scheduled(cron = "${weather-reading.cron:0 15 * * * *}")
+    public void submitScheduled() {
+        try {
+            submit(listener -> {
+                try {
+                    weatherReadingService.readWeatherData(listener);
+                } finally {
+                    feeCacheControlService.ingestionFinished();
+                }
+            });
+        } catch (WeatherReadingJobRejectedException e) {
+            // the queue is full
+        }
+    }
+
+    /**
+     * Queues the scheduled retention of the weather data.
+     *
+     * <p>
+     *     The retention is skipped if the queue is full; the next run rolls up everything that is due.
+     * </p>
+     */
+    @Scheduled(cron = "${weather-retention.cron:0 30 3 * * *}")
+    public void submitRetention() {
+        try {
+            submit(listener -> weatherRetentionService.applyRetention());
+        } catch (WeatherReadingJobRejectedException e) {
+            // the queue is full
+        }
+    }
+
+    @Override
+    public WeatherReadingJobDTO submitBackfill(String directory) {
+        Path archive = weatherBackfillService.resolveDirectory(directory);
+        return submit(listener -> weatherBackfillService.backfill(archive, listener));
+    }
+
+    private WeatherReadingJobDTO submit(Consumer<IngestionListener> task) {
+        WeatherReadingJob job = new WeatherReadingJob(UUID.randomUUID().toString());
+        synchronized (jobs) {
+            jobs.put(job.getJobId(), job);
+        }
+
+        try {
+            executor.execute(() -> run(job, task));
+        } catch (RejectedExecutionException e) {
+            synchronized (jobs) {
+                jobs.remove(job.getJobId());
+            }
+            throw new WeatherReadingJobRejectedException("Too many weather reading jobs are queued, try again later.");
+        }
+        return job.toDTO();
+    }
+
+    @Override
+    public WeatherReadingJobDTO getJob(String jobId) {
+        WeatherReadingJob job;
+        synchronized (jobs) {
+            job = jobs.get(jobId);
+        }
+        if (job == null) {
+            throw new WeatherReadingJobNotFoundException("Could not find weather reading job with id " + jobId);
+        }
+        return job.toDTO();
+    }
+
+    private void run(WeatherReadingJob job, Consumer<IngestionListener> task) {
+        job.started();
+        try {
+            task.accept(job);
+            job.succeeded();
+        } catch (Exception e) {
+            job.failed(e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+}
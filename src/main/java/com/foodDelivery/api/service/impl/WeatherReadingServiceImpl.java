@@ -1,94 +1,332 @@
 package com.foodDelivery.api.service.impl;
 
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.foodDelivery.api.exception.ParseObservationTimeException;
 import com.foodDelivery.api.exception.WeatherDataReadingException;
+import com.foodDelivery.api.ingestion.IngestionListener;
+import com.foodDelivery.api.ingestion.ObservationFeed;
+import com.foodDelivery.api.ingestion.ObservationProvider;
+import com.foodDelivery.api.ingestion.WeatherDataUpsert;
 import com.foodDelivery.api.model.City;
 import com.foodDelivery.api.model.WeatherData;
 import com.foodDelivery.api.repository.CityRepository;
-import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.service.FeeMatrixService;
+import com.foodDelivery.api.service.FeeQuoteCacheService;
+import com.foodDelivery.api.service.PayloadArchiveService;
+import com.foodDelivery.api.service.WeatherDataBatchService;
+import com.foodDelivery.api.service.WeatherHistoryService;
 import com.foodDelivery.api.service.WeatherReadingService;
-import com.foodDelivery.api.xml.Observations;
-import org.springframework.scheduling.annotation.Scheduled;
+import com.foodDelivery.api.xml.Station;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Implementation of WeatherReadingService interface that fetches and processes weather data from external API.
  *
  * <p>
- *     The service uses RestTemplate to retrieve XML data and XmlMapper to
- *     deserialize the XML into Observations and Station objects. It then takes that information and
- *     saves the WeatherData according to the city.
+ *     The observations are fetched from every {@link ObservationProvider} bean concurrently, each
+ *     on its own virtual thread and with its own timeout. Providers only materialize the Station
+ *     objects of the configured cities. The feeds are merged by WMO code: for every station the
+ *     provider with the newest observation timestamp wins, and among equally new feeds the one
+ *     that answered first. A provider that fails or lags is left out of the reading, so a
+ *     healthy provider fills in for it. If the payload archive is enabled, the raw payload of every
+ *     fetched feed is kept and queued for it. The service then saves the WeatherData according to the city. After every
+ *     ingestion the fee matrix is rebuilt.
  * </p>
  */
 @Service
-public class WeatherReadingServiceImpl implements WeatherReadingService {
-    private static final String OBSERVATIONS_URL = "https://www.ilmateenistus.ee/ilma_andmed/xml/observations.php";
+public class WeatherReadingServiceImpl implements WeatherReadingService, DisposableBean {
 
-    private final RestTemplate restTemplate;
-    private final XmlMapper xmlMapper;
+    private final List<ObservationProvider> providers;
     private final CityRepository cityRepository;
-    private final WeatherDataRepository weatherDataRepository;
+    private final WeatherDataBatchService weatherDataBatchService;
+    private final FeeMatrixService feeMatrixService;
+    private final WeatherHistoryService weatherHistoryService;
+    private final FeeQuoteCacheService feeQuoteCacheService;
+    private final PayloadArchiveService payloadArchiveService;
+    private final ExecutorService fetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, ObservationFeed> lastIngested = new ConcurrentHashMap<>();
 
-    public WeatherReadingServiceImpl(CityRepository cityRepository, WeatherDataRepository weatherDataRepository) {
+    public WeatherReadingServiceImpl(List<ObservationProvider> providers,
+                                     CityRepository cityRepository,
+                                     WeatherDataBatchService weatherDataBatchService,
+                                     FeeMatrixService feeMatrixService,
+                                     WeatherHistoryService weatherHistoryService,
+                                     FeeQuoteCacheService feeQuoteCacheService,
+                                     PayloadArchiveService payloadArchiveService) {
+        this.providers = providers;
         this.cityRepository = cityRepository;
-        this.weatherDataRepository = weatherDataRepository;
-        this.restTemplate = new RestTemplate();
-        this.xmlMapper = new XmlMapper();
+        this.weatherDataBatchService = weatherDataBatchService;
+        this.feeMatrixService = feeMatrixService;
+        this.weatherHistoryService = weatherHistoryService;
+        this.feeQuoteCacheService = feeQuoteCacheService;
+        this.payloadArchiveService = payloadArchiveService;
     }
 
 
     /**
-     * Method scheduled to fetch weather data from the external API every 15 minutes.
+     * Fetches weather data from the observation providers; scheduled through
+     * {@link WeatherReadingJobServiceImpl#submitScheduled()}.
      *
      * <p>
-     *     It retrieves the XML response from the weather API.
-     *     Deserializes the XML into Observations objects.
-     *     Parses the observation timestamp into a LocalDateTime.
-     *     Retrieves all WMO codes from the database and filters stations data by wmo code.
-     *     For each matching station it looks for the correct City and saves the WeatherData.
+     *     Loads all cities once and indexes them by WMO code.
+     *     Fetches all providers concurrently; every provider skips the stations whose
+     *     wmo code is not in the index without deserializing them.
+     *     Nothing is stored if no provider has a feed that changed since it was last ingested.
+     *     The merged stations are then stored like in {@link #storeObservations}.
      * </p>
      */
     @Override
-    @Scheduled(cron = "0 15 * * * *")
     public void readWeatherData() {
+        readWeatherData(IngestionListener.NONE);
+    }
+
+    /**
+     * Reads weather data from the observation providers like {@link #readWeatherData()} and reports
+     * the progress to the given listener.
+     *
+     * <p>
+     *     The reported stages are loadCities, fetch:{provider} for every provider that answered,
+     *     fetch (all providers), store, history and feeMatrix.
+     * </p>
+     *
+     * @param listener receives the stage timings and counters.
+     */
+    @Override
+    public void readWeatherData(IngestionListener listener) {
         try {
-            String responseXml = restTemplate.getForObject(OBSERVATIONS_URL, String.class);
-            Observations observations = xmlMapper.readValue(responseXml, Observations.class);
-            LocalDateTime observationTime = parseObservationTime(observations.getTimestamp());
-
-            List<String> wmoCodes = cityRepository.findAllWmoCodes();
-
-            observations.getStations().stream()
-                    .filter(station -> wmoCodes.contains(station.getWmoCode()))
-                    .forEach(station -> {
-                        Optional<City> city = cityRepository.findByWmoCode(station.getWmoCode());
-
-                        if (city.isEmpty()) {
-                            throw new WeatherDataReadingException("The station with wmoCode " + station.getWmoCode() + " was not found");
-                        }
-
-                        WeatherData weatherData = new WeatherData();
-                        weatherData.setCity(city.get());
-                        weatherData.setAirTemperature(station.getAirTemperature());
-                        weatherData.setWindSpeed(station.getWindSpeed());
-                        weatherData.setWeatherPhenomenon(station.getPhenomenon());
-                        weatherData.setObservationTime(observationTime != null ? observationTime : LocalDateTime.now());
-                        weatherDataRepository.save(weatherData);
-                    });
+            long start = System.nanoTime();
+            Map<String, City> citiesByWmoCode = indexCitiesByWmoCode();
+            start = lap(listener, "loadCities", start);
+
+            List<FetchResult> results = fetchAll(citiesByWmoCode, listener);
+            archive(results, listener);
+            List<ObservationFeed> feeds = merge(results);
+            lap(listener, "fetch", start);
+            listener.stationsProcessed(feeds.stream().mapToInt(feed -> feed.stations().size()).sum());
+
+            if (feeds.isEmpty()) {
+                listener.feedUnchanged();
+                return;
+            }
 
+            store(feeds, citiesByWmoCode, listener);
+            results.forEach(result -> lastIngested.put(result.feed().provider(), result.feed()));
+        } catch (WeatherDataReadingException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WeatherDataReadingException("The weather reading was interrupted.", e);
+        } catch (Exception e) {
+            throw new WeatherDataReadingException("Could not process the weather data from the API.", e);
+        }
+    }
+
+    /**
+     * Stores the observations of an already parsed feed.
+     *
+     * <p>
+     *     Every station is resolved to its City through a hash index of all cities by WMO code,
+     *     so the number of SQL statements does not depend on the number of stations or cities;
+     *     stations without a city are skipped.
+     *     All WeatherData are upserted in one batched transaction, so storing the same feed twice
+     *     does not create duplicate rows, and then added to the weather history.
+     *     Finally, the fee matrix is rebuilt from the new observations.
+     * </p>
+     *
+     * @param timestamp the observation timestamp of the feed.
+     * @param stations the stations of the feed.
+     */
+    @Override
+    public void storeObservations(String timestamp, List<Station> stations) {
+        try {
+            ObservationFeed feed = new ObservationFeed("manual", timestamp, stations, null, -1);
+            store(List.of(feed), indexCitiesByWmoCode(), IngestionListener.NONE);
         } catch (Exception e) {
             throw new WeatherDataReadingException("Could not process the weather data from the API.", e);
         }
     }
 
+    /**
+     * Stores the observations of several already parsed feeds like {@link #storeObservations(String, List)},
+     * with all rows of all feeds upserted in one batch.
+     *
+     * @param feeds the feeds, each with its own observation timestamp.
+     * @param listener receives the stage timings and counters.
+     */
+    @Override
+    public void storeObservations(List<ObservationFeed> feeds, IngestionListener listener) {
+        store(feeds, indexCitiesByWmoCode(), listener);
+    }
+
+    private void store(List<ObservationFeed> feeds, Map<String, City> citiesByWmoCode, IngestionListener listener) {
+        long start = System.nanoTime();
+
+        List<WeatherData> weatherData = new ArrayList<>();
+        for (ObservationFeed feed : feeds) {
+            LocalDateTime observationTime = parseObservationTime(feed.timestamp());
+            for (Station station : feed.stations()) {
+                City city = citiesByWmoCode.get(station.getWmoCode());
+                if (city == null) {
+                    continue;
+                }
+
+                WeatherData observation = new WeatherData();
+                observation.setCity(city);
+                observation.setAirTemperature(station.getAirTemperature());
+                observation.setWindSpeed(station.getWindSpeed());
+                observation.setWeatherPhenomenon(station.getPhenomenon());
+                observation.setObservationTime(observationTime);
+                weatherData.add(observation);
+            }
+        }
+
+        WeatherDataUpsert upsert = weatherDataBatchService.upsertAll(weatherData);
+        listener.rowsWritten(upsert.stored().size());
+        start = lap(listener, "store", start);
+
+        upsert.stored().forEach(weatherHistoryService::append);
+        // an overwritten row keeps its id, so its cached quotes are evicted after the history has its new values
+        upsert.updatedIds().forEach(feeQuoteCacheService::evictWeatherData);
+        start = lap(listener, "history", start);
+
+        feeMatrixService.refresh();
+        lap(listener, "feeMatrix", start);
+    }
+
+    /**
+     * Fetches all providers concurrently and waits for each of them at most its timeout.
+     *
+     * <p>
+     *     A provider that does not answer in time is interrupted, so a hung provider does not keep
+     *     its thread and connection past the reading.
+     * </p>
+     *
+     * @return the changed feeds of the providers that answered in time.
+     * @throws WeatherDataReadingException if every provider failed.
+     */
+    private List<FetchResult> fetchAll(Map<String, City> citiesByWmoCode, IngestionListener listener)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        Map<ObservationProvider, Future<Optional<FetchResult>>> futures = new HashMap<>();
+        for (ObservationProvider provider : providers) {
+            futures.put(provider, fetchExecutor.submit(() -> fetch(provider, citiesByWmoCode)));
+        }
+
+        List<FetchResult> results = new ArrayList<>();
+        Throwable lastFailure = null;
+        int failures = 0;
+        for (ObservationProvider provider : providers) {
+            Future<Optional<FetchResult>> future = futures.get(provider);
+            long remaining = provider.getTimeout().toNanos() - (System.nanoTime() - start);
+            try {
+                Optional<FetchResult> result = future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+                result.ifPresent(fetched -> {
+                    results.add(fetched);
+                    listener.stageCompleted("fetch:" + provider.getName(), fetched.nanos());
+                });
+            } catch (ExecutionException | TimeoutException e) {
+                future.cancel(true);
+                failures++;
+                lastFailure = e instanceof ExecutionException ? e.getCause() : e;
+                listener.providerFailed(provider.getName(), lastFailure);
+            }
+        }
+
+        if (failures == providers.size()) {
+            throw new WeatherDataReadingException("Could not fetch the observations from any provider.", lastFailure);
+        }
+        return results;
+    }
+
+    private Optional<FetchResult> fetch(ObservationProvider provider, Map<String, City> citiesByWmoCode) throws Exception {
+        long start = System.nanoTime();
+        return provider.fetch(lastIngested.get(provider.getName()), citiesByWmoCode::containsKey,
+                        payloadArchiveService.isEnabled())
+                .map(feed -> new FetchResult(feed, parseObservationTime(feed.timestamp()), System.nanoTime() - start));
+    }
+
+    private void archive(List<FetchResult> results, IngestionListener listener) {
+        for (FetchResult result : results) {
+            ObservationFeed feed = result.feed();
+            if (feed.payload() != null && !payloadArchiveService.archive(feed.provider(), feed.timestamp(), feed.payload(), listener)) {
+                listener.payloadNotArchived(feed.provider());
+            }
+        }
+    }
+
+    /**
+     * Merges the feeds by WMO code.
+     *
+     * <p>
+     *     Feeds are ranked by their observation time, newest first, and then by how fast their
+     *     provider answered. Every station is taken from the best ranked feed that contains it.
+     * </p>
+     *
+     * @return one feed per provider with the stations it won; providers that won no station are left out.
+     */
+    private static List<ObservationFeed> merge(List<FetchResult> results) {
+        List<FetchResult> ranked = new ArrayList<>(results);
+        ranked.sort(Comparator.comparing(FetchResult::observationTime).reversed()
+                .thenComparingLong(FetchResult::nanos));
+
+        Set<String> taken = new HashSet<>();
+        List<ObservationFeed> merged = new ArrayList<>();
+        for (FetchResult result : ranked) {
+            ObservationFeed feed = result.feed();
+            List<Station> won = feed.stations().stream()
+                    .filter(station -> taken.add(station.getWmoCode()))
+                    .toList();
+            if (!won.isEmpty()) {
+                merged.add(new ObservationFeed(feed.provider(), feed.timestamp(), won, feed.eTag(), feed.lastModified()));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Reports a completed stage and returns the start time of the next one.
+     */
+    private static long lap(IngestionListener listener, String stage, long start) {
+        long now = System.nanoTime();
+        listener.stageCompleted(stage, now - start);
+        return now;
+    }
+
+    /**
+     * Loads all cities in one query and indexes them by WMO code.
+     *
+     * @return the cities by WMO code; if several cities share a code the first one wins.
+     */
+    private Map<String, City> indexCitiesByWmoCode() {
+        List<City> cities = cityRepository.findAll();
+        Map<String, City> index = HashMap.newHashMap(cities.size());
+        for (City city : cities) {
+            if (city.getWmoCode() != null) {
+                index.putIfAbsent(city.getWmoCode(), city);
+            }
+        }
+        return index;
+    }
+
     /**
      * Parses the observation timestamp from a String into a LocalDateTime.
      *
@@ -112,4 +350,15 @@ public class WeatherReadingServiceImpl implements WeatherReadingService {
             throw new ParseObservationTimeException("Could not parse timestamp into into provided format.");
         }
     }
+
+    @Override
+    public void destroy() {
+        fetchExecutor.shutdownNow();
+    }
+
+    /**
+     * A changed feed together with its parsed observation time and how long its provider took.
+     */
+    private record FetchResult(ObservationFeed feed, LocalDateTime observationTime, long nanos) {
+    }
 }
@@ -0,0 +1,241 @@
+package com.foodDelivery.api.service.impl;
+
+import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.model.WeatherAggregate;
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.model.enums.AggregateGranularity;
+import com.foodDelivery.api.repository.WeatherAggregateRepository;
+import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.retention.RetentionResult;
+import com.foodDelivery.api.retention.WeatherAggregateAccumulator;
+import com.foodDelivery.api.retention.WeatherSample;
+import com.foodDelivery.api.service.WeatherHistoryService;
+import com.foodDelivery.api.service.WeatherRetentionService;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the WeatherRetentionService interface.
+ *
+ * <p>
+ *     Raw weather data older than {@code weather-retention.raw-window} is rolled up into hourly
+ *     aggregates, and hourly aggregates older than {@code weather-retention.hourly-window} into
+ *     daily ones. The cutoffs are aligned to the start of an hour and of a day, so a period is only
+ *     rolled up once it is complete. Observations that arrive for an already rolled up period,
+ *     e.g. from a backfill, are merged into its aggregate on the next run.
+ * </p>
+ * <p>
+ *     The rows are streamed ordered by city and time, so only one period is accumulated at a time,
+ *     and the aggregates are written in JDBC batches. Every rollup runs in one transaction
+ *     together with the deletion of its input; the in-memory weather history is only trimmed
+ *     after the transaction has committed.
+ * </p>
+ */
+@Service
+public class WeatherRetentionServiceImpl implements WeatherRetentionService {
+
+    private static final ZoneId OBSERVATION_ZONE = ZoneId.of("Europe/Tallinn");
+
+    private final WeatherDataRepository weatherDataRepository;
+    private final WeatherAggregateRepository weatherAggregateRepository;
+    private final WeatherHistoryService weatherHistoryService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration rawWindow;
+    private final Duration hourlyWindow;
+    private final int batchSize;
+
+    public WeatherRetentionServiceImpl(WeatherDataRepository weatherDataRepository,
+                                       WeatherAggregateRepository weatherAggregateRepository,
+                                       WeatherHistoryService weatherHistoryService,
+                                       EntityManager entityManager,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${weather-retention.raw-window:30d}") Duration rawWindow,
+                                       @Value("${weather-retention.hourly-window:365d}") Duration hourlyWindow,
+                                       @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        if (hourlyWindow.compareTo(rawWindow) < 0) {
+            throw new IllegalArgumentException("weather-retention.hourly-window must not be shorter than the raw window.");
+        }
+        this.weatherDataRepository = weatherDataRepository;
+        this.weatherAggregateRepository = weatherAggregateRepository;
+        this.weatherHistoryService = weatherHistoryService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rawWindow = rawWindow;
+        this.hourlyWindow = hourlyWindow;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Applies the retention relative to the current time; scheduled through
+     * {@link WeatherReadingJobServiceImpl#submitRetention()}, so it never runs alongside an ingestion.
+     */
+    @Override
+    public void applyRetention() {
+        applyRetention(LocalDateTime.now(OBSERVATION_ZONE));
+    }
+
+    @Override
+    public RetentionResult applyRetention(LocalDateTime now) {
+        LocalDateTime rawCutoff = AggregateGranularity.HOURLY.periodStart(now.minus(rawWindow));
+        LocalDateTime hourlyCutoff = AggregateGranularity.DAILY.periodStart(now.minus(hourlyWindow));
+
+        Integer rawRows = transactionTemplate.execute(status -> rollUpRawData(rawCutoff));
+        weatherHistoryService.removeBefore(rawCutoff);
+        Integer hourlyAggregates = transactionTemplate.execute(status -> rollUpHourlyAggregates(hourlyCutoff));
+
+        return new RetentionResult(rawCutoff, hourlyCutoff, rawRows, hourlyAggregates);
+    }
+
+    @Override
+    public WeatherData findLatestAggregate(String cityName, LocalDateTime dateTime) {
+        WeatherAggregate aggregate = weatherAggregateRepository
+                .findTopByCityCityNameAndGranularityAndPeriodStartLessThanEqualOrderByPeriodStartDesc(
+                        cityName, AggregateGranularity.HOURLY, dateTime);
+        if (aggregate == null) {
+            aggregate = weatherAggregateRepository
+                    .findTopByCityCityNameAndGranularityAndPeriodStartLessThanEqualOrderByPeriodStartDesc(
+                            cityName, AggregateGranularity.DAILY, dateTime);
+        }
+        return aggregate != null ? toWeatherData(aggregate) : null;
+    }
+
+    @Override
+    public List<WeatherData> findAggregatesBetween(String cityName, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime rawCutoff = AggregateGranularity.HOURLY.periodStart(LocalDateTime.now(OBSERVATION_ZONE).minus(rawWindow));
+        if (!from.isBefore(rawCutoff)) {
+            return List.of();
+        }
+
+        return weatherAggregateRepository.findByCityInPeriod(cityName, from, to).stream()
+                .map(WeatherRetentionServiceImpl::toWeatherData)
+                .toList();
+    }
+
+    private static WeatherData toWeatherData(WeatherAggregate aggregate) {
+        WeatherData weatherData = new WeatherData();
+        weatherData.setObservationTime(aggregate.getPeriodStart());
+        weatherData.setAirTemperature(aggregate.getAvgAirTemperature());
+        weatherData.setWindSpeed(aggregate.getAvgWindSpeed());
+        weatherData.setWeatherPhenomenon(aggregate.getDominantPhenomenon());
+        return weatherData;
+    }
+
+    private int rollUpRawData(LocalDateTime cutoff) {
+        LocalDateTime earliest = weatherDataRepository.findEarliestObservationTimeBefore(cutoff);
+        if (earliest == null) {
+            return 0;
+        }
+
+        Rollup rollup = new Rollup(AggregateGranularity.HOURLY, earliest, cutoff);
+        try (Stream<WeatherSample> samples = weatherDataRepository.streamObservedBefore(cutoff)) {
+            Iterator<WeatherSample> iterator = samples.iterator();
+            while (iterator.hasNext()) {
+                WeatherSample sample = iterator.next();
+                rollup.accumulatorFor(sample.cityId(), sample.observationTime()).add(sample);
+            }
+        }
+        rollup.finish();
+
+        return weatherDataRepository.deleteObservedBefore(cutoff);
+    }
+
+    private int rollUpHourlyAggregates(LocalDateTime cutoff) {
+        List<WeatherAggregate> hourly = weatherAggregateRepository.findStartedBefore(AggregateGranularity.HOURLY, cutoff);
+        if (hourly.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime earliest = hourly.stream()
+                .map(WeatherAggregate::getPeriodStart)
+                .min(LocalDateTime::compareTo)
+                .orElseThrow();
+        Rollup rollup = new Rollup(AggregateGranularity.DAILY, earliest, cutoff);
+        for (WeatherAggregate aggregate : hourly) {
+            rollup.accumulatorFor(aggregate.getCity().getCityId(), aggregate.getPeriodStart()).add(aggregate);
+        }
+        rollup.finish();
+
+        return weatherAggregateRepository.deleteStartedBefore(AggregateGranularity.HOURLY, cutoff);
+    }
+
+    /**
+     * Accumulates one period of one city at a time from input ordered by city and time and writes
+     * the finished aggregates in batches.
+     */
+    private final class Rollup {
+
+        private final AggregateGranularity granularity;
+        private final Map<AggregateKey, WeatherAggregate> existing = new HashMap<>();
+        private AggregateKey currentKey;
+        private WeatherAggregateAccumulator current;
+        private int pending;
+
+        Rollup(AggregateGranularity granularity, LocalDateTime from, LocalDateTime to) {
+            this.granularity = granularity;
+            for (WeatherAggregate aggregate : weatherAggregateRepository.findInPeriod(
+                    granularity, granularity.periodStart(from), to)) {
+                existing.put(new AggregateKey(aggregate.getCity().getCityId(), aggregate.getPeriodStart()), aggregate);
+            }
+        }
+
+        WeatherAggregateAccumulator accumulatorFor(Long cityId, LocalDateTime time) {
+            AggregateKey key = new AggregateKey(cityId, granularity.periodStart(time));
+            if (!key.equals(currentKey)) {
+                write();
+                currentKey = key;
+                current = new WeatherAggregateAccumulator();
+            }
+            return current;
+        }
+
+        void finish() {
+            write();
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        private void write() {
+            if (current == null) {
+                return;
+            }
+
+            WeatherAggregate aggregate = existing.get(currentKey);
+            if (aggregate != null) {
+                current.add(aggregate);
+                current.writeTo(aggregate);
+                entityManager.merge(aggregate);
+            } else {
+                aggregate = new WeatherAggregate();
+                aggregate.setCity(entityManager.getReference(City.class, currentKey.cityId()));
+                aggregate.setGranularity(granularity);
+                aggregate.setPeriodStart(currentKey.periodStart());
+                current.writeTo(aggregate);
+                entityManager.persist(aggregate);
+            }
+
+            if (++pending % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+    }
+
+    /**
+     * The city and period of an aggregate.
+     */
+    private record AggregateKey(Long cityId, LocalDateTime periodStart) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.foodDelivery.api.xml;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Streaming pull-parser for the observations XML feed.
+ *
+ * <p>
+ *     The feed is read element by element with StAX instead of being bound into a full
+ *     {@link Observations} object graph. Inside a station only the fields that are mapped
+ *     by {@link Station} are kept, and as soon as the WMO code of a station is known to be
+ *     irrelevant the rest of the station element is skipped. Only stations that pass the
+ *     filter are materialized.
+ * </p>
+ */
+public final class ObservationsStreamReader {
+
+    private final XMLInputFactory factory;
+
+    public ObservationsStreamReader() {
+        factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * Reads the observations feed and emits every station whose WMO code passes the filter.
+     *
+     * @param input the XML feed; it is not closed.
+     * @param wmoCodeFilter decides which stations are emitted by their WMO code.
+     * @param stations receives the matching stations in document order.
+     * @return the timestamp attribute of the observations element, or null if it is missing.
+     * @throws XMLStreamException if the feed is not well-formed XML.
+     */
+    public String read(InputStream input, Predicate<String> wmoCodeFilter, Consumer<Station> stations)
+            throws XMLStreamException {
+        return read(input, timestamp -> true, wmoCodeFilter, stations);
+    }
+
+    /**
+     * Reads the observations feed and emits every station whose WMO code passes the filter.
+     *
+     * <p>
+     *     If the timestamp of the feed does not pass the timestamp filter, reading stops right
+     *     after the observations element and no station is emitted.
+     * </p>
+     *
+     * @param input the XML feed; it is not closed.
+     * @param timestampFilter decides whether the stations of the feed are read at all.
+     * @param wmoCodeFilter decides which stations are emitted by their WMO code.
+     * @param stations receives the matching stations in document order.
+     * @return the timestamp attribute of the observations element, or null if it is missing.
+     * @throws XMLStreamException if the feed is not well-formed XML.
+     */
+    public String read(InputStream input, Predicate<String> timestampFilter,
+                       Predicate<String> wmoCodeFilter, Consumer<Station> stations) throws XMLStreamException {
+        XMLStreamReader reader = factory.createXMLStreamReader(input);
+        try {
+            String timestamp = null;
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+
+                switch (reader.getLocalName()) {
+                    case "observations" -> {
+                        timestamp = reader.getAttributeValue(null, "timestamp");
+                        if (!timestampFilter.test(timestamp)) {
+                            return timestamp;
+                        }
+                    }
+                    case "station" -> {
+                        Station station = readStation(reader, wmoCodeFilter);
+                        if (station != null) {
+                            stations.accept(station);
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+            return timestamp;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private Station readStation(XMLStreamReader reader, Predicate<String> wmoCodeFilter) throws XMLStreamException {
+        Station station = new Station();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "name" -> station.setName(reader.getElementText());
+                case "wmocode" -> {
+                    station.setWmoCode(reader.getElementText().trim());
+                    if (!wmoCodeFilter.test(station.getWmoCode())) {
+                        skipElement(reader);
+                        return null;
+                    }
+                }
+                case "phenomenon" -> station.setPhenomenon(emptyToNull(reader.getElementText()));
+                case "airtemperature" -> station.setAirTemperature(toDouble(reader.getElementText()));
+                case "windspeed" -> station.setWindSpeed(toDouble(reader.getElementText()));
+                default -> skipElement(reader);
+            }
+        }
+        return station.getWmoCode() != null ? station : null;
+    }
+
+    /**
+     * Skips the current element including all of its children.
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static String emptyToNull(String text) {
+        String trimmed = text.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static Double toDouble(String text) {
+        String trimmed = text.trim();
+        return trimmed.isEmpty() ? null : Double.valueOf(trimmed);
+    }
+}
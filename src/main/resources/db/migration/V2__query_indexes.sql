@@ -0,0 +1,22 @@
+-- Version 2: secondary indexes for the repository queries and a unique base fee per city and vehicle.
+-- Version 1 is schema.sql. Every statement is idempotent, so the script can run on every startup.
+
+-- CityRepository.findByWmoCode, city lookups by name in every WEATHER_DATA and BASE_FEE query
+CREATE INDEX IF NOT EXISTS IDX_CITY_WMO_CODE ON CITY (wmo_code);
+CREATE INDEX IF NOT EXISTS IDX_CITY_CITY_NAME ON CITY (city_name);
+
+-- vehicle lookups by type in the BASE_FEE and CONDITIONS queries
+CREATE INDEX IF NOT EXISTS IDX_VEHICLE_VEHICLE_TYPE ON VEHICLE (vehicle_type);
+
+-- WEATHER_DATA lookups by city and time use the (city_id, observation_time) unique index;
+-- this one serves lookups by time alone: findByObservationTimeAndCityIds, the retention queries
+CREATE INDEX IF NOT EXISTS IDX_WEATHER_DATA_OBSERVATION_TIME ON WEATHER_DATA (observation_time, city_id);
+
+-- WeatherAggregateRepository.findInPeriod, findStartedBefore and deleteStartedBefore
+CREATE INDEX IF NOT EXISTS IDX_WEATHER_AGGREGATE_GRANULARITY_PERIOD ON WEATHER_AGGREGATE (granularity, period_start);
+
+-- ConditionsRepository.findPhenomenonConditions, findTemperatureConditions and findWindConditions
+CREATE INDEX IF NOT EXISTS IDX_CONDITIONS_VEHICLE_TYPE_PHENOMENON ON CONDITIONS (vehicle_id, condition_type, phenomenon);
+
+-- BaseFeeRepository.findByCity_CityNameAndVehicle_VehicleType; one base fee per city and vehicle
+ALTER TABLE BASE_FEE ADD CONSTRAINT IF NOT EXISTS UK_BASE_FEE_CITY_VEHICLE UNIQUE (city_id, vehicle_id);
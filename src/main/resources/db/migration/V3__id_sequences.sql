@@ -0,0 +1,15 @@
+-- Version 3: pooled id sequences for CITY, VEHICLE, BASE_FEE and CONDITIONS, so Hibernate can batch their inserts.
+-- The seed rows of schema.sql keep their AUTO_INCREMENT ids. Hibernate treats a sequence value as the last id
+-- of a block of 50, so every sequence starts 50 past the largest existing id.
+
+CREATE SEQUENCE IF NOT EXISTS CITY_SEQ
+    START WITH (SELECT COALESCE(MAX(city_id), 0) + 50 FROM CITY) INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS VEHICLE_SEQ
+    START WITH (SELECT COALESCE(MAX(vehicle_id), 0) + 50 FROM VEHICLE) INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS BASE_FEE_SEQ
+    START WITH (SELECT COALESCE(MAX(base_fee_id), 0) + 50 FROM BASE_FEE) INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS CONDITIONS_SEQ
+    START WITH (SELECT COALESCE(MAX(conditions_id), 0) + 50 FROM CONDITIONS) INCREMENT BY 50;
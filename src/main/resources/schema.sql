@@ -1,8 +1,15 @@
 DROP TABLE IF EXISTS BASE_FEE;
+DROP TABLE IF EXISTS WEATHER_AGGREGATE;
 DROP TABLE IF EXISTS WEATHER_DATA;
 DROP TABLE IF EXISTS CONDITIONS;
 DROP TABLE IF EXISTS VEHICLE;
 DROP TABLE IF EXISTS CITY;
+DROP SEQUENCE IF EXISTS WEATHER_DATA_SEQ;
+DROP SEQUENCE IF EXISTS WEATHER_AGGREGATE_SEQ;
+DROP SEQUENCE IF EXISTS CITY_SEQ;
+DROP SEQUENCE IF EXISTS VEHICLE_SEQ;
+DROP SEQUENCE IF EXISTS BASE_FEE_SEQ;
+DROP SEQUENCE IF EXISTS CONDITIONS_SEQ;
 
 CREATE TABLE CITY (
     city_id INT AUTO_INCREMENT PRIMARY KEY,
@@ -16,14 +23,36 @@ CREATE TABLE VEHICLE (
     vehicle_type VARCHAR(50) NOT NULL
 );
 
+CREATE SEQUENCE WEATHER_DATA_SEQ START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE WEATHER_DATA (
-    weather_data_id INT AUTO_INCREMENT PRIMARY KEY,
+    weather_data_id BIGINT PRIMARY KEY,
     city_id INT NOT NULL,
     air_temperature DECIMAL(5, 2),
     wind_speed DECIMAL(5, 2),
     weather_phenomenon VARCHAR(100),
     observation_time TIMESTAMP NOT NULL,
-    FOREIGN KEY (city_id) REFERENCES CITY(city_id)
+    FOREIGN KEY (city_id) REFERENCES CITY(city_id),
+    UNIQUE (city_id, observation_time)
+);
+
+CREATE SEQUENCE WEATHER_AGGREGATE_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE WEATHER_AGGREGATE (
+    weather_aggregate_id BIGINT PRIMARY KEY,
+    city_id INT NOT NULL,
+    granularity VARCHAR(10) NOT NULL,
+    period_start TIMESTAMP NOT NULL,
+    sample_count INT NOT NULL,
+    min_air_temperature DECIMAL(5, 2),
+    max_air_temperature DECIMAL(5, 2),
+    avg_air_temperature DECIMAL(5, 2),
+    min_wind_speed DECIMAL(5, 2),
+    max_wind_speed DECIMAL(5, 2),
+    avg_wind_speed DECIMAL(5, 2),
+    dominant_phenomenon VARCHAR(100),
+    FOREIGN KEY (city_id) REFERENCES CITY(city_id),
+    UNIQUE (city_id, granularity, period_start)
 );
 
 CREATE TABLE BASE_FEE (
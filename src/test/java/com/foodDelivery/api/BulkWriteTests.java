@@ -0,0 +1,134 @@
+package com.foodDelivery.api;
+
+import com.foodDelivery.api.dto.BulkResultDTO;
+import com.foodDelivery.api.dto.ConditionsDTO;
+import com.foodDelivery.api.model.enums.BulkMode;
+import com.foodDelivery.api.model.enums.ConditionType;
+import com.foodDelivery.api.repository.ConditionsRepository;
+import com.foodDelivery.api.service.ConditionsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the bulk writes against the database: batching, per-item results and all-or-nothing.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BulkWriteTests {
+
+    private static final long BIKE = 3L;
+
+    @Autowired
+    private ConditionsService conditionsService;
+
+    @Autowired
+    private ConditionsRepository conditionsRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final List<Long> created = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        conditionsService.deleteAll(created, BulkMode.PER_ITEM);
+    }
+
+    @Test
+    void testCreateAllSendsInsertsInBatches() {
+        long small = countStatements(10);
+        long large = countStatements(40);
+
+        assertEquals(50, created.stream().distinct().count());
+        // the 30 more rows go into the same insert batch, and may take one more block of sequence ids
+        assertTrue(large - small <= 1, small + " statements for 10 rows, " + large + " for 40");
+    }
+
+    private long countStatements(int rows) {
+        List<ConditionsDTO> dtos = IntStream.range(0, rows)
+                .mapToObj(i -> phenomenon(BIKE, "Bulk phenomenon " + rows + "/" + i)).toList();
+        statistics.clear();
+        List<BulkResultDTO<ConditionsDTO>> results = create(dtos, BulkMode.ALL_OR_NOTHING);
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == 201));
+        assertEquals(rows, statistics.getEntityInsertCount());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void testAllOrNothingWritesNothingIfOneItemFails() {
+        long before = conditionsRepository.count();
+
+        List<BulkResultDTO<ConditionsDTO>> results = create(List.of(
+                phenomenon(BIKE, "Bulk hail"), phenomenon(404L, "Bulk sleet"), phenomenon(BIKE, "Bulk fog")),
+                BulkMode.ALL_OR_NOTHING);
+
+        assertEquals(List.of(424, 404, 424), results.stream().map(BulkResultDTO::getStatus).toList());
+        assertEquals(before, conditionsRepository.count());
+    }
+
+    @Test
+    void testAllOrNothingUpdatesNothingIfOneItemFails() {
+        ConditionsDTO hail = create(List.of(phenomenon(BIKE, "Bulk hail")), BulkMode.PER_ITEM).getFirst().getItem();
+        String etag = conditionsService.etag();
+
+        hail.setConditionFee(2.5);
+        List<BulkResultDTO<ConditionsDTO>> results = conditionsService.updateAll(
+                List.of(hail, phenomenon(BIKE, "Bulk missing")), BulkMode.ALL_OR_NOTHING);
+
+        assertEquals(List.of(424, 404), results.stream().map(BulkResultDTO::getStatus).toList());
+        assertEquals(1.0, conditionsService.getById(hail.getConditionsId()).getConditionFee());
+        assertEquals(etag, conditionsService.etag());
+    }
+
+    @Test
+    void testPerItemWritesTheOtherItems() {
+        List<BulkResultDTO<ConditionsDTO>> results = create(List.of(
+                phenomenon(BIKE, "Bulk hail"), phenomenon(404L, "Bulk sleet"), phenomenon(BIKE, "Bulk fog")),
+                BulkMode.PER_ITEM);
+        assertEquals(List.of(201, 404, 201), results.stream().map(BulkResultDTO::getStatus).toList());
+
+        ConditionsDTO hail = results.getFirst().getItem();
+        hail.setConditionFee(2.5);
+        List<BulkResultDTO<ConditionsDTO>> updated = conditionsService.updateAll(
+                List.of(hail, phenomenon(BIKE, "Bulk missing")), BulkMode.PER_ITEM);
+        assertEquals(List.of(200, 404), updated.stream().map(BulkResultDTO::getStatus).toList());
+        assertEquals(2.5, conditionsService.getById(hail.getConditionsId()).getConditionFee());
+
+        Long fog = results.get(2).getItem().getConditionsId();
+        List<BulkResultDTO<ConditionsDTO>> deleted = conditionsService.deleteAll(List.of(fog, -1L), BulkMode.PER_ITEM);
+        assertEquals(List.of(200, 404), deleted.stream().map(BulkResultDTO::getStatus).toList());
+        assertTrue(conditionsRepository.findById(fog).isEmpty());
+        assertNull(deleted.get(1).getItem());
+    }
+
+    private List<BulkResultDTO<ConditionsDTO>> create(List<ConditionsDTO> dtos, BulkMode mode) {
+        List<BulkResultDTO<ConditionsDTO>> results = conditionsService.createAll(dtos, mode);
+        results.stream().map(BulkResultDTO::getItem).filter(Objects::nonNull)
+                .forEach(item -> created.add(item.getConditionsId()));
+        return results;
+    }
+
+    private static ConditionsDTO phenomenon(Long vehicleId, String phenomenon) {
+        return new ConditionsDTO(null, vehicleId, ConditionType.PHENOMENON, null, null, phenomenon, 1.0, false);
+    }
+}
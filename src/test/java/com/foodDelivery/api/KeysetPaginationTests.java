@@ -0,0 +1,155 @@
+package com.foodDelivery.api;
+
+import com.foodDelivery.api.dto.BaseFeeDTO;
+import com.foodDelivery.api.dto.ConditionsDTO;
+import com.foodDelivery.api.dto.ListQueryDTO;
+import com.foodDelivery.api.dto.WeatherDataDTO;
+import com.foodDelivery.api.exception.InvalidListQueryException;
+import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.model.enums.ConditionType;
+import com.foodDelivery.api.model.enums.VehicleType;
+import com.foodDelivery.api.paging.KeysetPage;
+import com.foodDelivery.api.repository.CityRepository;
+import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.service.BaseFeeService;
+import com.foodDelivery.api.service.ConditionsService;
+import com.foodDelivery.api.service.WeatherDataService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the keyset pagination and the filters of the CRUD lists against the database.
+ */
+@SpringBootTest
+class KeysetPaginationTests {
+
+    private static final LocalDateTime START = LocalDateTime.of(2021, 6, 1, 12, 0);
+
+    @Autowired
+    private WeatherDataService weatherDataService;
+
+    @Autowired
+    private BaseFeeService baseFeeService;
+
+    @Autowired
+    private ConditionsService conditionsService;
+
+    @Autowired
+    private WeatherDataRepository weatherDataRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    private final List<WeatherData> saved = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        weatherDataRepository.deleteAll(saved);
+    }
+
+    @Test
+    void testWeatherDataPagesFollowObservationTime() {
+        City tallinn = city("Tallinn");
+        City tartu = city("Tartu");
+        // saved out of time order, with two cities observed at the same times
+        for (int minute : new int[]{30, 0, 45, 15}) {
+            save(tallinn, START.plusMinutes(minute));
+            save(tartu, START.plusMinutes(minute));
+        }
+
+        List<WeatherDataDTO> all = readAll(query(null, START, START.plusHours(1)), 3);
+        assertEquals(8, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertFalse(all.get(i).getObservationTime().isBefore(all.get(i - 1).getObservationTime()));
+        }
+        assertEquals(8, all.stream().map(WeatherDataDTO::getWeatherDataId).distinct().count());
+
+        List<WeatherDataDTO> tartuOnly = readAll(query("Tartu", START, null), 3);
+        assertEquals(List.of(START, START.plusMinutes(15), START.plusMinutes(30), START.plusMinutes(45)),
+                tartuOnly.stream().map(WeatherDataDTO::getObservationTime).toList());
+        assertTrue(tartuOnly.stream().allMatch(dto -> dto.getCityId().equals(tartu.getCityId())));
+
+        assertTrue(weatherDataService.getAll(query("Narva", null, null)).items().isEmpty());
+    }
+
+    @Test
+    void testRuleListsAreFiltered() {
+        ListQueryDTO baseFeeQuery = new ListQueryDTO();
+        baseFeeQuery.setCityName("Tartu");
+        baseFeeQuery.setVehicleType(VehicleType.BIKE);
+        List<BaseFeeDTO> baseFees = baseFeeService.getAll(baseFeeQuery).items();
+        assertEquals(1, baseFees.size());
+        assertEquals(city("Tartu").getCityId(), baseFees.getFirst().getCityId());
+
+        ListQueryDTO conditionsQuery = new ListQueryDTO();
+        conditionsQuery.setVehicleType(VehicleType.SCOOTER);
+        conditionsQuery.setConditionType(ConditionType.TEMPERATURE);
+        conditionsQuery.setLimit(1);
+        KeysetPage<ConditionsDTO> first = conditionsService.getAll(conditionsQuery);
+        assertEquals(1, first.items().size());
+        assertNotNull(first.nextCursor());
+        assertEquals(ConditionType.TEMPERATURE, first.items().getFirst().getConditionType());
+
+        conditionsQuery.setAfter(first.nextCursor());
+        KeysetPage<ConditionsDTO> second = conditionsService.getAll(conditionsQuery);
+        assertTrue(second.items().getFirst().getConditionsId() > first.items().getFirst().getConditionsId());
+    }
+
+    @Test
+    void testInvalidLimitAndCursorAreRejected() {
+        ListQueryDTO query = new ListQueryDTO();
+        query.setLimit(0);
+        assertThrows(InvalidListQueryException.class, () -> baseFeeService.getAll(query));
+
+        query.setLimit(null);
+        query.setAfter("not a cursor");
+        assertThrows(InvalidListQueryException.class, () -> weatherDataService.getAll(query));
+    }
+
+    private List<WeatherDataDTO> readAll(ListQueryDTO query, int limit) {
+        query.setLimit(limit);
+        List<WeatherDataDTO> all = new ArrayList<>();
+        KeysetPage<WeatherDataDTO> page;
+        do {
+            page = weatherDataService.getAll(query);
+            assertTrue(page.items().size() <= limit);
+            all.addAll(page.items());
+            query.setAfter(page.nextCursor());
+        } while (page.nextCursor() != null);
+        return all;
+    }
+
+    private static ListQueryDTO query(String cityName, LocalDateTime from, LocalDateTime to) {
+        ListQueryDTO query = new ListQueryDTO();
+        query.setCityName(cityName);
+        query.setFrom(from);
+        query.setTo(to);
+        return query;
+    }
+
+    private City city(String name) {
+        return cityRepository.findAll().stream()
+                .filter(city -> city.getCityName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void save(City city, LocalDateTime observationTime) {
+        WeatherData weatherData = new WeatherData();
+        weatherData.setCity(city);
+        weatherData.setAirTemperature(10.0);
+        weatherData.setWindSpeed(3.0);
+        weatherData.setWeatherPhenomenon("Clear");
+        weatherData.setObservationTime(observationTime);
+        saved.add(weatherDataRepository.save(weatherData));
+    }
+}
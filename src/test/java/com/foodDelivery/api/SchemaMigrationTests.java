@@ -0,0 +1,44 @@
+package com.foodDelivery.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that the versioned migrations run after schema.sql.
+ */
+@SpringBootTest
+class SchemaMigrationTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testQueryIndexesExist() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME LIKE 'IDX_%'", String.class);
+
+        assertTrue(indexes.containsAll(List.of(
+                "IDX_CITY_WMO_CODE",
+                "IDX_CITY_CITY_NAME",
+                "IDX_VEHICLE_VEHICLE_TYPE",
+                "IDX_WEATHER_DATA_OBSERVATION_TIME",
+                "IDX_WEATHER_AGGREGATE_GRANULARITY_PERIOD",
+                "IDX_CONDITIONS_VEHICLE_TYPE_PHENOMENON"
+        )), indexes.toString());
+    }
+
+    @Test
+    void testBaseFeeIsUniquePerCityAndVehicle() {
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO BASE_FEE (city_id, vehicle_id, vehicle_fee) " +
+                        "SELECT city_id, vehicle_id, 1.00 FROM BASE_FEE FETCH FIRST ROW ONLY"));
+    }
+}
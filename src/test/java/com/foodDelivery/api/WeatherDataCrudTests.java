@@ -0,0 +1,60 @@
+package com.foodDelivery.api;
+
+import com.foodDelivery.api.dto.WeatherDataDTO;
+import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.repository.CityRepository;
+import com.foodDelivery.api.service.DeliveryFeeService;
+import com.foodDelivery.api.service.WeatherDataService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Tests the WeatherData CRUD operations with the real mapper and repository.
+ */
+@SpringBootTest
+class WeatherDataCrudTests {
+
+    private static final LocalDateTime OBSERVATION_TIME = LocalDateTime.of(2019, 6, 1, 12, 0);
+
+    @Autowired
+    private WeatherDataService weatherDataService;
+
+    @Autowired
+    private DeliveryFeeService deliveryFeeService;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    private Long created;
+
+    @AfterEach
+    void tearDown() {
+        if (created != null) {
+            weatherDataService.delete(created);
+        }
+    }
+
+    @Test
+    void testCreatedWeatherDataIsUsedForHistoricalFees() {
+        City tartu = cityRepository.findAll().stream()
+                .filter(city -> city.getCityName().equals("Tartu"))
+                .findFirst()
+                .orElseThrow();
+
+        WeatherDataDTO dto = new WeatherDataDTO(null, tartu.getCityId(), -5.0, 5.0, "Clear", OBSERVATION_TIME);
+        WeatherDataDTO saved = weatherDataService.create(dto);
+        created = saved.getWeatherDataId();
+
+        assertNotNull(created);
+        assertEquals(tartu.getCityId(), saved.getCityId());
+        // base fee 2.5 and 0.5 for the air temperature between -10 and 0
+        assertEquals(3.0, deliveryFeeService.calculateDeliveryFee("Tartu", "BIKE", OBSERVATION_TIME.plusMinutes(10)));
+    }
+}
@@ -0,0 +1,118 @@
+package com.foodDelivery.api;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodDelivery.api.dto.WeatherDataDTO;
+import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.model.enums.ExportFormat;
+import com.foodDelivery.api.repository.CityRepository;
+import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.service.WeatherDataExportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that the weather data export writes the filtered rows in observation order.
+ */
+@SpringBootTest
+class WeatherDataExportTests {
+
+    private static final LocalDateTime START = LocalDateTime.of(2021, 9, 1, 8, 0);
+
+    @Autowired
+    private WeatherDataExportService weatherDataExportService;
+
+    @Autowired
+    private WeatherDataRepository weatherDataRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<WeatherData> saved = new ArrayList<>();
+    private City tallinn;
+    private City tartu;
+
+    @BeforeEach
+    void setUp() {
+        tallinn = city("Tallinn");
+        tartu = city("Tartu");
+        save(tartu, START.plusMinutes(15), "Light rain");
+        save(tallinn, START.plusMinutes(15), "Clear");
+        save(tallinn, START, "Rain, \"heavy\"");
+        save(tallinn, START.plusHours(2), "Clear");
+    }
+
+    @AfterEach
+    void tearDown() {
+        weatherDataRepository.deleteAll(saved);
+    }
+
+    @Test
+    void testExportAsCsv() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        weatherDataExportService.export(ExportFormat.CSV, "Tallinn", START, START.plusHours(1), output);
+
+        assertEquals(String.join("\n",
+                "weatherDataId,cityId,airTemperature,windSpeed,weatherPhenomenon,observationTime",
+                saved.get(2).getWeatherDataId() + "," + tallinn.getCityId() + ",-1.5,4.0,\"Rain, \"\"heavy\"\"\",2021-09-01T08:00:00",
+                saved.get(1).getWeatherDataId() + "," + tallinn.getCityId() + ",-1.5,4.0,Clear,2021-09-01T08:15:00",
+                ""), output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExportAsJson() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        weatherDataExportService.export(ExportFormat.JSON, null, START, START.plusDays(1), output);
+
+        List<WeatherDataDTO> rows = objectMapper.readValue(output.toByteArray(), new TypeReference<>() {
+        });
+        assertEquals(List.of(saved.get(2).getWeatherDataId(), saved.get(0).getWeatherDataId(),
+                        saved.get(1).getWeatherDataId(), saved.get(3).getWeatherDataId()),
+                rows.stream().map(WeatherDataDTO::getWeatherDataId).toList());
+        assertEquals(tartu.getCityId(), rows.get(1).getCityId());
+        assertEquals(START, rows.getFirst().getObservationTime());
+    }
+
+    @Test
+    void testExportOfUnknownCityIsEmpty() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        weatherDataExportService.export(ExportFormat.JSON, "Narva", null, null, output);
+
+        assertEquals("[]", output.toString(StandardCharsets.UTF_8));
+    }
+
+    private City city(String name) {
+        return cityRepository.findAll().stream()
+                .filter(city -> city.getCityName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void save(City city, LocalDateTime observationTime, String phenomenon) {
+        WeatherData weatherData = new WeatherData();
+        weatherData.setCity(city);
+        weatherData.setAirTemperature(-1.5);
+        weatherData.setWindSpeed(4.0);
+        weatherData.setWeatherPhenomenon(phenomenon);
+        weatherData.setObservationTime(observationTime);
+        saved.add(weatherDataRepository.save(weatherData));
+    }
+}
@@ -0,0 +1,72 @@
+package com.foodDelivery.api;
+
+import com.foodDelivery.api.service.WeatherReadingService;
+import com.foodDelivery.api.xml.Station;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that storing an ingested feed runs the same number of SQL statements regardless of the station count.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class WeatherIngestionStatementCountTests {
+
+    @Autowired
+    private WeatherReadingService weatherReadingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // allocates the first block of sequence ids, so the measured runs do not fetch one
+        weatherReadingService.storeObservations("1742472839", feed(10));
+    }
+
+    @Test
+    void testStatementCountDoesNotGrowWithStations() {
+        long small = countStatements(feed(10));
+        long large = countStatements(feed(5_000));
+
+        assertTrue(small > 0);
+        assertEquals(small, large);
+    }
+
+    private long countStatements(List<Station> stations) {
+        statistics.clear();
+        weatherReadingService.storeObservations("1742472839", stations);
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Creates a feed with one station for each city from schema.sql and unknown stations for the rest.
+     */
+    private static List<Station> feed(int stationCount) {
+        List<String> cityCodes = List.of("26038", "26242", "41803");
+        List<Station> stations = new ArrayList<>();
+        for (int i = 0; i < stationCount; i++) {
+            Station station = new Station();
+            station.setName("Station " + i);
+            station.setWmoCode(i < cityCodes.size() ? cityCodes.get(i) : Integer.toString(30000 + i));
+            station.setAirTemperature(1.0);
+            station.setWindSpeed(2.0);
+            station.setPhenomenon("Clear");
+            stations.add(station);
+        }
+        return stations;
+    }
+}
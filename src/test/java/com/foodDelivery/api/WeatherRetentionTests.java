@@ -0,0 +1,121 @@
+package com.foodDelivery.api;
+
+import com.foodDelivery.api.dto.DeliveryFeeSeriesPointDTO;
+import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.model.WeatherAggregate;
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.model.enums.AggregateGranularity;
+import com.foodDelivery.api.repository.CityRepository;
+import com.foodDelivery.api.repository.WeatherAggregateRepository;
+import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.retention.RetentionResult;
+import com.foodDelivery.api.service.DeliveryFeeService;
+import com.foodDelivery.api.service.WeatherHistoryService;
+import com.foodDelivery.api.service.WeatherRetentionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests that old weather data is rolled up into hourly and then daily aggregates and that
+ * historical fee lookups fall back to them.
+ */
+@SpringBootTest
+class WeatherRetentionTests {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Autowired
+    private WeatherRetentionService weatherRetentionService;
+
+    @Autowired
+    private DeliveryFeeService deliveryFeeService;
+
+    @Autowired
+    private WeatherHistoryService weatherHistoryService;
+
+    @Autowired
+    private WeatherDataRepository weatherDataRepository;
+
+    @Autowired
+    private WeatherAggregateRepository weatherAggregateRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Test
+    void testRetentionRollsUpWeatherData() {
+        City tallinn = cityRepository.findAll().stream()
+                .filter(city -> city.getCityName().equals("Tallinn"))
+                .findFirst()
+                .orElseThrow();
+        weatherDataRepository.saveAll(List.of(
+                weatherData(tallinn, DAY.plusMinutes(605), 1.0, 2.0, "Clear"),
+                weatherData(tallinn, DAY.plusMinutes(620), 3.0, 4.0, "Light snow shower"),
+                weatherData(tallinn, DAY.plusMinutes(640), 5.0, 6.0, "Light snow shower"),
+                weatherData(tallinn, DAY.plusMinutes(670), -1.0, 1.0, null)
+        ));
+        weatherHistoryService.load();
+
+        RetentionResult result = weatherRetentionService.applyRetention(LocalDateTime.of(2020, 3, 1, 0, 30));
+
+        assertEquals(LocalDateTime.of(2020, 1, 31, 0, 0), result.rawCutoff());
+        assertEquals(4, result.rawRowsRolledUp());
+        assertNull(weatherDataRepository.findTopByCityCityNameAndObservationTimeLessThanEqualOrderByObservationTimeDesc(
+                "Tallinn", DAY.plusDays(1)));
+
+        List<WeatherAggregate> hourly = weatherAggregateRepository.findInPeriod(
+                AggregateGranularity.HOURLY, DAY, DAY.plusDays(1));
+        assertEquals(2, hourly.size());
+        WeatherAggregate tenOClock = hourly.getFirst();
+        assertEquals(DAY.plusHours(10), tenOClock.getPeriodStart());
+        assertEquals(3, tenOClock.getSampleCount());
+        assertEquals(1.0, tenOClock.getMinAirTemperature());
+        assertEquals(5.0, tenOClock.getMaxAirTemperature());
+        assertEquals(3.0, tenOClock.getAvgAirTemperature());
+        assertEquals("Light snow shower", tenOClock.getDominantPhenomenon());
+
+        // base fee 3.00 and 1.00 for snow, from the average of the hour
+        assertEquals(4.0, deliveryFeeService.calculateDeliveryFee("Tallinn", "BIKE", DAY.plusMinutes(650)));
+        // one point per rolled up hour
+        List<DeliveryFeeSeriesPointDTO> series = deliveryFeeService.calculateDeliveryFeeSeries(
+                "Tallinn", "BIKE", DAY, DAY.plusDays(1));
+        assertEquals(List.of(
+                new DeliveryFeeSeriesPointDTO(null, DAY.plusHours(10), 4.0, false),
+                new DeliveryFeeSeriesPointDTO(null, DAY.plusHours(11), 3.5, false)
+        ), series);
+
+        result = weatherRetentionService.applyRetention(LocalDateTime.of(2021, 2, 1, 0, 30));
+
+        assertEquals(2, result.hourlyAggregatesRolledUp());
+        assertEquals(List.of(), weatherAggregateRepository.findInPeriod(AggregateGranularity.HOURLY, DAY, DAY.plusDays(1)));
+        List<WeatherAggregate> daily = weatherAggregateRepository.findInPeriod(
+                AggregateGranularity.DAILY, DAY, DAY.plusDays(1));
+        assertEquals(1, daily.size());
+        assertEquals(4, daily.getFirst().getSampleCount());
+        assertEquals(-1.0, daily.getFirst().getMinAirTemperature());
+        assertEquals(2.0, daily.getFirst().getAvgAirTemperature());
+        assertEquals(6.0, daily.getFirst().getMaxWindSpeed());
+        assertEquals("Light snow shower", daily.getFirst().getDominantPhenomenon());
+
+        // the daily average of 2.0 degrees and the snow of the day
+        assertEquals(4.0, deliveryFeeService.calculateDeliveryFee("Tallinn", "BIKE", DAY.plusMinutes(650)));
+    }
+
+    private static WeatherData weatherData(City city, LocalDateTime observationTime,
+                                           Double airTemperature, Double windSpeed, String weatherPhenomenon) {
+        WeatherData weatherData = new WeatherData();
+        weatherData.setCity(city);
+        weatherData.setObservationTime(observationTime);
+        weatherData.setAirTemperature(airTemperature);
+        weatherData.setWindSpeed(windSpeed);
+        weatherData.setWeatherPhenomenon(weatherPhenomenon);
+        return weatherData;
+    }
+}
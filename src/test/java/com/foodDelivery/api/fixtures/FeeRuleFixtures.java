@@ -0,0 +1,126 @@
+package com.foodDelivery.api.fixtures;
+
+import com.foodDelivery.api.model.BaseFee;
+import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.model.Conditions;
+import com.foodDelivery.api.model.Vehicle;
+import com.foodDelivery.api.model.enums.ConditionType;
+import com.foodDelivery.api.model.enums.VehicleType;
+import com.foodDelivery.api.rules.FeeRuleSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test data that mirrors the business rules seeded by schema.sql, shared by the unit tests and the benchmarks.
+ */
+public final class FeeRuleFixtures {
+
+    private static final List<String> SNOW = List.of(
+            "Light snow shower", "Moderate snow shower", "Heavy snow shower", "Light sleet",
+            "Moderate sleet", "Light snowfall", "Moderate snowfall", "Heavy snowfall");
+
+    private static final List<String> RAIN = List.of(
+            "Light shower", "Moderate shower", "Heavy shower", "Light rain", "Moderate rain", "Heavy rain");
+
+    private static final List<String> FORBIDDEN = List.of("Glaze", "Hail", "Thunder");
+
+    private FeeRuleFixtures() {
+    }
+
+    /**
+     * Creates all condition rules that are defined in schema.sql.
+     *
+     * @return a list of conditions.
+     */
+    public static List<Conditions> defaultConditions() {
+        List<Conditions> conditions = new ArrayList<>();
+        for (VehicleType type : List.of(VehicleType.SCOOTER, VehicleType.BIKE)) {
+            SNOW.forEach(phenomenon -> conditions.add(phenomenon(type, phenomenon, 1.00, false)));
+            RAIN.forEach(phenomenon -> conditions.add(phenomenon(type, phenomenon, 0.50, false)));
+            FORBIDDEN.forEach(phenomenon -> conditions.add(phenomenon(type, phenomenon, 0.00, true)));
+            conditions.add(range(type, ConditionType.TEMPERATURE, -99.99, -10.01, 1.00, false));
+            conditions.add(range(type, ConditionType.TEMPERATURE, -10.00, 0.00, 0.50, false));
+        }
+        conditions.add(range(VehicleType.BIKE, ConditionType.WIND, 10.00, 20.00, 0.50, false));
+        conditions.add(range(VehicleType.BIKE, ConditionType.WIND, 20.01, 99.99, 0.00, true));
+        return conditions;
+    }
+
+    /**
+     * Compiles the default conditions together with the given base fees.
+     *
+     * @param baseFees the base fees.
+     * @return the compiled snapshot.
+     */
+    public static FeeRuleSnapshot snapshot(BaseFee... baseFees) {
+        return FeeRuleSnapshot.compile(defaultConditions(), List.of(baseFees));
+    }
+
+    /**
+     * Creates a base fee for the given city and vehicle type.
+     *
+     * @param cityName the name of the city.
+     * @param vehicleType the type of the vehicle.
+     * @param fee the fee value.
+     * @return the base fee.
+     */
+    public static BaseFee baseFee(String cityName, VehicleType vehicleType, Double fee) {
+        City city = new City();
+        city.setCityName(cityName);
+
+        BaseFee baseFee = new BaseFee();
+        baseFee.setCity(city);
+        baseFee.setVehicle(vehicle(vehicleType));
+        baseFee.setVehicleFee(fee);
+        return baseFee;
+    }
+
+    /**
+     * Creates a TEMPERATURE or WIND condition.
+     *
+     * @param vehicleType the type of the vehicle.
+     * @param conditionType the type of the condition.
+     * @param min the minimum value.
+     * @param max the maximum value.
+     * @param fee the condition fee.
+     * @param forbidden whether the usage is forbidden.
+     * @return the condition.
+     */
+    public static Conditions range(VehicleType vehicleType, ConditionType conditionType,
+                                   Double min, Double max, Double fee, boolean forbidden) {
+        Conditions condition = new Conditions();
+        condition.setVehicle(vehicle(vehicleType));
+        condition.setConditionType(conditionType);
+        condition.setMinValue(min);
+        condition.setMaxValue(max);
+        condition.setConditionFee(fee);
+        condition.setUsageForbidden(forbidden);
+        return condition;
+    }
+
+    /**
+     * Creates a PHENOMENON condition.
+     *
+     * @param vehicleType the type of the vehicle.
+     * @param phenomenon the phenomenon description.
+     * @param fee the condition fee.
+     * @param forbidden whether the usage is forbidden.
+     * @return the condition.
+     */
+    public static Conditions phenomenon(VehicleType vehicleType, String phenomenon, Double fee, boolean forbidden) {
+        Conditions condition = new Conditions();
+        condition.setVehicle(vehicle(vehicleType));
+        condition.setConditionType(ConditionType.PHENOMENON);
+        condition.setPhenomenon(phenomenon);
+        condition.setConditionFee(fee);
+        condition.setUsageForbidden(forbidden);
+        return condition;
+    }
+
+    private static Vehicle vehicle(VehicleType vehicleType) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVehicleType(vehicleType);
+        return vehicle;
+    }
+}
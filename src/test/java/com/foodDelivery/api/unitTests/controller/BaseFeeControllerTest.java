@@ -3,6 +3,7 @@ package com.foodDelivery.api.unitTests.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.foodDelivery.api.controller.impl.BaseFeeController;
 import com.foodDelivery.api.dto.BaseFeeDTO;
+import com.foodDelivery.api.paging.KeysetPage;
 import com.foodDelivery.api.model.BaseFee;
 import com.foodDelivery.api.service.BaseFeeService;
 import org.junit.jupiter.api.Test;
@@ -43,7 +44,7 @@ public class BaseFeeControllerTest {
      */
     @Test
     void testGetAllBaseFees_Empty() throws Exception {
-        when(baseFeeService.getAll()).thenReturn(Collections.emptyList());
+        when(baseFeeService.getAll(any())).thenReturn(new KeysetPage<>(Collections.emptyList(), null));
 
         mvc.perform(get("/api/base-fee"))
                 .andExpect(status().isOk())
@@ -58,7 +59,7 @@ public class BaseFeeControllerTest {
     @Test
     void testGetAllBaseFees() throws Exception {
         BaseFeeDTO baseFeeDTO = new BaseFeeDTO(12L, 3L, 4L, 4.0);
-        when(baseFeeService.getAll()).thenReturn(List.of(baseFeeDTO));
+        when(baseFeeService.getAll(any())).thenReturn(new KeysetPage<>(List.of(baseFeeDTO), null));
 
         mvc.perform(get("/api/base-fee"))
                 .andExpect(status().isOk())
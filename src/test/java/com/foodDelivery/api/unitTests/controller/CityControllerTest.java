@@ -2,7 +2,9 @@ package com.foodDelivery.api.unitTests.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.foodDelivery.api.controller.impl.CityController;
+import com.foodDelivery.api.dto.BulkResultDTO;
 import com.foodDelivery.api.dto.CityDTO;
+import com.foodDelivery.api.paging.KeysetPage;
 import com.foodDelivery.api.service.CityService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +17,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -44,7 +47,7 @@ public class CityControllerTest {
      */
     @Test
     void testGetAllCities_Empty() throws Exception {
-        when(cityService.getAll()).thenReturn(Collections.emptyList());
+        when(cityService.getAll(any())).thenReturn(new KeysetPage<>(Collections.emptyList(), null));
 
         mvc.perform(get("/api/city"))
                 .andExpect(status().isOk())
@@ -59,7 +62,7 @@ public class CityControllerTest {
     @Test
     void testGetAllCities() throws Exception {
         CityDTO cityDTO = new CityDTO(1L, "Tallinn", "Tallinn-Harku", "26038");
-        when(cityService.getAll()).thenReturn(List.of(cityDTO));
+        when(cityService.getAll(any())).thenReturn(new KeysetPage<>(List.of(cityDTO), null));
 
         mvc.perform(get("/api/city"))
                 .andExpect(status().isOk())
@@ -67,6 +70,23 @@ public class CityControllerTest {
                 .andExpect(jsonPath("$[0].cityName").value("Tallinn"));
     }
 
+    /**
+     * Tests that the filters are passed to the service and that the next page is linked.
+     *
+     * @throws Exception if an error occurs during the request.
+     */
+    @Test
+    void testGetAllCities_NextPage() throws Exception {
+        CityDTO cityDTO = new CityDTO(2L, "Tartu", "Tartu-Tõravere", "26242");
+        when(cityService.getAll(argThat(query -> "Tartu".equals(query.getCityName()) && query.getLimit() == 1)))
+                .thenReturn(new KeysetPage<>(List.of(cityDTO), "Mg"));
+
+        mvc.perform(get("/api/city?cityName=Tartu&limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].cityId").value(2))
+                .andExpect(header().string("Link", "<http://localhost/api/city?cityName=Tartu&limit=1&after=Mg>; rel=\"next\""));
+    }
+
     /**
      * Tests that a new city is created.
      *
@@ -135,4 +155,35 @@ public class CityControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("City with id 77 was deleted!"));
     }
+
+    /**
+     * Tests that cities are retrieved by a list of ids, with a result for every id.
+     *
+     * @throws Exception if an error occurs during the request.
+     */
+    @Test
+    void testGetAllCitiesById() throws Exception {
+        CityDTO tartu = new CityDTO(2L, "Tartu", "Tartu-Tõravere", "26242");
+        when(cityService.getAllById(List.of(2L, 9L))).thenReturn(List.of(
+                new BulkResultDTO<>(200, tartu, null),
+                new BulkResultDTO<>(404, null, "City with id 9 was not found.")));
+
+        mvc.perform(get("/api/city?ids=2,9"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].item.cityName").value("Tartu"))
+                .andExpect(jsonPath("$[1].status").value(404))
+                .andExpect(jsonPath("$[1].item").isEmpty());
+    }
+
+    /**
+     * Tests that an id that is not a number is rejected.
+     *
+     * @throws Exception if an error occurs during the request.
+     */
+    @Test
+    void testGetAllCitiesById_InvalidId() throws Exception {
+        mvc.perform(get("/api/city?ids=2,x"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -2,7 +2,10 @@ package com.foodDelivery.api.unitTests.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.foodDelivery.api.controller.impl.ConditionsController;
+import com.foodDelivery.api.dto.BulkResultDTO;
 import com.foodDelivery.api.dto.ConditionsDTO;
+import com.foodDelivery.api.paging.KeysetPage;
+import com.foodDelivery.api.model.enums.BulkMode;
 import com.foodDelivery.api.model.enums.ConditionType;
 import com.foodDelivery.api.service.ConditionsService;
 import org.junit.jupiter.api.Test;
@@ -44,7 +47,7 @@ public class ConditionsControllerTest {
      */
     @Test
     void testGetAllConditions_Empty() throws Exception {
-        when(conditionsService.getAll()).thenReturn(Collections.emptyList());
+        when(conditionsService.getAll(any())).thenReturn(new KeysetPage<>(Collections.emptyList(), null));
 
         mvc.perform(get("/api/conditions"))
                 .andExpect(status().isOk())
@@ -59,7 +62,7 @@ public class ConditionsControllerTest {
     @Test
     void testGetAllConditions() throws Exception {
         ConditionsDTO conditionsDTO = new ConditionsDTO(1L, 2L, ConditionType.TEMPERATURE, -10.0, 0.0, null, 0.5, false);
-        when(conditionsService.getAll()).thenReturn(List.of(conditionsDTO));
+        when(conditionsService.getAll(any())).thenReturn(new KeysetPage<>(List.of(conditionsDTO), null));
 
         mvc.perform(get("/api/conditions"))
                 .andExpect(status().isOk())
@@ -136,4 +139,42 @@ public class ConditionsControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("Conditions with id 13 was deleted!"));
     }
+
+    /**
+     * Tests that a bulk create returns the result of every condition in request order.
+     *
+     * @throws Exception if an error occurs during the request.
+     */
+    @Test
+    void testCreateAllConditions() throws Exception {
+        ConditionsDTO first = new ConditionsDTO(null, 3L, ConditionType.PHENOMENON, null, null, "Hail", 1.0, false);
+        ConditionsDTO second = new ConditionsDTO(null, 9L, ConditionType.PHENOMENON, null, null, "Sleet", 1.0, false);
+        ConditionsDTO created = new ConditionsDTO(60L, 3L, ConditionType.PHENOMENON, null, null, "Hail", 1.0, false);
+        when(conditionsService.createAll(List.of(first, second), BulkMode.PER_ITEM)).thenReturn(List.of(
+                new BulkResultDTO<>(201, created, null),
+                new BulkResultDTO<>(404, null, "Vehicle with id 9 was not found.")));
+
+        mvc.perform(post("/api/conditions/bulk?mode=PER_ITEM")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(first, second))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].item.conditionsId").value(60))
+                .andExpect(jsonPath("$[1].status").value(404))
+                .andExpect(jsonPath("$[1].message").value("Vehicle with id 9 was not found."));
+    }
+
+    /**
+     * Tests that a bulk delete with an unknown mode is rejected.
+     *
+     * @throws Exception if an error occurs during the request.
+     */
+    @Test
+    void testDeleteAllConditions_InvalidMode() throws Exception {
+        mvc.perform(post("/api/conditions/bulk/delete?mode=SOME")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid value for parameter mode: SOME"));
+    }
 }
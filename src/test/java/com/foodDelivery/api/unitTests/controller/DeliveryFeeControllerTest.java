@@ -2,20 +2,49 @@ package com.foodDelivery.api.unitTests.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.foodDelivery.api.controller.impl.DeliveryFeeController;
+import com.foodDelivery.api.dto.DeliveryFeeBatchResultDTO;
 import com.foodDelivery.api.dto.DeliveryFeeRequestDTO;
+import com.foodDelivery.api.dto.DeliveryFeeSeriesPointDTO;
+import com.foodDelivery.api.dto.FeeChangeDTO;
+import com.foodDelivery.api.dto.FeeQuoteCacheStatsDTO;
 import com.foodDelivery.api.service.DeliveryFeeService;
+import com.foodDelivery.api.exception.CityNotFoundException;
+import com.foodDelivery.api.exception.InvalidDeliveryFeeRequestException;
+import com.foodDelivery.api.exception.InvalidVehicleTypeException;
+import com.foodDelivery.api.exception.VehicleUsageForbiddenException;
+import com.foodDelivery.api.service.DeliveryFeeStreamService;
+import com.foodDelivery.api.service.FeeCacheControlService;
+import com.foodDelivery.api.service.FeeChangeStreamService;
+import com.foodDelivery.api.service.FeeQuoteCacheService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(DeliveryFeeController.class)
@@ -30,6 +59,18 @@ public class DeliveryFeeControllerTest {
     @MockitoBean
     private DeliveryFeeService deliveryFeeService;
 
+    @MockitoBean
+    private DeliveryFeeStreamService deliveryFeeStreamService;
+
+    @MockitoBean
+    private FeeQuoteCacheService feeQuoteCacheService;
+
+    @MockitoBean
+    private FeeChangeStreamService feeChangeStreamService;
+
+    @MockitoBean
+    private FeeCacheControlService feeCacheControlService;
+
     /**
      * Test that a GET request /api/delivery-fee with a valid JSON payload returns
      * HTTP 200 status code and that response contains expected delivery fee.
@@ -53,4 +94,258 @@ public class DeliveryFeeControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.totalFee").value(3.0));
     }
+
+    /**
+     * Test that a GET request /api/delivery-fee for a forbidden vehicle returns HTTP 400 status code,
+     * as the batch endpoint reports it.
+     *
+     * @throws Exception if the GET request fails.
+     */
+    @Test
+    void testGetDeliveryFeeForbiddenVehicleController() throws Exception {
+        when(deliveryFeeService.calculateDeliveryFee("Tallinn", "BIKE", null)).thenThrow(
+                new VehicleUsageForbiddenException("Usage of selected vehicle is not allowed due to weather conditions."));
+
+        mvc.perform(get("/api/delivery-fee")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DeliveryFeeRequestDTO("Tallinn", "BIKE", null))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Usage of selected vehicle is not allowed due to weather conditions."));
+    }
+
+    /**
+     * Test that an IllegalArgumentException that is not a delivery fee error returns HTTP 500 status code
+     * instead of being reported as a bad request.
+     *
+     * @throws Exception if the GET request fails.
+     */
+    @Test
+    void testGetDeliveryFeeUnexpectedIllegalArgumentController() throws Exception {
+        when(deliveryFeeService.calculateDeliveryFee("Tallinn", "BIKE", null)).thenThrow(
+                new IllegalArgumentException("Unexpected failure."));
+
+        mvc.perform(get("/api/delivery-fee")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DeliveryFeeRequestDTO("Tallinn", "BIKE", null))))
+                .andExpect(status().isInternalServerError());
+    }
+
+    /**
+     * Test that a GET request /api/delivery-fee with query parameters returns HTTP 200 status code,
+     * the expected delivery fee and the caching headers of the quote.
+     *
+     * @throws Exception if the GET request fails.
+     */
+    @Test
+    void testGetDeliveryFeeQueryController() throws Exception {
+        LocalDateTime observationTime = LocalDateTime.of(2025, 3, 20, 10, 0, 0);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(CacheControl.noCache().cachePublic().immutable());
+        when(feeCacheControlService.cacheHeaders(observationTime)).thenReturn(headers);
+        when(deliveryFeeService.calculateDeliveryFee("Tallinn", "BIKE", observationTime)).thenReturn(3.0);
+
+        mvc.perform(get("/api/delivery-fee")
+                        .param("cityName", "Tallinn")
+                        .param("vehicleType", "BIKE")
+                        .param("observationTime", "2025-03-20T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public, immutable"))
+                .andExpect(jsonPath("$.totalFee").value(3.0));
+    }
+
+    /**
+     * Test that a GET request /api/delivery-fee with a blank query parameter returns
+     * HTTP 400 status code without calculating the fee.
+     *
+     * @throws Exception if the GET request fails.
+     */
+    @Test
+    void testGetDeliveryFeeQueryBlankCityController() throws Exception {
+        mvc.perform(get("/api/delivery-fee")
+                        .param("cityName", " ")
+                        .param("vehicleType", "BIKE"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid value for parameter cityName:  "));
+
+        verify(deliveryFeeService, never()).calculateDeliveryFee(any(), any(), any());
+    }
+
+    /**
+     * Test that a POST request /api/delivery-fee/batch returns HTTP 200 status code
+     * and one result per request, including the failed ones.
+     *
+     * @throws Exception if the POST request fails.
+     */
+    @Test
+    void testGetDeliveryFeesBatchController() throws Exception {
+        List<DeliveryFeeRequestDTO> requests = List.of(
+                new DeliveryFeeRequestDTO("Tallinn", "CAR", null),
+                new DeliveryFeeRequestDTO("Narva", "CAR", null)
+        );
+
+        when(deliveryFeeService.calculateDeliveryFees(requests)).thenReturn(List.of(
+                new DeliveryFeeBatchResultDTO(200, 4.0, null),
+                new DeliveryFeeBatchResultDTO(404, null, "Could not get weather data for this city")
+        ));
+
+        mvc.perform(post("/api/delivery-fee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].totalFee").value(4.0))
+                .andExpect(jsonPath("$[1].status").value(404))
+                .andExpect(jsonPath("$[1].message").value("Could not get weather data for this city"));
+    }
+
+    /**
+     * Test that a POST request /api/delivery-fee/stream with an NDJSON payload
+     * returns HTTP 200 status code and the NDJSON results written by the service.
+     *
+     * @throws Exception if the POST request fails.
+     */
+    @Test
+    void testGetDeliveryFeesStreamController() throws Exception {
+        String body = "{\"cityName\":\"Tallinn\",\"vehicleType\":\"CAR\"}\n";
+        String result = "{\"status\":200,\"totalFee\":4.0,\"message\":null}\n";
+
+        doAnswer(invocation -> {
+            InputStream input = invocation.getArgument(0);
+            OutputStream output = invocation.getArgument(1);
+            if (new String(input.readAllBytes(), StandardCharsets.UTF_8).equals(body)) {
+                output.write(result.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        }).when(deliveryFeeStreamService).calculateDeliveryFees(any(), any());
+
+        mvc.perform(post("/api/delivery-fee/stream")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(result));
+    }
+
+    /**
+     * Test that a GET request /api/delivery-fee/cache-stats returns HTTP 200 status code
+     * and the statistics of the quote cache.
+     *
+     * @throws Exception if the GET request fails.
+     */
+    @Test
+    void testGetCacheStatsController() throws Exception {
+        when(feeQuoteCacheService.getStats()).thenReturn(new FeeQuoteCacheStatsDTO(5, 2, 1, 3, 4, 10000));
+
+        mvc.perform(get("/api/delivery-fee/cache-stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(5))
+                .andExpect(jsonPath("$.misses").value(2))
+                .andExpect(jsonPath("$.evictions").value(1))
+                .andExpect(jsonPath("$.invalidations").value(3))
+                .andExpect(jsonPath("$.size").value(4));
+    }
+
+    /**
+     * Test that a GET request /api/delivery-fee/series returns HTTP 200 status code
+     * and the fee of every observation in the range.
+     *
+     * @throws Exception if the GET request fails.
+     */
+    @Test
+    void testGetDeliveryFeeSeriesController() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2025, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 3, 31, 23, 59);
+        when(deliveryFeeService.calculateDeliveryFeeSeries("Tartu", "BIKE", from, to)).thenReturn(List.of(
+                new DeliveryFeeSeriesPointDTO(1L, from.plusDays(1), 2.5, false),
+                new DeliveryFeeSeriesPointDTO(2L, from.plusDays(2), null, true)
+        ));
+
+        mvc.perform(get("/api/delivery-fee/series")
+                        .param("cityName", "Tartu")
+                        .param("vehicleType", "BIKE")
+                        .param("from", "2025-03-01T00:00:00")
+                        .param("to", "2025-03-31T23:59:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].totalFee").value(2.5))
+                .andExpect(jsonPath("$[1].forbidden").value(true));
+    }
+
+    /**
+     * Test that a GET request /api/delivery-fee/series with a range that starts after its end
+     * returns HTTP 400 status code.
+     *
+     * @throws Exception if the GET request fails.
+     */
+    @Test
+    void testGetDeliveryFeeSeriesInvalidRangeController() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2025, 3, 31, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 3, 1, 0, 0);
+        when(deliveryFeeService.calculateDeliveryFeeSeries("Tartu", "BIKE", from, to))
+                .thenThrow(new InvalidDeliveryFeeRequestException("The start of the time range must not be after its end."));
+
+        mvc.perform(get("/api/delivery-fee/series")
+                        .param("cityName", "Tartu")
+                        .param("vehicleType", "BIKE")
+                        .param("from", "2025-03-31T00:00:00")
+                        .param("to", "2025-03-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Incorrect request"))
+                .andExpect(jsonPath("$.message").value("The start of the time range must not be after its end."));
+    }
+
+    /**
+     * Test that a GET request /api/delivery-fee/changes opens an event stream of fee changes.
+     *
+     * @throws Exception if the GET request fails.
+     */
+    @Test
+    void testGetDeliveryFeeChangesController() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        when(feeChangeStreamService.subscribe("Tallinn", "BIKE")).thenReturn(emitter);
+
+        MvcResult result = mvc.perform(get("/api/delivery-fee/changes")
+                        .param("cityName", "Tallinn")
+                        .param("vehicleType", "BIKE"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().id("1").name("fee")
+                .data(new FeeChangeDTO("Tallinn", "BIKE", null, true), MediaType.APPLICATION_JSON));
+        emitter.complete();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string("id:1\nevent:fee\n" +
+                        "data:{\"cityName\":\"Tallinn\",\"vehicleType\":\"BIKE\",\"totalFee\":null,\"forbidden\":true}\n\n"));
+    }
+
+    /**
+     * Test that subscribing to the fee changes of an unknown vehicle type returns HTTP 400 status code.
+     *
+     * @throws Exception if the GET request fails.
+     */
+    @Test
+    void testGetDeliveryFeeChangesUnknownVehicleTypeController() throws Exception {
+        when(feeChangeStreamService.subscribe("Tallinn", "TRUCK"))
+                .thenThrow(new InvalidVehicleTypeException("Unknown vehicle type TRUCK"));
+
+        mvc.perform(get("/api/delivery-fee/changes").param("cityName", "Tallinn").param("vehicleType", "TRUCK"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown vehicle type TRUCK"));
+    }
+
+    /**
+     * Test that subscribing to the fee changes of an unknown city returns HTTP 404 status code.
+     *
+     * @throws Exception if the GET request fails.
+     */
+    @Test
+    void testGetDeliveryFeeChangesUnknownCityController() throws Exception {
+        when(feeChangeStreamService.subscribe("Narva", null))
+                .thenThrow(new CityNotFoundException("City with name Narva was not found."));
+
+        mvc.perform(get("/api/delivery-fee/changes").param("cityName", "Narva"))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -3,11 +3,13 @@ package com.foodDelivery.api.unitTests.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.foodDelivery.api.controller.impl.VehicleController;
 import com.foodDelivery.api.dto.VehicleDTO;
+import com.foodDelivery.api.paging.KeysetPage;
 import com.foodDelivery.api.model.enums.VehicleType;
 import com.foodDelivery.api.service.VehicleService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -17,6 +19,8 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -45,7 +49,7 @@ public class VehicleControllerTest {
      */
     @Test
     void testGetAllVehicles_Empty() throws Exception {
-        when(vehicleService.getAll()).thenReturn(Collections.emptyList());
+        when(vehicleService.getAll(any())).thenReturn(new KeysetPage<>(Collections.emptyList(), null));
 
         mvc.perform(get("/api/vehicle"))
                 .andExpect(status().isOk())
@@ -60,7 +64,7 @@ public class VehicleControllerTest {
     @Test
     void testGetAllVehicles() throws Exception {
         VehicleDTO vehicleDTO = new VehicleDTO(1L, VehicleType.CAR);
-        when(vehicleService.getAll()).thenReturn(List.of(vehicleDTO));
+        when(vehicleService.getAll(any())).thenReturn(new KeysetPage<>(List.of(vehicleDTO), null));
 
         mvc.perform(get("/api/vehicle"))
                 .andExpect(status().isOk())
@@ -68,6 +72,18 @@ public class VehicleControllerTest {
                 .andExpect(jsonPath("$[0].vehicleType").value("CAR"));
     }
 
+    /**
+     * Tests that an unknown vehicle type filter returns HTTP 400 status code.
+     *
+     * @throws Exception if an error occurs during the request.
+     */
+    @Test
+    void testGetAllVehicles_InvalidFilter() throws Exception {
+        mvc.perform(get("/api/vehicle").param("vehicleType", "PLANE"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid value for parameter vehicleType: PLANE"));
+    }
+
     /**
      * Tests that a new vehicle is created.
      *
@@ -136,4 +152,40 @@ public class VehicleControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("Vehicle with id 13 was deleted!"));
     }
+
+    /**
+     * Tests that the vehicles are sent with the entity tag of the collection.
+     *
+     * @throws Exception if an error occurs during the request.
+     */
+    @Test
+    void testGetAllVehicles_ETag() throws Exception {
+        when(vehicleService.etag()).thenReturn("\"vehicle-1-4\"");
+        when(vehicleService.getAll(any())).thenReturn(new KeysetPage<>(List.of(new VehicleDTO(1L, VehicleType.CAR)), null));
+
+        mvc.perform(get("/api/vehicle").header(HttpHeaders.IF_NONE_MATCH, "\"vehicle-1-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"vehicle-1-4\""))
+                .andExpect(jsonPath("$[0].vehicleType").value("CAR"));
+    }
+
+    /**
+     * Tests that a client with the current entity tag gets 304 without the vehicles being read.
+     *
+     * @throws Exception if an error occurs during the request.
+     */
+    @Test
+    void testGetAllVehicles_NotModified() throws Exception {
+        when(vehicleService.etag()).thenReturn("\"vehicle-1-4\"");
+
+        mvc.perform(get("/api/vehicle?vehicleType=CAR").header(HttpHeaders.IF_NONE_MATCH, "\"vehicle-1-4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"vehicle-1-4\""))
+                .andExpect(content().string(""));
+        mvc.perform(get("/api/vehicle/1").header(HttpHeaders.IF_NONE_MATCH, "\"vehicle-1-2\", \"vehicle-1-4\""))
+                .andExpect(status().isNotModified());
+
+        verify(vehicleService, never()).getAll(any());
+        verify(vehicleService, never()).getById(any());
+    }
 }
@@ -0,0 +1,77 @@
+package com.foodDelivery.api.unitTests.controller;
+
+import com.foodDelivery.api.archive.ArchivedPayload;
+import com.foodDelivery.api.controller.impl.WeatherArchiveController;
+import com.foodDelivery.api.exception.ArchivedPayloadNotFoundException;
+import com.foodDelivery.api.service.PayloadArchiveService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(WeatherArchiveController.class)
+public class WeatherArchiveControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockitoBean
+    private PayloadArchiveService payloadArchiveService;
+
+    /**
+     * Tests that a GET request /api/weather-archive/{timestamp} streams the raw payload.
+     *
+     * @throws Exception if GET request fails
+     */
+    @Test
+    void testGetPayload() throws Exception {
+        ArchivedPayload payload = new ArchivedPayload(1742472839L, "ilmateenistus",
+                Path.of("segment-0000000000.log"), 30, 120, 0);
+        when(payloadArchiveService.findPayload("1742472839", "ilmateenistus")).thenReturn(payload);
+        doAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(1);
+            output.write("<observations timestamp=\"1742472839\"/>".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(payloadArchiveService).writePayload(eq(payload), any(OutputStream.class));
+
+        MvcResult result = mvc.perform(get("/api/weather-archive/1742472839").param("provider", "ilmateenistus"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_XML))
+                .andExpect(content().string("<observations timestamp=\"1742472839\"/>"));
+    }
+
+    /**
+     * Tests that an unknown timestamp returns HTTP 404 status code.
+     *
+     * @throws Exception if GET request fails
+     */
+    @Test
+    void testGetPayloadNotFound() throws Exception {
+        when(payloadArchiveService.findPayload("1742472839", null))
+                .thenThrow(new ArchivedPayloadNotFoundException("Could not find an archived payload with timestamp 1742472839"));
+
+        mvc.perform(get("/api/weather-archive/1742472839"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -3,6 +3,9 @@ package com.foodDelivery.api.unitTests.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.foodDelivery.api.controller.impl.WeatherDataController;
 import com.foodDelivery.api.dto.WeatherDataDTO;
+import com.foodDelivery.api.paging.KeysetPage;
+import com.foodDelivery.api.model.enums.ExportFormat;
+import com.foodDelivery.api.service.WeatherDataExportService;
 import com.foodDelivery.api.service.WeatherDataService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,12 +14,15 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -38,6 +44,9 @@ public class WeatherDataControllerTest {
     @MockitoBean
     private WeatherDataService weatherDataService;
 
+    @MockitoBean
+    private WeatherDataExportService weatherDataExportService;
+
     /**
      * Tests that when there is no weather data, controller returns empty JSON.
      *
@@ -45,7 +54,7 @@ public class WeatherDataControllerTest {
      */
     @Test
     void testGetAllWeatherData_Empty() throws Exception {
-        when(weatherDataService.getAll()).thenReturn(Collections.emptyList());
+        when(weatherDataService.getAll(any())).thenReturn(new KeysetPage<>(Collections.emptyList(), null));
 
         mvc.perform(get("/api/weather-data"))
                 .andExpect(status().isOk())
@@ -67,7 +76,7 @@ public class WeatherDataControllerTest {
                 "Clear",
                 LocalDateTime.of(2025, 10, 13, 7, 35, 0)
         );
-        when(weatherDataService.getAll()).thenReturn(List.of(weatherDataDTO));
+        when(weatherDataService.getAll(any())).thenReturn(new KeysetPage<>(List.of(weatherDataDTO), null));
 
         mvc.perform(get("/api/weather-data"))
                 .andExpect(status().isOk())
@@ -188,4 +197,40 @@ public class WeatherDataControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("WeatherData with id 33 was deleted!"));
     }
+
+    /**
+     * Tests that the weather data is exported as a CSV attachment with the given filters.
+     *
+     * @throws Exception if an error occurs during the request.
+     */
+    @Test
+    void testExportWeatherDataAsCsv() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(4);
+            output.write("weatherDataId\n1\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(weatherDataExportService).export(eq(ExportFormat.CSV), eq("Tartu"),
+                eq(LocalDateTime.of(2025, 3, 1, 0, 0)), eq(null), any());
+
+        mvc.perform(get("/api/weather-data/export")
+                        .param("format", "CSV")
+                        .param("cityName", "Tartu")
+                        .param("from", "2025-03-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"weather-data.csv\""))
+                .andExpect(content().string("weatherDataId\n1\n"));
+    }
+
+    /**
+     * Tests that an unknown export format returns HTTP 400 status code.
+     *
+     * @throws Exception if an error occurs during the request.
+     */
+    @Test
+    void testExportWeatherDataUnknownFormat() throws Exception {
+        mvc.perform(get("/api/weather-data/export").param("format", "XML"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid value for parameter format: XML"));
+    }
 }
@@ -1,16 +1,28 @@
 package com.foodDelivery.api.unitTests.controller;
 
 import com.foodDelivery.api.controller.impl.WeatherReadingController;
-import com.foodDelivery.api.service.WeatherReadingService;
+import com.foodDelivery.api.dto.WeatherReadingJobDTO;
+import com.foodDelivery.api.exception.InvalidBackfillDirectoryException;
+import com.foodDelivery.api.exception.WeatherReadingJobNotFoundException;
+import com.foodDelivery.api.exception.WeatherReadingJobRejectedException;
+import com.foodDelivery.api.ingestion.WeatherReadingJobStatus;
+import com.foodDelivery.api.service.WeatherReadingJobService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(WeatherReadingController.class)
@@ -20,18 +32,105 @@ public class WeatherDataReadingControllerTest {
     private MockMvc mvc;
 
     @MockitoBean
-    private WeatherReadingService weatherReadingService;
+    private WeatherReadingJobService weatherReadingJobService;
 
     /**
-     * Tests that a GET request /api/read-weather returns HTTP 200 status code
-     * and that the readWeatherData method called by the controller is called.
+     * Tests that a GET request /api/read-weather queues a job and returns HTTP 202 status code
+     * with the job id and its status URL.
      *
      * @throws Exception if GET request fails
      */
     @Test
     void testReadWeatherData() throws Exception {
+        when(weatherReadingJobService.submit()).thenReturn(job(WeatherReadingJobStatus.QUEUED));
+
+        mvc.perform(get("/api/read-weather"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/read-weather/jobs/job-1"))
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+        verify(weatherReadingJobService, times(1)).submit();
+    }
+
+    /**
+     * Tests that a full job queue returns HTTP 503 status code.
+     *
+     * @throws Exception if GET request fails
+     */
+    @Test
+    void testReadWeatherDataQueueFull() throws Exception {
+        when(weatherReadingJobService.submit()).thenThrow(new WeatherReadingJobRejectedException("Queue is full"));
+
         mvc.perform(get("/api/read-weather"))
-                .andExpect(status().isOk());
-        verify(weatherReadingService, times(1)).readWeatherData();
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    /**
+     * Tests that a POST request /api/read-weather/backfill queues a backfill job and returns HTTP 202 status code.
+     *
+     * @throws Exception if POST request fails
+     */
+    @Test
+    void testBackfill() throws Exception {
+        when(weatherReadingJobService.submitBackfill("2025-03")).thenReturn(job(WeatherReadingJobStatus.QUEUED));
+
+        mvc.perform(post("/api/read-weather/backfill").param("directory", "2025-03"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/read-weather/jobs/job-1"))
+                .andExpect(jsonPath("$.jobId").value("job-1"));
+    }
+
+    /**
+     * Tests that an invalid archive directory returns HTTP 400 status code.
+     *
+     * @throws Exception if POST request fails
+     */
+    @Test
+    void testBackfillInvalidDirectory() throws Exception {
+        when(weatherReadingJobService.submitBackfill("../etc"))
+                .thenThrow(new InvalidBackfillDirectoryException("Not an archive directory: ../etc"));
+
+        mvc.perform(post("/api/read-weather/backfill").param("directory", "../etc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests that a GET request /api/read-weather/jobs/{jobId} returns the job status.
+     *
+     * @throws Exception if GET request fails
+     */
+    @Test
+    void testGetJob() throws Exception {
+        WeatherReadingJobDTO job = job(WeatherReadingJobStatus.SUCCEEDED);
+        job.setStageMillis(Map.of("fetch", 120L));
+        job.setStationsProcessed(3);
+        job.setRowsWritten(3);
+        when(weatherReadingJobService.getJob("job-1")).thenReturn(job);
+
+        mvc.perform(get("/api/read-weather/jobs/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.stageMillis.fetch").value(120))
+                .andExpect(jsonPath("$.stationsProcessed").value(3))
+                .andExpect(jsonPath("$.rowsWritten").value(3));
+    }
+
+    /**
+     * Tests that an unknown job id returns HTTP 404 status code.
+     *
+     * @throws Exception if GET request fails
+     */
+    @Test
+    void testGetJobNotFound() throws Exception {
+        when(weatherReadingJobService.getJob("missing"))
+                .thenThrow(new WeatherReadingJobNotFoundException("Could not find weather reading job with id missing"));
+
+        mvc.perform(get("/api/read-weather/jobs/missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static WeatherReadingJobDTO job(WeatherReadingJobStatus status) {
+        return new WeatherReadingJobDTO("job-1", status, LocalDateTime.of(2025, 3, 20, 14, 15),
+                null, null, Map.of(), 0, 0, null);
     }
 }
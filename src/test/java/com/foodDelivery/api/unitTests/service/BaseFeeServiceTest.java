@@ -1,6 +1,7 @@
 package com.foodDelivery.api.unitTests.service;
 
 import com.foodDelivery.api.dto.BaseFeeDTO;
+import com.foodDelivery.api.dto.ListQueryDTO;
 import com.foodDelivery.api.exception.BaseFeeNotFoundException;
 import com.foodDelivery.api.mapper.BaseFeeMapper;
 import com.foodDelivery.api.model.BaseFee;
@@ -8,6 +9,8 @@ import com.foodDelivery.api.model.City;
 import com.foodDelivery.api.model.Vehicle;
 import com.foodDelivery.api.model.enums.VehicleType;
 import com.foodDelivery.api.repository.BaseFeeRepository;
+import com.foodDelivery.api.service.CollectionVersionService;
+import com.foodDelivery.api.service.FeeRuleService;
 import com.foodDelivery.api.service.impl.BaseFeeServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
 import java.util.Optional;
@@ -34,6 +38,12 @@ public class BaseFeeServiceTest {
     @Mock
     private BaseFeeMapper baseFeeMapper;
 
+    @Mock
+    private FeeRuleService feeRuleService;
+
+    @Mock
+    private CollectionVersionService collectionVersionService;
+
     @InjectMocks
     private BaseFeeServiceImpl baseFeeService;
 
@@ -89,6 +99,7 @@ public class BaseFeeServiceTest {
         assertEquals(5L, result.getCityId());
         assertEquals(6L, result.getVehicleId());
         verify(baseFeeRepository, times(1)).save(baseFee);
+        verify(feeRuleService, times(1)).refresh();
     }
 
     /**
@@ -120,6 +131,7 @@ public class BaseFeeServiceTest {
         assertEquals(5.00, result.getVehicleFee());
         verify(baseFeeRepository, times(1)).findById(1L);
         verify(baseFeeRepository, times(1)).save(baseFee);
+        verify(feeRuleService, times(1)).refresh();
     }
 
     /**
@@ -132,6 +144,7 @@ public class BaseFeeServiceTest {
         assertThrows(BaseFeeNotFoundException.class, () -> baseFeeService.update(1L, updatedDTO));
         verify(baseFeeRepository, times(1)).findById(1L);
         verify(baseFeeRepository, never()).save(any(BaseFee.class));
+        verify(feeRuleService, never()).refresh();
     }
 
     /**
@@ -175,14 +188,14 @@ public class BaseFeeServiceTest {
     @Test
     void testGetAllBaseFees() {
         List<BaseFee> baseFees = List.of(baseFee);
-        when(baseFeeRepository.findAll()).thenReturn(baseFees);
+        when(baseFeeRepository.findBy(any(Specification.class), any())).thenReturn(baseFees);
         when(baseFeeMapper.toDTO(baseFee)).thenReturn(baseFeeDTO);
 
-        List<BaseFeeDTO> result = baseFeeService.getAll();
+        List<BaseFeeDTO> result = baseFeeService.getAll(new ListQueryDTO()).items();
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(baseFeeRepository, times(1)).findAll();
+        verify(baseFeeRepository, times(1)).findBy(any(Specification.class), any());
     }
 
     /**
@@ -200,6 +213,7 @@ public class BaseFeeServiceTest {
         assertDoesNotThrow(() -> baseFeeService.delete(1L));
         verify(baseFeeRepository, times(1)).existsById(1L);
         verify(baseFeeRepository, times(1)).deleteById(1L);
+        verify(feeRuleService, times(1)).refresh();
     }
 
     /**
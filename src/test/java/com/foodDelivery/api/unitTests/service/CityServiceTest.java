@@ -1,10 +1,16 @@
 package com.foodDelivery.api.unitTests.service;
 
+import com.foodDelivery.api.dto.BulkResultDTO;
 import com.foodDelivery.api.dto.CityDTO;
+import com.foodDelivery.api.dto.ListQueryDTO;
 import com.foodDelivery.api.exception.CityNotFoundException;
 import com.foodDelivery.api.mapper.CityMapper;
 import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.model.enums.VersionedCollection;
 import com.foodDelivery.api.repository.CityRepository;
+import com.foodDelivery.api.service.CollectionVersionService;
+import com.foodDelivery.api.service.FeeRuleService;
+import com.foodDelivery.api.service.WeatherHistoryService;
 import com.foodDelivery.api.service.impl.CityServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +38,15 @@ public class CityServiceTest {
     @Mock
     private CityMapper cityMapper;
 
+    @Mock
+    private FeeRuleService feeRuleService;
+
+    @Mock
+    private WeatherHistoryService weatherHistoryService;
+
+    @Mock
+    private CollectionVersionService collectionVersionService;
+
     @InjectMocks
     private CityServiceImpl cityService;
 
@@ -178,16 +194,16 @@ public class CityServiceTest {
         cityDTO1.setWmoCode("2414");
 
         List<City> cities = List.of(city, city1);
-        when(cityRepository.findAll()).thenReturn(cities);
+        when(cityRepository.findBy(any(Specification.class), any())).thenReturn(cities);
         when(cityMapper.toDTO(city)).thenReturn(cityDTO);
         when(cityMapper.toDTO(city1)).thenReturn(cityDTO1);
 
-        List<CityDTO> result = cityService.getAll();
+        List<CityDTO> result = cityService.getAll(new ListQueryDTO()).items();
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals(2L, result.get(1).getCityId());
         assertEquals("Tartu", result.get(1).getCityName());
-        verify(cityRepository, times(1)).findAll();
+        verify(cityRepository, times(1)).findBy(any(Specification.class), any());
     }
 
     /**
@@ -205,6 +221,8 @@ public class CityServiceTest {
         assertDoesNotThrow(() -> cityService.delete(1L));
         verify(cityRepository, times(1)).existsById(1L);
         verify(cityRepository, times(1)).deleteById(1L);
+        verify(collectionVersionService, times(1)).bump(VersionedCollection.CITY, VersionedCollection.BASE_FEE);
+        verify(weatherHistoryService, times(1)).load();
     }
 
     /**
@@ -219,4 +237,25 @@ public class CityServiceTest {
         verify(cityRepository, never()).deleteById(30L);
     }
 
+    /**
+     * Tests that cities are found by their ids with one query, in request order and with the missing ids marked.
+     */
+    @Test
+    void testGetAllCitiesById() {
+        City tartu = new City();
+        tartu.setCityId(2L);
+        CityDTO tartuDTO = new CityDTO();
+        tartuDTO.setCityId(2L);
+        when(cityRepository.findAllById(List.of(2L, 9L, 1L))).thenReturn(List.of(city, tartu));
+        when(cityMapper.toDTO(city)).thenReturn(cityDTO);
+        when(cityMapper.toDTO(tartu)).thenReturn(tartuDTO);
+
+        List<BulkResultDTO<CityDTO>> results = cityService.getAllById(List.of(2L, 9L, 1L, 2L));
+
+        assertEquals(List.of(200, 404, 200, 200), results.stream().map(BulkResultDTO::getStatus).toList());
+        assertSame(tartuDTO, results.get(0).getItem());
+        assertEquals("City with id 9 was not found.", results.get(1).getMessage());
+        assertSame(cityDTO, results.get(2).getItem());
+        verify(cityRepository, times(1)).findAllById(any());
+    }
 }
@@ -0,0 +1,42 @@
+package com.foodDelivery.api.unitTests.service;
+
+import com.foodDelivery.api.model.enums.VersionedCollection;
+import com.foodDelivery.api.service.impl.CollectionVersionServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the version counters of the reference data collections.
+ */
+public class CollectionVersionServiceTest {
+
+    private final CollectionVersionServiceImpl collectionVersionService = new CollectionVersionServiceImpl();
+
+    /**
+     * Tests that a bump changes the tags of the bumped collections only.
+     */
+    @Test
+    void testBumpChangesTagOfBumpedCollections() {
+        String city = collectionVersionService.etag(VersionedCollection.CITY);
+        String baseFee = collectionVersionService.etag(VersionedCollection.BASE_FEE);
+        String vehicle = collectionVersionService.etag(VersionedCollection.VEHICLE);
+
+        collectionVersionService.bump(VersionedCollection.CITY, VersionedCollection.BASE_FEE);
+
+        assertNotEquals(city, collectionVersionService.etag(VersionedCollection.CITY));
+        assertNotEquals(baseFee, collectionVersionService.etag(VersionedCollection.BASE_FEE));
+        assertEquals(vehicle, collectionVersionService.etag(VersionedCollection.VEHICLE));
+    }
+
+    /**
+     * Tests that the tags are strong, quoted and differ between collections.
+     */
+    @Test
+    void testTagsAreStrongAndPerCollection() {
+        String city = collectionVersionService.etag(VersionedCollection.CITY);
+
+        assertTrue(city.matches("\"city-[0-9a-z]+-0\""), city);
+        assertNotEquals(city, collectionVersionService.etag(VersionedCollection.VEHICLE));
+    }
+}
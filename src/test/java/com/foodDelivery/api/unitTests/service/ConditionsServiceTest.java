@@ -1,13 +1,19 @@
 package com.foodDelivery.api.unitTests.service;
 
+import com.foodDelivery.api.dto.BulkResultDTO;
 import com.foodDelivery.api.dto.ConditionsDTO;
+import com.foodDelivery.api.dto.ListQueryDTO;
 import com.foodDelivery.api.exception.ConditionNotFoundException;
 import com.foodDelivery.api.mapper.ConditionsMapper;
 import com.foodDelivery.api.model.Conditions;
 import com.foodDelivery.api.model.Vehicle;
+import com.foodDelivery.api.model.enums.BulkMode;
 import com.foodDelivery.api.model.enums.ConditionType;
 import com.foodDelivery.api.model.enums.VehicleType;
 import com.foodDelivery.api.repository.ConditionsRepository;
+import com.foodDelivery.api.repository.VehicleRepository;
+import com.foodDelivery.api.service.CollectionVersionService;
+import com.foodDelivery.api.service.FeeRuleService;
 import com.foodDelivery.api.service.impl.ConditionsServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +21,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Optional;
@@ -34,12 +44,25 @@ public class ConditionsServiceTest {
     @Mock
     private ConditionsMapper conditionsMapper;
 
+    @Mock
+    private FeeRuleService feeRuleService;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CollectionVersionService collectionVersionService;
+
     @InjectMocks
     private ConditionsServiceImpl conditionsService;
 
     private Conditions conditions;
     private ConditionsDTO conditionsDTO;
     private Vehicle vehicle;
+    private final SimpleTransactionStatus transactionStatus = new SimpleTransactionStatus();
 
     /**
      * Common data set up before each test.
@@ -91,6 +114,7 @@ public class ConditionsServiceTest {
         assertEquals(1.00, result.getConditionFee());
         assertEquals(3L, result.getVehicleId());
         verify(conditionsRepository, times(1)).save(conditions);
+        verify(feeRuleService, times(1)).refresh();
     }
 
     /**
@@ -130,6 +154,7 @@ public class ConditionsServiceTest {
         assertEquals(0.50, result.getConditionFee());
         verify(conditionsRepository, times(1)).findById(1L);
         verify(conditionsRepository, times(1)).save(conditions);
+        verify(feeRuleService, times(1)).refresh();
     }
 
     /**
@@ -144,6 +169,7 @@ public class ConditionsServiceTest {
         assertThrows(ConditionNotFoundException.class, () -> conditionsService.update(1L, updateDTO));
         verify(conditionsRepository, times(1)).findById(1L);
         verify(conditionsRepository, never()).save(any(Conditions.class));
+        verify(feeRuleService, never()).refresh();
     }
 
     /**
@@ -187,14 +213,14 @@ public class ConditionsServiceTest {
     @Test
     void testGetAllConditions() {
         List<Conditions> conditionsList = List.of(conditions);
-        when(conditionsRepository.findAll()).thenReturn(conditionsList);
+        when(conditionsRepository.findBy(any(Specification.class), any())).thenReturn(conditionsList);
         when(conditionsMapper.toDTO(conditions)).thenReturn(conditionsDTO);
 
-        List<ConditionsDTO> result = conditionsService.getAll();
+        List<ConditionsDTO> result = conditionsService.getAll(new ListQueryDTO()).items();
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(conditionsRepository, times(1)).findAll();
+        verify(conditionsRepository, times(1)).findBy(any(Specification.class), any());
     }
 
     /**
@@ -212,6 +238,7 @@ public class ConditionsServiceTest {
         assertDoesNotThrow(() -> conditionsService.delete(1L));
         verify(conditionsRepository, times(1)).existsById(1L);
         verify(conditionsRepository, times(1)).deleteById(1L);
+        verify(feeRuleService, times(1)).refresh();
     }
 
     /**
@@ -224,4 +251,70 @@ public class ConditionsServiceTest {
         verify(conditionsRepository, times(1)).existsById(1L);
         verify(conditionsRepository, never()).deleteById(30L);
     }
+
+    /**
+     * Tests that an all-or-nothing bulk create writes nothing if one condition refers to a missing vehicle.
+     */
+    @Test
+    void testCreateAllConditions_AllOrNothing() {
+        inTransaction();
+        ConditionsDTO missingVehicle = new ConditionsDTO(null, 9L, ConditionType.WIND, 10.0, 20.0, null, 0.5, false);
+        when(vehicleRepository.findAllById(List.of(3L, 9L))).thenReturn(List.of(vehicle));
+        when(conditionsMapper.toEntity(conditionsDTO)).thenReturn(conditions);
+
+        List<BulkResultDTO<ConditionsDTO>> results =
+                conditionsService.createAll(List.of(conditionsDTO, missingVehicle), BulkMode.ALL_OR_NOTHING);
+
+        assertEquals(List.of(424, 404), results.stream().map(BulkResultDTO::getStatus).toList());
+        assertEquals("Vehicle with id 9 was not found.", results.get(1).getMessage());
+        assertTrue(transactionStatus.isRollbackOnly());
+        verify(conditionsRepository, never()).saveAllAndFlush(any());
+        verify(feeRuleService, never()).refresh();
+    }
+
+    /**
+     * Tests that a per-item bulk create writes the valid conditions in one call and refreshes the rules once.
+     */
+    @Test
+    void testCreateAllConditions_PerItem() {
+        inTransaction();
+        ConditionsDTO missingVehicle = new ConditionsDTO(null, 9L, ConditionType.WIND, 10.0, 20.0, null, 0.5, false);
+        when(vehicleRepository.findAllById(List.of(3L, 9L))).thenReturn(List.of(vehicle));
+        when(conditionsMapper.toEntity(conditionsDTO)).thenReturn(conditions);
+        when(conditionsMapper.toDTO(conditions)).thenReturn(conditionsDTO);
+
+        List<BulkResultDTO<ConditionsDTO>> results =
+                conditionsService.createAll(List.of(conditionsDTO, missingVehicle), BulkMode.PER_ITEM);
+
+        assertEquals(List.of(201, 404), results.stream().map(BulkResultDTO::getStatus).toList());
+        assertSame(conditionsDTO, results.getFirst().getItem());
+        assertNull(conditions.getConditionsId());
+        verify(conditionsRepository, times(1)).saveAllAndFlush(List.of(conditions));
+        verify(feeRuleService, times(1)).refresh();
+    }
+
+    /**
+     * Tests that a bulk delete loads the conditions with one query and reports the missing ids.
+     */
+    @Test
+    void testDeleteAllConditions() {
+        inTransaction();
+        when(conditionsRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(conditions));
+        when(conditionsMapper.toDTO(conditions)).thenReturn(conditionsDTO);
+
+        List<BulkResultDTO<ConditionsDTO>> results = conditionsService.deleteAll(List.of(1L, 2L), BulkMode.PER_ITEM);
+
+        assertEquals(List.of(200, 404), results.stream().map(BulkResultDTO::getStatus).toList());
+        assertEquals("Condition with id 2 was not found.", results.get(1).getMessage());
+        verify(conditionsRepository, times(1)).deleteAll(List.of(conditions));
+        verify(feeRuleService, times(1)).refresh();
+    }
+
+    /**
+     * Runs the callbacks of the transaction template right away.
+     */
+    private void inTransaction() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(transactionStatus));
+    }
 }
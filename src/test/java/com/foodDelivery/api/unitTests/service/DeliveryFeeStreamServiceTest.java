@@ -0,0 +1,139 @@
+package com.foodDelivery.api.unitTests.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodDelivery.api.dto.DeliveryFeeBatchResultDTO;
+import com.foodDelivery.api.dto.DeliveryFeeRequestDTO;
+import com.foodDelivery.api.service.DeliveryFeeService;
+import com.foodDelivery.api.service.impl.DeliveryFeeStreamServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for calculating the delivery fees of an NDJSON stream.
+ */
+@ExtendWith(MockitoExtension.class)
+public class DeliveryFeeStreamServiceTest {
+
+    @Mock
+    private DeliveryFeeService deliveryFeeService;
+
+    private DeliveryFeeStreamServiceImpl deliveryFeeStreamService;
+
+    /**
+     * Common data set up before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        deliveryFeeStreamService = new DeliveryFeeStreamServiceImpl(
+                deliveryFeeService, new ObjectMapper().findAndRegisterModules());
+    }
+
+    /**
+     * Tests that every request line produces one result line in the same order
+     * and that malformed and blank lines are handled.
+     *
+     * @throws Exception if reading or writing the streams fails.
+     */
+    @Test
+    void testStreamWritesOneResultPerRequestLine() throws Exception {
+        String input = """
+                {"cityName":"Tallinn","vehicleType":"CAR"}
+                not json
+
+                {"cityName":"Tartu","vehicleType":"BIKE","observationTime":"2025-03-20T10:00:00"}
+                """;
+        when(deliveryFeeService.calculateDeliveryFees(List.of(
+                new DeliveryFeeRequestDTO("Tallinn", "CAR", null),
+                new DeliveryFeeRequestDTO("Tartu", "BIKE", LocalDateTime.of(2025, 3, 20, 10, 0))
+        ))).thenReturn(List.of(
+                new DeliveryFeeBatchResultDTO(200, 4.0, null),
+                new DeliveryFeeBatchResultDTO(404, null, "Could not get weather data for this city")
+        ));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        deliveryFeeStreamService.calculateDeliveryFees(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, lines.size());
+        assertEquals("{\"status\":200,\"totalFee\":4.0,\"message\":null}", lines.get(0));
+        assertEquals("{\"status\":400,\"totalFee\":null,\"message\":\"Could not parse the request line.\"}", lines.get(1));
+        assertEquals("{\"status\":404,\"totalFee\":null,\"message\":\"Could not get weather data for this city\"}", lines.get(2));
+    }
+
+    /**
+     * Tests that large inputs are calculated in bounded chunks instead of all at once.
+     *
+     * @throws Exception if reading or writing the streams fails.
+     */
+    @Test
+    void testStreamIsProcessedInChunks() throws Exception {
+        when(deliveryFeeService.calculateDeliveryFees(anyList())).thenAnswer(invocation ->
+                ((List<?>) invocation.getArgument(0)).stream()
+                        .map(request -> new DeliveryFeeBatchResultDTO(200, 4.0, null))
+                        .toList());
+
+        String line = "{\"cityName\":\"Tallinn\",\"vehicleType\":\"CAR\"}\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        deliveryFeeStreamService.calculateDeliveryFees(
+                new ByteArrayInputStream(line.repeat(1201).getBytes(StandardCharsets.UTF_8)), output);
+
+        assertEquals(1201, output.toString(StandardCharsets.UTF_8).lines().count());
+        verify(deliveryFeeService, times(3)).calculateDeliveryFees(anyList());
+    }
+
+    /**
+     * Tests that a line over the length limit is answered with a 400 result without stopping the stream.
+     *
+     * @throws Exception if reading or writing the streams fails.
+     */
+    @Test
+    void testOversizedLineIsRejected() throws Exception {
+        String input = "{\"cityName\":\"" + "x".repeat(20_000) + "\",\"vehicleType\":\"CAR\"}\n"
+                + "{\"cityName\":\"Tallinn\",\"vehicleType\":\"CAR\"}\r\n";
+        when(deliveryFeeService.calculateDeliveryFees(List.of(new DeliveryFeeRequestDTO("Tallinn", "CAR", null))))
+                .thenReturn(List.of(new DeliveryFeeBatchResultDTO(200, 4.0, null)));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        deliveryFeeStreamService.calculateDeliveryFees(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        assertEquals("{\"status\":400,\"totalFee\":null,\"message\":\"The request line is longer than 16384 characters.\"}", lines.get(0));
+        assertEquals("{\"status\":200,\"totalFee\":4.0,\"message\":null}", lines.get(1));
+    }
+
+    /**
+     * Tests that a line of exactly the length limit is accepted even if it ends with a carriage return.
+     *
+     * @throws Exception if reading or writing the streams fails.
+     */
+    @Test
+    void testLineOfMaxLengthIsAccepted() throws Exception {
+        String request = "{\"cityName\":\"Tallinn\",\"vehicleType\":\"CAR\"";
+        String line = request + " ".repeat(16384 - request.length() - 1) + "}";
+        when(deliveryFeeService.calculateDeliveryFees(List.of(new DeliveryFeeRequestDTO("Tallinn", "CAR", null))))
+                .thenReturn(List.of(new DeliveryFeeBatchResultDTO(200, 4.0, null)));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        deliveryFeeStreamService.calculateDeliveryFees(
+                new ByteArrayInputStream((line + "\r\n").getBytes(StandardCharsets.UTF_8)), output);
+
+        assertEquals(List.of("{\"status\":200,\"totalFee\":4.0,\"message\":null}"),
+                output.toString(StandardCharsets.UTF_8).lines().toList());
+    }
+}
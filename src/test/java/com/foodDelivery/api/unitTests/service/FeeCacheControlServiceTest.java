@@ -0,0 +1,114 @@
+package com.foodDelivery.api.unitTests.service;
+
+import com.foodDelivery.api.service.impl.FeeCacheControlServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the caching headers of the delivery fee quotes.
+ */
+public class FeeCacheControlServiceTest {
+
+    private static final ZoneId TALLINN = ZoneId.of("Europe/Tallinn");
+    private static final ZonedDateTime NOW = ZonedDateTime.of(2025, 3, 20, 10, 5, 0, 0, TALLINN);
+
+    private final FeeCacheControlServiceImpl feeCacheControlService = new FeeCacheControlServiceImpl(
+            "0 15 * * * *", Duration.ofHours(1), Duration.ofDays(30), Duration.ofDays(365));
+
+    /**
+     * Common data set up before each test: the 09:15 run has finished.
+     */
+    @BeforeEach
+    void setUp() {
+        feeCacheControlService.ingestionFinished(NOW.withMinute(16).minusHours(1));
+    }
+
+    /**
+     * Tests that the latest fee may be cached until the next ingestion run.
+     */
+    @Test
+    void testLatestFeeExpiresAtNextIngestion() {
+        HttpHeaders headers = feeCacheControlService.cacheHeaders(null, NOW);
+
+        assertEquals("max-age=600, public", headers.getCacheControl());
+        assertEquals(NOW.plusMinutes(10).toInstant().toEpochMilli(), headers.getExpires());
+    }
+
+    /**
+     * Tests that a quote for a time the ingestion has already passed is cached for the historical maximum age
+     * and not marked immutable.
+     */
+    @Test
+    void testPassedObservationTimeIsCachedForMaxAge() {
+        HttpHeaders headers = feeCacheControlService.cacheHeaders(LocalDateTime.of(2025, 3, 20, 9, 0), NOW);
+
+        assertEquals("max-age=3600, public", headers.getCacheControl());
+        assertEquals(NOW.plusHours(1).toInstant().toEpochMilli(), headers.getExpires());
+    }
+
+    /**
+     * Tests that a historical quote expires when its weather data leaves the raw window, if that comes earlier.
+     */
+    @Test
+    void testHistoricalQuoteExpiresAtRollup() {
+        LocalDateTime observationTime = NOW.minusDays(30).plusMinutes(20).toLocalDateTime();
+
+        HttpHeaders headers = feeCacheControlService.cacheHeaders(observationTime, NOW);
+
+        assertEquals("max-age=1200, public", headers.getCacheControl());
+        assertEquals(NOW.plusMinutes(20).toInstant().toEpochMilli(), headers.getExpires());
+    }
+
+    /**
+     * Tests that a quote for a time not yet passed by the ingestion expires at the next run.
+     */
+    @Test
+    void testObservationTimeAfterLastIngestionExpiresAtNextIngestion() {
+        HttpHeaders headers = feeCacheControlService.cacheHeaders(LocalDateTime.of(2025, 3, 20, 9, 30), NOW);
+
+        assertEquals("max-age=600, public", headers.getCacheControl());
+        assertEquals(NOW.plusMinutes(10).toInstant().toEpochMilli(), headers.getExpires());
+    }
+
+    /**
+     * Tests that observation times are compared in the time zone of the observations.
+     */
+    @Test
+    void testObservationTimeIsInObservationZone() {
+        ZonedDateTime utcNow = NOW.withZoneSameInstant(ZoneId.of("UTC"));
+
+        assertEquals("max-age=600, public",
+                feeCacheControlService.cacheHeaders(LocalDateTime.of(2025, 3, 20, 9, 30), utcNow).getCacheControl());
+        assertEquals("max-age=3600, public",
+                feeCacheControlService.cacheHeaders(LocalDateTime.of(2025, 3, 20, 9, 10), utcNow).getCacheControl());
+    }
+
+    /**
+     * Tests that quotes the due ingestion run may change are not cacheable until it has finished.
+     */
+    @Test
+    void testQuotesAreNotCachedUntilDueIngestionFinished() {
+        ZonedDateTime afterRun = NOW.withMinute(15).plusNanos(500_000_000);
+
+        assertEquals("no-cache", feeCacheControlService.cacheHeaders(null, afterRun).getCacheControl());
+        assertEquals("no-cache", feeCacheControlService
+                .cacheHeaders(LocalDateTime.of(2025, 3, 20, 9, 30), afterRun).getCacheControl());
+        assertEquals("max-age=3600, public", feeCacheControlService
+                .cacheHeaders(LocalDateTime.of(2025, 3, 20, 9, 0), afterRun).getCacheControl());
+
+        feeCacheControlService.ingestionFinished(NOW.withMinute(16));
+        ZonedDateTime afterFinish = NOW.withMinute(17);
+
+        assertEquals("max-age=3480, public", feeCacheControlService.cacheHeaders(null, afterFinish).getCacheControl());
+        assertEquals("max-age=3600, public", feeCacheControlService
+                .cacheHeaders(LocalDateTime.of(2025, 3, 20, 9, 30), afterFinish).getCacheControl());
+    }
+}
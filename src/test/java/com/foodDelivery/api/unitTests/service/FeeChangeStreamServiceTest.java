@@ -0,0 +1,151 @@
+package com.foodDelivery.api.unitTests.service;
+
+import com.foodDelivery.api.exception.InvalidVehicleTypeException;
+import com.foodDelivery.api.dto.FeeChangeDTO;
+import com.foodDelivery.api.event.FeeMatrixRefreshedEvent;
+import com.foodDelivery.api.exception.CityNotFoundException;
+import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.model.enums.VehicleType;
+import com.foodDelivery.api.repository.CityRepository;
+import com.foodDelivery.api.rules.FeeMatrix;
+import com.foodDelivery.api.service.FeeMatrixService;
+import com.foodDelivery.api.service.impl.FeeChangeStreamServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.baseFee;
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.snapshot;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for streaming the changes of the current delivery fees.
+ */
+@ExtendWith(MockitoExtension.class)
+public class FeeChangeStreamServiceTest {
+
+    @Mock
+    private FeeMatrixService feeMatrixService;
+
+    @Mock
+    private CityRepository cityRepository;
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private FeeChangeStreamServiceImpl feeChangeStreamService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(cityRepository.existsByCityName("Tallinn")).thenReturn(true);
+        feeChangeStreamService = new FeeChangeStreamServiceImpl(
+                feeMatrixService, cityRepository, Duration.ofMinutes(1), 2, Runnable::run) {
+            @Override
+            protected SseEmitter createEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    /**
+     * Tests that subscribers get the current fees and afterwards only the fees that changed.
+     */
+    @Test
+    void testOnlyChangedFeesAreSent() {
+        feeChangeStreamService.onFeeMatrixRefreshed(matrix(10.0, 5.0));
+        feeChangeStreamService.subscribe("Tallinn", "bike");
+        feeChangeStreamService.subscribe("Tallinn", null);
+        RecordingEmitter bike = emitters.get(0);
+        RecordingEmitter all = emitters.get(1);
+
+        assertEquals(List.of(new FeeChangeDTO("Tallinn", "BIKE", 3.0, false)), bike.sent);
+        assertEquals(3, all.sent.size());
+
+        // new observation with the same fees
+        feeChangeStreamService.onFeeMatrixRefreshed(matrix(12.0, 6.0));
+        assertEquals(1, bike.sent.size());
+        assertEquals(3, all.sent.size());
+
+        // the wind forbids bikes and leaves the car fee unchanged
+        feeChangeStreamService.onFeeMatrixRefreshed(matrix(12.0, 25.0));
+        assertEquals(new FeeChangeDTO("Tallinn", "BIKE", null, true), bike.sent.getLast());
+        assertEquals(2, bike.sent.size());
+        assertEquals(4, all.sent.size());
+        assertEquals(2, feeChangeStreamService.subscriberCount());
+    }
+
+    /**
+     * Tests that clients that fail or fall behind are dropped without affecting the others.
+     */
+    @Test
+    void testFailingAndSlowSubscribersAreRemoved() {
+        feeChangeStreamService.onFeeMatrixRefreshed(matrix(10.0, 5.0));
+        feeChangeStreamService.subscribe("Tallinn", "BIKE");
+        feeChangeStreamService.subscribe("Tallinn", "BIKE");
+        emitters.get(0).failing = true;
+
+        feeChangeStreamService.onFeeMatrixRefreshed(matrix(10.0, 25.0));
+
+        assertEquals(1, feeChangeStreamService.subscriberCount());
+        assertEquals(2, emitters.get(1).sent.size());
+    }
+
+    /**
+     * Tests that unknown cities and vehicle types are rejected.
+     */
+    @Test
+    void testSubscribeValidatesInput() {
+        assertThrows(CityNotFoundException.class, () -> feeChangeStreamService.subscribe("Narva", "CAR"));
+        assertThrows(InvalidVehicleTypeException.class, () -> feeChangeStreamService.subscribe("Tallinn", "PLANE"));
+        assertEquals(0, feeChangeStreamService.subscriberCount());
+    }
+
+    private static FeeMatrixRefreshedEvent matrix(double airTemperature, double windSpeed) {
+        City city = new City();
+        city.setCityName("Tallinn");
+        WeatherData weatherData = new WeatherData();
+        weatherData.setCity(city);
+        weatherData.setObservationTime(LocalDateTime.of(2025, 3, 20, 10, 0));
+        weatherData.setAirTemperature(airTemperature);
+        weatherData.setWindSpeed(windSpeed);
+        weatherData.setWeatherPhenomenon("Clear");
+
+        return new FeeMatrixRefreshedEvent(FeeMatrix.build(snapshot(
+                baseFee("Tallinn", VehicleType.CAR, 4.00),
+                baseFee("Tallinn", VehicleType.SCOOTER, 3.50),
+                baseFee("Tallinn", VehicleType.BIKE, 3.00)
+        ), List.of(weatherData)));
+    }
+
+    /**
+     * Emitter that records the sent fee changes instead of writing them to a response.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<FeeChangeDTO> sent = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            builder.build().stream()
+                    .map(DataWithMediaType::getData)
+                    .filter(FeeChangeDTO.class::isInstance)
+                    .map(FeeChangeDTO.class::cast)
+                    .forEach(sent::add);
+        }
+    }
+}
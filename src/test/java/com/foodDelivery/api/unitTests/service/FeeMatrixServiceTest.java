@@ -0,0 +1,123 @@
+package com.foodDelivery.api.unitTests.service;
+
+import com.foodDelivery.api.exception.InvalidVehicleTypeException;
+import com.foodDelivery.api.exception.VehicleUsageForbiddenException;
+import com.foodDelivery.api.exception.BaseFeeNotFoundException;
+import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.model.enums.VehicleType;
+import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.rules.FeeMatrix;
+import com.foodDelivery.api.rules.FeeQuote;
+import com.foodDelivery.api.service.FeeMatrixService;
+import com.foodDelivery.api.service.FeeRuleService;
+import com.foodDelivery.api.service.impl.DeliveryFeeServiceImpl;
+import com.foodDelivery.api.service.impl.FeeMatrixServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.baseFee;
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.snapshot;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for building the fee matrix and answering latest fee requests from it.
+ */
+@ExtendWith(MockitoExtension.class)
+public class FeeMatrixServiceTest {
+
+    @Mock
+    private FeeRuleService feeRuleService;
+
+    @Mock
+    private WeatherDataRepository weatherDataRepository;
+
+    /**
+     * Tests that every cell of the matrix holds the quote for the latest weather of the city.
+     */
+    @Test
+    void testRefreshBuildsMatrixFromLatestWeather() {
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(
+                baseFee("Tallinn", VehicleType.CAR, 4.00),
+                baseFee("Tallinn", VehicleType.BIKE, 3.00),
+                baseFee("Tartu", VehicleType.BIKE, 2.50)
+        ));
+        when(weatherDataRepository.findLatestForEachCity()).thenReturn(List.of(
+                weather(1L, "Tallinn", 1, -5.0, 25.0, "Light snow shower"),
+                weather(2L, "Tartu", 1, -15.0, 12.0, "Light rain")
+        ));
+
+        FeeMatrixServiceImpl feeMatrixService = new FeeMatrixServiceImpl(feeRuleService, weatherDataRepository, event -> { });
+        FeeMatrix matrix = feeMatrixService.getMatrix();
+
+        assertSame(matrix, feeMatrixService.getMatrix());
+        assertEquals(FeeQuote.of(4.00), matrix.get("Tallinn", VehicleType.CAR));
+        assertEquals(FeeQuote.forbidden(), matrix.get("Tallinn", VehicleType.BIKE));
+        assertEquals(FeeQuote.noBaseFee(), matrix.get("Tallinn", VehicleType.SCOOTER));
+        assertEquals(FeeQuote.of(4.50), matrix.get("Tartu", VehicleType.BIKE));
+        assertFalse(matrix.containsCity("Pärnu"));
+        assertNull(matrix.get("Pärnu", VehicleType.CAR));
+        verify(weatherDataRepository, times(1)).findLatestForEachCity();
+    }
+
+    /**
+     * Tests that the newest observation wins when a city has several candidates.
+     */
+    @Test
+    void testNewestObservationIsUsed() {
+        FeeMatrix matrix = FeeMatrix.build(snapshot(baseFee("Tallinn", VehicleType.SCOOTER, 3.50)), List.of(
+                weather(1L, "Tallinn", 2, 5.0, 0.0, "Hail"),
+                weather(2L, "Tallinn", 3, 5.0, 0.0, "Clear"),
+                weather(3L, "Tallinn", 1, -20.0, 0.0, "Clear")
+        ));
+
+        assertEquals(FeeQuote.of(3.50), matrix.get("Tallinn", VehicleType.SCOOTER));
+    }
+
+    /**
+     * Tests that the latest fee is answered from the matrix without reading weather data
+     * and that the quote status is reported with the same exceptions as before.
+     */
+    @Test
+    void testLatestFeeIsServedFromMatrix() {
+        FeeMatrix matrix = FeeMatrix.build(snapshot(
+                baseFee("Tallinn", VehicleType.CAR, 4.00),
+                baseFee("Tallinn", VehicleType.BIKE, 3.00)
+        ), List.of(weather(1L, "Tallinn", 1, 0.0, 25.0, "Clear")));
+        FeeMatrixService feeMatrixService = mock(FeeMatrixService.class);
+        when(feeMatrixService.getMatrix()).thenReturn(matrix);
+
+        DeliveryFeeServiceImpl deliveryFeeService =
+                new DeliveryFeeServiceImpl(feeRuleService, feeMatrixService, null, null, weatherDataRepository, null);
+
+        assertEquals(4.00, deliveryFeeService.calculateDeliveryFee("Tallinn", "car", null));
+        assertThrows(VehicleUsageForbiddenException.class,
+                () -> deliveryFeeService.calculateDeliveryFee("Tallinn", "BIKE", null));
+        assertThrows(BaseFeeNotFoundException.class,
+                () -> deliveryFeeService.calculateDeliveryFee("Tallinn", "SCOOTER", null));
+        assertThrows(InvalidVehicleTypeException.class,
+                () -> deliveryFeeService.calculateDeliveryFee("Tallinn", "TRUCK", null));
+        verifyNoInteractions(weatherDataRepository, feeRuleService);
+    }
+
+    private static WeatherData weather(Long id, String cityName, int hour,
+                                       Double temperature, Double windSpeed, String phenomenon) {
+        City city = new City();
+        city.setCityName(cityName);
+
+        WeatherData weatherData = new WeatherData();
+        weatherData.setWeatherDataId(id);
+        weatherData.setCity(city);
+        weatherData.setObservationTime(LocalDateTime.of(2025, 3, 20, hour, 0));
+        weatherData.setAirTemperature(temperature);
+        weatherData.setWindSpeed(windSpeed);
+        weatherData.setWeatherPhenomenon(phenomenon);
+        return weatherData;
+    }
+}
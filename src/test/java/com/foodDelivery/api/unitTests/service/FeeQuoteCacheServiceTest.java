@@ -0,0 +1,163 @@
+package com.foodDelivery.api.unitTests.service;
+
+import com.foodDelivery.api.dto.FeeQuoteCacheStatsDTO;
+import com.foodDelivery.api.event.FeeRulesRefreshedEvent;
+import com.foodDelivery.api.model.Conditions;
+import com.foodDelivery.api.model.enums.ConditionType;
+import com.foodDelivery.api.model.enums.VehicleType;
+import com.foodDelivery.api.rules.FeeQuote;
+import com.foodDelivery.api.rules.FeeRuleSnapshot;
+import com.foodDelivery.api.service.FeeRuleService;
+import com.foodDelivery.api.service.impl.FeeQuoteCacheServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.baseFee;
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.defaultConditions;
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.range;
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.snapshot;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the delivery fee quote cache and its invalidation.
+ */
+@ExtendWith(MockitoExtension.class)
+public class FeeQuoteCacheServiceTest {
+
+    @Mock
+    private FeeRuleService feeRuleService;
+
+    private FeeQuoteCacheServiceImpl feeQuoteCacheService;
+
+    private FeeRuleSnapshot rules;
+
+    /**
+     * Common data set up before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        feeQuoteCacheService = new FeeQuoteCacheServiceImpl(feeRuleService, 3);
+        rules = snapshot(
+                baseFee("Tallinn", VehicleType.CAR, 4.00),
+                baseFee("Tallinn", VehicleType.BIKE, 3.00),
+                baseFee("Tartu", VehicleType.CAR, 3.50)
+        );
+        refresh(rules);
+    }
+
+    /**
+     * Tests hits, misses and least recently used eviction.
+     */
+    @Test
+    void testHitsMissesAndEvictions() {
+        long generation = feeQuoteCacheService.generation();
+        assertNull(feeQuoteCacheService.get("Tallinn", VehicleType.CAR, 1L));
+        feeQuoteCacheService.put("Tallinn", VehicleType.CAR, 1L, FeeQuote.of(4.00), generation);
+        feeQuoteCacheService.put("Tallinn", VehicleType.CAR, 2L, FeeQuote.of(4.00), generation);
+        feeQuoteCacheService.put("Tallinn", VehicleType.CAR, 3L, FeeQuote.of(4.00), generation);
+        assertEquals(FeeQuote.of(4.00), feeQuoteCacheService.get("Tallinn", VehicleType.CAR, 1L));
+        feeQuoteCacheService.put("Tallinn", VehicleType.CAR, 4L, FeeQuote.of(4.00), generation);
+
+        assertNull(feeQuoteCacheService.get("Tallinn", VehicleType.CAR, 2L));
+        assertNull(feeQuoteCacheService.get("Tallinn", VehicleType.CAR, null));
+
+        FeeQuoteCacheStatsDTO stats = feeQuoteCacheService.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(1, stats.getEvictions());
+        assertEquals(3, stats.getSize());
+        assertEquals(3, stats.getMaxSize());
+    }
+
+    /**
+     * Tests that a rule refresh only removes the entries whose base fee or vehicle rules changed.
+     */
+    @Test
+    void testRuleRefreshInvalidatesOnlyAffectedEntries() {
+        long generation = feeQuoteCacheService.generation();
+        feeQuoteCacheService.put("Tallinn", VehicleType.CAR, 1L, FeeQuote.of(4.00), generation);
+        feeQuoteCacheService.put("Tallinn", VehicleType.BIKE, 1L, FeeQuote.of(3.00), generation);
+        feeQuoteCacheService.put("Tartu", VehicleType.CAR, 2L, FeeQuote.of(3.50), generation);
+
+        refresh(snapshot(
+                baseFee("Tallinn", VehicleType.CAR, 4.00),
+                baseFee("Tallinn", VehicleType.BIKE, 3.00),
+                baseFee("Tartu", VehicleType.CAR, 3.75)
+        ));
+
+        assertNotNull(feeQuoteCacheService.get("Tallinn", VehicleType.CAR, 1L));
+        assertNotNull(feeQuoteCacheService.get("Tallinn", VehicleType.BIKE, 1L));
+        assertNull(feeQuoteCacheService.get("Tartu", VehicleType.CAR, 2L));
+
+        List<Conditions> conditions = new ArrayList<>(defaultConditions());
+        conditions.add(range(VehicleType.BIKE, ConditionType.WIND, 5.00, 9.99, 0.25, false));
+        refresh(FeeRuleSnapshot.compile(conditions, List.of(
+                baseFee("Tallinn", VehicleType.CAR, 4.00),
+                baseFee("Tallinn", VehicleType.BIKE, 3.00),
+                baseFee("Tartu", VehicleType.CAR, 3.75)
+        )));
+
+        assertNotNull(feeQuoteCacheService.get("Tallinn", VehicleType.CAR, 1L));
+        assertNull(feeQuoteCacheService.get("Tallinn", VehicleType.BIKE, 1L));
+        assertEquals(2, feeQuoteCacheService.getStats().getInvalidations());
+    }
+
+    /**
+     * Tests that weather data writes evict their entries and that quotes calculated
+     * before an invalidation are not stored.
+     */
+    @Test
+    void testWeatherEvictionAndStaleGeneration() {
+        long generation = feeQuoteCacheService.generation();
+        feeQuoteCacheService.put("Tallinn", VehicleType.CAR, 1L, FeeQuote.of(4.00), generation);
+        feeQuoteCacheService.put("Tartu", VehicleType.CAR, 2L, FeeQuote.of(3.50), generation);
+
+        feeQuoteCacheService.evictWeatherData(1L);
+        feeQuoteCacheService.put("Tallinn", VehicleType.BIKE, 1L, FeeQuote.of(3.00), generation);
+
+        assertNull(feeQuoteCacheService.get("Tallinn", VehicleType.CAR, 1L));
+        assertNull(feeQuoteCacheService.get("Tallinn", VehicleType.BIKE, 1L));
+        assertNotNull(feeQuoteCacheService.get("Tartu", VehicleType.CAR, 2L));
+        assertEquals(1, feeQuoteCacheService.getStats().getInvalidations());
+    }
+
+    /**
+     * Tests that a cache split into segments stays within its maximum size and evicts the entries of
+     * a weather data from every segment.
+     */
+    @Test
+    void testSegmentedCacheIsBoundedAndEvictsByWeatherData() {
+        FeeQuoteCacheServiceImpl cache = new FeeQuoteCacheServiceImpl(feeRuleService, 256);
+        long generation = cache.generation();
+        for (long weatherDataId = 1; weatherDataId <= 1000; weatherDataId++) {
+            cache.put("Tallinn", VehicleType.CAR, weatherDataId, FeeQuote.of(4.00), generation);
+        }
+
+        FeeQuoteCacheStatsDTO stats = cache.getStats();
+        assertEquals(256, stats.getSize());
+        assertEquals(744, stats.getEvictions());
+
+        generation = cache.generation();
+        for (VehicleType vehicleType : VehicleType.values()) {
+            cache.put("Tartu", vehicleType, 5000L, FeeQuote.of(3.00), generation);
+        }
+        cache.evictWeatherData(5000L);
+
+        for (VehicleType vehicleType : VehicleType.values()) {
+            assertNull(cache.get("Tartu", vehicleType, 5000L));
+        }
+        assertEquals(VehicleType.values().length, cache.getStats().getInvalidations());
+    }
+
+    private void refresh(FeeRuleSnapshot snapshot) {
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot);
+        feeQuoteCacheService.onFeeRulesRefreshed(new FeeRulesRefreshedEvent(snapshot));
+    }
+}
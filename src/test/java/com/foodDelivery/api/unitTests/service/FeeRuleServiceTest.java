@@ -0,0 +1,123 @@
+package com.foodDelivery.api.unitTests.service;
+
+import com.foodDelivery.api.event.FeeRulesRefreshedEvent;
+import com.foodDelivery.api.model.Conditions;
+import com.foodDelivery.api.model.enums.ConditionType;
+import com.foodDelivery.api.model.enums.VehicleType;
+import com.foodDelivery.api.repository.BaseFeeRepository;
+import com.foodDelivery.api.repository.ConditionsRepository;
+import com.foodDelivery.api.rules.FeeRuleSnapshot;
+import com.foodDelivery.api.rules.RuleOutcome;
+import com.foodDelivery.api.service.impl.FeeRuleServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.baseFee;
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.defaultConditions;
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.phenomenon;
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.range;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for compiling the fee rules into an in-memory snapshot and evaluating them.
+ */
+@ExtendWith(MockitoExtension.class)
+public class FeeRuleServiceTest {
+
+    @Mock
+    private ConditionsRepository conditionsRepository;
+
+    @Mock
+    private BaseFeeRepository baseFeeRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private FeeRuleServiceImpl feeRuleService;
+
+    /**
+     * Tests that the snapshot is loaded once on first access and reused afterwards.
+     */
+    @Test
+    void testGetSnapshotLoadsOnce() {
+        when(conditionsRepository.findAllWithVehicle()).thenReturn(defaultConditions());
+        when(baseFeeRepository.findAllWithCityAndVehicle())
+                .thenReturn(List.of(baseFee("Tallinn", VehicleType.BIKE, 3.00)));
+
+        FeeRuleSnapshot first = feeRuleService.getSnapshot();
+        FeeRuleSnapshot second = feeRuleService.getSnapshot();
+
+        assertSame(first, second);
+        assertEquals(3.00, first.getBaseFee("Tallinn", VehicleType.BIKE));
+        assertNull(first.getBaseFee("Tallinn", VehicleType.CAR));
+        verify(conditionsRepository, times(1)).findAllWithVehicle();
+        verify(baseFeeRepository, times(1)).findAllWithCityAndVehicle();
+    }
+
+    /**
+     * Tests that refreshing swaps in a new snapshot that reflects the changed rules.
+     */
+    @Test
+    void testRefreshReplacesSnapshot() {
+        when(conditionsRepository.findAllWithVehicle())
+                .thenReturn(List.of())
+                .thenReturn(List.of(phenomenon(VehicleType.BIKE, "Hail", 0.00, true)));
+        when(baseFeeRepository.findAllWithCityAndVehicle()).thenReturn(List.of());
+
+        FeeRuleSnapshot before = feeRuleService.getSnapshot();
+        assertFalse(before.evaluate(VehicleType.BIKE, null, null, "Hail").isForbidden());
+
+        feeRuleService.refresh();
+        FeeRuleSnapshot after = feeRuleService.getSnapshot();
+
+        assertNotSame(before, after);
+        assertTrue(after.evaluate(VehicleType.BIKE, null, null, "Hail").isForbidden());
+        assertFalse(before.evaluate(VehicleType.BIKE, null, null, "Hail").isForbidden());
+
+        ArgumentCaptor<FeeRulesRefreshedEvent> event = ArgumentCaptor.forClass(FeeRulesRefreshedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(event.capture());
+        assertSame(after, event.getValue().getSnapshot());
+    }
+
+    /**
+     * Tests that every overlapping range that contains the value is applied, like the database query did.
+     */
+    @Test
+    void testOverlappingRangesAreSummed() {
+        List<Conditions> conditions = List.of(
+                range(VehicleType.SCOOTER, ConditionType.TEMPERATURE, -50.0, 50.0, 0.25, false),
+                range(VehicleType.SCOOTER, ConditionType.TEMPERATURE, -10.0, 0.0, 0.50, false),
+                range(VehicleType.SCOOTER, ConditionType.TEMPERATURE, -5.0, -1.0, 1.00, false),
+                range(VehicleType.SCOOTER, ConditionType.TEMPERATURE, 10.0, 20.0, 2.00, false)
+        );
+        FeeRuleSnapshot snapshot = FeeRuleSnapshot.compile(conditions, List.of());
+
+        assertEquals(1.75, snapshot.evaluate(VehicleType.SCOOTER, -3.0, null, null).getFee());
+        assertEquals(0.75, snapshot.evaluate(VehicleType.SCOOTER, 0.0, null, null).getFee());
+        assertEquals(0.25, snapshot.evaluate(VehicleType.SCOOTER, 5.0, null, null).getFee());
+        assertEquals(2.25, snapshot.evaluate(VehicleType.SCOOTER, 15.0, null, null).getFee());
+        assertSame(RuleOutcome.NONE, snapshot.evaluate(VehicleType.SCOOTER, 60.0, null, null));
+        assertSame(RuleOutcome.NONE, snapshot.evaluate(VehicleType.BIKE, -3.0, null, null));
+    }
+
+    /**
+     * Tests that range conditions without bounds never match.
+     */
+    @Test
+    void testRangeWithoutBoundsIsIgnored() {
+        FeeRuleSnapshot snapshot = FeeRuleSnapshot.compile(List.of(
+                range(VehicleType.BIKE, ConditionType.WIND, null, 20.0, 1.00, true)
+        ), List.of());
+
+        assertSame(RuleOutcome.NONE, snapshot.evaluate(VehicleType.BIKE, null, 10.0, null));
+    }
+}
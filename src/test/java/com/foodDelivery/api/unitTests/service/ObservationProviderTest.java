@@ -0,0 +1,339 @@
+package com.foodDelivery.api.unitTests.service;
+
+import com.foodDelivery.api.exception.WeatherDataReadingException;
+import com.foodDelivery.api.ingestion.FileObservationProvider;
+import com.foodDelivery.api.ingestion.IngestionListener;
+import com.foodDelivery.api.ingestion.ObservationFeed;
+import com.foodDelivery.api.ingestion.ObservationProvider;
+import com.foodDelivery.api.ingestion.WeatherDataUpsert;
+import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.repository.CityRepository;
+import com.foodDelivery.api.service.FeeMatrixService;
+import com.foodDelivery.api.service.FeeQuoteCacheService;
+import com.foodDelivery.api.service.PayloadArchiveService;
+import com.foodDelivery.api.service.WeatherDataBatchService;
+import com.foodDelivery.api.service.WeatherHistoryService;
+import com.foodDelivery.api.service.impl.WeatherReadingServiceImpl;
+import com.foodDelivery.api.xml.Station;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for reading the weather data from several observation providers.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ObservationProviderTest {
+
+    private static final String OLDER = "1742472000";
+    private static final String NEWER = "1742472900";
+
+    @Mock
+    private CityRepository cityRepository;
+
+    @Mock
+    private WeatherDataBatchService weatherDataBatchService;
+
+    @Mock
+    private FeeMatrixService feeMatrixService;
+
+    @Mock
+    private WeatherHistoryService weatherHistoryService;
+
+    @Mock
+    private FeeQuoteCacheService feeQuoteCacheService;
+
+    @Mock
+    private PayloadArchiveService payloadArchiveService;
+
+    @TempDir
+    private Path tempDir;
+
+    /**
+     * Tests that the file provider reads the configured stations and skips an unchanged file.
+     *
+     * @throws Exception if the file cannot be read.
+     */
+    @Test
+    void testFileProviderSkipsUnchangedFile() throws Exception {
+        Path feed = tempDir.resolve("observations.xml");
+        Files.writeString(feed, """
+                <observations timestamp="1742472839">
+                    <station><name>Tallinn-Harku</name><wmocode>26038</wmocode><airtemperature>3.6</airtemperature></station>
+                    <station><name>Narva</name><wmocode>26058</wmocode><airtemperature>1.0</airtemperature></station>
+                </observations>
+                """);
+        FileObservationProvider provider = new FileObservationProvider("file", feed, Duration.ofSeconds(1));
+
+        ObservationFeed first = provider.fetch(null, "26038"::equals, true).orElseThrow();
+
+        assertEquals("file", first.provider());
+        assertEquals("1742472839", first.timestamp());
+        assertEquals(1, first.stations().size());
+        assertEquals(3.6, first.stations().getFirst().getAirTemperature());
+        assertArrayEquals(Files.readAllBytes(feed), first.payload());
+        assertTrue(provider.fetch(first, "26038"::equals, true).isEmpty());
+    }
+
+    /**
+     * Tests that the file provider does not keep the payload when the archive does not need it.
+     *
+     * @throws Exception if the file cannot be read.
+     */
+    @Test
+    void testFileProviderDropsPayloadIfNotKept() throws Exception {
+        Path feed = tempDir.resolve("observations.xml");
+        Files.writeString(feed, """
+                <observations timestamp="1742472839">
+                    <station><name>Tallinn-Harku</name><wmocode>26038</wmocode><airtemperature>3.6</airtemperature></station>
+                </observations>
+                """);
+        FileObservationProvider provider = new FileObservationProvider("file", feed, Duration.ofSeconds(1));
+
+        ObservationFeed fetched = provider.fetch(null, "26038"::equals, false).orElseThrow();
+
+        assertEquals(1, fetched.stations().size());
+        assertNull(fetched.payload());
+    }
+
+    /**
+     * Tests that every station is taken from the newest feed and missing stations are filled in by other providers.
+     */
+    @Test
+    void testStationsAreMergedFromNewestFeed() {
+        mockCities();
+        mockUpsert(List.of());
+        WeatherReadingServiceImpl service = service(
+                new FixedProvider("primary", 0, feed("primary", OLDER, station("26038", 1.0), station("26242", 2.0))),
+                new FixedProvider("secondary", 0, feed("secondary", NEWER, station("26038", 5.0), station("41803", 6.0)))
+        );
+
+        service.readWeatherData(IngestionListener.NONE);
+
+        Map<String, Double> temperatures = storedRows().stream()
+                .collect(Collectors.toMap(row -> row.getCity().getWmoCode(), WeatherData::getAirTemperature));
+        assertEquals(Map.of("26038", 5.0, "26242", 2.0, "41803", 6.0), temperatures);
+        verify(feeMatrixService).refresh();
+    }
+
+    /**
+     * Tests that a lagging or failing provider is reported and left out while the others are stored.
+     */
+    @Test
+    void testLaggingProviderIsSkipped() {
+        mockCities();
+        mockUpsert(List.of());
+        RecordingListener listener = new RecordingListener();
+        WeatherReadingServiceImpl service = service(
+                new FixedProvider("slow", 5_000, feed("slow", NEWER, station("26038", 9.0))),
+                new FixedProvider("fast", 0, feed("fast", OLDER, station("26038", 1.0)))
+        );
+
+        service.readWeatherData(listener);
+
+        assertEquals(1.0, storedRows().getFirst().getAirTemperature());
+        assertEquals(Set.of("slow"), listener.failed.keySet());
+        assertInstanceOf(TimeoutException.class, listener.failed.get("slow"));
+        assertTrue(listener.stages.contains("fetch:fast"));
+        assertFalse(listener.stages.contains("fetch:slow"));
+    }
+
+    /**
+     * Tests that the fetch of a provider that does not answer in time is interrupted.
+     *
+     * @throws Exception if waiting for the interruption is interrupted.
+     */
+    @Test
+    void testLaggingProviderIsCancelled() throws Exception {
+        mockCities();
+        mockUpsert(List.of());
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ObservationProvider hung = mock(ObservationProvider.class);
+        when(hung.getName()).thenReturn("hung");
+        when(hung.getTimeout()).thenReturn(Duration.ofMillis(100));
+        when(hung.fetch(any(), any(), anyBoolean())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return Optional.empty();
+        });
+        WeatherReadingServiceImpl service = service(hung,
+                new FixedProvider("fast", 0, feed("fast", OLDER, station("26038", 1.0))));
+
+        service.readWeatherData(IngestionListener.NONE);
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Tests that the cached quotes of overwritten rows are evicted after the history has their new values.
+     */
+    @Test
+    void testUpdatedRowsAreEvictedFromQuoteCache() {
+        mockCities();
+        mockUpsert(List.of(42L));
+        WeatherReadingServiceImpl service = service(
+                new FixedProvider("primary", 0, feed("primary", NEWER, station("26038", 1.0))));
+
+        service.readWeatherData(IngestionListener.NONE);
+
+        InOrder inOrder = inOrder(weatherHistoryService, feeQuoteCacheService, feeMatrixService);
+        inOrder.verify(weatherHistoryService).append(any(WeatherData.class));
+        inOrder.verify(feeQuoteCacheService).evictWeatherData(42L);
+        inOrder.verify(feeMatrixService).refresh();
+    }
+
+    /**
+     * Tests that the reading fails if no provider could be fetched.
+     */
+    @Test
+    void testAllProvidersFailing() {
+        mockCities();
+        WeatherReadingServiceImpl service = service(
+                new FixedProvider("primary", 0, null),
+                new FixedProvider("secondary", 0, null)
+        );
+
+        WeatherDataReadingException e = assertThrows(WeatherDataReadingException.class,
+                () -> service.readWeatherData(IngestionListener.NONE));
+        assertEquals("Could not fetch the observations from any provider.", e.getMessage());
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        verifyNoInteractions(weatherDataBatchService, feeMatrixService);
+    }
+
+    /**
+     * Tests that nothing is stored if every provider reports an unchanged feed.
+     */
+    @Test
+    void testUnchangedFeedsAreNotStored() {
+        mockCities();
+        RecordingListener listener = new RecordingListener();
+        WeatherReadingServiceImpl service = service(new FixedProvider("primary", 0, Optional.empty()));
+
+        service.readWeatherData(listener);
+
+        assertTrue(listener.unchanged);
+        verifyNoInteractions(weatherDataBatchService, feeMatrixService);
+    }
+
+    private WeatherReadingServiceImpl service(ObservationProvider... providers) {
+        return new WeatherReadingServiceImpl(List.of(providers), cityRepository, weatherDataBatchService,
+                feeMatrixService, weatherHistoryService, feeQuoteCacheService, payloadArchiveService);
+    }
+
+    private void mockCities() {
+        when(cityRepository.findAll()).thenReturn(List.of(
+                city(1L, "Tallinn", "26038"),
+                city(2L, "Tartu", "26242"),
+                city(3L, "Pärnu", "41803")
+        ));
+    }
+
+    private void mockUpsert(List<Long> updatedIds) {
+        when(weatherDataBatchService.upsertAll(any())).thenAnswer(invocation ->
+                new WeatherDataUpsert(invocation.getArgument(0), updatedIds));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<WeatherData> storedRows() {
+        ArgumentCaptor<List<WeatherData>> rows = ArgumentCaptor.forClass(List.class);
+        verify(weatherDataBatchService).upsertAll(rows.capture());
+        return rows.getValue();
+    }
+
+    private static City city(Long id, String name, String wmoCode) {
+        City city = new City();
+        city.setCityId(id);
+        city.setCityName(name);
+        city.setWmoCode(wmoCode);
+        return city;
+    }
+
+    private static Station station(String wmoCode, double airTemperature) {
+        Station station = new Station();
+        station.setWmoCode(wmoCode);
+        station.setAirTemperature(airTemperature);
+        return station;
+    }
+
+    private static Optional<ObservationFeed> feed(String provider, String timestamp, Station... stations) {
+        return Optional.of(new ObservationFeed(provider, timestamp, List.of(stations), null, -1));
+    }
+
+    /**
+     * Provider that answers with a fixed feed after a delay, or fails if no feed is given.
+     */
+    private record FixedProvider(String name, long delayMillis, Optional<ObservationFeed> feed)
+            implements ObservationProvider {
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Duration getTimeout() {
+            return Duration.ofMillis(500);
+        }
+
+        @Override
+        public Optional<ObservationFeed> fetch(ObservationFeed previous, Predicate<String> wmoCodeFilter,
+                                               boolean keepPayload) throws Exception {
+            Thread.sleep(delayMillis);
+            if (feed == null) {
+                throw new IllegalStateException(name + " is down");
+            }
+            return feed;
+        }
+    }
+
+    /**
+     * Listener that records the reported stages and provider failures.
+     */
+    private static class RecordingListener implements IngestionListener {
+
+        private final List<String> stages = new ArrayList<>();
+        private final Map<String, Throwable> failed = new HashMap<>();
+        private boolean unchanged;
+
+        @Override
+        public void stageCompleted(String stage, long durationNanos) {
+            stages.add(stage);
+        }
+
+        @Override
+        public void providerFailed(String provider, Throwable failure) {
+            failed.put(provider, failure);
+        }
+
+        @Override
+        public void feedUnchanged() {
+            unchanged = true;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.foodDelivery.api.unitTests.service;
+
+import com.foodDelivery.api.archive.ArchivedPayload;
+import com.foodDelivery.api.archive.SegmentedPayloadLog;
+import com.foodDelivery.api.exception.ArchivedPayloadNotFoundException;
+import com.foodDelivery.api.exception.ParseObservationTimeException;
+import com.foodDelivery.api.ingestion.IngestionListener;
+import com.foodDelivery.api.service.impl.PayloadArchiveServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for archiving the raw observation payloads.
+ */
+public class PayloadArchiveServiceTest {
+
+    @TempDir
+    private Path directory;
+
+    /**
+     * Tests that payloads are split into segments and read back from any of them.
+     *
+     * @throws Exception if the archive cannot be written.
+     */
+    @Test
+    void testPayloadsAreReadBackFromSegments() throws Exception {
+        try (SegmentedPayloadLog log = new SegmentedPayloadLog(directory, 256)) {
+            log.append(100, "ilmateenistus", feed(100));
+            log.append(200, "ilmateenistus", feed(200));
+            log.append(200, "mirror", feed(201));
+
+            assertEquals(3, segmentCount());
+            assertEquals(new String(feed(200)), read(log, log.find(200, null).orElseThrow()));
+            assertEquals(new String(feed(201)), read(log, log.find(200, "mirror").orElseThrow()));
+            assertTrue(log.find(300, null).isEmpty());
+        }
+    }
+
+    /**
+     * Tests that the index is rebuilt on start-up and a record cut off by a crash is dropped.
+     *
+     * @throws Exception if the archive cannot be written.
+     */
+    @Test
+    void testIndexIsRecoveredAfterRestart() throws Exception {
+        try (SegmentedPayloadLog log = new SegmentedPayloadLog(directory, 1024 * 1024)) {
+            log.append(100, "ilmateenistus", feed(100));
+            log.append(200, "ilmateenistus", feed(200));
+        }
+        Path segment = directory.resolve("segment-0000000000.log");
+        long complete = Files.size(segment);
+        Files.write(segment, new byte[]{0x57, 0x41, 0x52, 0x43, 0, 0}, StandardOpenOption.APPEND);
+
+        try (SegmentedPayloadLog log = new SegmentedPayloadLog(directory, 1024 * 1024)) {
+            assertEquals(complete, Files.size(segment));
+            assertEquals(new String(feed(100)), read(log, log.find(100, null).orElseThrow()));
+
+            log.append(300, "ilmateenistus", feed(300));
+            assertEquals(new String(feed(300)), read(log, log.find(300, null).orElseThrow()));
+        }
+    }
+
+    /**
+     * Tests that a corrupted payload is detected by its checksum.
+     *
+     * @throws Exception if the archive cannot be written.
+     */
+    @Test
+    void testCorruptedPayloadIsRejected() throws Exception {
+        try (SegmentedPayloadLog log = new SegmentedPayloadLog(directory, 1024 * 1024)) {
+            ArchivedPayload entry = log.append(100, "ilmateenistus", feed(100));
+            try (FileChannel channel = FileChannel.open(entry.segment(), StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[]{42}), entry.offset() + 12);
+            }
+
+            assertThrows(IOException.class, () -> read(log, entry));
+        }
+    }
+
+    /**
+     * Tests that payloads queued on the service are written by the background writer.
+     *
+     * @throws Exception if the archive cannot be written.
+     */
+    @Test
+    void testServiceArchivesInBackground() throws Exception {
+        PayloadArchiveServiceImpl service = new PayloadArchiveServiceImpl(directory.toString(), DataSize.ofMegabytes(1), 4);
+        assertTrue(service.archive("ilmateenistus", "100", feed(100), IngestionListener.NONE));
+        service.destroy();
+
+        PayloadArchiveServiceImpl reopened = new PayloadArchiveServiceImpl(directory.toString(), DataSize.ofMegabytes(1), 4);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        reopened.writePayload(reopened.findPayload("100", "ilmateenistus"), output);
+        reopened.destroy();
+
+        assertEquals(new String(feed(100)), output.toString(StandardCharsets.UTF_8));
+        assertThrows(ArchivedPayloadNotFoundException.class, () -> reopened.findPayload("200", null));
+        assertThrows(ParseObservationTimeException.class, () -> reopened.findPayload("yesterday", null));
+    }
+
+    /**
+     * Tests that a payload the background writer cannot write is reported to the listener of its ingestion.
+     *
+     * @throws Exception if the archive cannot be written.
+     */
+    @Test
+    void testServiceReportsFailedWrites() throws Exception {
+        PayloadArchiveServiceImpl service = new PayloadArchiveServiceImpl(directory.toString(), DataSize.ofBytes(256), 4);
+        List<String> failed = new CopyOnWriteArrayList<>();
+        IngestionListener listener = new IngestionListener() {
+            @Override
+            public void payloadArchiveFailed(String provider, Throwable failure) {
+                failed.add(provider);
+            }
+        };
+        // the next segment cannot be opened
+        Files.createDirectory(directory.resolve("segment-0000000001.log"));
+
+        assertTrue(service.archive("ilmateenistus", "100", feed(100), listener));
+        assertTrue(service.archive("mirror", "200", feed(200), listener));
+        service.destroy();
+
+        assertEquals(List.of("mirror"), failed);
+    }
+
+    /**
+     * Tests that a disabled archive accepts payloads without storing them.
+     *
+     * @throws Exception if the service cannot be destroyed.
+     */
+    @Test
+    void testDisabledArchive() throws Exception {
+        PayloadArchiveServiceImpl service = new PayloadArchiveServiceImpl("", DataSize.ofMegabytes(1), 4);
+
+        assertFalse(service.isEnabled());
+        assertTrue(service.archive("ilmateenistus", "100", feed(100), IngestionListener.NONE));
+        assertThrows(ArchivedPayloadNotFoundException.class, () -> service.findPayload("100", null));
+        service.destroy();
+    }
+
+    private static String read(SegmentedPayloadLog log, ArchivedPayload entry) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        log.copyTo(entry, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] feed(long timestamp) {
+        return ("<observations timestamp=\"" + timestamp + "\"><station><name>Tallinn-Harku</name>"
+                + "<wmocode>26038</wmocode><airtemperature>3.6</airtemperature></station></observations>")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -1,11 +1,14 @@
 package com.foodDelivery.api.unitTests.service;
 
 import com.foodDelivery.api.dto.VehicleDTO;
+import com.foodDelivery.api.dto.ListQueryDTO;
 import com.foodDelivery.api.exception.VehicleNotFoundException;
 import com.foodDelivery.api.mapper.VehicleMapper;
 import com.foodDelivery.api.model.Vehicle;
 import com.foodDelivery.api.model.enums.VehicleType;
 import com.foodDelivery.api.repository.VehicleRepository;
+import com.foodDelivery.api.service.CollectionVersionService;
+import com.foodDelivery.api.service.FeeRuleService;
 import com.foodDelivery.api.service.impl.VehicleServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
 import java.util.Optional;
@@ -32,6 +36,12 @@ public class VehicleServiceTest {
     @Mock
     private VehicleMapper vehicleMapper;
 
+    @Mock
+    private FeeRuleService feeRuleService;
+
+    @Mock
+    private CollectionVersionService collectionVersionService;
+
     @InjectMocks
     private VehicleServiceImpl vehicleService;
 
@@ -165,18 +175,18 @@ public class VehicleServiceTest {
         vehicleDTO1.setVehicleType(VehicleType.CAR);
 
         List<Vehicle> vehicles = List.of(vehicle, vehicle1);
-        when(vehicleRepository.findAll()).thenReturn(vehicles);
+        when(vehicleRepository.findBy(any(Specification.class), any())).thenReturn(vehicles);
         when(vehicleMapper.toDTO(vehicle)).thenReturn(vehicleDTO);
         when(vehicleMapper.toDTO(vehicle1)).thenReturn(vehicleDTO1);
 
-        List<VehicleDTO> result = vehicleService.getAll();
+        List<VehicleDTO> result = vehicleService.getAll(new ListQueryDTO()).items();
 
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals(2L, result.get(1).getVehicleId());
         assertEquals(VehicleType.CAR, result.get(1).getVehicleType());
 
-        verify(vehicleRepository, times(1)).findAll();
+        verify(vehicleRepository, times(1)).findBy(any(Specification.class), any());
         verify(vehicleMapper, times(2)).toDTO(any());
     }
 
@@ -0,0 +1,148 @@
+package com.foodDelivery.api.unitTests.service;
+
+import com.foodDelivery.api.exception.InvalidBackfillDirectoryException;
+import com.foodDelivery.api.ingestion.IngestionListener;
+import com.foodDelivery.api.ingestion.ObservationFeed;
+import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.repository.CityRepository;
+import com.foodDelivery.api.service.WeatherReadingService;
+import com.foodDelivery.api.service.impl.WeatherBackfillServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for backfilling the weather data from archived observation feeds.
+ */
+@ExtendWith(MockitoExtension.class)
+public class WeatherBackfillServiceTest {
+
+    @Mock
+    private WeatherReadingService weatherReadingService;
+
+    @Mock
+    private CityRepository cityRepository;
+
+    @TempDir
+    private Path root;
+
+    private Path archive;
+    private WeatherBackfillServiceImpl backfillService;
+    private final List<List<String>> storedChunks = new ArrayList<>();
+    private int failingChunk = -1;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        archive = Files.createDirectory(root.resolve("2025-03"));
+        backfillService = new WeatherBackfillServiceImpl(weatherReadingService, cityRepository, root.toString(), 2);
+
+        City tallinn = new City();
+        tallinn.setWmoCode("26038");
+        lenient().when(cityRepository.findAll()).thenReturn(List.of(tallinn));
+        lenient().doAnswer(invocation -> {
+            if (storedChunks.size() == failingChunk) {
+                throw new IllegalStateException("Database is down");
+            }
+            List<ObservationFeed> chunk = invocation.getArgument(0);
+            storedChunks.add(chunk.stream().map(ObservationFeed::timestamp).toList());
+            return null;
+        }).when(weatherReadingService).storeObservations(anyList(), any(IngestionListener.class));
+    }
+
+    /**
+     * Tests that the feeds are stored in timestamp order in chunks, skipping broken and duplicate files.
+     *
+     * @throws Exception if the archive cannot be written.
+     */
+    @Test
+    void testBackfillStoresFeedsInTimestampOrder() throws Exception {
+        writeFeed("a.xml", 300, 0);
+        writeFeed("b.xml", 100, 0);
+        writeFeed("c.xml", 200, 20_000);
+        writeFeed("d.xml", 300, 0);
+        Files.writeString(archive.resolve("e.xml"), "<observations timestamp=\"400\"><station>");
+        Files.writeString(archive.resolve("notes.txt"), "not a feed");
+        List<String> skipped = new ArrayList<>();
+
+        backfillService.backfill(archive, new IngestionListener() {
+            @Override
+            public void fileSkipped(String file, Throwable failure) {
+                skipped.add(file);
+            }
+        });
+
+        assertTrue(Files.size(archive.resolve("c.xml")) > 1024 * 1024);
+        assertEquals(List.of(List.of("100", "200"), List.of("300")), storedChunks);
+        assertEquals(List.of("e.xml"), skipped);
+        assertEquals("300", Files.readString(archive.resolve(".backfill-checkpoint")));
+    }
+
+    /**
+     * Tests that an interrupted backfill resumes after the last stored chunk.
+     *
+     * @throws Exception if the archive cannot be written.
+     */
+    @Test
+    void testInterruptedBackfillResumesAfterCheckpoint() throws Exception {
+        writeFeed("a.xml", 100, 0);
+        writeFeed("b.xml", 200, 0);
+        writeFeed("c.xml", 300, 0);
+        writeFeed("d.xml", 400, 0);
+        writeFeed("e.xml", 500, 0);
+        failingChunk = 1;
+
+        assertThrows(IllegalStateException.class, () -> backfillService.backfill(archive, IngestionListener.NONE));
+        assertEquals("200", Files.readString(archive.resolve(".backfill-checkpoint")));
+
+        storedChunks.clear();
+        failingChunk = -1;
+        backfillService.backfill(archive, IngestionListener.NONE);
+
+        assertEquals(List.of(List.of("300", "400"), List.of("500")), storedChunks);
+        assertEquals("500", Files.readString(archive.resolve(".backfill-checkpoint")));
+    }
+
+    /**
+     * Tests that only existing directories below the backfill root are accepted.
+     *
+     * @throws Exception if the archive path cannot be resolved.
+     */
+    @Test
+    void testResolveDirectory() throws Exception {
+        assertEquals(archive.toRealPath(), backfillService.resolveDirectory("2025-03"));
+        assertThrows(InvalidBackfillDirectoryException.class, () -> backfillService.resolveDirectory("../"));
+        assertThrows(InvalidBackfillDirectoryException.class, () -> backfillService.resolveDirectory("missing"));
+
+        WeatherBackfillServiceImpl disabled = new WeatherBackfillServiceImpl(weatherReadingService, cityRepository, "", 2);
+        assertThrows(InvalidBackfillDirectoryException.class, () -> disabled.resolveDirectory("2025-03"));
+    }
+
+    /**
+     * Writes an archived feed with one configured station and the given number of other stations.
+     */
+    private void writeFeed(String name, long timestamp, int otherStations) throws IOException {
+        StringBuilder xml = new StringBuilder("<observations timestamp=\"" + timestamp + "\">");
+        for (int i = 0; i < otherStations; i++) {
+            xml.append("<station><name>Station ").append(i).append("</name><wmocode>9").append(i)
+                    .append("</wmocode><airtemperature>1.0</airtemperature><windspeed>2.0</windspeed></station>");
+        }
+        xml.append("<station><name>Tallinn-Harku</name><wmocode>26038</wmocode>")
+                .append("<airtemperature>").append(timestamp / 100.0).append("</airtemperature></station>")
+                .append("</observations>");
+        Files.writeString(archive.resolve(name), xml);
+    }
+}
@@ -0,0 +1,112 @@
+package com.foodDelivery.api.unitTests.service;
+
+import com.foodDelivery.api.ingestion.WeatherDataUpsert;
+import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.service.impl.WeatherDataBatchServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for upserting weather data in batches.
+ */
+@ExtendWith(MockitoExtension.class)
+public class WeatherDataBatchServiceTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2025, 3, 20, 14, 15);
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private WeatherDataRepository weatherDataRepository;
+
+    private WeatherDataBatchServiceImpl weatherDataBatchService;
+
+    @BeforeEach
+    void setUp() {
+        weatherDataBatchService = new WeatherDataBatchServiceImpl(entityManager, weatherDataRepository, 2);
+    }
+
+    /**
+     * Tests that every new row is persisted and the persistence context is flushed and cleared after each batch.
+     */
+    @Test
+    void testUpsertAllFlushesEveryBatch() {
+        List<WeatherData> weatherData = IntStream.range(0, 5).mapToObj(i -> weatherData(i, 1.0)).toList();
+
+        WeatherDataUpsert result = weatherDataBatchService.upsertAll(weatherData);
+
+        assertSame(weatherData, result.stored());
+        assertEquals(List.of(), result.updatedIds());
+        verify(weatherDataRepository, times(3)).findByObservationTimeAndCityIds(any(), any());
+        InOrder inOrder = inOrder(entityManager);
+        inOrder.verify(entityManager, times(2)).persist(any(WeatherData.class));
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(entityManager).clear();
+        inOrder.verify(entityManager, times(2)).persist(any(WeatherData.class));
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(entityManager).clear();
+        inOrder.verify(entityManager).persist(any(WeatherData.class));
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(entityManager).clear();
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    /**
+     * Tests that a row with the city and observation time of a stored row updates the stored row.
+     */
+    @Test
+    void testUpsertAllUpdatesStoredRow() {
+        WeatherData stored = weatherData(1, 1.0);
+        stored.setWeatherDataId(42L);
+        when(weatherDataRepository.findByObservationTimeAndCityIds(any(), any())).thenReturn(List.of(stored));
+
+        WeatherData newRow = weatherData(0, 2.0);
+        WeatherData changedRow = weatherData(1, 5.0);
+        WeatherDataUpsert result = weatherDataBatchService.upsertAll(List.of(newRow, changedRow));
+
+        assertEquals(List.of(42L), result.updatedIds());
+        verify(entityManager).persist(newRow);
+        verify(entityManager, never()).persist(changedRow);
+        assertEquals(42L, changedRow.getWeatherDataId());
+        assertEquals(5.0, stored.getAirTemperature());
+    }
+
+    /**
+     * Tests that an empty input does not touch the database.
+     */
+    @Test
+    void testUpsertAllEmpty() {
+        weatherDataBatchService.upsertAll(List.of());
+
+        verifyNoInteractions(entityManager, weatherDataRepository);
+    }
+
+    private static WeatherData weatherData(long cityId, double airTemperature) {
+        City city = new City();
+        city.setCityId(cityId);
+
+        WeatherData weatherData = new WeatherData();
+        weatherData.setCity(city);
+        weatherData.setObservationTime(TIME);
+        weatherData.setAirTemperature(airTemperature);
+        weatherData.setWindSpeed(1.0);
+        weatherData.setWeatherPhenomenon("Clear");
+        return weatherData;
+    }
+}
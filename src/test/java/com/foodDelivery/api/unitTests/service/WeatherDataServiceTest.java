@@ -1,10 +1,16 @@
 package com.foodDelivery.api.unitTests.service;
 
 import com.foodDelivery.api.dto.WeatherDataDTO;
+import com.foodDelivery.api.dto.ListQueryDTO;
 import com.foodDelivery.api.exception.WeatherDataNotFoundException;
 import com.foodDelivery.api.mapper.WeatherDataMapper;
+import com.foodDelivery.api.model.City;
 import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.repository.CityRepository;
 import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.service.FeeMatrixService;
+import com.foodDelivery.api.service.FeeQuoteCacheService;
+import com.foodDelivery.api.service.WeatherHistoryService;
 import com.foodDelivery.api.service.impl.WeatherDataServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -34,6 +41,18 @@ public class WeatherDataServiceTest {
     @Mock
     private WeatherDataMapper weatherDataMapper;
 
+    @Mock
+    private FeeMatrixService feeMatrixService;
+
+    @Mock
+    private WeatherHistoryService weatherHistoryService;
+
+    @Mock
+    private FeeQuoteCacheService feeQuoteCacheService;
+
+    @Mock
+    private CityRepository cityRepository;
+
     @InjectMocks
     private WeatherDataServiceImpl weatherDataService;
 
@@ -72,6 +91,11 @@ public class WeatherDataServiceTest {
      */
     @Test
     void testCreatWeatherData() {
+        City city = new City();
+        city.setCityId(1L);
+        city.setCityName("Tallinn");
+        weatherDataDTO.setCityId(1L);
+        when(cityRepository.findById(1L)).thenReturn(Optional.of(city));
         when(weatherDataMapper.toEntity(weatherDataDTO)).thenReturn(weatherData);
         when(weatherDataRepository.save(weatherData)).thenReturn(weatherData);
         when(weatherDataMapper.toDTO(weatherData)).thenReturn(weatherDataDTO);
@@ -84,6 +108,9 @@ public class WeatherDataServiceTest {
         assertEquals(5.5, result.getWindSpeed());
         assertEquals("Clear", result.getWeatherPhenomenon());
         verify(weatherDataRepository, times(1)).save(weatherData);
+        verify(feeMatrixService, times(1)).refresh();
+        verify(weatherHistoryService, times(1)).append(weatherData);
+        assertSame(city, weatherData.getCity());
     }
 
     /**
@@ -129,6 +156,9 @@ public class WeatherDataServiceTest {
         assertEquals(newObservationTime, result.getObservationTime());
         verify(weatherDataRepository, times(1)).findById(1L);
         verify(weatherDataRepository, times(1)).save(weatherData);
+        verify(feeMatrixService, times(1)).refresh();
+        verify(weatherHistoryService, times(1)).remove(1L);
+        verify(feeQuoteCacheService, times(1)).evictWeatherData(1L);
     }
 
     /**
@@ -201,17 +231,17 @@ public class WeatherDataServiceTest {
         weatherDataDTO2.setObservationTime(dateTime.plusHours(2));
 
         List<WeatherData> weatherDataList = List.of(weatherData, weatherData2);
-        when(weatherDataRepository.findAll()).thenReturn(weatherDataList);
+        when(weatherDataRepository.findBy(any(Specification.class), any())).thenReturn(weatherDataList);
         when(weatherDataMapper.toDTO(weatherData)).thenReturn(weatherDataDTO);
         when(weatherDataMapper.toDTO(weatherData2)).thenReturn(weatherDataDTO2);
 
-        List<WeatherDataDTO> result = weatherDataService.getAll();
+        List<WeatherDataDTO> result = weatherDataService.getAll(new ListQueryDTO()).items();
 
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals(2L, result.get(1).getWeatherDataId());
         assertEquals("Cloudy", result.get(1).getWeatherPhenomenon());
-        verify(weatherDataRepository, times(1)).findAll();
+        verify(weatherDataRepository, times(1)).findBy(any(Specification.class), any());
         verify(weatherDataMapper, times(2)).toDTO(any(WeatherData.class));
     }
 
@@ -230,6 +260,9 @@ public class WeatherDataServiceTest {
         assertDoesNotThrow(() -> weatherDataService.delete(1L));
         verify(weatherDataRepository, times(1)).existsById(1L);
         verify(weatherDataRepository, times(1)).deleteById(1L);
+        verify(feeMatrixService, times(1)).refresh();
+        verify(weatherHistoryService, times(1)).remove(1L);
+        verify(feeQuoteCacheService, times(1)).evictWeatherData(1L);
 
     }
 
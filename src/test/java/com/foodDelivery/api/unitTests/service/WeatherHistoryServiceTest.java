@@ -0,0 +1,150 @@
+package com.foodDelivery.api.unitTests.service;
+
+import com.foodDelivery.api.history.CityWeatherHistory;
+import com.foodDelivery.api.history.PhenomenonDictionary;
+import com.foodDelivery.api.history.WeatherObservation;
+import com.foodDelivery.api.model.City;
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.model.enums.VehicleType;
+import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.service.FeeMatrixService;
+import com.foodDelivery.api.service.FeeQuoteCacheService;
+import com.foodDelivery.api.service.FeeRuleService;
+import com.foodDelivery.api.service.WeatherRetentionService;
+import com.foodDelivery.api.service.impl.DeliveryFeeServiceImpl;
+import com.foodDelivery.api.service.impl.WeatherHistoryServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.baseFee;
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.snapshot;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the in-memory weather history.
+ */
+@ExtendWith(MockitoExtension.class)
+public class WeatherHistoryServiceTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2025, 3, 20, 10, 0);
+
+    @Mock
+    private WeatherDataRepository weatherDataRepository;
+
+    @InjectMocks
+    private WeatherHistoryServiceImpl weatherHistoryService;
+
+    /**
+     * Tests floor lookups, out of order inserts, duplicates, replacement and removal on a single city.
+     */
+    @Test
+    void testCityHistoryFloorLookup() {
+        CityWeatherHistory history = new CityWeatherHistory(new PhenomenonDictionary());
+        for (int i = 0; i < 100; i++) {
+            history.add(i * 2L, TIME.plusHours(i * 2L), (double) i, 1.0, "Clear");
+        }
+        history.add(7L, TIME.plusHours(7), -3.0, null, "Light snow shower");
+        history.add(7L, TIME.plusHours(7), -3.0, null, "Light snow shower");
+
+        assertEquals(101, history.size());
+        assertNull(history.floor(TIME.minusSeconds(1)));
+        assertEquals(0L, history.floor(TIME).getWeatherDataId());
+        assertEquals(6L, history.floor(TIME.plusHours(6).plusMinutes(59)).getWeatherDataId());
+
+        WeatherData inserted = history.floor(TIME.plusHours(7).plusMinutes(30));
+        assertEquals(7L, inserted.getWeatherDataId());
+        assertEquals(TIME.plusHours(7), inserted.getObservationTime());
+        assertEquals(-3.0, inserted.getAirTemperature());
+        assertNull(inserted.getWindSpeed());
+        assertEquals("Light snow shower", inserted.getWeatherPhenomenon());
+        assertEquals(198L, history.floor(TIME.plusYears(1)).getWeatherDataId());
+
+        assertTrue(history.remove(7L));
+        assertFalse(history.remove(7L));
+        assertEquals(6L, history.floor(TIME.plusHours(7).plusMinutes(30)).getWeatherDataId());
+
+        history.add(4L, TIME.plusHours(4), 9.0, 9.0, "Hail");
+        assertEquals(100, history.size());
+        assertEquals(9.0, history.floor(TIME.plusHours(4)).getAirTemperature());
+        assertEquals("Hail", history.floor(TIME.plusHours(4)).getWeatherPhenomenon());
+
+        assertEquals(3, history.removeBefore(TIME.plusHours(6)));
+        assertEquals(97, history.size());
+        assertNull(history.floor(TIME.plusHours(5)));
+        assertEquals(6L, history.floor(TIME.plusHours(6)).getWeatherDataId());
+        assertEquals(0, history.removeBefore(TIME.plusHours(6)));
+    }
+
+    /**
+     * Tests that the history is loaded per city and kept up to date by appends and removals.
+     */
+    @Test
+    void testLoadAppendAndRemove() {
+        assertFalse(weatherHistoryService.isLoaded());
+        when(weatherDataRepository.streamAllObservations()).thenReturn(Stream.of(
+                new WeatherObservation(1L, "Tallinn", TIME, 1.0, 2.0, "Clear"),
+                new WeatherObservation(2L, "Tartu", TIME, -11.0, 3.0, "Light rain"),
+                new WeatherObservation(3L, "Tallinn", TIME.plusHours(1), 4.0, 5.0, "Hail")
+        ));
+
+        weatherHistoryService.load();
+
+        assertTrue(weatherHistoryService.isLoaded());
+        assertEquals(1L, weatherHistoryService.findLatest("Tallinn", TIME.plusMinutes(59)).getWeatherDataId());
+        assertEquals(3L, weatherHistoryService.findLatest("Tallinn", TIME.plusDays(1)).getWeatherDataId());
+        assertEquals("Light rain", weatherHistoryService.findLatest("Tartu", TIME).getWeatherPhenomenon());
+        assertNull(weatherHistoryService.findLatest("Tartu", TIME.minusHours(1)));
+        assertNull(weatherHistoryService.findLatest("Pärnu", TIME));
+
+        weatherHistoryService.append(weatherData(4L, "Pärnu", TIME.plusHours(2)));
+        weatherHistoryService.remove(3L);
+
+        assertEquals(4L, weatherHistoryService.findLatest("Pärnu", TIME.plusHours(2)).getWeatherDataId());
+        assertEquals(1L, weatherHistoryService.findLatest("Tallinn", TIME.plusDays(1)).getWeatherDataId());
+    }
+
+    /**
+     * Tests that historical fees are calculated from the history without querying the database.
+     */
+    @Test
+    void testHistoricalFeeUsesHistory() {
+        when(weatherDataRepository.streamAllObservations()).thenReturn(Stream.of(
+                new WeatherObservation(1L, "Tallinn", TIME, -5.0, 2.0, "Clear"),
+                new WeatherObservation(2L, "Tallinn", TIME.plusHours(1), 5.0, 2.0, "Clear")
+        ));
+        weatherHistoryService.load();
+
+        FeeRuleService feeRuleService = mock(FeeRuleService.class);
+        FeeMatrixService feeMatrixService = mock(FeeMatrixService.class);
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee("Tallinn", VehicleType.SCOOTER, 3.50)));
+        DeliveryFeeServiceImpl deliveryFeeService = new DeliveryFeeServiceImpl(
+                feeRuleService, feeMatrixService, weatherHistoryService, mock(FeeQuoteCacheService.class), weatherDataRepository,
+                mock(WeatherRetentionService.class));
+
+        assertEquals(4.00, deliveryFeeService.calculateDeliveryFee("Tallinn", "SCOOTER", TIME.plusMinutes(30)));
+        assertEquals(3.50, deliveryFeeService.calculateDeliveryFee("Tallinn", "SCOOTER", TIME.plusHours(1)));
+        verify(weatherDataRepository, never())
+                .findTopByCityCityNameAndObservationTimeLessThanEqualOrderByObservationTimeDesc(any(), any());
+    }
+
+    private static WeatherData weatherData(Long id, String cityName, LocalDateTime observationTime) {
+        City city = new City();
+        city.setCityName(cityName);
+
+        WeatherData weatherData = new WeatherData();
+        weatherData.setWeatherDataId(id);
+        weatherData.setCity(city);
+        weatherData.setObservationTime(observationTime);
+        weatherData.setAirTemperature(0.0);
+        weatherData.setWindSpeed(0.0);
+        weatherData.setWeatherPhenomenon("Clear");
+        return weatherData;
+    }
+}
@@ -0,0 +1,223 @@
+package com.foodDelivery.api.unitTests.service;
+
+import com.foodDelivery.api.dto.WeatherReadingJobDTO;
+import com.foodDelivery.api.exception.WeatherDataReadingException;
+import com.foodDelivery.api.exception.WeatherReadingJobNotFoundException;
+import com.foodDelivery.api.exception.WeatherReadingJobRejectedException;
+import com.foodDelivery.api.ingestion.IngestionListener;
+import com.foodDelivery.api.ingestion.WeatherReadingJobStatus;
+import com.foodDelivery.api.service.FeeCacheControlService;
+import com.foodDelivery.api.service.WeatherBackfillService;
+import com.foodDelivery.api.service.WeatherReadingService;
+import com.foodDelivery.api.service.WeatherRetentionService;
+import com.foodDelivery.api.service.impl.WeatherReadingJobServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for running weather readings as asynchronous jobs.
+ */
+@ExtendWith(MockitoExtension.class)
+public class WeatherReadingJobServiceTest {
+
+    @Mock
+    private WeatherReadingService weatherReadingService;
+
+    @Mock
+    private WeatherBackfillService weatherBackfillService;
+
+    @Mock
+    private WeatherRetentionService weatherRetentionService;
+
+    @Mock
+    private FeeCacheControlService feeCacheControlService;
+
+    /**
+     * Tests that a submitted job is queued and reports the progress of the reading once it ran.
+     */
+    @Test
+    void testSubmitRecordsProgress() {
+        List<Runnable> queue = new ArrayList<>();
+        WeatherReadingJobServiceImpl jobService = new WeatherReadingJobServiceImpl(weatherReadingService, weatherBackfillService, weatherRetentionService, feeCacheControlService, queue::add, 10);
+        doAnswer(invocation -> {
+            IngestionListener listener = invocation.getArgument(0);
+            listener.stageCompleted("fetch", 5_000_000L);
+            listener.stationsProcessed(3);
+            listener.stageCompleted("store", 2_000_000L);
+            listener.rowsWritten(3);
+            return null;
+        }).when(weatherReadingService).readWeatherData(any(IngestionListener.class));
+
+        WeatherReadingJobDTO queued = jobService.submit();
+        assertEquals(WeatherReadingJobStatus.QUEUED, queued.getStatus());
+        assertNull(queued.getStartedAt());
+
+        queue.getFirst().run();
+        WeatherReadingJobDTO finished = jobService.getJob(queued.getJobId());
+
+        assertEquals(WeatherReadingJobStatus.SUCCEEDED, finished.getStatus());
+        assertNotNull(finished.getStartedAt());
+        assertNotNull(finished.getFinishedAt());
+        assertEquals(List.of("fetch", "store"), List.copyOf(finished.getStageMillis().keySet()));
+        assertEquals(5L, finished.getStageMillis().get("fetch"));
+        assertEquals(3, finished.getStationsProcessed());
+        assertEquals(3, finished.getRowsWritten());
+    }
+
+    /**
+     * Tests that a scheduled reading is queued behind a running backfill instead of running alongside it.
+     *
+     * @throws Exception if waiting for the jobs is interrupted.
+     */
+    @Test
+    void testScheduledReadingDoesNotOverlapBackfill() throws Exception {
+        WeatherReadingJobServiceImpl jobService = new WeatherReadingJobServiceImpl(weatherReadingService, weatherBackfillService, weatherRetentionService, feeCacheControlService, 10, 10);
+        CountDownLatch backfillStarted = new CountDownLatch(1);
+        CountDownLatch releaseBackfill = new CountDownLatch(1);
+        AtomicBoolean backfillRunning = new AtomicBoolean();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        CountDownLatch readingDone = new CountDownLatch(1);
+        when(weatherBackfillService.resolveDirectory("2025")).thenReturn(Path.of("2025"));
+        doAnswer(invocation -> {
+            backfillRunning.set(true);
+            backfillStarted.countDown();
+            releaseBackfill.await();
+            backfillRunning.set(false);
+            return null;
+        }).when(weatherBackfillService).backfill(any(), any());
+        doAnswer(invocation -> {
+            overlapped.set(backfillRunning.get());
+            readingDone.countDown();
+            return null;
+        }).when(weatherReadingService).readWeatherData(any(IngestionListener.class));
+
+        try {
+            jobService.submitBackfill("2025");
+            assertTrue(backfillStarted.await(5, TimeUnit.SECONDS));
+            jobService.submitScheduled();
+            assertFalse(readingDone.await(100, TimeUnit.MILLISECONDS));
+
+            releaseBackfill.countDown();
+            assertTrue(readingDone.await(5, TimeUnit.SECONDS));
+            assertFalse(overlapped.get());
+        } finally {
+            releaseBackfill.countDown();
+            jobService.destroy();
+        }
+    }
+
+    /**
+     * Tests that the scheduled retention is queued behind a running backfill, so it cannot delete rows
+     * the backfill commits after they were aggregated.
+     *
+     * @throws Exception if waiting for the jobs is interrupted.
+     */
+    @Test
+    void testScheduledRetentionDoesNotOverlapBackfill() throws Exception {
+        WeatherReadingJobServiceImpl jobService = new WeatherReadingJobServiceImpl(weatherReadingService, weatherBackfillService, weatherRetentionService, feeCacheControlService, 10, 10);
+        CountDownLatch backfillStarted = new CountDownLatch(1);
+        CountDownLatch releaseBackfill = new CountDownLatch(1);
+        AtomicBoolean backfillRunning = new AtomicBoolean();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        CountDownLatch retentionDone = new CountDownLatch(1);
+        when(weatherBackfillService.resolveDirectory("2025")).thenReturn(Path.of("2025"));
+        doAnswer(invocation -> {
+            backfillRunning.set(true);
+            backfillStarted.countDown();
+            releaseBackfill.await();
+            backfillRunning.set(false);
+            return null;
+        }).when(weatherBackfillService).backfill(any(), any());
+        doAnswer(invocation -> {
+            overlapped.set(backfillRunning.get());
+            retentionDone.countDown();
+            return null;
+        }).when(weatherRetentionService).applyRetention();
+
+        try {
+            jobService.submitBackfill("2025");
+            assertTrue(backfillStarted.await(5, TimeUnit.SECONDS));
+            jobService.submitRetention();
+            assertFalse(retentionDone.await(100, TimeUnit.MILLISECONDS));
+
+            releaseBackfill.countDown();
+            assertTrue(retentionDone.await(5, TimeUnit.SECONDS));
+            assertFalse(overlapped.get());
+        } finally {
+            releaseBackfill.countDown();
+            jobService.destroy();
+        }
+    }
+
+    /**
+     * Tests that a finished scheduled reading is reported to the cache headers of the fee quotes, even if it failed.
+     */
+    @Test
+    void testScheduledReadingReportsFinish() {
+        WeatherReadingJobServiceImpl jobService = new WeatherReadingJobServiceImpl(weatherReadingService, weatherBackfillService, weatherRetentionService, feeCacheControlService, Runnable::run, 10);
+        doThrow(new WeatherDataReadingException("Could not process the weather data from the API."))
+                .when(weatherReadingService).readWeatherData(any(IngestionListener.class));
+
+        jobService.submitScheduled();
+
+        verify(feeCacheControlService).ingestionFinished();
+    }
+
+    /**
+     * Tests that a failing reading marks the job as failed with the error message.
+     */
+    @Test
+    void testSubmitRecordsFailure() {
+        WeatherReadingJobServiceImpl jobService = new WeatherReadingJobServiceImpl(weatherReadingService, weatherBackfillService, weatherRetentionService, feeCacheControlService, Runnable::run, 10);
+        doThrow(new WeatherDataReadingException("Could not process the weather data from the API."))
+                .when(weatherReadingService).readWeatherData(any(IngestionListener.class));
+
+        WeatherReadingJobDTO job = jobService.getJob(jobService.submit().getJobId());
+
+        assertEquals(WeatherReadingJobStatus.FAILED, job.getStatus());
+        assertEquals("Could not process the weather data from the API.", job.getMessage());
+    }
+
+    /**
+     * Tests that a job that cannot be queued is rejected and forgotten.
+     */
+    @Test
+    void testSubmitRejected() {
+        WeatherReadingJobServiceImpl jobService = new WeatherReadingJobServiceImpl(weatherReadingService, weatherBackfillService, weatherRetentionService, feeCacheControlService, task -> {
+            throw new RejectedExecutionException();
+        }, 10);
+
+        assertThrows(WeatherReadingJobRejectedException.class, jobService::submit);
+    }
+
+    /**
+     * Tests that only the most recent jobs are retained.
+     */
+    @Test
+    void testGetJobNotFound() {
+        WeatherReadingJobServiceImpl jobService = new WeatherReadingJobServiceImpl(weatherReadingService, weatherBackfillService, weatherRetentionService, feeCacheControlService, Runnable::run, 1);
+        String first = jobService.submit().getJobId();
+        String second = jobService.submit().getJobId();
+
+        assertThrows(WeatherReadingJobNotFoundException.class, () -> jobService.getJob(first));
+        assertEquals(WeatherReadingJobStatus.SUCCEEDED, jobService.getJob(second).getStatus());
+        assertThrows(WeatherReadingJobNotFoundException.class, () -> jobService.getJob("missing"));
+    }
+}
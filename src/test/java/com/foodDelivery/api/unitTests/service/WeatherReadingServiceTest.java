@@ -2,13 +2,22 @@ package com.foodDelivery.api.unitTests.service;
 
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.foodDelivery.api.xml.Observations;
+import com.foodDelivery.api.xml.ObservationsStreamReader;
 import com.foodDelivery.api.xml.Station;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 
 /**
@@ -143,4 +152,83 @@ public class WeatherReadingServiceTest {
         assertEquals(4.3, station2.getWindSpeed());
         assertEquals("Variable clouds", station2.getPhenomenon());
     }
+
+    /**
+     * Tests that the streaming reader only emits the stations with a configured wmo code.
+     *
+     * @throws Exception if XML parsing fails.
+     */
+    @Test
+    void testStreamingReaderSkipsNotConfiguredStations() throws Exception {
+        String xml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <observations timestamp="1742472839">
+                    <station>
+                        <name>Kuressaare linn</name>
+                        <wmocode/>
+                        <phenomenon>Clear</phenomenon>
+                        <airtemperature>2.1</airtemperature>
+                    </station>
+                    <station>
+                        <name>Tallinn-Harku</name>
+                        <wmocode>26038</wmocode>
+                        <longitude>24.602891666624284</longitude>
+                        <phenomenon>Cloudy with clear spells</phenomenon>
+                        <airtemperature>3.6</airtemperature>
+                        <windspeed>4.8</windspeed>
+                        <waterlevel/>
+                    </station>
+                    <station>
+                        <name>Narva</name>
+                        <wmocode>26058</wmocode>
+                        <extra><nested>1</nested></extra>
+                        <airtemperature>1.0</airtemperature>
+                    </station>
+                    <station>
+                        <name>Pärnu</name>
+                        <wmocode>41803</wmocode>
+                        <unknown><nested>value</nested></unknown>
+                        <phenomenon/>
+                        <airtemperature/>
+                        <windspeed>2.5</windspeed>
+                    </station>
+                </observations>
+                """;
+
+        List<Station> stations = new ArrayList<>();
+        String timestamp = new ObservationsStreamReader().read(
+                new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)),
+                Set.of("26038", "41803")::contains,
+                stations::add);
+
+        assertEquals("1742472839", timestamp);
+        assertEquals(2, stations.size());
+
+        Station tallinn = stations.getFirst();
+        assertEquals("Tallinn-Harku", tallinn.getName());
+        assertEquals("26038", tallinn.getWmoCode());
+        assertEquals(3.6, tallinn.getAirTemperature());
+        assertEquals(4.8, tallinn.getWindSpeed());
+        assertEquals("Cloudy with clear spells", tallinn.getPhenomenon());
+
+        Station parnu = stations.get(1);
+        assertEquals("Pärnu", parnu.getName());
+        assertEquals("41803", parnu.getWmoCode());
+        assertNull(parnu.getAirTemperature());
+        assertEquals(2.5, parnu.getWindSpeed());
+        assertNull(parnu.getPhenomenon());
+    }
+
+    /**
+     * Tests that the streaming reader rejects malformed XML.
+     */
+    @Test
+    void testStreamingReaderMalformedXml() {
+        String xml = "<observations timestamp=\"1742472839\"><station><wmocode>26038</station>";
+
+        assertThrows(Exception.class, () -> new ObservationsStreamReader().read(
+                new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)),
+                code -> true,
+                station -> { }));
+    }
 }
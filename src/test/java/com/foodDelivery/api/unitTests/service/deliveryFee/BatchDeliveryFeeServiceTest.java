@@ -0,0 +1,139 @@
+package com.foodDelivery.api.unitTests.service.deliveryFee;
+
+import com.foodDelivery.api.dto.DeliveryFeeBatchResultDTO;
+import com.foodDelivery.api.dto.DeliveryFeeRequestDTO;
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.model.enums.VehicleType;
+import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.rules.FeeMatrix;
+import com.foodDelivery.api.service.FeeMatrixService;
+import com.foodDelivery.api.service.FeeQuoteCacheService;
+import com.foodDelivery.api.service.FeeRuleService;
+import com.foodDelivery.api.service.WeatherHistoryService;
+import com.foodDelivery.api.service.WeatherRetentionService;
+import com.foodDelivery.api.service.impl.DeliveryFeeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.baseFee;
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.snapshot;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for calculating the delivery fees of a batch of requests.
+ */
+@ExtendWith(MockitoExtension.class)
+public class BatchDeliveryFeeServiceTest {
+
+    @Mock
+    private FeeRuleService feeRuleService;
+
+    @Mock
+    private FeeMatrixService feeMatrixService;
+
+    @Mock
+    private WeatherHistoryService weatherHistoryService;
+
+    @Mock
+    private FeeQuoteCacheService feeQuoteCacheService;
+
+    @Mock
+    private WeatherDataRepository weatherDataRepository;
+
+    @Mock
+    private WeatherRetentionService weatherRetentionService;
+
+    @InjectMocks
+    private DeliveryFeeServiceImpl deliveryFeeService;
+
+    private LocalDateTime observationTime;
+
+    /**
+     * Common data set up before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        observationTime = LocalDateTime.of(2025, 3, 20, 10, 0);
+        when(feeMatrixService.getMatrix()).thenReturn(FeeMatrix.EMPTY);
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(
+                baseFee("Tallinn", VehicleType.CAR, 4.00),
+                baseFee("Tallinn", VehicleType.BIKE, 3.00),
+                baseFee("Tartu", VehicleType.CAR, 3.50)
+        ));
+    }
+
+    /**
+     * Tests that results keep the order of the requests and that the weather data is
+     * looked up once per distinct city and observation time.
+     */
+    @Test
+    void testBatchResolvesWeatherOncePerCityAndTime() {
+        when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc("Tallinn"))
+                .thenReturn(weather(-5.0, 5.0, "Clear"));
+        when(weatherDataRepository.findTopByCityCityNameAndObservationTimeLessThanEqualOrderByObservationTimeDesc(
+                "Tartu", observationTime)).thenReturn(weather(10.0, 5.0, "Clear"));
+
+        List<DeliveryFeeBatchResultDTO> results = deliveryFeeService.calculateDeliveryFees(List.of(
+                new DeliveryFeeRequestDTO("Tallinn", "CAR", null),
+                new DeliveryFeeRequestDTO("Tallinn", "bike", null),
+                new DeliveryFeeRequestDTO("Tartu", "CAR", observationTime),
+                new DeliveryFeeRequestDTO("Tallinn", "CAR", null),
+                new DeliveryFeeRequestDTO("Tartu", "CAR", observationTime)
+        ));
+
+        assertEquals(List.of(4.00, 3.50, 3.50, 4.00, 3.50),
+                results.stream().map(DeliveryFeeBatchResultDTO::getTotalFee).toList());
+        results.forEach(result -> assertEquals(200, result.getStatus()));
+        verify(weatherDataRepository, times(1)).findTopByCityCityNameOrderByObservationTimeDesc("Tallinn");
+        verify(weatherDataRepository, times(1))
+                .findTopByCityCityNameAndObservationTimeLessThanEqualOrderByObservationTimeDesc("Tartu", observationTime);
+        verify(feeRuleService, times(1)).getSnapshot();
+    }
+
+    /**
+     * Tests that failing requests are reported per item and do not affect the rest of the batch.
+     */
+    @Test
+    void testBatchReportsPerItemErrors() {
+        when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc("Tallinn"))
+                .thenReturn(weather(5.0, 25.0, "Clear"));
+        when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc("Narva"))
+                .thenReturn(null);
+
+        List<DeliveryFeeBatchResultDTO> results = deliveryFeeService.calculateDeliveryFees(Arrays.asList(
+                new DeliveryFeeRequestDTO("Tallinn", "CAR", null),
+                new DeliveryFeeRequestDTO("Narva", "CAR", null),
+                new DeliveryFeeRequestDTO("Tallinn", "BIKE", null),
+                new DeliveryFeeRequestDTO("Tallinn", "SCOOTER", null),
+                new DeliveryFeeRequestDTO("Tallinn", "TRUCK", null),
+                new DeliveryFeeRequestDTO("", "CAR", null),
+                null
+        ));
+
+        assertEquals(List.of(200, 404, 400, 404, 400, 400, 400),
+                results.stream().map(DeliveryFeeBatchResultDTO::getStatus).toList());
+        assertEquals(4.00, results.get(0).getTotalFee());
+        assertNull(results.get(0).getMessage());
+        assertEquals("Could not get weather data for this city", results.get(1).getMessage());
+        assertEquals("Usage of selected vehicle is not allowed due to weather conditions.", results.get(2).getMessage());
+        assertNull(results.get(2).getTotalFee());
+    }
+
+    private static WeatherData weather(Double temperature, Double windSpeed, String phenomenon) {
+        WeatherData weatherData = new WeatherData();
+        weatherData.setAirTemperature(temperature);
+        weatherData.setWindSpeed(windSpeed);
+        weatherData.setWeatherPhenomenon(phenomenon);
+        return weatherData;
+    }
+}
@@ -1,13 +1,17 @@
 package com.foodDelivery.api.unitTests.service.deliveryFee;
 
+import com.foodDelivery.api.exception.VehicleUsageForbiddenException;
+import com.foodDelivery.api.exception.BaseFeeNotFoundException;
 import com.foodDelivery.api.exception.WeatherDataNotFoundException;
-import com.foodDelivery.api.model.BaseFee;
-import com.foodDelivery.api.model.Conditions;
 import com.foodDelivery.api.model.WeatherData;
 import com.foodDelivery.api.model.enums.VehicleType;
-import com.foodDelivery.api.repository.BaseFeeRepository;
-import com.foodDelivery.api.repository.ConditionsRepository;
 import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.rules.FeeMatrix;
+import com.foodDelivery.api.service.FeeMatrixService;
+import com.foodDelivery.api.service.FeeQuoteCacheService;
+import com.foodDelivery.api.service.FeeRuleService;
+import com.foodDelivery.api.service.WeatherHistoryService;
+import com.foodDelivery.api.service.WeatherRetentionService;
 import com.foodDelivery.api.service.impl.DeliveryFeeServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,13 +24,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
 
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.baseFee;
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.snapshot;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -35,25 +42,34 @@ import static org.mockito.Mockito.when;
  * <p>
  *     It uses parameterized tests to check that the fee calculation is correct
  *     under different conditions as well as check that exceptions work as intended.
+ *     The rules are compiled from the same data that schema.sql seeds.
  * </p>
  */
 @ExtendWith(MockitoExtension.class)
 public class BikeDeliveryFeeServiceTest {
 
     @Mock
-    private BaseFeeRepository baseFeeRepository;
+    private FeeRuleService feeRuleService;
 
     @Mock
-    private ConditionsRepository conditionsRepository;
+    private FeeMatrixService feeMatrixService;
+
+    @Mock
+    private WeatherHistoryService weatherHistoryService;
+
+    @Mock
+    private FeeQuoteCacheService feeQuoteCacheService;
 
     @Mock
     private WeatherDataRepository weatherDataRepository;
 
+    @Mock
+    private WeatherRetentionService weatherRetentionService;
+
     @InjectMocks
     private DeliveryFeeServiceImpl deliveryFeeService;
 
     private WeatherData weatherData;
-    private BaseFee baseFee;
     private LocalDateTime observationTime;
 
     /**
@@ -61,15 +77,13 @@ public class BikeDeliveryFeeServiceTest {
      */
     @BeforeEach
     void setUp() {
+        lenient().when(feeMatrixService.getMatrix()).thenReturn(FeeMatrix.EMPTY);
         observationTime = LocalDateTime.now();
 
         weatherData = new WeatherData();
         weatherData.setAirTemperature(10.00);
         weatherData.setWindSpeed(5.0);
         weatherData.setWeatherPhenomenon("Clear");
-
-        baseFee = new BaseFee();
-        baseFee.setVehicleFee(3.00);
     }
 
     /**
@@ -86,24 +100,34 @@ public class BikeDeliveryFeeServiceTest {
     })
     void testCalculateDeliveryFeeForBike_TimeProvided(String cityName, Double expectedFee) {
         String vehicleType = "BIKE";
-        baseFee.setVehicleFee(expectedFee);
 
         when(weatherDataRepository.findTopByCityCityNameAndObservationTimeLessThanEqualOrderByObservationTimeDesc(
                 eq(cityName), eq(observationTime))).thenReturn(weatherData);
-        when(baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType(eq(cityName), eq(VehicleType.BIKE)))
-                .thenReturn(Optional.of(baseFee));
-
-        when(conditionsRepository.findTemperatureConditions(eq(VehicleType.BIKE), anyDouble()))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findWindConditions(eq(VehicleType.BIKE), anyDouble()))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findPhenomenonConditions(eq(VehicleType.BIKE), anyString()))
-                .thenReturn(Collections.emptyList());
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.BIKE, expectedFee)));
 
         Double totalFee = deliveryFeeService.calculateDeliveryFee(cityName, vehicleType, observationTime);
         assertEquals(expectedFee, totalFee);
     }
 
+    /**
+     * Tests that the weather aggregate is used when the raw weather data has been rolled up by the retention.
+     */
+    @Test
+    void testCalculateDeliveryFeeForBike_FallsBackToAggregate() {
+        String cityName = "Tallinn";
+        String vehicleType = "BIKE";
+        weatherData.setWeatherPhenomenon("Light snow shower");
+
+        when(weatherDataRepository.findTopByCityCityNameAndObservationTimeLessThanEqualOrderByObservationTimeDesc(
+                eq(cityName), eq(observationTime))).thenReturn(null);
+        when(weatherRetentionService.findLatestAggregate(eq(cityName), eq(observationTime))).thenReturn(weatherData);
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.BIKE, 3.0)));
+
+        Double totalFee = deliveryFeeService.calculateDeliveryFee(cityName, vehicleType, observationTime);
+        assertEquals(4.0, totalFee);
+        verify(feeQuoteCacheService, never()).get(any(), any(), any());
+    }
+
     /**
      * Test calculation of delivery for a car when observations time is not provided.
      *
@@ -118,19 +142,10 @@ public class BikeDeliveryFeeServiceTest {
     })
     void testCalculateDeliveryFeeForBike_TimeNotProvided(String cityName, Double expectedFee) {
         String vehicleType = "BIKE";
-        baseFee.setVehicleFee(expectedFee);
 
         when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc(eq(cityName)))
                 .thenReturn(weatherData);
-        when(baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType(eq(cityName), eq(VehicleType.BIKE)))
-                .thenReturn(Optional.of(baseFee));
-
-        when(conditionsRepository.findTemperatureConditions(eq(VehicleType.BIKE), anyDouble()))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findWindConditions(eq(VehicleType.BIKE), anyDouble()))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findPhenomenonConditions(eq(VehicleType.BIKE), anyString()))
-                .thenReturn(Collections.emptyList());
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.BIKE, expectedFee)));
 
         Double totalFee = deliveryFeeService.calculateDeliveryFee(cityName, vehicleType);
         assertEquals(expectedFee, totalFee);
@@ -145,29 +160,19 @@ public class BikeDeliveryFeeServiceTest {
     @ParameterizedTest
     @CsvSource({
             "15.0, 0.5",
+            "10.0, 0.5",
+            "20.0, 0.5",
             "5.0, 0.00"
     })
     void testCalculateDeliveryFeeForBike_WindConditions(Double windSpeed, Double expectedWindFee) {
         String cityName = "Tallinn";
         String vehicleType = "BIKE";
-        baseFee.setVehicleFee(3.00);
         weatherData.setWindSpeed(windSpeed);
         weatherData.setWeatherPhenomenon("Clear");
 
         when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc(eq(cityName)))
                 .thenReturn(weatherData);
-        when(baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType(eq(cityName), eq(VehicleType.BIKE)))
-                .thenReturn(Optional.of(baseFee));
-        when(conditionsRepository.findTemperatureConditions(eq(VehicleType.BIKE), anyDouble()))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findPhenomenonConditions(eq(VehicleType.BIKE), anyString()))
-                .thenReturn(Collections.emptyList());
-
-        Conditions windCondition = new Conditions();
-        windCondition.setUsageForbidden(false);
-        windCondition.setConditionFee(expectedWindFee);
-        when(conditionsRepository.findWindConditions(eq(VehicleType.BIKE), eq(windSpeed)))
-                    .thenReturn(List.of(windCondition));
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.BIKE, 3.00)));
 
         Double totalFee = deliveryFeeService.calculateDeliveryFee(cityName, vehicleType);
         assertEquals(3.00 + expectedWindFee, totalFee);
@@ -186,18 +191,9 @@ public class BikeDeliveryFeeServiceTest {
 
         when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc(eq(cityName)))
                 .thenReturn(weatherData);
-        when(baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType(eq(cityName), eq(VehicleType.BIKE)))
-                .thenReturn(Optional.of(baseFee));
-        when(conditionsRepository.findTemperatureConditions(eq(VehicleType.BIKE), anyDouble()))
-                .thenReturn(Collections.emptyList());
-
-        Conditions windCondition = new Conditions();
-        windCondition.setUsageForbidden(true);
-        windCondition.setConditionFee(0.00);
-        when(conditionsRepository.findWindConditions(eq(VehicleType.BIKE), eq(windSpeed)))
-                .thenReturn(List.of(windCondition));
-
-        assertThrows(IllegalArgumentException.class,
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.BIKE, 3.00)));
+
+        assertThrows(VehicleUsageForbiddenException.class,
                 () -> deliveryFeeService.calculateDeliveryFee(cityName, vehicleType));
     }
 
@@ -219,23 +215,11 @@ public class BikeDeliveryFeeServiceTest {
     void testCalculateDeliveryFeeForBike_RainConditions(String phenomenon, Double expectedFee) {
         String cityName = "Tallinn";
         String vehicleType = "BIKE";
-        baseFee.setVehicleFee(3.00);
         weatherData.setWeatherPhenomenon(phenomenon);
 
         when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc(eq(cityName)))
                 .thenReturn(weatherData);
-        when(baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType(eq(cityName), eq(VehicleType.BIKE)))
-                .thenReturn(Optional.of(baseFee));
-        when(conditionsRepository.findTemperatureConditions(eq(VehicleType.BIKE), anyDouble()))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findWindConditions(eq(VehicleType.BIKE), anyDouble()))
-                .thenReturn(Collections.emptyList());
-
-        Conditions condition = new Conditions();
-        condition.setUsageForbidden(false);
-        condition.setConditionFee(expectedFee);
-        when(conditionsRepository.findPhenomenonConditions(eq(VehicleType.BIKE), eq(phenomenon)))
-                .thenReturn(List.of(condition));
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.BIKE, 3.00)));
 
         Double totalFee = deliveryFeeService.calculateDeliveryFee(cityName, vehicleType);
         assertEquals(3.00 + expectedFee, totalFee);
@@ -261,23 +245,11 @@ public class BikeDeliveryFeeServiceTest {
     void testCalculateDeliveryFeeForBike_SnowConditions(String phenomenon, Double expectedFee) {
         String cityName = "Tallinn";
         String vehicleType = "BIKE";
-        baseFee.setVehicleFee(3.00);
         weatherData.setWeatherPhenomenon(phenomenon);
 
         when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc(eq(cityName)))
                 .thenReturn(weatherData);
-        when(baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType(eq(cityName), eq(VehicleType.BIKE)))
-                .thenReturn(Optional.of(baseFee));
-        when(conditionsRepository.findTemperatureConditions(eq(VehicleType.BIKE), anyDouble()))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findWindConditions(eq(VehicleType.BIKE), anyDouble()))
-                .thenReturn(Collections.emptyList());
-
-        Conditions condition = new Conditions();
-        condition.setUsageForbidden(false);
-        condition.setConditionFee(expectedFee);
-        when(conditionsRepository.findPhenomenonConditions(eq(VehicleType.BIKE), eq(phenomenon)))
-                .thenReturn(List.of(condition));
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.BIKE, 3.00)));
 
         Double totalFee = deliveryFeeService.calculateDeliveryFee(cityName, vehicleType);
         assertEquals(3.00 + expectedFee, totalFee);
@@ -295,29 +267,18 @@ public class BikeDeliveryFeeServiceTest {
             "-10.5, 1.00",
             "-10.0, 0.50",
             "-5.0, 0.50",
+            "0.0, 0.50",
             "1.0, 0.00"
     })
     void testCalculateDeliveryFeeForBike_TemperatureConditions(Double airTemperature, Double expectedFee) {
         String cityName = "Tallinn";
         String vehicleType = "BIKE";
-        baseFee.setVehicleFee(3.00);
 
         weatherData.setAirTemperature(airTemperature);
 
         when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc(eq(cityName)))
                 .thenReturn(weatherData);
-        when(baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType(eq(cityName), eq(VehicleType.BIKE)))
-                .thenReturn(Optional.of(baseFee));
-        when(conditionsRepository.findTemperatureConditions(eq(VehicleType.BIKE), anyDouble()))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findWindConditions(eq(VehicleType.BIKE), anyDouble()))
-                .thenReturn(Collections.emptyList());
-
-        Conditions condition = new Conditions();
-        condition.setUsageForbidden(false);
-        condition.setConditionFee(expectedFee);
-        when(conditionsRepository.findPhenomenonConditions(eq(VehicleType.BIKE), anyString()))
-                .thenReturn(List.of(condition));
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.BIKE, 3.00)));
 
         Double totalFee = deliveryFeeService.calculateDeliveryFee(cityName, vehicleType);
         assertEquals(3.00 + expectedFee, totalFee);
@@ -333,27 +294,14 @@ public class BikeDeliveryFeeServiceTest {
     void testCalculateDeliveryFeeForScooter_WhereUsageForbidden(String phenomenon) {
         String cityName = "Tallinn";
         String vehicleType = "BIKE";
-        baseFee.setVehicleFee(3.00);
 
         weatherData.setWeatherPhenomenon(phenomenon);
 
         when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc(eq(cityName)))
                 .thenReturn(weatherData);
-        when(baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType(eq(cityName), eq(VehicleType.BIKE)))
-                .thenReturn(Optional.of(baseFee));
-
-        when(conditionsRepository.findTemperatureConditions(eq(VehicleType.BIKE), eq(weatherData.getAirTemperature())))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findWindConditions(eq(VehicleType.BIKE), eq(weatherData.getWindSpeed())))
-                .thenReturn(Collections.emptyList());
-
-        Conditions condition = new Conditions();
-        condition.setUsageForbidden(true);
-        condition.setConditionFee(0.00);
-        when(conditionsRepository.findPhenomenonConditions(eq(VehicleType.BIKE), eq(phenomenon)))
-                .thenReturn(List.of(condition));
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.BIKE, 3.00)));
 
-        assertThrows(IllegalArgumentException.class, () ->
+        assertThrows(VehicleUsageForbiddenException.class, () ->
                 deliveryFeeService.calculateDeliveryFee(cityName, vehicleType));
     }
 
@@ -372,7 +320,7 @@ public class BikeDeliveryFeeServiceTest {
             "-12.0, 'Light snow shower', 12.0, 1.00, 1.00, 0.50",
             "-6.0, 'Light rain', 8.0, 0.50, 0.50, 0.00",
             "5.0, 'Clear', 9.0, 0.00, 0.00, 0.00",
-            "0.0, 'Light rain', 11.0, 0.00, 0.50, 0.50",
+            "0.0, 'Light rain', 11.0, 0.50, 0.50, 0.50",
             "-7.0, 'Heavy rain', 19.0, 0.50, 0.50, 0.50",
             "-5.0, 'Heavy snow shower', 9.0, 0.50, 1.00, 0.00"
     })
@@ -384,7 +332,7 @@ public class BikeDeliveryFeeServiceTest {
                                                                      Double expectedWindFee) {
         String cityName = "Tallinn";
         String vehicleType = "BIKE";
-        baseFee.setVehicleFee(3.00);
+        Double baseFee = 3.00;
 
         weatherData.setAirTemperature(airTemperature);
         weatherData.setWeatherPhenomenon(phenomenon);
@@ -392,29 +340,10 @@ public class BikeDeliveryFeeServiceTest {
 
         when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc(eq(cityName)))
                 .thenReturn(weatherData);
-        when(baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType(eq(cityName), eq(VehicleType.BIKE)))
-                .thenReturn(Optional.of(baseFee));
-
-        Conditions condition2 = new Conditions();
-        condition2.setUsageForbidden(false);
-        condition2.setConditionFee(expectedTempFee);
-        when(conditionsRepository.findTemperatureConditions(eq(VehicleType.BIKE), anyDouble()))
-                .thenReturn(List.of(condition2));
-
-        Conditions condition3 = new Conditions();
-        condition3.setUsageForbidden(false);
-        condition3.setConditionFee(expectedWindFee);
-        when(conditionsRepository.findWindConditions(eq(VehicleType.BIKE), eq(windSpeed)))
-                .thenReturn(List.of(condition3));
-
-        Conditions condition1 = new Conditions();
-        condition1.setUsageForbidden(false);
-        condition1.setConditionFee(expectedPhenomenonFee);
-        when(conditionsRepository.findPhenomenonConditions(eq(VehicleType.BIKE), eq(phenomenon)))
-                .thenReturn(List.of(condition1));
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.BIKE, baseFee)));
 
         Double totalFee = deliveryFeeService.calculateDeliveryFee(cityName, vehicleType);
-        Double expectedTotalFee = baseFee.getVehicleFee() +expectedPhenomenonFee + expectedWindFee + expectedTempFee;
+        Double expectedTotalFee = baseFee + expectedPhenomenonFee + expectedWindFee + expectedTempFee;
         assertEquals(expectedTotalFee, totalFee);
     }
 
@@ -433,4 +362,20 @@ public class BikeDeliveryFeeServiceTest {
                 deliveryFeeService.calculateDeliveryFee(cityName, vehicleType));
     }
 
+    /**
+     * Tests that {@link BaseFeeNotFoundException} is thrown when no base fee exists for the city.
+     */
+    @Test
+    void testCalculateDeliveryFeeForBike_NoBaseFee() {
+        String cityName = "Tallinn";
+        String vehicleType = "BIKE";
+
+        when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc(eq(cityName)))
+                .thenReturn(weatherData);
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee("Tartu", VehicleType.BIKE, 2.50)));
+
+        assertThrows(BaseFeeNotFoundException.class, () ->
+                deliveryFeeService.calculateDeliveryFee(cityName, vehicleType));
+    }
+
 }
@@ -1,12 +1,15 @@
 package com.foodDelivery.api.unitTests.service.deliveryFee;
 
 import com.foodDelivery.api.exception.WeatherDataNotFoundException;
-import com.foodDelivery.api.model.BaseFee;
 import com.foodDelivery.api.model.WeatherData;
 import com.foodDelivery.api.model.enums.VehicleType;
-import com.foodDelivery.api.repository.BaseFeeRepository;
-import com.foodDelivery.api.repository.ConditionsRepository;
 import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.rules.FeeMatrix;
+import com.foodDelivery.api.service.FeeMatrixService;
+import com.foodDelivery.api.service.FeeQuoteCacheService;
+import com.foodDelivery.api.service.FeeRuleService;
+import com.foodDelivery.api.service.WeatherHistoryService;
+import com.foodDelivery.api.service.WeatherRetentionService;
 import com.foodDelivery.api.service.impl.DeliveryFeeServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,12 +21,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.Optional;
 
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.baseFee;
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.snapshot;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 /**
@@ -33,19 +37,27 @@ import static org.mockito.Mockito.when;
 public class CarDeliveryFeeServiceTest {
 
     @Mock
-    private BaseFeeRepository baseFeeRepository;
+    private FeeRuleService feeRuleService;
 
     @Mock
-    private ConditionsRepository conditionsRepository;
+    private FeeMatrixService feeMatrixService;
+
+    @Mock
+    private WeatherHistoryService weatherHistoryService;
+
+    @Mock
+    private FeeQuoteCacheService feeQuoteCacheService;
 
     @Mock
     private WeatherDataRepository weatherDataRepository;
 
+    @Mock
+    private WeatherRetentionService weatherRetentionService;
+
     @InjectMocks
     private DeliveryFeeServiceImpl deliveryFeeService;
 
     private WeatherData weatherData;
-    private BaseFee baseFee;
     private LocalDateTime observationTime;
 
     /**
@@ -53,15 +65,13 @@ public class CarDeliveryFeeServiceTest {
      */
     @BeforeEach
     void  setUp() {
+        lenient().when(feeMatrixService.getMatrix()).thenReturn(FeeMatrix.EMPTY);
         observationTime = LocalDateTime.now();
 
         weatherData = new WeatherData();
         weatherData.setAirTemperature(10.00);
         weatherData.setWindSpeed(5.0);
         weatherData.setWeatherPhenomenon("Clear");
-
-        baseFee = new BaseFee();
-        baseFee.setVehicleFee(4.00);
     }
 
     /**
@@ -78,19 +88,10 @@ public class CarDeliveryFeeServiceTest {
     })
     void testCalculateDeliveryFeeForScooter_TimeProvided(String cityName, Double expectedFee) {
         String vehicleType = "CAR";
-        baseFee.setVehicleFee(expectedFee);
 
         when(weatherDataRepository.findTopByCityCityNameAndObservationTimeLessThanEqualOrderByObservationTimeDesc(
                 eq(cityName), eq(observationTime))).thenReturn(weatherData);
-        when(baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType(eq(cityName), eq(VehicleType.CAR)))
-                .thenReturn(Optional.of(baseFee));
-
-        when(conditionsRepository.findTemperatureConditions(eq(VehicleType.CAR), anyDouble()))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findWindConditions(eq(VehicleType.CAR), anyDouble()))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findPhenomenonConditions(eq(VehicleType.CAR), anyString()))
-                .thenReturn(Collections.emptyList());
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.CAR, expectedFee)));
 
         Double totalFee = deliveryFeeService.calculateDeliveryFee(cityName, vehicleType, observationTime);
         assertEquals(expectedFee, totalFee);
@@ -110,24 +111,34 @@ public class CarDeliveryFeeServiceTest {
     })
     void testCalculateDeliveryFeeForScooter_TimeNotProvided(String cityName, Double expectedFee) {
         String vehicleType = "CAR";
-        baseFee.setVehicleFee(expectedFee);
 
         when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc(eq(cityName)))
                 .thenReturn(weatherData);
-        when(baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType(eq(cityName), eq(VehicleType.CAR)))
-                .thenReturn(Optional.of(baseFee));
-
-        when(conditionsRepository.findTemperatureConditions(eq(VehicleType.CAR), anyDouble()))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findWindConditions(eq(VehicleType.CAR), anyDouble()))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findPhenomenonConditions(eq(VehicleType.CAR), anyString()))
-                .thenReturn(Collections.emptyList());
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.CAR, expectedFee)));
 
         Double totalFee = deliveryFeeService.calculateDeliveryFee(cityName, vehicleType);
         assertEquals(expectedFee, totalFee);
     }
 
+    /**
+     * Tests that weather conditions that forbid bikes and scooters do not affect the car fee.
+     */
+    @Test
+    void testCalculateDeliveryFeeForCar_SevereWeather() {
+        String cityName = "Tallinn";
+        String vehicleType = "CAR";
+        weatherData.setAirTemperature(-20.0);
+        weatherData.setWindSpeed(30.0);
+        weatherData.setWeatherPhenomenon("Thunder");
+
+        when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc(eq(cityName)))
+                .thenReturn(weatherData);
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.CAR, 4.00)));
+
+        Double totalFee = deliveryFeeService.calculateDeliveryFee(cityName, vehicleType);
+        assertEquals(4.00, totalFee);
+    }
+
     /**
      * Tests that {@link WeatherDataNotFoundException} is thrown when weather data was not found.
      */
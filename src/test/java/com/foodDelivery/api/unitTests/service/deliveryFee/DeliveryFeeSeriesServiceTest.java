@@ -0,0 +1,117 @@
+package com.foodDelivery.api.unitTests.service.deliveryFee;
+
+import com.foodDelivery.api.exception.InvalidDeliveryFeeRequestException;
+import com.foodDelivery.api.dto.DeliveryFeeSeriesPointDTO;
+import com.foodDelivery.api.exception.BaseFeeNotFoundException;
+import com.foodDelivery.api.history.WeatherObservation;
+import com.foodDelivery.api.model.enums.VehicleType;
+import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.model.WeatherData;
+import com.foodDelivery.api.service.FeeRuleService;
+import com.foodDelivery.api.service.WeatherRetentionService;
+import com.foodDelivery.api.service.impl.DeliveryFeeServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.baseFee;
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.snapshot;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for calculating the delivery fee time series of a city and vehicle.
+ */
+@ExtendWith(MockitoExtension.class)
+public class DeliveryFeeSeriesServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 3, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 3, 31, 23, 59);
+
+    @Mock
+    private FeeRuleService feeRuleService;
+
+    @Mock
+    private WeatherDataRepository weatherDataRepository;
+
+    @Mock
+    private WeatherRetentionService weatherRetentionService;
+
+    @InjectMocks
+    private DeliveryFeeServiceImpl deliveryFeeService;
+
+    /**
+     * Tests that every observation of the range gets a fee or a forbidden marker, in order.
+     */
+    @Test
+    void testSeriesForBike() {
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee("Tartu", VehicleType.BIKE, 2.50)));
+        when(weatherDataRepository.findObservationsBetween("Tartu", FROM, TO)).thenReturn(List.of(
+                new WeatherObservation(1L, "Tartu", FROM.plusDays(1), 5.0, 5.0, "Clear"),
+                new WeatherObservation(2L, "Tartu", FROM.plusDays(2), -5.0, 15.0, "Light rain"),
+                new WeatherObservation(3L, "Tartu", FROM.plusDays(3), 5.0, 25.0, "Clear")
+        ));
+
+        List<DeliveryFeeSeriesPointDTO> series = deliveryFeeService.calculateDeliveryFeeSeries("Tartu", "bike", FROM, TO);
+
+        assertEquals(3, series.size());
+        assertEquals(new DeliveryFeeSeriesPointDTO(1L, FROM.plusDays(1), 2.50, false), series.get(0));
+        assertEquals(new DeliveryFeeSeriesPointDTO(2L, FROM.plusDays(2), 4.00, false), series.get(1));
+        assertEquals(new DeliveryFeeSeriesPointDTO(3L, FROM.plusDays(3), null, true), series.get(2));
+        verify(weatherDataRepository, times(1)).findObservationsBetween("Tartu", FROM, TO);
+        verifyNoMoreInteractions(weatherDataRepository);
+    }
+
+    /**
+     * Tests that the part of the range that was rolled up by the retention is taken from the aggregates.
+     */
+    @Test
+    void testSeriesFallsBackToAggregates() {
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee("Tartu", VehicleType.BIKE, 2.50)));
+        when(weatherRetentionService.findAggregatesBetween("Tartu", FROM, TO)).thenReturn(List.of(
+                aggregate(FROM.plusHours(10), -5.0, 5.0, "Clear"),
+                aggregate(FROM.plusDays(1), 5.0, 25.0, "Clear")
+        ));
+        when(weatherDataRepository.findObservationsBetween("Tartu", FROM, TO)).thenReturn(List.of(
+                new WeatherObservation(7L, "Tartu", FROM.plusDays(2), 5.0, 5.0, "Clear")
+        ));
+
+        List<DeliveryFeeSeriesPointDTO> series = deliveryFeeService.calculateDeliveryFeeSeries("Tartu", "BIKE", FROM, TO);
+
+        assertEquals(List.of(
+                new DeliveryFeeSeriesPointDTO(null, FROM.plusHours(10), 3.00, false),
+                new DeliveryFeeSeriesPointDTO(null, FROM.plusDays(1), null, true),
+                new DeliveryFeeSeriesPointDTO(7L, FROM.plusDays(2), 2.50, false)
+        ), series);
+    }
+
+    /**
+     * Tests that a missing base fee or an inverted range fail before the range is scanned.
+     */
+    @Test
+    void testSeriesValidation() {
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot());
+
+        assertThrows(BaseFeeNotFoundException.class,
+                () -> deliveryFeeService.calculateDeliveryFeeSeries("Tartu", "BIKE", FROM, TO));
+        assertThrows(InvalidDeliveryFeeRequestException.class,
+                () -> deliveryFeeService.calculateDeliveryFeeSeries("Tartu", "BIKE", TO, FROM));
+        verify(weatherDataRepository, never()).findObservationsBetween(any(), any(), any());
+    }
+
+    private static WeatherData aggregate(LocalDateTime periodStart, Double airTemperature, Double windSpeed,
+                                         String weatherPhenomenon) {
+        WeatherData weatherData = new WeatherData();
+        weatherData.setObservationTime(periodStart);
+        weatherData.setAirTemperature(airTemperature);
+        weatherData.setWindSpeed(windSpeed);
+        weatherData.setWeatherPhenomenon(weatherPhenomenon);
+        return weatherData;
+    }
+}
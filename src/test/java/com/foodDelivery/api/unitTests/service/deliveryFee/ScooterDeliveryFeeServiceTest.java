@@ -1,13 +1,16 @@
 package com.foodDelivery.api.unitTests.service.deliveryFee;
 
+import com.foodDelivery.api.exception.VehicleUsageForbiddenException;
 import com.foodDelivery.api.exception.WeatherDataNotFoundException;
-import com.foodDelivery.api.model.BaseFee;
-import com.foodDelivery.api.model.Conditions;
 import com.foodDelivery.api.model.WeatherData;
 import com.foodDelivery.api.model.enums.VehicleType;
-import com.foodDelivery.api.repository.BaseFeeRepository;
-import com.foodDelivery.api.repository.ConditionsRepository;
 import com.foodDelivery.api.repository.WeatherDataRepository;
+import com.foodDelivery.api.rules.FeeMatrix;
+import com.foodDelivery.api.service.FeeMatrixService;
+import com.foodDelivery.api.service.FeeQuoteCacheService;
+import com.foodDelivery.api.service.FeeRuleService;
+import com.foodDelivery.api.service.WeatherHistoryService;
+import com.foodDelivery.api.service.WeatherRetentionService;
 import com.foodDelivery.api.service.impl.DeliveryFeeServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,13 +23,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
 
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.baseFee;
+import static com.foodDelivery.api.fixtures.FeeRuleFixtures.snapshot;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 /**
@@ -34,26 +37,35 @@ import static org.mockito.Mockito.when;
  *
  * <p>
  *     It uses parameterized tests to check that the fee calculation is correct under different conditions
- *     as well as check that exceptions work as intended.
+ *     as well as check that exceptions work as intended. The rules are compiled from the same data
+ *     that schema.sql seeds.
  * </p>
  */
 @ExtendWith(MockitoExtension.class)
 public class ScooterDeliveryFeeServiceTest {
 
     @Mock
-    private BaseFeeRepository baseFeeRepository;
+    private FeeRuleService feeRuleService;
 
     @Mock
-    private ConditionsRepository conditionsRepository;
+    private FeeMatrixService feeMatrixService;
+
+    @Mock
+    private WeatherHistoryService weatherHistoryService;
+
+    @Mock
+    private FeeQuoteCacheService feeQuoteCacheService;
 
     @Mock
     private WeatherDataRepository weatherDataRepository;
 
+    @Mock
+    private WeatherRetentionService weatherRetentionService;
+
     @InjectMocks
     private DeliveryFeeServiceImpl deliveryFeeService;
 
     private WeatherData weatherData;
-    private BaseFee baseFee;
     private LocalDateTime observationTime;
 
     /**
@@ -61,14 +73,13 @@ public class ScooterDeliveryFeeServiceTest {
      */
     @BeforeEach
     void setUp() {
+        lenient().when(feeMatrixService.getMatrix()).thenReturn(FeeMatrix.EMPTY);
         observationTime = LocalDateTime.now();
 
         weatherData = new WeatherData();
         weatherData.setAirTemperature(5.0);
         weatherData.setWindSpeed(3.0);
         weatherData.setWeatherPhenomenon("Clear");
-
-        baseFee = new BaseFee();
     }
 
     /**
@@ -85,19 +96,10 @@ public class ScooterDeliveryFeeServiceTest {
     })
     void testCalculateDeliveryFeeForScooter_TimeProvided(String cityName, Double expectedFee) {
         String vehicleType = "SCOOTER";
-        baseFee.setVehicleFee(expectedFee);
 
         when(weatherDataRepository.findTopByCityCityNameAndObservationTimeLessThanEqualOrderByObservationTimeDesc(
                 eq(cityName), eq(observationTime))).thenReturn(weatherData);
-        when(baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType(eq(cityName), eq(VehicleType.SCOOTER)))
-                .thenReturn(Optional.of(baseFee));
-
-        when(conditionsRepository.findTemperatureConditions(eq(VehicleType.SCOOTER), anyDouble()))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findWindConditions(eq(VehicleType.SCOOTER), anyDouble()))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findPhenomenonConditions(eq(VehicleType.SCOOTER), anyString()))
-                .thenReturn(Collections.emptyList());
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.SCOOTER, expectedFee)));
 
         Double totalFee = deliveryFeeService.calculateDeliveryFee(cityName, vehicleType, observationTime);
         assertEquals(expectedFee, totalFee);
@@ -117,19 +119,10 @@ public class ScooterDeliveryFeeServiceTest {
     })
     void testCalculateDeliveryFeeForScooter_TimeNotProvided(String cityName, Double expectedFee) {
         String vehicleType = "SCOOTER";
-        baseFee.setVehicleFee(expectedFee);
 
         when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc(eq(cityName)))
                 .thenReturn(weatherData);
-        when(baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType(eq(cityName), eq(VehicleType.SCOOTER)))
-                .thenReturn(Optional.of(baseFee));
-
-        when(conditionsRepository.findTemperatureConditions(eq(VehicleType.SCOOTER), anyDouble()))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findWindConditions(eq(VehicleType.SCOOTER), anyDouble()))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findPhenomenonConditions(eq(VehicleType.SCOOTER), anyString()))
-                .thenReturn(Collections.emptyList());
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.SCOOTER, expectedFee)));
 
         Double totalFee = deliveryFeeService.calculateDeliveryFee(cityName, vehicleType);
         assertEquals(expectedFee, totalFee);
@@ -145,28 +138,32 @@ public class ScooterDeliveryFeeServiceTest {
     void testCalculateDeliveryFeeForScooter_WhereUsageForbidden(String phenomenon) {
         String cityName = "Tallinn";
         String vehicleType = "SCOOTER";
-        baseFee.setVehicleFee(3.50);
 
         weatherData.setWeatherPhenomenon(phenomenon);
 
         when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc(eq(cityName)))
                 .thenReturn(weatherData);
-        when(baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType(eq(cityName), eq(VehicleType.SCOOTER)))
-                .thenReturn(Optional.of(baseFee));
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.SCOOTER, 3.50)));
 
-        when(conditionsRepository.findTemperatureConditions(eq(VehicleType.SCOOTER), eq(weatherData.getAirTemperature())))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findWindConditions(eq(VehicleType.SCOOTER), eq(weatherData.getWindSpeed())))
-                .thenReturn(Collections.emptyList());
+        assertThrows(VehicleUsageForbiddenException.class, () ->
+                deliveryFeeService.calculateDeliveryFee(cityName, vehicleType));
+    }
 
-        Conditions condition = new Conditions();
-        condition.setUsageForbidden(true);
-        condition.setConditionFee(0.00);
-        when(conditionsRepository.findPhenomenonConditions(eq(VehicleType.SCOOTER), eq(phenomenon)))
-                .thenReturn(List.of(condition));
+    /**
+     * Tests that wind has no effect on the scooter fee, since only bikes have wind rules.
+     */
+    @Test
+    void testCalculateDeliveryFeeForScooter_WindIgnored() {
+        String cityName = "Tallinn";
+        String vehicleType = "SCOOTER";
+        weatherData.setWindSpeed(25.0);
 
-        assertThrows(IllegalArgumentException.class, () ->
-                deliveryFeeService.calculateDeliveryFee(cityName, vehicleType));
+        when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc(eq(cityName)))
+                .thenReturn(weatherData);
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.SCOOTER, 3.50)));
+
+        Double totalFee = deliveryFeeService.calculateDeliveryFee(cityName, vehicleType);
+        assertEquals(3.50, totalFee);
     }
 
     /**
@@ -187,23 +184,11 @@ public class ScooterDeliveryFeeServiceTest {
     void testCalculateDeliveryFeeForScooter_RainConditions(String phenomenon, Double expectedFee) {
         String cityName = "Tallinn";
         String vehicleType = "SCOOTER";
-        baseFee.setVehicleFee(3.50);
         weatherData.setWeatherPhenomenon(phenomenon);
 
         when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc(eq(cityName)))
                 .thenReturn(weatherData);
-        when(baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType(eq(cityName), eq(VehicleType.SCOOTER)))
-                .thenReturn(Optional.of(baseFee));
-        when(conditionsRepository.findTemperatureConditions(eq(VehicleType.SCOOTER), anyDouble()))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findWindConditions(eq(VehicleType.SCOOTER), anyDouble()))
-                .thenReturn(Collections.emptyList());
-
-        Conditions condition = new Conditions();
-        condition.setUsageForbidden(false);
-        condition.setConditionFee(expectedFee);
-        when(conditionsRepository.findPhenomenonConditions(eq(VehicleType.SCOOTER), eq(phenomenon)))
-                .thenReturn(List.of(condition));
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.SCOOTER, 3.50)));
 
         Double totalFee = deliveryFeeService.calculateDeliveryFee(cityName, vehicleType);
         assertEquals(3.50 + expectedFee, totalFee);
@@ -229,23 +214,11 @@ public class ScooterDeliveryFeeServiceTest {
     void testCalculateDeliveryFeeForScooter_SnowConditions(String phenomenon, Double expectedFee) {
         String cityName = "Tallinn";
         String vehicleType = "SCOOTER";
-        baseFee.setVehicleFee(3.50);
         weatherData.setWeatherPhenomenon(phenomenon);
 
         when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc(eq(cityName)))
                 .thenReturn(weatherData);
-        when(baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType(eq(cityName), eq(VehicleType.SCOOTER)))
-                .thenReturn(Optional.of(baseFee));
-        when(conditionsRepository.findTemperatureConditions(eq(VehicleType.SCOOTER), anyDouble()))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findWindConditions(eq(VehicleType.SCOOTER), anyDouble()))
-                .thenReturn(Collections.emptyList());
-
-        Conditions condition = new Conditions();
-        condition.setUsageForbidden(false);
-        condition.setConditionFee(expectedFee);
-        when(conditionsRepository.findPhenomenonConditions(eq(VehicleType.SCOOTER), eq(phenomenon)))
-                .thenReturn(List.of(condition));
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.SCOOTER, 3.50)));
 
         Double totalFee = deliveryFeeService.calculateDeliveryFee(cityName, vehicleType);
         assertEquals(3.50 + expectedFee, totalFee);
@@ -268,24 +241,12 @@ public class ScooterDeliveryFeeServiceTest {
     void testCalculateDeliveryFeeForScooter_TemperatureConditions(Double airTemperature, Double expectedFee) {
         String cityName = "Tallinn";
         String vehicleType = "SCOOTER";
-        baseFee.setVehicleFee(3.50);
 
         weatherData.setAirTemperature(airTemperature);
 
         when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc(eq(cityName)))
                 .thenReturn(weatherData);
-        when(baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType(eq(cityName), eq(VehicleType.SCOOTER)))
-                .thenReturn(Optional.of(baseFee));
-        when(conditionsRepository.findTemperatureConditions(eq(VehicleType.SCOOTER), anyDouble()))
-                .thenReturn(Collections.emptyList());
-        when(conditionsRepository.findWindConditions(eq(VehicleType.SCOOTER), anyDouble()))
-                .thenReturn(Collections.emptyList());
-
-        Conditions condition = new Conditions();
-        condition.setUsageForbidden(false);
-        condition.setConditionFee(expectedFee);
-        when(conditionsRepository.findPhenomenonConditions(eq(VehicleType.SCOOTER), anyString()))
-                .thenReturn(List.of(condition));
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.SCOOTER, 3.50)));
 
         Double totalFee = deliveryFeeService.calculateDeliveryFee(cityName, vehicleType);
         assertEquals(3.50 + expectedFee, totalFee);
@@ -304,7 +265,7 @@ public class ScooterDeliveryFeeServiceTest {
             "-12.0, 'Light snow shower', 1.00, 1.00",
             "-6.0, 'Light rain', 0.50, 0.50",
             "5.0, 'Clear', 0.00, 0.00",
-            "0.0, 'Light rain', 0.00, 0.50",
+            "0.0, 'Light rain', 0.50, 0.50",
             "-7.0, 'Heavy rain', 0.50, 0.50",
             "-5.0, 'Heavy snow shower', 0.50, 1.00"
     })
@@ -314,32 +275,17 @@ public class ScooterDeliveryFeeServiceTest {
                                                                      Double expectedPhenomenonFee) {
         String cityName = "Tallinn";
         String vehicleType = "SCOOTER";
-        baseFee.setVehicleFee(3.50);
+        Double baseFee = 3.50;
 
         weatherData.setAirTemperature(airTemperature);
         weatherData.setWeatherPhenomenon(phenomenon);
 
         when(weatherDataRepository.findTopByCityCityNameOrderByObservationTimeDesc(eq(cityName)))
                 .thenReturn(weatherData);
-        when(baseFeeRepository.findByCity_CityNameAndVehicle_VehicleType(eq(cityName), eq(VehicleType.SCOOTER)))
-                .thenReturn(Optional.of(baseFee));
-
-        Conditions condition2 = new Conditions();
-        condition2.setUsageForbidden(false);
-        condition2.setConditionFee(expectedTempFee);
-        when(conditionsRepository.findTemperatureConditions(eq(VehicleType.SCOOTER), anyDouble()))
-                .thenReturn(List.of(condition2));
-        when(conditionsRepository.findWindConditions(eq(VehicleType.SCOOTER), anyDouble()))
-                .thenReturn(Collections.emptyList());
-
-        Conditions condition1 = new Conditions();
-        condition1.setUsageForbidden(false);
-        condition1.setConditionFee(expectedPhenomenonFee);
-        when(conditionsRepository.findPhenomenonConditions(eq(VehicleType.SCOOTER), anyString()))
-                .thenReturn(List.of(condition1));
+        when(feeRuleService.getSnapshot()).thenReturn(snapshot(baseFee(cityName, VehicleType.SCOOTER, baseFee)));
 
         Double totalFee = deliveryFeeService.calculateDeliveryFee(cityName, vehicleType);
-        Double expectedTotalFee = baseFee.getVehicleFee() +expectedPhenomenonFee + expectedTempFee;
+        Double expectedTotalFee = baseFee + expectedPhenomenonFee + expectedTempFee;
         assertEquals(expectedTotalFee, totalFee);
     }
 